@@ -1,6 +1,7 @@
 plugins {
     java
     `maven-publish`
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -19,9 +20,15 @@ dependencies {
     compileOnly("org.jetbrains:annotations:24.1.0")
 
     compileOnly("org.mongodb:mongo-java-driver:3.12.14")
+    testImplementation("org.mongodb:mongo-java-driver:3.12.14")
+    testImplementation("com.h2database:h2:2.2.224")
     testImplementation("org.junit.jupiter:junit-jupiter-api:5.10.2")
     testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.10.2")
     testCompileOnly("org.jetbrains:annotations:24.1.0")
+
+    jmh("io.papermc.paper:paper-api:1.19.4-R0.1-SNAPSHOT")
+    jmh("org.jetbrains:annotations:24.1.0")
+    jmh("org.mongodb:mongo-java-driver:3.12.14")
 }
 
 
@@ -41,4 +48,8 @@ tasks.withType<JavaCompile> {
 
 tasks.test {
     useJUnitPlatform()
+}
+
+jmh {
+    humanOutputFile.set(project.file("bench_output.txt"))
 }
\ No newline at end of file
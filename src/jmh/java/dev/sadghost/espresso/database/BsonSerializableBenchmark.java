@@ -0,0 +1,177 @@
+package dev.sadghost.espresso.database;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encoding and decoding an object through an intermediate {@link Document}, as done for
+ * {@link IDocumentSerializable}, against streaming its fields with a {@link BsonSerializableCodec}.
+ * Run with {@code -prof gc} to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BsonSerializableBenchmark {
+    private static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().build();
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    @Param({"16", "1024"})
+    private int scores;
+
+    private final DocumentCodec documentCodec = new DocumentCodec();
+    private final Codec<Profile> profileCodec = new BsonSerializableCodec<>(Profile.class, Profile::new);
+    private final BasicOutputBuffer buffer = new BasicOutputBuffer(64 * 1024);
+    private Profile profile;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        final SplittableRandom random = new SplittableRandom(42);
+        profile = new Profile();
+        profile.name = "Notch";
+        profile.coins = random.nextLong();
+        profile.level = random.nextInt(100);
+        profile.experience = random.nextDouble();
+        profile.banned = false;
+        for (int i = 0; i < profile.stats.length; i++) profile.stats[i] = random.nextInt();
+        for (int i = 0; i < scores; i++) profile.scores.add(random.nextInt());
+
+        profileCodec.encode(new BsonBinaryWriter(buffer), profile, ENCODER_CONTEXT);
+        encoded = buffer.toByteArray();
+    }
+
+    @Benchmark
+    public int documentEncode() {
+        buffer.truncateToPosition(0);
+        documentCodec.encode(new BsonBinaryWriter(buffer), profile.serialize(), ENCODER_CONTEXT);
+        return buffer.getSize();
+    }
+
+    @Benchmark
+    public int codecEncode() {
+        buffer.truncateToPosition(0);
+        profileCodec.encode(new BsonBinaryWriter(buffer), profile, ENCODER_CONTEXT);
+        return buffer.getSize();
+    }
+
+    @Benchmark
+    public Profile documentDecode() {
+        final Profile decoded = new Profile();
+        decoded.deserialize(documentCodec.decode(new BsonBinaryReader(ByteBuffer.wrap(encoded)), DECODER_CONTEXT));
+        return decoded;
+    }
+
+    @Benchmark
+    public Profile codecDecode() {
+        return profileCodec.decode(new BsonBinaryReader(ByteBuffer.wrap(encoded)), DECODER_CONTEXT);
+    }
+
+    /**
+     * A player profile supporting both serialization paths.
+     */
+    public static final class Profile implements IDocumentSerializable<Document>, IBsonSerializable {
+        private static final String[] STAT_NAMES = new String[16];
+
+        static {
+            for (int i = 0; i < STAT_NAMES.length; i++) STAT_NAMES[i] = "stat" + i;
+        }
+
+        private String name;
+        private long coins;
+        private int level;
+        private double experience;
+        private boolean banned;
+        private final int[] stats = new int[16];
+        private final List<Integer> scores = new ArrayList<>();
+
+        @Override
+        public Document serialize() {
+            final Document document = new Document()
+                    .append("name", name)
+                    .append("coins", coins)
+                    .append("level", level)
+                    .append("experience", experience)
+                    .append("banned", banned);
+            for (int i = 0; i < stats.length; i++) document.append(STAT_NAMES[i], stats[i]);
+            document.append("scores", new ArrayList<>(scores));
+            return document;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void deserialize(final Document document) {
+            name = document.getString("name");
+            coins = document.getLong("coins");
+            level = document.getInteger("level");
+            experience = (Double) document.get("experience");
+            banned = (Boolean) document.get("banned");
+            for (int i = 0; i < stats.length; i++) stats[i] = document.getInteger(STAT_NAMES[i]);
+            scores.clear();
+            scores.addAll((List<Integer>) document.get("scores"));
+        }
+
+        @Override
+        public void writeFields(final BsonWriter writer) {
+            writer.writeString("name", name);
+            writer.writeInt64("coins", coins);
+            writer.writeInt32("level", level);
+            writer.writeDouble("experience", experience);
+            writer.writeBoolean("banned", banned);
+            for (int i = 0; i < stats.length; i++) writer.writeInt32(STAT_NAMES[i], stats[i]);
+            writer.writeStartArray("scores");
+            for (final int score : scores) writer.writeInt32(score);
+            writer.writeEndArray();
+        }
+
+        @Override
+        public boolean readField(final String name, final BsonReader reader) {
+            switch (name) {
+                case "name" -> this.name = reader.readString();
+                case "coins" -> coins = reader.readInt64();
+                case "level" -> level = reader.readInt32();
+                case "experience" -> experience = reader.readDouble();
+                case "banned" -> banned = reader.readBoolean();
+                case "scores" -> {
+                    scores.clear();
+                    reader.readStartArray();
+                    while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) scores.add(reader.readInt32());
+                    reader.readEndArray();
+                }
+                default -> {
+                    if (!name.startsWith("stat")) return false;
+                    stats[Integer.parseInt(name, 4, name.length(), 10)] = reader.readInt32();
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package dev.sadghost.espresso.paper;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering a debug line through the precompiled {@link DebugFormat} against
+ * the two {@code replaceText} passes the debugger used to run for every message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DebugFormatBenchmark {
+    private static final String CHANNEL = "Pathfinding";
+    private static final String MESSAGE = "Computed path of 42 nodes in 3 iterations";
+
+    private Component format;
+    private DebugFormat compiled;
+
+    @Setup
+    public void setup() {
+        format = Component.text("[DEBUG:Espresso] ", NamedTextColor.GRAY)
+                .append(Component.text("[%channel%]", NamedTextColor.AQUA))
+                .append(Component.text(" %message%", NamedTextColor.WHITE));
+        compiled = DebugFormat.compile(format, "Espresso");
+    }
+
+    @Benchmark
+    public Component replaceText() {
+        return format.replaceText(
+                TextReplacementConfig.builder()
+                        .match("%channel%")
+                        .replacement(CHANNEL)
+                        .build()
+        ).replaceText(
+                TextReplacementConfig.builder()
+                        .match("%message%")
+                        .replacement(MESSAGE)
+                        .build()
+        );
+    }
+
+    @Benchmark
+    public Component compiled() {
+        return compiled.render(CHANNEL, MESSAGE);
+    }
+}
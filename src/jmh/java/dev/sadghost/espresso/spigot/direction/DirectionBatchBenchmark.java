@@ -0,0 +1,76 @@
+package dev.sadghost.espresso.spigot.direction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares computing the directions and bearings of many targets one call at a time against
+ * the batch methods of {@link DirectionUtils}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirectionBatchBenchmark {
+    private static final double FROM_X = 12.5;
+    private static final double FROM_Z = -40.5;
+    private static final float YAW = 135.0F;
+
+    @Param({"1000", "100000"})
+    private int targets;
+
+    private double[] coordinates;
+    private Direction[] directions;
+    private float[] bearings;
+
+    @Setup
+    public void setup() {
+        final SplittableRandom random = new SplittableRandom(42);
+        coordinates = new double[targets * 2];
+        for (int i = 0; i < coordinates.length; i++) coordinates[i] = random.nextDouble(-500, 500);
+        directions = new Direction[targets];
+        bearings = new float[targets];
+    }
+
+    @Benchmark
+    public Direction[] directionsPerTarget() {
+        for (int i = 0; i < targets; i++) {
+            directions[i] = DirectionUtils.getDirection(FROM_X, FROM_Z, YAW, coordinates[i << 1], coordinates[(i << 1) + 1]);
+        }
+        return directions;
+    }
+
+    @Benchmark
+    public Direction[] directionsBatch() {
+        DirectionUtils.getDirections(FROM_X, FROM_Z, YAW, coordinates, directions);
+        return directions;
+    }
+
+    @Benchmark
+    public float[] bearingsPerTarget() {
+        for (int i = 0; i < targets; i++) {
+            bearings[i] = DirectionUtils.getAngle(FROM_X, FROM_Z, coordinates[i << 1], coordinates[(i << 1) + 1]);
+        }
+        return bearings;
+    }
+
+    @Benchmark
+    public float[] bearingsBatch() {
+        DirectionUtils.getBearings(FROM_X, FROM_Z, coordinates, bearings);
+        return bearings;
+    }
+}
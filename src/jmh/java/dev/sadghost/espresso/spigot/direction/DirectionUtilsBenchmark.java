@@ -0,0 +1,99 @@
+package dev.sadghost.espresso.spigot.direction;
+
+import org.bukkit.util.Vector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the trig-free {@link DirectionUtils#getDirection(double, double, double, double)} against the
+ * {@code Vector.angle} and if-chain classification it replaced, which is copied here as
+ * {@link #legacyDirection(Vector, Vector, Vector)}, and the atan2-based {@link DirectionUtils#getAngle}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirectionUtilsBenchmark {
+    private static final int TARGETS = 1024;
+
+    private final double[] xs = new double[TARGETS];
+    private final double[] zs = new double[TARGETS];
+    private double fromX;
+    private double fromZ;
+    private double facingX;
+    private double facingZ;
+
+    @Setup
+    public void setup() {
+        final SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < TARGETS; i++) {
+            xs[i] = random.nextDouble(-500, 500);
+            zs[i] = random.nextDouble(-500, 500);
+        }
+        fromX = 12.5;
+        fromZ = -40.5;
+
+        final double yaw = Math.toRadians(random.nextDouble(360));
+        facingX = -Math.sin(yaw);
+        facingZ = Math.cos(yaw);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public void legacy(final Blackhole blackhole) {
+        final Vector from = new Vector(fromX, 64, fromZ);
+        final Vector facing = new Vector(facingX, 0, facingZ);
+        for (int i = 0; i < TARGETS; i++) {
+            blackhole.consume(legacyDirection(from, new Vector(xs[i], 64, zs[i]), facing));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public void signTests(final Blackhole blackhole) {
+        for (int i = 0; i < TARGETS; i++) {
+            blackhole.consume(DirectionUtils.getDirection(xs[i] - fromX, zs[i] - fromZ, facingX, facingZ));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TARGETS)
+    public void angle(final Blackhole blackhole) {
+        for (int i = 0; i < TARGETS; i++) {
+            blackhole.consume(DirectionUtils.getAngle(fromX, fromZ, xs[i], zs[i]));
+        }
+    }
+
+    private static Direction legacyDirection(final Vector from, final Vector to, final Vector facing) {
+        final Vector vector = to.clone().subtract(from.clone());
+        final double angle = vector.angle(facing.clone());
+        final double deg = angle * 180 / Math.PI;
+
+        if (deg <= 22) return Direction.N;
+        else if (deg <= 67) return Direction.NE;
+        else if (deg <= 112) return Direction.E;
+        else if (deg <= 157) return Direction.SE;
+        else if (deg <= 202) return Direction.S;
+        else if (deg <= 247) return Direction.SW;
+        else if (deg <= 292) return Direction.W;
+        else if (deg <= 337) return Direction.NW;
+        else if (deg <= 360) return Direction.N;
+
+        return Direction.X;
+    }
+}
@@ -0,0 +1,71 @@
+package dev.sadghost.espresso.time;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single-pass {@link TimeUtils#parseTime(CharSequence)} against the backwards-scanning
+ * parser it replaced, which is copied here as {@link #legacyParseTime(String)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeUtilsBenchmark {
+    @Param({"30m", "1h30m", "1y2M3w4d5h6m7s"})
+    private String input;
+
+    @Benchmark
+    public long legacy() {
+        return legacyParseTime(input);
+    }
+
+    @Benchmark
+    public long singlePass() {
+        return TimeUtils.parseTime(input);
+    }
+
+    private static long legacyParseTime(final String time) {
+        long milliseconds = 0;
+        final char[] timeArray = time.toCharArray();
+
+        for (int i = 0; i < timeArray.length; i++) {
+            switch (timeArray[i]) {
+                case 's' -> milliseconds += legacyParseSpecificTime(timeArray, i, TimeUtils.MILLISECONDS_IN_SECOND);
+                case 'm' -> milliseconds += legacyParseSpecificTime(timeArray, i, TimeUtils.MILLISECONDS_IN_MINUTE);
+                case 'h' -> milliseconds += legacyParseSpecificTime(timeArray, i, TimeUtils.MILLISECONDS_IN_HOUR);
+                case 'd' -> milliseconds += legacyParseSpecificTime(timeArray, i, TimeUtils.MILLISECONDS_IN_DAY);
+                case 'w' -> milliseconds += legacyParseSpecificTime(timeArray, i, TimeUtils.MILLISECONDS_IN_WEEK);
+                case 'M' -> milliseconds += legacyParseSpecificTime(timeArray, i, TimeUtils.MILLISECONDS_IN_MONTH);
+                case 'y' -> milliseconds += legacyParseSpecificTime(timeArray, i, TimeUtils.MILLISECONDS_IN_YEAR);
+            }
+        }
+        return milliseconds;
+    }
+
+    private static long legacyParseSpecificTime(final char[] timeArray, final int index, final long millisecondsModifier) {
+        long milliseconds = 0;
+        int j = index - 1;
+        int counter = 1;
+
+        while (j >= 0 && Character.isDigit(timeArray[j])) {
+            milliseconds += counter * Integer.parseInt(String.valueOf(timeArray[j])) * millisecondsModifier;
+            counter = counter * 10;
+            j--;
+        }
+
+        return milliseconds;
+    }
+}
@@ -0,0 +1,372 @@
+package dev.sadghost.espresso.base;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * The {@code BoundedCache} class is a concurrent, size-limited cache that evicts its least recently used entries.
+ * <p>
+ * The cache is split into independently locked segments, each holding an access-ordered map, so threads working
+ * with different keys rarely contend. Every segment holds an equal share of the maximum size, and evicts its own
+ * least recently used entry once the share is exceeded, which keeps eviction a constant-time operation.
+ * <p>
+ * The cache counts its hits, misses and evictions, which can be inspected using {@link #stats()}.
+ * An eviction listener can be notified of every entry evicted to respect the maximum size; it is invoked on the
+ * thread that caused the eviction, after the segment's lock is released.
+ * <p>
+ * Thread Safety: This class is thread-safe. Loaders passed to {@link #get(Object, Function)} are invoked without
+ * holding any lock, so a value may occasionally be loaded more than once by concurrent callers,
+ * in which case the first value stored is kept.
+ *
+ * <h3>Usage Example:</h3>
+ * <pre>{@code
+ * BoundedCache<String, Component> cache = new BoundedCache<>(1024);
+ * Component component = cache.get(text, serializer::deserialize);
+ * double hitRate = cache.stats().hitRate();
+ * }</pre>
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class BoundedCache<K, V> {
+    /**
+     * The default amount of independently locked segments.
+     *
+     * @since 1.0.1
+     */
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    @NotNull private final Segment<K, V>[] segments;
+    private final int mask;
+    @NotNull private final LongAdder hits;
+    @NotNull private final LongAdder misses;
+    @NotNull private final LongAdder evictions;
+    @Nullable private final BiConsumer<? super K, ? super V> evictionListener;
+
+    /**
+     * Constructs a BoundedCache holding up to the specified amount of entries, using the default concurrency level.
+     *
+     * @param maximumSize the maximum amount of entries.
+     * @throws IllegalArgumentException if the maximum size is not positive.
+     * @since 1.0.1
+     */
+    public BoundedCache(final int maximumSize) {
+        this(maximumSize, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructs a BoundedCache holding up to the specified amount of entries.
+     * <p>
+     * The amount of segments is the concurrency level rounded up to a power of two,
+     * and never more than the maximum size.
+     *
+     * @param maximumSize      the maximum amount of entries.
+     * @param concurrencyLevel the expected amount of threads using the cache concurrently.
+     * @throws IllegalArgumentException if the maximum size or the concurrency level are not positive.
+     * @since 1.0.1
+     */
+    public BoundedCache(final int maximumSize, final int concurrencyLevel) {
+        this(maximumSize, concurrencyLevel, null);
+    }
+
+    /**
+     * Constructs a BoundedCache holding up to the specified amount of entries, notifying a listener of evictions.
+     * <p>
+     * The amount of segments is the concurrency level rounded up to a power of two,
+     * and never more than the maximum size.
+     *
+     * @param maximumSize      the maximum amount of entries.
+     * @param concurrencyLevel the expected amount of threads using the cache concurrently.
+     * @param evictionListener the listener notified of the key and value of every evicted entry, or {@code null}.
+     * @throws IllegalArgumentException if the maximum size or the concurrency level are not positive.
+     * @since 1.0.1
+     */
+    @SuppressWarnings("unchecked")
+    public BoundedCache(final int maximumSize,
+                        final int concurrencyLevel,
+                        final @Nullable BiConsumer<? super K, ? super V> evictionListener) {
+        Preconditions.checkArgument(maximumSize > 0, "maximumSize must be positive");
+        Preconditions.checkArgument(concurrencyLevel > 0, "concurrencyLevel must be positive");
+
+        int segmentCount = 1;
+        while (segmentCount < concurrencyLevel && segmentCount * 2 <= maximumSize) segmentCount *= 2;
+
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+        this.mask = segmentCount - 1;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.evictionListener = evictionListener;
+
+        final int segmentSize = maximumSize / segmentCount;
+        final int remainder = maximumSize % segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(i < remainder ? segmentSize + 1 : segmentSize, evictions,
+                    evictionListener != null);
+        }
+    }
+
+    /**
+     * Returns the value cached for the specified key.
+     *
+     * @param key the key.
+     * @return the cached value, or {@code null} if the key is not cached.
+     * @since 1.0.1
+     */
+    public @Nullable V get(final @NotNull K key) {
+        final Segment<K, V> segment = segmentFor(key);
+        final V value;
+        synchronized (segment) {
+            value = segment.get(key);
+        }
+
+        if (value == null) misses.increment();
+        else hits.increment();
+        return value;
+    }
+
+    /**
+     * Returns the value cached for the specified key, loading and caching it if it is not cached.
+     *
+     * @param key    the key.
+     * @param loader the function loading the value of a key that is not cached.
+     * @return the cached or loaded value.
+     * @throws NullPointerException if the loader returns {@code null}.
+     * @since 1.0.1
+     */
+    public @NotNull V get(final @NotNull K key, final @NotNull Function<? super K, ? extends V> loader) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            final V value = segment.get(key);
+            if (value != null) {
+                hits.increment();
+                return value;
+            }
+        }
+
+        misses.increment();
+        final V loaded = Preconditions.checkNonNull(loader.apply(key), "loader cannot return null");
+        final V existing;
+        final Map.Entry<K, V> evicted;
+        synchronized (segment) {
+            existing = segment.putIfAbsent(key, loaded);
+            evicted = segment.takeEvicted();
+        }
+        notifyEvicted(evicted);
+        return existing == null ? loaded : existing;
+    }
+
+    /**
+     * Caches a value for the specified key, replacing any value already cached for it.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @since 1.0.1
+     */
+    public void put(final @NotNull K key, final @NotNull V value) {
+        final Segment<K, V> segment = segmentFor(key);
+        final Map.Entry<K, V> evicted;
+        synchronized (segment) {
+            segment.put(key, value);
+            evicted = segment.takeEvicted();
+        }
+        notifyEvicted(evicted);
+    }
+
+    /**
+     * Removes the value cached for the specified key.
+     *
+     * @param key the key.
+     * @return the removed value, or {@code null} if the key was not cached.
+     * @since 1.0.1
+     */
+    public @Nullable V invalidate(final @NotNull K key) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    /**
+     * Removes every cached value. The statistics of the cache are kept.
+     *
+     * @since 1.0.1
+     */
+    public void clear() {
+        for (final Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Removes every cached value, passing each removed entry to the specified action.
+     * The action is invoked after the lock of the entry's segment is released. The statistics of the cache are kept.
+     *
+     * @param action the action invoked with every removed entry.
+     * @since 1.0.1
+     */
+    public void clear(final @NotNull BiConsumer<? super K, ? super V> action) {
+        for (final Segment<K, V> segment : segments) {
+            final Map<K, V> removed;
+            synchronized (segment) {
+                if (segment.isEmpty()) continue;
+                removed = new LinkedHashMap<>(segment);
+                segment.clear();
+            }
+            removed.forEach(action);
+        }
+    }
+
+    /**
+     * Returns the amount of cached values.
+     *
+     * @return the amount of cached values.
+     * @since 1.0.1
+     */
+    public int size() {
+        int size = 0;
+        for (final Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the cache.
+     *
+     * @return the statistics.
+     * @since 1.0.1
+     */
+    public @NotNull Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * Returns the segment responsible for the specified key.
+     *
+     * @param key the key.
+     * @return the segment.
+     */
+    private @NotNull Segment<K, V> segmentFor(final @NotNull K key) {
+        final int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    /**
+     * Notifies the eviction listener of an evicted entry.
+     *
+     * @param evicted the evicted entry, or {@code null} if no entry was evicted.
+     */
+    private void notifyEvicted(final @Nullable Map.Entry<K, V> evicted) {
+        if (evicted != null && evictionListener != null) evictionListener.accept(evicted.getKey(), evicted.getValue());
+    }
+
+    /**
+     * The statistics of a cache.
+     *
+     * @param hits      the amount of lookups that found a cached value.
+     * @param misses    the amount of lookups that did not find a cached value.
+     * @param evictions the amount of values evicted to respect the maximum size.
+     * @since 1.0.1
+     */
+    public record Stats(long hits, long misses, long evictions) {
+
+        /**
+         * Returns the amount of lookups.
+         *
+         * @return the amount of lookups.
+         * @since 1.0.1
+         */
+        @Contract(pure = true)
+        public long requests() {
+            return hits + misses;
+        }
+
+        /**
+         * Returns the ratio of lookups that found a cached value.
+         *
+         * @return the hit rate, between {@code 0} and {@code 1}, or {@code 1} if there were no lookups.
+         * @since 1.0.1
+         */
+        @Contract(pure = true)
+        public double hitRate() {
+            final long requests = requests();
+            return requests == 0 ? 1 : (double) hits / requests;
+        }
+
+        /**
+         * Returns the sum of these statistics and the specified statistics.
+         *
+         * @param other the other statistics.
+         * @return the combined statistics.
+         * @since 1.0.1
+         */
+        @Contract(value = "_ -> new", pure = true)
+        public @NotNull Stats plus(final @NotNull Stats other) {
+            return new Stats(hits + other.hits, misses + other.misses, evictions + other.evictions);
+        }
+    }
+
+    /**
+     * An access-ordered map evicting its least recently used entry once its capacity is exceeded.
+     * Must only be accessed while holding its monitor.
+     *
+     * @param <K> the type of the keys.
+     * @param <V> the type of the values.
+     */
+    private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+        @NotNull private final LongAdder evictions;
+        private final boolean trackEvicted;
+        @Nullable private transient Map.Entry<K, V> evicted;
+
+        /**
+         * Constructs a Segment with the specified capacity.
+         *
+         * @param capacity     the maximum amount of entries.
+         * @param evictions    the eviction counter of the owning cache.
+         * @param trackEvicted whether the last evicted entry is kept for {@link #takeEvicted()}.
+         */
+        private Segment(final int capacity, final @NotNull LongAdder evictions, final boolean trackEvicted) {
+            super(Math.min(capacity, 64), 0.75F, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+            this.trackEvicted = trackEvicted;
+        }
+
+        /**
+         * Returns and forgets the entry evicted by the last insertion.
+         *
+         * @return the evicted entry, or {@code null} if no entry was evicted or evictions are not tracked.
+         */
+        private @Nullable Map.Entry<K, V> takeEvicted() {
+            final Map.Entry<K, V> entry = evicted;
+            evicted = null;
+            return entry;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+            if (size() <= capacity) return false;
+            evictions.increment();
+            if (trackEvicted) evicted = new AbstractMap.SimpleImmutableEntry<>(eldest);
+            return true;
+        }
+    }
+}
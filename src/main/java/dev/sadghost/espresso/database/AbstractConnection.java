@@ -0,0 +1,230 @@
+package dev.sadghost.espresso.database;
+
+import dev.sadghost.espresso.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * A base for connections whose operations block, running them on a bounded pool of worker threads.
+ *
+ * <p>
+ * Operations wait for a worker in a bounded queue. Once the queue is full, further operations are not run on the
+ * calling thread but complete exceptionally with a {@link RejectedExecutionException}, so a struggling store applies
+ * backpressure instead of stalling the server's main thread or exhausting its memory.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is thread-safe.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * public final class FileConnection extends AbstractConnection {
+ *     public CompletableFuture<Document> find(String collection, String id) {
+ *         return supplyAsync(() -> readFile(collection, id));
+ *     }
+ *     // Other operations
+ * }
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public abstract class AbstractConnection implements IConnection {
+    /**
+     * The default amount of worker threads.
+     *
+     * @since 1.0.1
+     */
+    public static final int DEFAULT_THREADS = 4;
+
+    /**
+     * The default amount of operations that can wait for a worker thread.
+     *
+     * @since 1.0.1
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private static final long CLOSE_TIMEOUT = 10;
+    private static final Pattern COLLECTION_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]{0,62}");
+
+    @NotNull private final ThreadPoolExecutor executor;
+    private volatile boolean healthy = true;
+    private volatile boolean closed;
+
+    /**
+     * Constructs an AbstractConnection.
+     *
+     * @param name          the name of the worker threads.
+     * @param threads       the amount of worker threads.
+     * @param queueCapacity the amount of operations that can wait for a worker thread.
+     * @throws IllegalArgumentException if the amount of threads or the queue capacity is not positive.
+     * @since 1.0.1
+     */
+    protected AbstractConnection(final @NotNull String name, final int threads, final int queueCapacity) {
+        Preconditions.checkArgument(threads > 0, "threads must be positive");
+        Preconditions.checkArgument(queueCapacity > 0, "queueCapacity must be positive");
+
+        final AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, name + " #" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Runs an operation on a worker thread.
+     *
+     * @param operation the operation.
+     * @param <T>       the type of the result.
+     * @return a future completing with the result of the operation, or exceptionally if it threw or could not be
+     * scheduled.
+     * @since 1.0.1
+     */
+    protected final <T> @NotNull CompletableFuture<T> supplyAsync(final @NotNull Callable<T> operation) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new IllegalStateException("connection is closed"));
+            return future;
+        }
+
+        try {
+            executor.execute(new Operation<>(operation, future));
+        } catch (final RejectedExecutionException exception) {
+            future.completeExceptionally(exception);
+        }
+        return future;
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> ping() {
+        return supplyAsync(() -> {
+            try {
+                healthy = checkHealth();
+            } catch (final Exception exception) {
+                healthy = false;
+            }
+            return healthy;
+        }).exceptionally(throwable -> false);
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return !closed && healthy;
+    }
+
+    /**
+     * Returns whether the connection is closed.
+     *
+     * @return {@code true} if the connection is closed.
+     * @since 1.0.1
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns the amount of operations waiting for a worker thread.
+     *
+     * @return the amount of pending operations.
+     * @since 1.0.1
+     */
+    public int getPendingOperations() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Closes the connection, waiting up to 10 seconds for the pending operations to finish. Operations still waiting
+     * for a worker after that, or once the calling thread is interrupted, complete exceptionally with an
+     * {@link IllegalStateException}.
+     *
+     * @since 1.0.1
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS)) abortPendingOperations();
+        } catch (final InterruptedException exception) {
+            abortPendingOperations();
+            Thread.currentThread().interrupt();
+        }
+        closeResources();
+    }
+
+    /**
+     * Stops the worker threads, failing the operations still waiting for a worker so their callers do not hang.
+     */
+    private void abortPendingOperations() {
+        for (final Runnable pending : executor.shutdownNow()) {
+            if (pending instanceof Operation<?> operation) {
+                operation.future.completeExceptionally(new IllegalStateException("connection is closed"));
+            }
+        }
+    }
+
+    /**
+     * Checks that a collection name is safe to use as a table or file name: a letter or underscore followed by up to
+     * 62 letters, digits or underscores.
+     *
+     * @param collection the name of the collection.
+     * @throws IllegalArgumentException if the name is not a valid collection name.
+     */
+    static void checkCollection(final @NotNull String collection) {
+        Preconditions.checkArgument(COLLECTION_NAME.matcher(collection).matches(),
+                "collection must be a letter or underscore followed by up to 62 letters, digits or underscores");
+    }
+
+    /**
+     * Checks whether the underlying store is reachable, blocking until it answers. Called on a worker thread.
+     *
+     * @return {@code true} if the store is reachable.
+     * @throws Exception if the store could not be reached.
+     * @since 1.0.1
+     */
+    protected abstract boolean checkHealth() throws Exception;
+
+    /**
+     * Releases the underlying resources, once every pending operation has finished.
+     *
+     * @since 1.0.1
+     */
+    protected abstract void closeResources();
+
+    /**
+     * An operation waiting for a worker thread, exposing its future so it can be failed if it never runs.
+     *
+     * @param callable the operation.
+     * @param future   the future completing with the result of the operation.
+     * @param <T>      the type of the result.
+     */
+    private record Operation<T>(@NotNull Callable<T> callable, @NotNull CompletableFuture<T> future)
+            implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                future.complete(callable.call());
+            } catch (final Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }
+    }
+}
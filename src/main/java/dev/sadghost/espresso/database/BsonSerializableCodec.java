@@ -0,0 +1,78 @@
+package dev.sadghost.espresso.database;
+
+import dev.sadghost.espresso.base.Preconditions;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Supplier;
+
+/**
+ * A codec encoding {@link IBsonSerializable} objects by streaming their fields, without intermediate documents.
+ *
+ * <p>
+ * Encoding starts a document, lets the object write its fields and ends the document. Decoding creates an empty
+ * object using the factory and hands it every field of the document, skipping the fields it does not read.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is thread-safe if the factory is.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * Codec<PlayerData> codec = new BsonSerializableCodec<>(PlayerData.class, PlayerData::new);
+ * codec.encode(new BsonBinaryWriter(buffer), data, EncoderContext.builder().build());
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ * @param <E> the type of the objects.
+ */
+public final class BsonSerializableCodec<E extends IBsonSerializable> implements Codec<E> {
+    @NotNull private final Class<E> type;
+    @NotNull private final Supplier<? extends E> factory;
+
+    /**
+     * Constructs a BsonSerializableCodec.
+     *
+     * @param type    the class of the objects.
+     * @param factory the factory of empty objects, which decoded fields are read into.
+     * @since 1.0.1
+     */
+    public BsonSerializableCodec(final @NotNull Class<E> type, final @NotNull Supplier<? extends E> factory) {
+        this.type = Preconditions.checkNonNull(type, "type cannot be null");
+        this.factory = Preconditions.checkNonNull(factory, "factory cannot be null");
+    }
+
+    @Override
+    public void encode(final @NotNull BsonWriter writer,
+                       final @NotNull E value,
+                       final @NotNull EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        value.writeFields(writer);
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public @NotNull E decode(final @NotNull BsonReader reader, final @NotNull DecoderContext decoderContext) {
+        final E value = factory.get();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (!value.readField(reader.readName(), reader)) reader.skipValue();
+        }
+        reader.readEndDocument();
+        return value;
+    }
+
+    @Override
+    public @NotNull Class<E> getEncoderClass() {
+        return type;
+    }
+}
@@ -0,0 +1,104 @@
+package dev.sadghost.espresso.database;
+
+import dev.sadghost.espresso.base.Preconditions;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A codec provider of the {@link BsonSerializableCodec}s of registered {@link IBsonSerializable} classes.
+ *
+ * <p>
+ * Every class is registered once, together with the factory creating its empty instances. Classes are looked up
+ * exactly, so every concrete class that is encoded or decoded must be registered. Classes can be registered after the
+ * provider was added to a codec registry.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is thread-safe.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * BsonSerializableCodecProvider provider = new BsonSerializableCodecProvider()
+ *         .register(PlayerData.class, PlayerData::new)
+ *         .register(Guild.class, Guild::new);
+ * CodecRegistry registry = CodecRegistries.fromRegistries(
+ *         CodecRegistries.fromProviders(provider), MongoClientSettings.getDefaultCodecRegistry());
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class BsonSerializableCodecProvider implements CodecProvider {
+    @NotNull private final Map<Class<?>, Codec<?>> codecs = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a class, replacing its previous registration.
+     *
+     * @param type    the class.
+     * @param factory the factory of empty instances of the class.
+     * @param <E>     the type of the class.
+     * @return the provider instance.
+     * @since 1.0.1
+     */
+    @Contract("_, _ -> this")
+    public <E extends IBsonSerializable> @NotNull BsonSerializableCodecProvider register(
+            final @NotNull Class<E> type,
+            final @NotNull Supplier<? extends E> factory) {
+        codecs.put(type, new BsonSerializableCodec<>(type, factory));
+        return this;
+    }
+
+    /**
+     * Returns whether a class is registered.
+     *
+     * @param type the class.
+     * @return {@code true} if the class is registered.
+     * @since 1.0.1
+     */
+    public boolean isRegistered(final @NotNull Class<?> type) {
+        return codecs.containsKey(type);
+    }
+
+    /**
+     * Returns the codec of a registered class.
+     *
+     * @param type the class.
+     * @param <E>  the type of the class.
+     * @return the codec.
+     * @throws IllegalArgumentException if the class is not registered.
+     * @since 1.0.1
+     */
+    public <E extends IBsonSerializable> @NotNull Codec<E> getCodec(final @NotNull Class<E> type) {
+        final Codec<E> codec = lookup(type);
+        Preconditions.checkArgument(codec != null, type.getName() + " is not registered");
+        return codec;
+    }
+
+    @Override
+    public <T> @Nullable Codec<T> get(final @NotNull Class<T> clazz, final @NotNull CodecRegistry registry) {
+        return lookup(clazz);
+    }
+
+    /**
+     * Returns the codec of a class.
+     *
+     * @param type the class.
+     * @param <T>  the type of the class.
+     * @return the codec, or {@code null} if the class is not registered.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> @Nullable Codec<T> lookup(final @NotNull Class<T> type) {
+        return (Codec<T>) codecs.get(type);
+    }
+}
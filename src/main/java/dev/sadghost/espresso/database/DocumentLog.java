@@ -0,0 +1,612 @@
+package dev.sadghost.espresso.database;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+
+/**
+ * An append-only log file of the values of a single collection, with an in-memory index from id to value.
+ *
+ * <p>
+ * Saving or deleting a value appends a record, so writes never rewrite the file. Every record is laid out as:
+ * <pre>
+ * int   length  // of the op, id and value
+ * int   crc     // CRC32C of the op, id and value
+ * byte  op      // PUT or DELETE
+ * short idSize  // of the UTF-8 id
+ * bytes id
+ * bytes value   // absent for DELETE
+ * </pre>
+ * The index maps every id to the position of its latest value, which is read through a memory mapping of the file
+ * without copying. Values appended after the file was mapped are copied out of the file instead, until they outgrow
+ * the mapping by a quarter, or at least {@value #MIN_REMAP_GROWTH} bytes, and the file is remapped. Superseded
+ * mappings are not unmapped, as values read from them may still be in use, and are retained until garbage collected.
+ * Opening the log replays it with plain reads to rebuild the index, truncating it at the first incomplete or corrupt
+ * record, which is where a crash interrupted a write.
+ * </p>
+ *
+ * <p>
+ * Superseded values and deleted ids remain in the file until it is compacted, which writes the live values to the
+ * file of the next generation, {@code <name>.<generation>.dlog}, and switches to it. Opening the log deletes older
+ * generations and unfinished compactions. Other files in the directory are left alone, even if they share the name,
+ * such as the {@code <name>.log} files of a debug sink. A log file is limited to {@value #MAX_SIZE} bytes, as it is
+ * mapped at once.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is thread-safe. Writes are serialized, and compaction blocks reads and writes.
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+final class DocumentLog implements AutoCloseable {
+    static final int MAX_SIZE = Integer.MAX_VALUE;
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER_SIZE = 8;
+    private static final int PREFIX_SIZE = 3;
+    private static final int COMPACTION_BUFFER_SIZE = 64 * 1024;
+    private static final int REPLAY_BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_REMAP_GROWTH = 1024 * 1024;
+    private static final String EXTENSION = ".dlog";
+    private static final String TEMPORARY_EXTENSION = ".dlog.tmp";
+
+    @NotNull private final Path directory;
+    @NotNull private final String name;
+    @NotNull private final Map<String, Location> index = new ConcurrentHashMap<>();
+    @NotNull private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    @NotNull private final Object writeLock = new Object();
+    private long generation;
+    private FileChannel channel;
+    private volatile MappedByteBuffer mapping;
+    private long size;
+    private long liveSize;
+
+    /**
+     * Constructs a DocumentLog.
+     *
+     * @param directory the directory of the log files.
+     * @param name      the name of the log, which must be a valid file name without dots.
+     */
+    private DocumentLog(final @NotNull Path directory, final @NotNull String name) {
+        this.directory = directory;
+        this.name = name;
+    }
+
+    /**
+     * Opens a log, creating it if it does not exist, and replays it to rebuild its index.
+     *
+     * @param directory the directory of the log files.
+     * @param name      the name of the log, which must be a valid file name without dots.
+     * @return the log.
+     * @throws IOException if an I/O error occurs.
+     */
+    static @NotNull DocumentLog open(final @NotNull Path directory, final @NotNull String name) throws IOException {
+        Files.createDirectories(directory);
+        final DocumentLog log = new DocumentLog(directory, name);
+        log.generation = log.cleanUp();
+        log.channel = FileChannel.open(log.file(log.generation),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        log.replay();
+        return log;
+    }
+
+    /**
+     * Returns the latest value of an id.
+     *
+     * @param id the id.
+     * @return a read-only view of the value, or {@code null} if the id has no value.
+     * @throws IOException if the file could not be read.
+     */
+    @Nullable ByteBuffer get(final @NotNull String id) throws IOException {
+        lock.readLock().lock();
+        try {
+            final Location location = index.get(id);
+            return location == null ? null : read(location);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the latest values of every id.
+     *
+     * @return read-only views of the values.
+     * @throws IOException if the file could not be read.
+     */
+    @NotNull List<ByteBuffer> getAll() throws IOException {
+        lock.readLock().lock();
+        try {
+            final List<ByteBuffer> values = new ArrayList<>(index.size());
+            for (final Location location : index.values()) values.add(read(location));
+            return values;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the values of several ids with a single write.
+     *
+     * @param values the values by id.
+     * @param sync   whether to force the values to the disk before returning.
+     * @throws IOException if an I/O error occurs, or the log would outgrow its maximum size.
+     */
+    void putAll(final @NotNull Map<String, ByteBuffer> values, final boolean sync) throws IOException {
+        if (values.isEmpty()) return;
+
+        final List<byte[]> ids = new ArrayList<>(values.size());
+        int batchSize = 0;
+        for (final Map.Entry<String, ByteBuffer> entry : values.entrySet()) {
+            final byte[] id = encodeId(entry.getKey());
+            ids.add(id);
+            batchSize = Math.addExact(batchSize, HEADER_SIZE + PREFIX_SIZE + id.length + entry.getValue().remaining());
+        }
+
+        final ByteBuffer batch = ByteBuffer.allocate(batchSize);
+        int i = 0;
+        for (final ByteBuffer value : values.values()) writeRecord(batch, PUT, ids.get(i++), value.duplicate());
+        batch.flip();
+
+        lock.readLock().lock();
+        try {
+            synchronized (writeLock) {
+                long position = append(batch, sync);
+                i = 0;
+                for (final Map.Entry<String, ByteBuffer> entry : values.entrySet()) {
+                    final int length = entry.getValue().remaining();
+                    final int recordSize = HEADER_SIZE + PREFIX_SIZE + ids.get(i++).length + length;
+                    replace(entry.getKey(), new Location(position + recordSize - length, length, recordSize));
+                    position += recordSize;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the deletion of an id, if it has a value.
+     *
+     * @param id   the id.
+     * @param sync whether to force the deletion to the disk before returning.
+     * @return {@code true} if the id had a value.
+     * @throws IOException if an I/O error occurs, or the log would outgrow its maximum size.
+     */
+    boolean delete(final @NotNull String id, final boolean sync) throws IOException {
+        final byte[] encodedId = encodeId(id);
+        final ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + PREFIX_SIZE + encodedId.length);
+        writeRecord(record, DELETE, encodedId, ByteBuffer.allocate(0));
+        record.flip();
+
+        lock.readLock().lock();
+        try {
+            synchronized (writeLock) {
+                if (!index.containsKey(id)) return false;
+                append(record, sync);
+                replace(id, null);
+                return true;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the fraction of the file taken by superseded values and deletions.
+     *
+     * @return the garbage ratio, from 0 to 1.
+     */
+    double getGarbageRatio() {
+        synchronized (writeLock) {
+            return size == 0 ? 0 : 1 - (double) liveSize / size;
+        }
+    }
+
+    /**
+     * Returns the size of the file.
+     *
+     * @return the size, in bytes.
+     */
+    long getSize() {
+        synchronized (writeLock) {
+            return size;
+        }
+    }
+
+    /**
+     * Rewrites the live values to the file of the next generation and switches to it.
+     *
+     * @throws IOException if an I/O error occurs, in which case the current file is kept.
+     */
+    void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            final Path temporary = directory.resolve(name + "." + (generation + 1) + TEMPORARY_EXTENSION);
+            final Map<String, Location> compacted = new ConcurrentHashMap<>(index.size());
+            try (FileChannel target = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                final ByteBuffer buffer = ByteBuffer.allocate(COMPACTION_BUFFER_SIZE);
+                final ByteBuffer source = mapping(size);
+                long written = 0;
+                for (final Map.Entry<String, Location> entry : index.entrySet()) {
+                    final Location location = entry.getValue();
+                    final int start = (int) location.value() - (location.recordSize() - location.length());
+                    final ByteBuffer record = source.duplicate().position(start).limit(start + location.recordSize());
+
+                    if (buffer.remaining() < record.remaining()) written += drain(buffer, target);
+                    final long position = written + buffer.position();
+                    if (buffer.remaining() < record.remaining()) {
+                        written += write(record, target);
+                    } else {
+                        buffer.put(record);
+                    }
+                    compacted.put(entry.getKey(), new Location(position + location.recordSize() - location.length(),
+                            location.length(), location.recordSize()));
+                }
+                drain(buffer, target);
+                target.force(true);
+            } catch (final IOException exception) {
+                Files.deleteIfExists(temporary);
+                throw exception;
+            }
+
+            final Path file = file(generation + 1);
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+            final FileChannel previous = channel;
+            final Path previousFile = file(generation);
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            generation++;
+            synchronized (writeLock) {
+                size = channel.size();
+                liveSize = size;
+            }
+            mapping = null;
+            index.clear();
+            index.putAll(compacted);
+            previous.close();
+            deleteQuietly(previousFile);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forces the appended records to the disk and closes the file.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            channel.force(true);
+            channel.close();
+            mapping = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Deletes the files of older generations and unfinished compactions. Only files named exactly
+     * {@code <name>.<generation>.dlog} or {@code <name>.<generation>.dlog.tmp} are considered.
+     *
+     * @return the latest generation.
+     * @throws IOException if the directory could not be listed.
+     */
+    private long cleanUp() throws IOException {
+        final Pattern pattern = Pattern.compile(Pattern.quote(name) + "\\.(\\d{1,18})(" + Pattern.quote(EXTENSION)
+                + "|" + Pattern.quote(TEMPORARY_EXTENSION) + ")");
+        final List<Path> files = new ArrayList<>();
+        long latest = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, name + ".*")) {
+            for (final Path file : stream) {
+                final Matcher matcher = pattern.matcher(file.getFileName().toString());
+                if (!matcher.matches()) continue;
+                if (matcher.group(2).equals(TEMPORARY_EXTENSION)) {
+                    deleteQuietly(file);
+                    continue;
+                }
+                latest = Math.max(latest, Long.parseLong(matcher.group(1)));
+                files.add(file);
+            }
+        }
+        final Path latestFile = file(latest);
+        for (final Path file : files) {
+            if (!file.equals(latestFile)) deleteQuietly(file);
+        }
+        return latest;
+    }
+
+    /**
+     * Rebuilds the index from the file, truncating the file at the first incomplete or corrupt record.
+     * The file is read through the channel, as a mapped file cannot be truncated on some platforms.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    private void replay() throws IOException {
+        final long fileSize = channel.size();
+        if (fileSize > MAX_SIZE) throw new IOException("log " + file(generation) + " exceeds " + MAX_SIZE + " bytes");
+
+        // Holds the bytes of the file from bufferStart, and is refilled from a record once it does not cover it.
+        ByteBuffer buffer = ByteBuffer.allocate(REPLAY_BUFFER_SIZE).limit(0);
+        long bufferStart = 0;
+        final CRC32C crc = new CRC32C();
+        long position = 0;
+        while (fileSize - position >= HEADER_SIZE + PREFIX_SIZE) {
+            if (position + HEADER_SIZE > bufferStart + buffer.limit()) {
+                buffer = fill(buffer, position, HEADER_SIZE, fileSize);
+                bufferStart = position;
+            }
+            final int length = buffer.getInt((int) (position - bufferStart));
+            if (length < PREFIX_SIZE || length > fileSize - position - HEADER_SIZE) break;
+
+            final int recordSize = HEADER_SIZE + length;
+            if (position + recordSize > bufferStart + buffer.limit()) {
+                buffer = fill(buffer, position, recordSize, fileSize);
+                bufferStart = position;
+            }
+            final int offset = (int) (position - bufferStart);
+            final ByteBuffer payload = buffer.duplicate().position(offset + HEADER_SIZE).limit(offset + recordSize);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(offset + Integer.BYTES)) break;
+
+            final byte op = payload.get();
+            final int idSize = Short.toUnsignedInt(payload.getShort());
+            if ((op != PUT && op != DELETE) || idSize > payload.remaining()) break;
+            final byte[] id = new byte[idSize];
+            payload.get(id);
+
+            if (op == PUT) {
+                replace(new String(id, StandardCharsets.UTF_8),
+                        new Location(bufferStart + payload.position(), payload.remaining(), recordSize));
+            } else {
+                replace(new String(id, StandardCharsets.UTF_8), null);
+            }
+            position += recordSize;
+        }
+
+        size = position;
+        if (position < fileSize) {
+            channel.truncate(position);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Reads the file from a position into the replay buffer, filling as much of the buffer as the file allows.
+     *
+     * @param buffer   the replay buffer.
+     * @param position the position to read from.
+     * @param size     the amount of bytes the buffer must hold, which must not exceed the rest of the file.
+     * @param fileSize the size of the file.
+     * @return the filled buffer, which is a larger buffer if the replay buffer cannot hold the size.
+     * @throws IOException if an I/O error occurs.
+     */
+    private @NotNull ByteBuffer fill(final @NotNull ByteBuffer buffer,
+                                     final long position,
+                                     final int size,
+                                     final long fileSize) throws IOException {
+        final ByteBuffer target = buffer.capacity() >= size ? buffer.clear() : ByteBuffer.allocate(size);
+        target.limit((int) Math.min(target.capacity(), fileSize - position));
+        readFully(target, position);
+        return target.flip();
+    }
+
+    /**
+     * Appends records to the file. Must be called with the write lock held.
+     *
+     * @param records the records.
+     * @param sync    whether to force the records to the disk before returning.
+     * @return the position of the first record.
+     * @throws IOException if an I/O error occurs, or the log would outgrow its maximum size.
+     */
+    private long append(final @NotNull ByteBuffer records, final boolean sync) throws IOException {
+        if (size + records.remaining() > MAX_SIZE) throw new IOException("log " + file(generation) + " is full");
+
+        final long position = size;
+        long written = position;
+        while (records.hasRemaining()) written += channel.write(records, written);
+        if (sync) channel.force(false);
+        size = written;
+        return position;
+    }
+
+    /**
+     * Replaces the location of an id in the index, accounting for the live size. Must be called with the write lock.
+     *
+     * @param id       the id.
+     * @param location the new location, or {@code null} if the id was deleted.
+     */
+    private void replace(final @NotNull String id, final @Nullable Location location) {
+        final Location previous = location == null ? index.remove(id) : index.put(id, location);
+        if (previous != null) liveSize -= previous.recordSize();
+        if (location != null) liveSize += location.recordSize();
+    }
+
+    /**
+     * Returns a read-only view of a value. A value beyond the current mapping is copied, unless it is far enough
+     * beyond it for the file to be remapped.
+     *
+     * @param location the location of the value.
+     * @return the value.
+     * @throws IOException if an I/O error occurs, or the file could not be mapped.
+     */
+    private @NotNull ByteBuffer read(final @NotNull Location location) throws IOException {
+        final long end = location.value() + location.length();
+        final MappedByteBuffer current = mapping;
+        if (current != null && current.capacity() < end
+                && end - current.capacity() < Math.max(MIN_REMAP_GROWTH, current.capacity() / 4)) {
+            final ByteBuffer value = ByteBuffer.allocate(location.length());
+            readFully(value, location.value());
+            return value.flip().asReadOnlyBuffer();
+        }
+        return mapping(end).duplicate()
+                .position((int) location.value())
+                .limit((int) end)
+                .slice()
+                .asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns a mapping of the file covering at least the given size, remapping the whole file if it does not.
+     * The superseded mapping is not unmapped, so views of it remain readable until they are garbage collected.
+     *
+     * @param end the size the mapping must cover.
+     * @return the mapping.
+     * @throws IOException if the file could not be mapped.
+     */
+    private @NotNull MappedByteBuffer mapping(final long end) throws IOException {
+        MappedByteBuffer current = mapping;
+        if (current != null && current.capacity() >= end) return current;
+        synchronized (this) {
+            current = mapping;
+            if (current == null || current.capacity() < end) {
+                current = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                mapping = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Reads the file from a position until a buffer is full.
+     *
+     * @param buffer   the buffer.
+     * @param position the position to read from.
+     * @throws IOException if an I/O error occurs, or the file ends before the buffer is full.
+     */
+    private void readFully(final @NotNull ByteBuffer buffer, final long position) throws IOException {
+        final int start = buffer.position();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position() - start) < 0) {
+                throw new EOFException("log " + file(generation) + " ended unexpectedly");
+            }
+        }
+    }
+
+    /**
+     * Returns the file of a generation.
+     *
+     * @param generation the generation.
+     * @return the file.
+     */
+    private @NotNull Path file(final long generation) {
+        return directory.resolve(name + "." + generation + EXTENSION);
+    }
+
+    /**
+     * Writes a record to a buffer.
+     *
+     * @param buffer the buffer.
+     * @param op     the operation.
+     * @param id     the UTF-8 id.
+     * @param value  the value.
+     */
+    private static void writeRecord(final @NotNull ByteBuffer buffer,
+                                    final byte op,
+                                    final byte @NotNull [] id,
+                                    final @NotNull ByteBuffer value) {
+        final int start = buffer.position();
+        buffer.putInt(PREFIX_SIZE + id.length + value.remaining())
+                .putInt(0)
+                .put(op)
+                .putShort((short) id.length)
+                .put(id)
+                .put(value);
+
+        final CRC32C checksum = new CRC32C();
+        checksum.update(buffer.duplicate().position(start + HEADER_SIZE).limit(buffer.position()));
+        buffer.putInt(start + Integer.BYTES, (int) checksum.getValue());
+    }
+
+    /**
+     * Encodes an id as UTF-8.
+     *
+     * @param id the id.
+     * @return the encoded id.
+     * @throws IllegalArgumentException if the encoded id is longer than 65535 bytes.
+     */
+    private static byte @NotNull [] encodeId(final @NotNull String id) {
+        final byte[] encoded = id.getBytes(StandardCharsets.UTF_8);
+        if (encoded.length > 0xFFFF) throw new IllegalArgumentException("id cannot be longer than 65535 bytes");
+        return encoded;
+    }
+
+    /**
+     * Writes the contents of a buffer to a channel and clears it.
+     *
+     * @param buffer  the buffer.
+     * @param channel the channel.
+     * @return the amount of bytes written.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static long drain(final @NotNull ByteBuffer buffer, final @NotNull FileChannel channel) throws IOException {
+        buffer.flip();
+        final long written = write(buffer, channel);
+        buffer.clear();
+        return written;
+    }
+
+    /**
+     * Writes the remaining contents of a buffer to a channel.
+     *
+     * @param buffer  the buffer.
+     * @param channel the channel.
+     * @return the amount of bytes written.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static long write(final @NotNull ByteBuffer buffer, final @NotNull FileChannel channel) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) written += channel.write(buffer);
+        return written;
+    }
+
+    /**
+     * Deletes a file, ignoring failures. A file that is still mapped cannot be deleted on some platforms, in which
+     * case it is deleted the next time the log is opened.
+     *
+     * @param file the file.
+     */
+    private static void deleteQuietly(final @NotNull Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException ignored) {
+            // Deleted the next time the log is opened.
+        }
+    }
+
+    /**
+     * The location of a value in the file.
+     *
+     * @param value      the position of the value.
+     * @param length     the length of the value.
+     * @param recordSize the size of the whole record.
+     */
+    private record Location(long value, int length, int recordSize) {
+    }
+}
@@ -0,0 +1,396 @@
+package dev.sadghost.espresso.database;
+
+import dev.sadghost.espresso.base.Preconditions;
+import org.bson.Document;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A repository persisting {@link IDocumentSerializable} entities of a collection through an {@link IConnection},
+ * writing them behind in batches.
+ *
+ * <p>
+ * Saving an entity serializes it immediately, on the calling thread, and queues the document. Saving the same entity
+ * again before the queue is flushed replaces its queued document, so an entity saved every tick is written once per
+ * flush. The queue is flushed with a single {@link IConnection#saveAll(String, Map)} once it holds a batch of
+ * documents, on a fixed interval, when {@link #flush()} is called, and when the repository is closed.
+ * </p>
+ *
+ * <p>
+ * Flushes run one after another, so an older version of a document can never overwrite a newer one. If a flush fails,
+ * its documents are queued again unless they were saved again in the meantime, and the next flush retries them.
+ * Entities found by the repository reflect the queued and in-flight documents, so a save is visible immediately.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is thread-safe.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * DocumentRepository<PlayerData> repository = DocumentRepository
+ *         .builder(connection, "players", PlayerData::new, data -> data.getUniqueId().toString())
+ *         .setFlushInterval(Duration.ofSeconds(30))
+ *         .build();
+ *
+ * repository.save(data); // Coalesced and written with the next batch
+ * repository.saveNow(data).thenRun(() -> player.kickPlayer("Saved")); // Written right away
+ * repository.close(); // When the plugin is disabled
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ * @param <E> the type of the entities.
+ */
+public final class DocumentRepository<E extends IDocumentSerializable<Document>> implements AutoCloseable {
+    /**
+     * The default amount of queued documents that triggers a flush.
+     *
+     * @since 1.0.1
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * The default interval between flushes.
+     *
+     * @since 1.0.1
+     */
+    @NotNull public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(10);
+
+    // Queued in place of a document to delete it.
+    private static final Document DELETED = new Document();
+
+    @NotNull private final IConnection connection;
+    @NotNull private final String collection;
+    @NotNull private final Supplier<E> factory;
+    @NotNull private final Function<? super E, String> idFunction;
+    private final int batchSize;
+    @NotNull private final Map<String, Document> pending = new ConcurrentHashMap<>();
+    @NotNull private final Map<String, Document> writing = new ConcurrentHashMap<>();
+    @NotNull private final AtomicBoolean flushRequested = new AtomicBoolean();
+    @Nullable private final ScheduledExecutorService scheduler;
+    @NotNull private CompletableFuture<Void> lastFlush = CompletableFuture.completedFuture(null);
+    private volatile boolean closed;
+
+    /**
+     * Constructs a DocumentRepository.
+     *
+     * @param builder the builder.
+     */
+    private DocumentRepository(final @NotNull Builder<E> builder) {
+        this.connection = builder.connection;
+        this.collection = builder.collection;
+        this.factory = builder.factory;
+        this.idFunction = builder.idFunction;
+        this.batchSize = builder.batchSize;
+
+        if (builder.flushInterval.isZero()) {
+            this.scheduler = null;
+        } else {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "Espresso Repository Flusher (" + collection + ")");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final long interval = builder.flushInterval.toMillis();
+            this.scheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns a builder of a repository.
+     *
+     * @param connection the connection the entities are persisted through.
+     * @param collection the name of the collection.
+     * @param factory    the factory of empty entities, which found documents are deserialized into.
+     * @param idFunction the function returning the id of an entity.
+     * @param <E>        the type of the entities.
+     * @return the builder.
+     * @since 1.0.1
+     */
+    @Contract("_, _, _, _ -> new")
+    public static <E extends IDocumentSerializable<Document>> @NotNull Builder<E> builder(
+            final @NotNull IConnection connection,
+            final @NotNull String collection,
+            final @NotNull Supplier<E> factory,
+            final @NotNull Function<? super E, String> idFunction) {
+        return new Builder<>(connection, collection, factory, idFunction);
+    }
+
+    /**
+     * Finds an entity by its id, taking queued and in-flight saves and deletions into account.
+     *
+     * @param id the id of the entity.
+     * @return a future completing with the entity, or with {@code null} if there is no such entity.
+     * @since 1.0.1
+     */
+    public @NotNull CompletableFuture<@Nullable E> find(final @NotNull String id) {
+        Document document = pending.get(id);
+        if (document == null) document = writing.get(id);
+        if (document != null) return CompletableFuture.completedFuture(toEntity(document));
+
+        return connection.find(collection, id).thenApply(found -> found == null ? null : toEntity(found));
+    }
+
+    /**
+     * Queues an entity to be saved with the next flush, replacing its previously queued version.
+     * The entity is serialized before this method returns, so it can be modified freely afterwards.
+     *
+     * @param entity the entity.
+     * @throws IllegalStateException if the repository is closed.
+     * @since 1.0.1
+     */
+    public void save(final @NotNull E entity) {
+        enqueue(getId(entity), entity.serialize());
+    }
+
+    /**
+     * Saves an entity right away, together with every other queued document.
+     *
+     * @param entity the entity.
+     * @return a future completing once the entity is saved.
+     * @throws IllegalStateException if the repository is closed.
+     * @since 1.0.1
+     */
+    public @NotNull CompletableFuture<Void> saveNow(final @NotNull E entity) {
+        save(entity);
+        return flush();
+    }
+
+    /**
+     * Queues an entity to be deleted with the next flush, discarding its queued version.
+     *
+     * @param id the id of the entity.
+     * @throws IllegalStateException if the repository is closed.
+     * @since 1.0.1
+     */
+    public void delete(final @NotNull String id) {
+        enqueue(id, DELETED);
+    }
+
+    /**
+     * Writes every queued document once the previous flush has completed.
+     *
+     * @return a future completing once the documents are written.
+     * @since 1.0.1
+     */
+    public @NotNull CompletableFuture<Void> flush() {
+        synchronized (this) {
+            lastFlush = lastFlush.handle((ignored, throwable) -> null).thenCompose(ignored -> write());
+            return lastFlush;
+        }
+    }
+
+    /**
+     * Returns the amount of documents waiting for the next flush.
+     *
+     * @return the amount of queued documents.
+     * @since 1.0.1
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the id of an entity.
+     *
+     * @param entity the entity.
+     * @return the id.
+     * @throws NullPointerException if the id is {@code null}.
+     * @since 1.0.1
+     */
+    public @NotNull String getId(final @NotNull E entity) {
+        return Preconditions.checkNonNull(idFunction.apply(entity), "entity id cannot be null");
+    }
+
+    /**
+     * Returns the name of the collection.
+     *
+     * @return the collection.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public @NotNull String getCollection() {
+        return collection;
+    }
+
+    /**
+     * Stops the interval flushes and writes the queued documents, waiting for them to be written.
+     * The connection is not closed.
+     *
+     * @since 1.0.1
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+
+        if (scheduler != null) scheduler.shutdownNow();
+        flush().exceptionally(throwable -> null).join();
+    }
+
+    /**
+     * Queues a document, requesting a flush once a batch is queued.
+     *
+     * @param id       the id of the document.
+     * @param document the document, or {@link #DELETED}.
+     */
+    private void enqueue(final @NotNull String id, final @NotNull Document document) {
+        if (closed) throw new IllegalStateException("repository is closed");
+
+        pending.put(id, document);
+        if (pending.size() >= batchSize && flushRequested.compareAndSet(false, true)) flush();
+    }
+
+    /**
+     * Drains the queue and writes its documents. Only called by one flush at a time.
+     *
+     * @return a future completing once the documents are written.
+     */
+    private @NotNull CompletableFuture<Void> write() {
+        flushRequested.set(false);
+        writing.clear();
+        if (pending.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        final Map<String, Document> saves = new HashMap<>();
+        final List<String> deletes = new ArrayList<>();
+        final Iterator<Map.Entry<String, Document>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, Document> entry = iterator.next();
+            final String id = entry.getKey();
+            final Document document = entry.getValue();
+            // Publish the version before dequeuing it, so a concurrent find always sees it in one of the maps.
+            writing.put(id, document);
+            // Only remove the version read, so a concurrent save stays queued.
+            if (!pending.remove(id, document)) {
+                writing.remove(id, document);
+                continue;
+            }
+
+            if (document == DELETED) deletes.add(id);
+            else saves.put(id, document);
+        }
+
+        final CompletableFuture<Void> saved = saves.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : connection.saveAll(collection, saves);
+        final CompletableFuture<Void> deleted = deletes.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : connection.deleteAll(collection, deletes);
+
+        return CompletableFuture.allOf(saved, deleted).whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                // Retry with the next flush, unless a newer version was queued meanwhile.
+                for (final Map.Entry<String, Document> entry : writing.entrySet()) {
+                    pending.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+            }
+            writing.clear();
+        });
+    }
+
+    /**
+     * Deserializes a document into a new entity.
+     *
+     * @param document the document, or {@link #DELETED}.
+     * @return the entity, or {@code null} if the document is {@link #DELETED}.
+     */
+    private @Nullable E toEntity(final @NotNull Document document) {
+        if (document == DELETED) return null;
+
+        final E entity = factory.get();
+        entity.deserialize(new Document(document));
+        return entity;
+    }
+
+    /**
+     * A builder class for constructing DocumentRepository instances.
+     *
+     * @param <E> the type of the entities.
+     * @since 1.0.1
+     */
+    public static final class Builder<E extends IDocumentSerializable<Document>> {
+        @NotNull private final IConnection connection;
+        @NotNull private final String collection;
+        @NotNull private final Supplier<E> factory;
+        @NotNull private final Function<? super E, String> idFunction;
+        @NotNull private Duration flushInterval = DEFAULT_FLUSH_INTERVAL;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        /**
+         * Constructs a Builder.
+         *
+         * @param connection the connection.
+         * @param collection the name of the collection.
+         * @param factory    the factory of empty entities.
+         * @param idFunction the function returning the id of an entity.
+         */
+        private Builder(final @NotNull IConnection connection,
+                        final @NotNull String collection,
+                        final @NotNull Supplier<E> factory,
+                        final @NotNull Function<? super E, String> idFunction) {
+            this.connection = Preconditions.checkNonNull(connection, "connection cannot be null");
+            this.collection = Preconditions.checkNonNull(collection, "collection cannot be null");
+            this.factory = Preconditions.checkNonNull(factory, "factory cannot be null");
+            this.idFunction = Preconditions.checkNonNull(idFunction, "idFunction cannot be null");
+        }
+
+        /**
+         * Sets the interval between flushes, or {@link Duration#ZERO} to only flush on demand and on full batches.
+         * Defaults to 10 seconds.
+         *
+         * @param flushInterval the flush interval.
+         * @return the builder instance.
+         * @throws IllegalArgumentException if the interval is negative.
+         * @since 1.0.1
+         */
+        public @NotNull Builder<E> setFlushInterval(final @NotNull Duration flushInterval) {
+            Preconditions.checkArgument(!flushInterval.isNegative(), "flushInterval cannot be negative");
+            this.flushInterval = flushInterval;
+            return this;
+        }
+
+        /**
+         * Sets the amount of queued documents that triggers a flush.
+         * Defaults to {@value DocumentRepository#DEFAULT_BATCH_SIZE}.
+         *
+         * @param batchSize the batch size.
+         * @return the builder instance.
+         * @throws IllegalArgumentException if the batch size is not positive.
+         * @since 1.0.1
+         */
+        public @NotNull Builder<E> setBatchSize(final int batchSize) {
+            Preconditions.checkArgument(batchSize > 0, "batchSize must be positive");
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Builds the repository, starting its interval flushes.
+         *
+         * @return the repository.
+         * @since 1.0.1
+         */
+        public @NotNull DocumentRepository<E> build() {
+            return new DocumentRepository<>(this);
+        }
+    }
+}
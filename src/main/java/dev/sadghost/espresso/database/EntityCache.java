@@ -0,0 +1,493 @@
+package dev.sadghost.espresso.database;
+
+import dev.sadghost.espresso.base.BoundedCache;
+import dev.sadghost.espresso.base.Preconditions;
+import org.bson.Document;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A read-through cache of {@link IDocumentSerializable} entities in front of a {@link DocumentRepository}.
+ *
+ * <p>
+ * Entities are cached by id in a {@link BoundedCache}, which evicts the least recently used entities once the
+ * maximum size is exceeded. Entities optionally expire a fixed time after they were loaded or put.
+ * Concurrent requests for an entity that is not cached share a single load, so a burst of lookups on join causes
+ * one database read per player.
+ * </p>
+ *
+ * <p>
+ * Entities put into the cache are saved according to the {@link WriteMode}: written through right away, or written
+ * behind with the repository's next batch. Listeners registered with {@link #onRemoval(RemovalListener)} are
+ * notified of every entity leaving the cache and why, for example to release per-player state.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is thread-safe. Cached entities are shared, so concurrent modifications of an entity must
+ * be synchronized by the caller, typically by only modifying entities on the server's main thread.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * EntityCache<PlayerData> profiles = EntityCache.builder(repository)
+ *         .setMaximumSize(2000)
+ *         .setExpireAfterWrite(Duration.ofMinutes(30))
+ *         .build();
+ *
+ * profiles.get(uuid.toString()).thenAccept(data -> ...); // On join, loaded once
+ * PlayerData data = profiles.getIfPresent(uuid.toString()); // Elsewhere, without waiting
+ * profiles.put(data); // Cached and queued for saving
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ * @param <E> the type of the entities.
+ */
+public final class EntityCache<E extends IDocumentSerializable<Document>> {
+    /**
+     * The default maximum amount of cached entities.
+     *
+     * @since 1.0.1
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    @NotNull private final DocumentRepository<E> repository;
+    @NotNull private final WriteMode writeMode;
+    @NotNull private final Clock clock;
+    private final long expireAfterWrite;
+    @NotNull private final BoundedCache<String, Cached<E>> cache;
+    @NotNull private final Map<String, CompletableFuture<E>> loading = new ConcurrentHashMap<>();
+    @NotNull private final List<RemovalListener<? super E>> listeners = new CopyOnWriteArrayList<>();
+
+    @NotNull private final LongAdder hits = new LongAdder();
+    @NotNull private final LongAdder misses = new LongAdder();
+    @NotNull private final LongAdder loadSuccesses = new LongAdder();
+    @NotNull private final LongAdder loadFailures = new LongAdder();
+    @NotNull private final LongAdder totalLoadTime = new LongAdder();
+    @NotNull private final LongAdder evictions = new LongAdder();
+    @NotNull private final LongAdder expirations = new LongAdder();
+
+    /**
+     * Constructs an EntityCache.
+     *
+     * @param builder the builder.
+     */
+    private EntityCache(final @NotNull Builder<E> builder) {
+        this.repository = builder.repository;
+        this.writeMode = builder.writeMode;
+        this.clock = builder.clock;
+        this.expireAfterWrite = builder.expireAfterWrite.isZero()
+                ? Long.MAX_VALUE
+                : builder.expireAfterWrite.toMillis();
+        this.cache = new BoundedCache<>(builder.maximumSize, BoundedCache.DEFAULT_CONCURRENCY_LEVEL,
+                (id, cached) -> {
+                    evictions.increment();
+                    notifyRemoval(id, cached.entity, RemovalCause.SIZE);
+                });
+    }
+
+    /**
+     * Returns a builder of a cache in front of a repository.
+     *
+     * @param repository the repository the entities are loaded from and saved to.
+     * @param <E>        the type of the entities.
+     * @return the builder.
+     * @since 1.0.1
+     */
+    @Contract("_ -> new")
+    public static <E extends IDocumentSerializable<Document>> @NotNull Builder<E> builder(
+            final @NotNull DocumentRepository<E> repository) {
+        return new Builder<>(repository);
+    }
+
+    /**
+     * Returns a cached entity, loading it from the repository if it is not cached.
+     * Concurrent calls for the same id share a single load.
+     *
+     * @param id the id of the entity.
+     * @return a future completing with the entity, or with {@code null} if there is no such entity.
+     * @since 1.0.1
+     */
+    public @NotNull CompletableFuture<@Nullable E> get(final @NotNull String id) {
+        final E cached = lookup(id);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        final CompletableFuture<E> future = new CompletableFuture<>();
+        final CompletableFuture<E> existing = loading.putIfAbsent(id, future);
+        if (existing != null) return existing;
+
+        final long start = System.nanoTime();
+        repository.find(id).whenComplete((entity, throwable) -> {
+            totalLoadTime.add(System.nanoTime() - start);
+            // Only cache the result if the load was not invalidated meanwhile.
+            final boolean current = loading.remove(id, future);
+            if (throwable != null) {
+                loadFailures.increment();
+                future.completeExceptionally(throwable);
+                return;
+            }
+
+            loadSuccesses.increment();
+            if (entity != null && current) cache.put(id, new Cached<>(entity, expiry()));
+            future.complete(entity);
+        });
+        return future;
+    }
+
+    /**
+     * Returns a cached entity without loading it.
+     *
+     * @param id the id of the entity.
+     * @return the entity, or {@code null} if it is not cached.
+     * @since 1.0.1
+     */
+    public @Nullable E getIfPresent(final @NotNull String id) {
+        return lookup(id);
+    }
+
+    /**
+     * Caches an entity and saves it according to the write mode.
+     *
+     * @param entity the entity.
+     * @return a future completing once the entity is saved when writing through,
+     * or once it is queued when writing behind.
+     * @since 1.0.1
+     */
+    public @NotNull CompletableFuture<Void> put(final @NotNull E entity) {
+        final String id = repository.getId(entity);
+        loading.remove(id);
+        cache.put(id, new Cached<>(entity, expiry()));
+
+        if (writeMode == WriteMode.WRITE_THROUGH) return repository.saveNow(entity);
+        repository.save(entity);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Removes an entity from the cache and deletes it according to the write mode.
+     *
+     * @param id the id of the entity.
+     * @return a future completing once the entity is deleted when writing through,
+     * or once the deletion is queued when writing behind.
+     * @since 1.0.1
+     */
+    public @NotNull CompletableFuture<Void> delete(final @NotNull String id) {
+        invalidate(id);
+        repository.delete(id);
+        return writeMode == WriteMode.WRITE_THROUGH ? repository.flush() : CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Removes an entity from the cache, without deleting it. A load in progress is not cached.
+     *
+     * @param id the id of the entity.
+     * @since 1.0.1
+     */
+    public void invalidate(final @NotNull String id) {
+        loading.remove(id);
+        final Cached<E> removed = cache.invalidate(id);
+        if (removed != null) notifyRemoval(id, removed.entity, RemovalCause.EXPLICIT);
+    }
+
+    /**
+     * Removes every entity from the cache, without deleting them. Loads in progress are not cached.
+     *
+     * @since 1.0.1
+     */
+    public void invalidateAll() {
+        loading.clear();
+        cache.clear((id, cached) -> notifyRemoval(id, cached.entity, RemovalCause.EXPLICIT));
+    }
+
+    /**
+     * Registers a listener notified of every entity leaving the cache.
+     * Listeners are invoked on the thread that caused the removal.
+     *
+     * @param listener the listener.
+     * @since 1.0.1
+     */
+    public void onRemoval(final @NotNull RemovalListener<? super E> listener) {
+        listeners.add(Preconditions.checkNonNull(listener, "listener cannot be null"));
+    }
+
+    /**
+     * Returns the amount of cached entities, including expired entities not looked up since they expired.
+     *
+     * @return the amount of cached entities.
+     * @since 1.0.1
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the cache.
+     *
+     * @return the statistics.
+     * @since 1.0.1
+     */
+    public @NotNull Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), loadSuccesses.sum(), loadFailures.sum(), totalLoadTime.sum(),
+                evictions.sum(), expirations.sum());
+    }
+
+    /**
+     * Returns the repository behind the cache.
+     *
+     * @return the repository.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public @NotNull DocumentRepository<E> getRepository() {
+        return repository;
+    }
+
+    /**
+     * Returns a cached entity that has not expired, removing it if it has, and counts the lookup.
+     *
+     * @param id the id of the entity.
+     * @return the entity, or {@code null} if it is not cached.
+     */
+    private @Nullable E lookup(final @NotNull String id) {
+        final Cached<E> cached = cache.get(id);
+        if (cached != null && cached.expiresAt > clock.millis()) {
+            hits.increment();
+            return cached.entity;
+        }
+
+        misses.increment();
+        // Only count the expiry if no other thread replaced or removed the expired entity meanwhile.
+        if (cached != null && cache.invalidate(id) == cached) {
+            expirations.increment();
+            notifyRemoval(id, cached.entity, RemovalCause.EXPIRED);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the expiry time of an entity cached now.
+     *
+     * @return the expiry time, in milliseconds since the epoch.
+     */
+    private long expiry() {
+        if (expireAfterWrite == Long.MAX_VALUE) return Long.MAX_VALUE;
+        return clock.millis() + expireAfterWrite;
+    }
+
+    /**
+     * Notifies the removal listeners.
+     *
+     * @param id     the id of the entity.
+     * @param entity the entity.
+     * @param cause  the cause of the removal.
+     */
+    private void notifyRemoval(final @NotNull String id, final @NotNull E entity, final @NotNull RemovalCause cause) {
+        for (final RemovalListener<? super E> listener : listeners) listener.onRemoval(id, entity, cause);
+    }
+
+    /**
+     * Determines when an entity put into the cache is saved.
+     *
+     * @since 1.0.1
+     */
+    public enum WriteMode {
+        /**
+         * The entity is saved right away, and {@link #put} completes once it is saved.
+         */
+        WRITE_THROUGH,
+
+        /**
+         * The entity is queued and saved with the repository's next batch.
+         */
+        WRITE_BEHIND
+    }
+
+    /**
+     * The reason an entity left the cache.
+     *
+     * @since 1.0.1
+     */
+    public enum RemovalCause {
+        /**
+         * The entity was invalidated or deleted.
+         */
+        EXPLICIT,
+
+        /**
+         * The entity expired.
+         */
+        EXPIRED,
+
+        /**
+         * The entity was evicted to respect the maximum size.
+         */
+        SIZE
+    }
+
+    /**
+     * A listener notified of entities leaving the cache.
+     *
+     * @param <E> the type of the entities.
+     * @since 1.0.1
+     */
+    @FunctionalInterface
+    public interface RemovalListener<E> {
+
+        /**
+         * Called when an entity leaves the cache.
+         *
+         * @param id     the id of the entity.
+         * @param entity the entity.
+         * @param cause  the reason the entity left the cache.
+         * @since 1.0.1
+         */
+        void onRemoval(@NotNull String id, @NotNull E entity, @NotNull RemovalCause cause);
+    }
+
+    /**
+     * The statistics of an entity cache.
+     *
+     * @param hits          the amount of lookups that found a cached entity.
+     * @param misses        the amount of lookups that did not find a cached entity.
+     * @param loadSuccesses the amount of loads that completed, whether or not they found an entity.
+     * @param loadFailures  the amount of loads that failed.
+     * @param totalLoadTime the time spent loading, in nanoseconds.
+     * @param evictions     the amount of entities evicted to respect the maximum size.
+     * @param expirations   the amount of entities removed because they expired.
+     * @since 1.0.1
+     */
+    public record Stats(long hits, long misses, long loadSuccesses, long loadFailures, long totalLoadTime,
+                        long evictions, long expirations) {
+
+        /**
+         * Returns the ratio of lookups that found a cached entity.
+         *
+         * @return the hit rate, between {@code 0} and {@code 1}, or {@code 1} if there were no lookups.
+         * @since 1.0.1
+         */
+        @Contract(pure = true)
+        public double hitRate() {
+            final long requests = hits + misses;
+            return requests == 0 ? 1 : (double) hits / requests;
+        }
+
+        /**
+         * Returns the average time spent on a load.
+         *
+         * @return the average load time in nanoseconds, or {@code 0} if there were no loads.
+         * @since 1.0.1
+         */
+        @Contract(pure = true)
+        public double averageLoadTime() {
+            final long loads = loadSuccesses + loadFailures;
+            return loads == 0 ? 0 : (double) totalLoadTime / loads;
+        }
+    }
+
+    /**
+     * A cached entity and its expiry time.
+     *
+     * @param entity    the entity.
+     * @param expiresAt the expiry time, in milliseconds since the epoch.
+     * @param <E>       the type of the entity.
+     */
+    private record Cached<E>(@NotNull E entity, long expiresAt) {}
+
+    /**
+     * A builder class for constructing EntityCache instances.
+     *
+     * @param <E> the type of the entities.
+     * @since 1.0.1
+     */
+    public static final class Builder<E extends IDocumentSerializable<Document>> {
+        @NotNull private final DocumentRepository<E> repository;
+        private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+        @NotNull private Duration expireAfterWrite = Duration.ZERO;
+        @NotNull private WriteMode writeMode = WriteMode.WRITE_BEHIND;
+        @NotNull private Clock clock = Clock.systemUTC();
+
+        /**
+         * Constructs a Builder.
+         *
+         * @param repository the repository.
+         */
+        private Builder(final @NotNull DocumentRepository<E> repository) {
+            this.repository = Preconditions.checkNonNull(repository, "repository cannot be null");
+        }
+
+        /**
+         * Sets the maximum amount of cached entities. Defaults to {@value EntityCache#DEFAULT_MAXIMUM_SIZE}.
+         *
+         * @param maximumSize the maximum size.
+         * @return the builder instance.
+         * @throws IllegalArgumentException if the maximum size is not positive.
+         * @since 1.0.1
+         */
+        public @NotNull Builder<E> setMaximumSize(final int maximumSize) {
+            Preconditions.checkArgument(maximumSize > 0, "maximumSize must be positive");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets how long an entity stays cached after it was loaded or put, or {@link Duration#ZERO} to never expire
+         * entities. Defaults to {@link Duration#ZERO}.
+         *
+         * @param expireAfterWrite the time to live.
+         * @return the builder instance.
+         * @throws IllegalArgumentException if the duration is negative.
+         * @since 1.0.1
+         */
+        public @NotNull Builder<E> setExpireAfterWrite(final @NotNull Duration expireAfterWrite) {
+            Preconditions.checkArgument(!expireAfterWrite.isNegative(), "expireAfterWrite cannot be negative");
+            this.expireAfterWrite = expireAfterWrite;
+            return this;
+        }
+
+        /**
+         * Sets when entities put into the cache are saved. Defaults to {@link WriteMode#WRITE_BEHIND}.
+         *
+         * @param writeMode the write mode.
+         * @return the builder instance.
+         * @since 1.0.1
+         */
+        public @NotNull Builder<E> setWriteMode(final @NotNull WriteMode writeMode) {
+            this.writeMode = Preconditions.checkNonNull(writeMode, "writeMode cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the clock measuring expiry. Defaults to the system clock.
+         *
+         * @param clock the clock.
+         * @return the builder instance.
+         * @since 1.0.1
+         */
+        public @NotNull Builder<E> setClock(final @NotNull Clock clock) {
+            this.clock = Preconditions.checkNonNull(clock, "clock cannot be null");
+            return this;
+        }
+
+        /**
+         * Builds the cache.
+         *
+         * @return the cache.
+         * @since 1.0.1
+         */
+        public @NotNull EntityCache<E> build() {
+            return new EntityCache<>(this);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package dev.sadghost.espresso.database;
+
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+
+/**
+ * The {@code IBsonSerializable} interface defines the contract for objects that write their fields directly to a
+ * {@link BsonWriter} and read them back from a {@link BsonReader}.
+ * <p>
+ * Unlike {@link IDocumentSerializable}, no intermediate {@link org.bson.Document} is built: the fields are streamed
+ * straight into the encoded BSON and out of it, so serializing an object allocates little beyond the object itself.
+ * Objects are encoded and decoded by a {@link BsonSerializableCodec}, registered once per class.
+ * <p>
+ * The codec starts and ends the document, so implementations only write and read their fields. An implementation may
+ * write an {@code _id} field, which must then match the id the object is saved under.
+ *
+ * <h3>Usage Example:</h3>
+ * <pre>{@code
+ * public class PlayerData implements IBsonSerializable {
+ *     private int coins;
+ *
+ *     @Override
+ *     public void writeFields(BsonWriter writer) {
+ *         writer.writeInt32("coins", coins);
+ *     }
+ *
+ *     @Override
+ *     public boolean readField(String name, BsonReader reader) {
+ *         switch (name) {
+ *             case "coins" -> coins = reader.readInt32();
+ *             default -> {
+ *                 return false;
+ *             }
+ *         }
+ *         return true;
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public interface IBsonSerializable {
+
+    /**
+     * Writes the fields of the object, each as a name followed by a value.
+     * <p>
+     * The implementation of this method must not start or end the enclosing document.
+     *
+     * @param writer the writer, positioned inside the object's document.
+     * @since 1.0.1
+     */
+    void writeFields(BsonWriter writer);
+
+    /**
+     * Reads the value of a field into the object.
+     * <p>
+     * The implementation of this method must either read the whole value and return {@code true}, or read nothing
+     * and return {@code false}, in which case the value is skipped. Unknown fields, such as fields written by a newer
+     * version or the {@code _id} field, should be skipped.
+     *
+     * @param name   the name of the field.
+     * @param reader the reader, positioned at the value of the field.
+     * @return {@code true} if the value was read, {@code false} if it should be skipped.
+     * @since 1.0.1
+     */
+    boolean readField(String name, BsonReader reader);
+}
@@ -1,4 +1,147 @@
 package dev.sadghost.espresso.database;
 
-public interface IConnection {
+import org.bson.Document;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The {@code IConnection} interface defines the contract for a connection to a document store.
+ * <p>
+ * Documents are grouped into named collections and identified by a string id within their collection.
+ * Every operation is asynchronous: it is executed off the calling thread and returns a {@link CompletableFuture}
+ * that completes with its result, or exceptionally if the operation failed or could not be scheduled.
+ * This keeps blocking I/O away from the server's main thread.
+ * <p>
+ * A document passed to {@link #save(String, String, Document)} should not be modified until the returned future
+ * completes, as it may be written from another thread.
+ *
+ * <h3>Usage Example:</h3>
+ * <pre>{@code
+ * IConnection connection = MongoConnection.builder("mongodb://localhost:27017", "espresso").build();
+ *
+ * connection.save("players", uuid.toString(), new Document("coins", 100))
+ *         .thenCompose(ignored -> connection.find("players", uuid.toString()))
+ *         .thenAccept(document -> getLogger().info("Coins: " + document.getInteger("coins")));
+ *
+ * connection.close(); // When the plugin is disabled
+ * }</pre>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public interface IConnection extends AutoCloseable {
+
+    /**
+     * Finds a document by its id.
+     *
+     * @param collection the name of the collection.
+     * @param id         the id of the document.
+     * @return a future completing with the document, or with {@code null} if there is no such document.
+     * @since 1.0.1
+     */
+    @NotNull CompletableFuture<@Nullable Document> find(@NotNull String collection, @NotNull String id);
+
+    /**
+     * Finds every document of a collection.
+     *
+     * @param collection the name of the collection.
+     * @return a future completing with the documents, in no particular order.
+     * @since 1.0.1
+     */
+    @NotNull CompletableFuture<@NotNull List<Document>> findAll(@NotNull String collection);
+
+    /**
+     * Saves a document, replacing the document with the same id if there is one.
+     * The stored document's {@code _id} field is set to the id.
+     *
+     * @param collection the name of the collection.
+     * @param id         the id of the document.
+     * @param document   the document.
+     * @return a future completing once the document is saved.
+     * @since 1.0.1
+     */
+    @NotNull CompletableFuture<Void> save(@NotNull String collection, @NotNull String id, @NotNull Document document);
+
+    /**
+     * Saves several documents of a collection, replacing the documents with the same ids.
+     * The stored documents' {@code _id} fields are set to their ids.
+     * <p>
+     * The default implementation saves every document separately. Implementations should override it to save the
+     * documents in as few round trips as possible. The documents are not saved atomically: if the future completes
+     * exceptionally, some of the documents may have been saved.
+     *
+     * @param collection the name of the collection.
+     * @param documents  the documents by their ids.
+     * @return a future completing once every document is saved.
+     * @since 1.0.1
+     */
+    default @NotNull CompletableFuture<Void> saveAll(final @NotNull String collection,
+                                                     final @NotNull Map<String, Document> documents) {
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[documents.size()];
+        int index = 0;
+        for (final Map.Entry<String, Document> entry : documents.entrySet()) {
+            futures[index++] = save(collection, entry.getKey(), entry.getValue());
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Deletes a document by its id.
+     *
+     * @param collection the name of the collection.
+     * @param id         the id of the document.
+     * @return a future completing with {@code true} if a document was deleted.
+     * @since 1.0.1
+     */
+    @NotNull CompletableFuture<@NotNull Boolean> delete(@NotNull String collection, @NotNull String id);
+
+    /**
+     * Deletes several documents of a collection by their ids.
+     * <p>
+     * The default implementation deletes every document separately. Implementations should override it to delete the
+     * documents in as few round trips as possible. The documents are not deleted atomically: if the future completes
+     * exceptionally, some of the documents may have been deleted.
+     *
+     * @param collection the name of the collection.
+     * @param ids        the ids of the documents.
+     * @return a future completing once every document is deleted.
+     * @since 1.0.1
+     */
+    default @NotNull CompletableFuture<Void> deleteAll(final @NotNull String collection,
+                                                       final @NotNull Collection<String> ids) {
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[ids.size()];
+        int index = 0;
+        for (final String id : ids) futures[index++] = delete(collection, id);
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Checks whether the underlying store is reachable.
+     *
+     * @return a future completing with {@code true} if the store answered, never completing exceptionally.
+     * @since 1.0.1
+     */
+    @NotNull CompletableFuture<@NotNull Boolean> ping();
+
+    /**
+     * Returns whether the connection is open and the latest health check, if any, succeeded.
+     *
+     * @return {@code true} if the connection is believed to be healthy.
+     * @since 1.0.1
+     */
+    boolean isHealthy();
+
+    /**
+     * Closes the connection, waiting for the pending operations to finish.
+     * Operations requested afterwards complete exceptionally.
+     *
+     * @since 1.0.1
+     */
+    @Override
+    void close();
 }
@@ -0,0 +1,180 @@
+package dev.sadghost.espresso.database;
+
+import org.bson.Document;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An in-process connection keeping its documents in memory, standing in for a real store in tests and local setups.
+ *
+ * <p>
+ * Operations run on the worker pool of {@link AbstractConnection}, so they complete asynchronously exactly like the
+ * operations of a remote store. Documents are copied when saved and when found, so callers cannot modify the stored
+ * documents. The store can be made unavailable to simulate an outage, failing every operation and health check.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is thread-safe.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * IConnection connection = new InMemoryConnection();
+ * connection.save("players", "Notch", new Document("coins", 100)).join();
+ * Document document = connection.find("players", "Notch").join();
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class InMemoryConnection extends AbstractConnection {
+    private static final String ID = "_id";
+
+    @NotNull private final Map<String, Map<String, Document>> collections = new ConcurrentHashMap<>();
+    private volatile boolean available = true;
+
+    /**
+     * Constructs an InMemoryConnection using the default amount of threads and queue capacity.
+     *
+     * @since 1.0.1
+     */
+    public InMemoryConnection() {
+        this(DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructs an InMemoryConnection.
+     *
+     * @param threads       the amount of worker threads.
+     * @param queueCapacity the amount of operations that can wait for a worker thread.
+     * @throws IllegalArgumentException if the amount of threads or the queue capacity is not positive.
+     * @since 1.0.1
+     */
+    public InMemoryConnection(final int threads, final int queueCapacity) {
+        super("Espresso In-Memory Store", threads, queueCapacity);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable Document> find(final @NotNull String collection,
+                                                               final @NotNull String id) {
+        return supplyAsync(() -> {
+            checkAvailable();
+            final Document document = getCollection(collection).get(id);
+            return document == null ? null : new Document(document);
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<Document>> findAll(final @NotNull String collection) {
+        return supplyAsync(() -> {
+            checkAvailable();
+            final List<Document> documents = new ArrayList<>();
+            for (final Document document : getCollection(collection).values()) documents.add(new Document(document));
+            return documents;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> save(final @NotNull String collection,
+                                                 final @NotNull String id,
+                                                 final @NotNull Document document) {
+        return supplyAsync(() -> {
+            checkAvailable();
+            getCollection(collection).put(id, new Document(document).append(ID, id));
+            return null;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveAll(final @NotNull String collection,
+                                                    final @NotNull Map<String, Document> documents) {
+        return supplyAsync(() -> {
+            checkAvailable();
+            final Map<String, Document> stored = getCollection(collection);
+            for (final Map.Entry<String, Document> entry : documents.entrySet()) {
+                stored.put(entry.getKey(), new Document(entry.getValue()).append(ID, entry.getKey()));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> delete(final @NotNull String collection,
+                                                               final @NotNull String id) {
+        return supplyAsync(() -> {
+            checkAvailable();
+            return getCollection(collection).remove(id) != null;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> deleteAll(final @NotNull String collection,
+                                                      final @NotNull Collection<String> ids) {
+        return supplyAsync(() -> {
+            checkAvailable();
+            getCollection(collection).keySet().removeAll(ids);
+            return null;
+        });
+    }
+
+    /**
+     * Returns the amount of documents in a collection.
+     *
+     * @param collection the name of the collection.
+     * @return the amount of documents.
+     * @since 1.0.1
+     */
+    public int count(final @NotNull String collection) {
+        final Map<String, Document> documents = collections.get(collection);
+        return documents == null ? 0 : documents.size();
+    }
+
+    /**
+     * Sets whether the store is available. While unavailable, every operation completes exceptionally
+     * and every health check fails.
+     *
+     * @param available whether the store is available.
+     * @since 1.0.1
+     */
+    public void setAvailable(final boolean available) {
+        this.available = available;
+    }
+
+    @Override
+    protected boolean checkHealth() {
+        return available;
+    }
+
+    @Override
+    protected void closeResources() {
+        collections.clear();
+    }
+
+    /**
+     * Returns the documents of a collection, creating the collection if needed.
+     *
+     * @param name the name of the collection.
+     * @return the documents by their id.
+     */
+    private @NotNull Map<String, Document> getCollection(final @NotNull String name) {
+        return collections.computeIfAbsent(name, key -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Checks that the store is available.
+     *
+     * @throws IllegalStateException if the store is unavailable.
+     */
+    private void checkAvailable() {
+        if (!available) throw new IllegalStateException("store is unavailable");
+    }
+}
@@ -0,0 +1,382 @@
+package dev.sadghost.espresso.database;
+
+import dev.sadghost.espresso.base.Preconditions;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A connection to a local store keeping every collection in an append-only log file, without a database server.
+ *
+ * <p>
+ * Documents are stored as BSON in {@code <directory>/<collection>.<generation>.dlog}. Saving or deleting a document
+ * appends a record, and an in-memory index of every collection points to the latest record of each id, which is read
+ * through a memory mapping of the file. Collections are opened on first use, replaying their log to rebuild the index.
+ * A record cut off by a crash is detected by its checksum and discarded, along with everything after it.
+ * </p>
+ *
+ * <p>
+ * Superseded and deleted documents take up space until their log is compacted. Every compaction interval, the logs
+ * whose garbage exceeds the compaction threshold are rewritten with only their live documents. Appended records are
+ * left to the operating system to write out unless writes are synced, so a power loss may lose the latest writes,
+ * but never corrupts the documents written before them. Closing the connection forces every log to the disk, and
+ * throws an {@link UncheckedIOException} if a log could not be forced or closed.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is thread-safe.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * LogConnection connection = LogConnection.builder(plugin.getDataFolder().toPath().resolve("data"))
+ *         .setCompactionInterval(Duration.ofMinutes(10))
+ *         .build();
+ *
+ * connection.save("players", uuid.toString(), new Document("coins", 100));
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class LogConnection extends AbstractConnection {
+    /**
+     * The default interval between compaction checks.
+     *
+     * @since 1.0.1
+     */
+    public static final Duration DEFAULT_COMPACTION_INTERVAL = Duration.ofMinutes(5);
+
+    /**
+     * The default fraction of a log taken by superseded and deleted documents at which the log is compacted.
+     *
+     * @since 1.0.1
+     */
+    public static final double DEFAULT_COMPACTION_THRESHOLD = 0.5;
+
+    private static final String ID = "_id";
+    private static final DocumentCodec CODEC = new DocumentCodec();
+    private static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().build();
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    @NotNull private final Path directory;
+    private final double compactionThreshold;
+    private final boolean syncWrites;
+    @NotNull private final Map<String, DocumentLog> logs = new ConcurrentHashMap<>();
+    @Nullable private final ScheduledExecutorService scheduler;
+
+    /**
+     * Constructs a LogConnection.
+     *
+     * @param builder the builder.
+     */
+    private LogConnection(final @NotNull Builder builder) {
+        super("Espresso Log Store", builder.threads, builder.queueCapacity);
+        this.directory = builder.directory;
+        this.compactionThreshold = builder.compactionThreshold;
+        this.syncWrites = builder.syncWrites;
+
+        if (builder.compactionInterval.isZero()) {
+            this.scheduler = null;
+        } else {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "Espresso Log Compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final long interval = builder.compactionInterval.toMillis();
+            this.scheduler.scheduleWithFixedDelay(() -> compact(compactionThreshold),
+                    interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns a builder of a connection to a local store.
+     *
+     * @param directory the directory of the log files, created if it does not exist.
+     * @return the builder.
+     * @since 1.0.1
+     */
+    @Contract("_ -> new")
+    public static @NotNull Builder builder(final @NotNull Path directory) {
+        return new Builder(directory);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable Document> find(final @NotNull String collection,
+                                                               final @NotNull String id) {
+        checkCollection(collection);
+        return supplyAsync(() -> {
+            final ByteBuffer value = getLog(collection).get(id);
+            return value == null ? null : decode(value);
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<Document>> findAll(final @NotNull String collection) {
+        checkCollection(collection);
+        return supplyAsync(() -> {
+            final List<ByteBuffer> values = getLog(collection).getAll();
+            final List<Document> documents = new ArrayList<>(values.size());
+            for (final ByteBuffer value : values) documents.add(decode(value));
+            return documents;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> save(final @NotNull String collection,
+                                                 final @NotNull String id,
+                                                 final @NotNull Document document) {
+        return saveAll(collection, Map.of(id, document));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveAll(final @NotNull String collection,
+                                                    final @NotNull Map<String, Document> documents) {
+        checkCollection(collection);
+        if (documents.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        final Map<String, ByteBuffer> values = new LinkedHashMap<>(documents.size() * 2);
+        for (final Map.Entry<String, Document> entry : documents.entrySet()) {
+            values.put(entry.getKey(), encode(entry.getKey(), entry.getValue()));
+        }
+        return supplyAsync(() -> {
+            getLog(collection).putAll(values, syncWrites);
+            return null;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> delete(final @NotNull String collection,
+                                                               final @NotNull String id) {
+        checkCollection(collection);
+        return supplyAsync(() -> getLog(collection).delete(id, syncWrites));
+    }
+
+    /**
+     * Compacts the log of every opened collection, regardless of its garbage.
+     *
+     * @return a future completing once every log is compacted.
+     * @since 1.0.1
+     */
+    public @NotNull CompletableFuture<Void> compact() {
+        return compact(0);
+    }
+
+    /**
+     * Returns the directory of the log files.
+     *
+     * @return the directory.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public @NotNull Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    protected boolean checkHealth() {
+        return Files.isDirectory(directory) && Files.isWritable(directory);
+    }
+
+    @Override
+    protected void closeResources() {
+        if (scheduler != null) scheduler.shutdownNow();
+        IOException failure = null;
+        for (final DocumentLog log : logs.values()) {
+            try {
+                log.close();
+            } catch (final IOException exception) {
+                if (failure == null) failure = exception;
+                else failure.addSuppressed(exception);
+            }
+        }
+        logs.clear();
+        if (failure != null) throw new UncheckedIOException("could not close every log", failure);
+    }
+
+    /**
+     * Compacts the logs of the opened collections whose garbage exceeds a threshold.
+     *
+     * @param threshold the fraction of a log taken by garbage above which it is compacted.
+     * @return a future completing once the logs are compacted.
+     */
+    private @NotNull CompletableFuture<Void> compact(final double threshold) {
+        return supplyAsync(() -> {
+            for (final DocumentLog log : logs.values()) {
+                if (log.getSize() > 0 && log.getGarbageRatio() >= threshold) log.compact();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Returns the log of a collection, opening it if it was not opened yet.
+     *
+     * @param collection the name of the collection.
+     * @return the log.
+     * @throws UncheckedIOException if the log could not be opened.
+     */
+    private @NotNull DocumentLog getLog(final @NotNull String collection) {
+        return logs.computeIfAbsent(collection, name -> {
+            try {
+                return DocumentLog.open(directory, name);
+            } catch (final IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        });
+    }
+
+    /**
+     * Encodes a document as BSON, with its {@code _id} set to its id.
+     *
+     * @param id       the id of the document.
+     * @param document the document.
+     * @return the BSON of the document.
+     */
+    private static @NotNull ByteBuffer encode(final @NotNull String id, final @NotNull Document document) {
+        final BasicOutputBuffer buffer = new BasicOutputBuffer();
+        CODEC.encode(new BsonBinaryWriter(buffer), new Document(document).append(ID, id), ENCODER_CONTEXT);
+        return ByteBuffer.wrap(buffer.getInternalBuffer(), 0, buffer.getSize());
+    }
+
+    /**
+     * Decodes a document from BSON.
+     *
+     * @param value the BSON of the document.
+     * @return the document.
+     */
+    private static @NotNull Document decode(final @NotNull ByteBuffer value) {
+        return CODEC.decode(new BsonBinaryReader(value), DECODER_CONTEXT);
+    }
+
+    /**
+     * A builder class for constructing LogConnection instances.
+     *
+     * @since 1.0.1
+     */
+    public static final class Builder {
+        @NotNull private final Path directory;
+        private int threads = DEFAULT_THREADS;
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+        @NotNull private Duration compactionInterval = DEFAULT_COMPACTION_INTERVAL;
+        private double compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+        private boolean syncWrites;
+
+        /**
+         * Constructs a Builder.
+         *
+         * @param directory the directory of the log files.
+         */
+        private Builder(final @NotNull Path directory) {
+            this.directory = Preconditions.checkNonNull(directory, "directory cannot be null");
+        }
+
+        /**
+         * Sets the amount of worker threads. Defaults to {@value AbstractConnection#DEFAULT_THREADS}.
+         *
+         * @param threads the amount of worker threads.
+         * @return the builder instance.
+         * @throws IllegalArgumentException if the amount of threads is not positive.
+         * @since 1.0.1
+         */
+        public @NotNull Builder setThreads(final int threads) {
+            Preconditions.checkArgument(threads > 0, "threads must be positive");
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Sets the amount of operations that can wait for a worker thread.
+         * Defaults to {@value AbstractConnection#DEFAULT_QUEUE_CAPACITY}.
+         *
+         * @param queueCapacity the queue capacity.
+         * @return the builder instance.
+         * @throws IllegalArgumentException if the queue capacity is not positive.
+         * @since 1.0.1
+         */
+        public @NotNull Builder setQueueCapacity(final int queueCapacity) {
+            Preconditions.checkArgument(queueCapacity > 0, "queueCapacity must be positive");
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Sets the interval between compaction checks. Defaults to 5 minutes.
+         *
+         * @param compactionInterval the compaction interval, or {@link Duration#ZERO} to only compact on demand.
+         * @return the builder instance.
+         * @throws IllegalArgumentException if the interval is negative.
+         * @since 1.0.1
+         */
+        public @NotNull Builder setCompactionInterval(final @NotNull Duration compactionInterval) {
+            Preconditions.checkArgument(!compactionInterval.isNegative(), "compactionInterval cannot be negative");
+            this.compactionInterval = compactionInterval;
+            return this;
+        }
+
+        /**
+         * Sets the fraction of a log taken by superseded and deleted documents at which the log is compacted.
+         * Defaults to {@value LogConnection#DEFAULT_COMPACTION_THRESHOLD}.
+         *
+         * @param compactionThreshold the compaction threshold.
+         * @return the builder instance.
+         * @throws IllegalArgumentException if the threshold is not between 0 and 1.
+         * @since 1.0.1
+         */
+        public @NotNull Builder setCompactionThreshold(final double compactionThreshold) {
+            Preconditions.checkArgument(compactionThreshold > 0 && compactionThreshold < 1,
+                    "compactionThreshold must be between 0 and 1");
+            this.compactionThreshold = compactionThreshold;
+            return this;
+        }
+
+        /**
+         * Sets whether every write is forced to the disk before it completes, surviving a power loss at the cost
+         * of slower writes. Defaults to {@code false}.
+         *
+         * @param syncWrites whether to sync writes.
+         * @return the builder instance.
+         * @since 1.0.1
+         */
+        public @NotNull Builder setSyncWrites(final boolean syncWrites) {
+            this.syncWrites = syncWrites;
+            return this;
+        }
+
+        /**
+         * Builds the connection. Collections are opened on first use, so this does not block.
+         *
+         * @return the connection.
+         * @since 1.0.1
+         */
+        public @NotNull LogConnection build() {
+            return new LogConnection(this);
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package dev.sadghost.espresso.database;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import dev.sadghost.espresso.base.Preconditions;
+import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A connection to a MongoDB database, backed by a pooled {@link MongoClient}.
+ *
+ * <p>
+ * The client keeps a pool of sockets to the server, sized by {@link Builder#setPoolSize(int, int)}.
+ * The driver's operations block, so they run on the bounded worker pool of {@link AbstractConnection};
+ * the amount of worker threads should not exceed the maximum pool size, or workers will wait for sockets.
+ * Documents are saved with upserting {@code replaceOne} operations keyed by {@code _id}, and batches of documents
+ * are saved with a single unordered {@code bulkWrite}, which the driver splits only at the server's batch limit.
+ * </p>
+ *
+ * <p>
+ * Besides documents, the connection stores {@link IBsonSerializable} objects of the classes registered with
+ * {@link #registerCodec(Class, Supplier)}. They are encoded and decoded by streaming their fields, without building
+ * intermediate documents. Such objects are encoded on a worker thread, so they must not be modified until the
+ * returned future completes.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is thread-safe.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * MongoConnection connection = MongoConnection.builder("mongodb://localhost:27017", "espresso")
+ *         .setPoolSize(2, 16)
+ *         .setThreads(8)
+ *         .build();
+ *
+ * connection.ping().thenAccept(healthy -> getLogger().info("MongoDB reachable: " + healthy));
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class MongoConnection extends AbstractConnection {
+    private static final String ID = "_id";
+    private static final ReplaceOptions UPSERT = new ReplaceOptions().upsert(true);
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+    private static final Document PING = new Document("ping", 1);
+
+    @NotNull private final MongoClient client;
+    @NotNull private final MongoDatabase database;
+    @NotNull private final BsonSerializableCodecProvider codecs = new BsonSerializableCodecProvider();
+    @NotNull private final MongoDatabase codecDatabase;
+
+    /**
+     * Constructs a MongoConnection.
+     *
+     * @param builder the builder.
+     */
+    private MongoConnection(final @NotNull Builder builder) {
+        super("Espresso MongoDB", builder.threads, builder.queueCapacity);
+
+        final MongoClientSettings.Builder settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(builder.uri))
+                .applyToConnectionPoolSettings(pool -> pool
+                        .minSize(builder.minPoolSize)
+                        .maxSize(builder.maxPoolSize)
+                        .maxWaitTime(builder.maxWaitTime.toMillis(), TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(cluster -> cluster
+                        .serverSelectionTimeout(builder.serverSelectionTimeout.toMillis(), TimeUnit.MILLISECONDS));
+        if (builder.applicationName != null) settings.applicationName(builder.applicationName);
+
+        this.client = MongoClients.create(settings.build());
+        this.database = client.getDatabase(builder.database);
+        this.codecDatabase = database.withCodecRegistry(CodecRegistries.fromRegistries(
+                CodecRegistries.fromProviders(codecs), MongoClientSettings.getDefaultCodecRegistry()));
+    }
+
+    /**
+     * Returns a builder of a connection to a database.
+     *
+     * @param uri      the connection string, such as {@code mongodb://localhost:27017}.
+     * @param database the name of the database.
+     * @return the builder.
+     * @since 1.0.1
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull Builder builder(final @NotNull String uri, final @NotNull String database) {
+        return new Builder(uri, database);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable Document> find(final @NotNull String collection,
+                                                               final @NotNull String id) {
+        return supplyAsync(() -> getCollection(collection).find(Filters.eq(ID, id)).first());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<Document>> findAll(final @NotNull String collection) {
+        return supplyAsync(() -> getCollection(collection).find().into(new ArrayList<>()));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> save(final @NotNull String collection,
+                                                 final @NotNull String id,
+                                                 final @NotNull Document document) {
+        return supplyAsync(() -> {
+            getCollection(collection).replaceOne(Filters.eq(ID, id), new Document(document).append(ID, id), UPSERT);
+            return null;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveAll(final @NotNull String collection,
+                                                    final @NotNull Map<String, Document> documents) {
+        if (documents.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        final List<ReplaceOneModel<Document>> writes = new ArrayList<>(documents.size());
+        for (final Map.Entry<String, Document> entry : documents.entrySet()) {
+            final String id = entry.getKey();
+            final Document document = new Document(entry.getValue()).append(ID, id);
+            writes.add(new ReplaceOneModel<>(Filters.eq(ID, id), document, UPSERT));
+        }
+        return supplyAsync(() -> {
+            getCollection(collection).bulkWrite(writes, UNORDERED);
+            return null;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> delete(final @NotNull String collection,
+                                                               final @NotNull String id) {
+        return supplyAsync(() -> getCollection(collection).deleteOne(Filters.eq(ID, id)).getDeletedCount() > 0);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> deleteAll(final @NotNull String collection,
+                                                      final @NotNull Collection<String> ids) {
+        if (ids.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        final List<String> copy = List.copyOf(ids);
+        return supplyAsync(() -> {
+            getCollection(collection).deleteMany(Filters.in(ID, copy));
+            return null;
+        });
+    }
+
+    /**
+     * Registers the codec of an {@link IBsonSerializable} class, so its instances can be found and saved.
+     *
+     * @param type    the class.
+     * @param factory the factory of empty instances of the class.
+     * @param <E>     the type of the class.
+     * @since 1.0.1
+     */
+    public <E extends IBsonSerializable> void registerCodec(final @NotNull Class<E> type,
+                                                            final @NotNull Supplier<? extends E> factory) {
+        codecs.register(type, factory);
+    }
+
+    /**
+     * Finds an object by its id, decoding it with the codec of its class.
+     *
+     * @param collection the name of the collection.
+     * @param id         the id of the object.
+     * @param type       the registered class of the object.
+     * @param <E>        the type of the object.
+     * @return a future completing with the object, or with {@code null} if there is no such object.
+     * @throws IllegalArgumentException if the class is not registered.
+     * @since 1.0.1
+     */
+    public <E extends IBsonSerializable> @NotNull CompletableFuture<@Nullable E> find(final @NotNull String collection,
+                                                                                      final @NotNull String id,
+                                                                                      final @NotNull Class<E> type) {
+        checkRegistered(type);
+        return supplyAsync(() -> codecDatabase.getCollection(collection, type).find(Filters.eq(ID, id)).first());
+    }
+
+    /**
+     * Saves an object, encoding it with the codec of its class and replacing the document with the same id.
+     *
+     * @param collection the name of the collection.
+     * @param id         the id of the object.
+     * @param value      the object, which must not be modified until the returned future completes.
+     * @param <E>        the type of the object.
+     * @return a future completing once the object is saved.
+     * @throws IllegalArgumentException if the class of the object is not registered.
+     * @since 1.0.1
+     */
+    public <E extends IBsonSerializable> @NotNull CompletableFuture<Void> save(final @NotNull String collection,
+                                                                               final @NotNull String id,
+                                                                               final @NotNull E value) {
+        final Class<E> type = classOf(value);
+        checkRegistered(type);
+        return supplyAsync(() -> {
+            codecDatabase.getCollection(collection, type).replaceOne(Filters.eq(ID, id), value, UPSERT);
+            return null;
+        });
+    }
+
+    /**
+     * Saves several objects of a class in a single bulk write, encoding them with the codec of the class.
+     *
+     * @param collection the name of the collection.
+     * @param values     the objects by their ids, which must not be modified until the returned future completes.
+     * @param type       the registered class of the objects.
+     * @param <E>        the type of the objects.
+     * @return a future completing once every object is saved.
+     * @throws IllegalArgumentException if the class is not registered.
+     * @since 1.0.1
+     */
+    public <E extends IBsonSerializable> @NotNull CompletableFuture<Void> saveAll(
+            final @NotNull String collection,
+            final @NotNull Map<String, ? extends E> values,
+            final @NotNull Class<E> type) {
+        checkRegistered(type);
+        if (values.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        final List<ReplaceOneModel<E>> writes = new ArrayList<>(values.size());
+        for (final Map.Entry<String, ? extends E> entry : values.entrySet()) {
+            writes.add(new ReplaceOneModel<>(Filters.eq(ID, entry.getKey()), entry.getValue(), UPSERT));
+        }
+        return supplyAsync(() -> {
+            codecDatabase.getCollection(collection, type).bulkWrite(writes, UNORDERED);
+            return null;
+        });
+    }
+
+    /**
+     * Returns the underlying database, for operations not covered by {@link IConnection}.
+     * Its operations block, so they should not be called from the server's main thread.
+     *
+     * @return the database.
+     * @since 1.0.1
+     */
+    public @NotNull MongoDatabase getDatabase() {
+        return database;
+    }
+
+    @Override
+    protected boolean checkHealth() {
+        final Object ok = database.runCommand(PING).get("ok");
+        return ok instanceof Number && ((Number) ok).intValue() == 1;
+    }
+
+    @Override
+    protected void closeResources() {
+        client.close();
+    }
+
+    /**
+     * Returns a collection of the database.
+     *
+     * @param name the name of the collection.
+     * @return the collection.
+     */
+    private @NotNull MongoCollection<Document> getCollection(final @NotNull String name) {
+        return database.getCollection(name);
+    }
+
+    /**
+     * Checks that the codec of a class is registered.
+     *
+     * @param type the class.
+     * @throws IllegalArgumentException if the class is not registered.
+     */
+    private void checkRegistered(final @NotNull Class<?> type) {
+        Preconditions.checkArgument(codecs.isRegistered(type), type.getName() + " is not registered");
+    }
+
+    /**
+     * Returns the class of an object, typed as the object's static type.
+     *
+     * @param value the object.
+     * @param <E>   the type of the object.
+     * @return the class.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> @NotNull Class<E> classOf(final @NotNull E value) {
+        return (Class<E>) value.getClass();
+    }
+
+    /**
+     * A builder class for constructing MongoConnection instances.
+     *
+     * @since 1.0.1
+     */
+    public static final class Builder {
+        @NotNull private final String uri;
+        @NotNull private final String database;
+        @Nullable private String applicationName;
+        private int minPoolSize = 0;
+        private int maxPoolSize = 100;
+        @NotNull private Duration maxWaitTime = Duration.ofSeconds(10);
+        @NotNull private Duration serverSelectionTimeout = Duration.ofSeconds(5);
+        private int threads = DEFAULT_THREADS;
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+        /**
+         * Constructs a Builder.
+         *
+         * @param uri      the connection string.
+         * @param database the name of the database.
+         */
+        private Builder(final @NotNull String uri, final @NotNull String database) {
+            this.uri = Preconditions.checkNonNull(uri, "uri cannot be null");
+            this.database = Preconditions.checkNonNull(database, "database cannot be null");
+        }
+
+        /**
+         * Sets the minimum and maximum amount of pooled sockets. Defaults to {@code 0} and {@code 100}.
+         *
+         * @param min the minimum amount of sockets kept open.
+         * @param max the maximum amount of sockets.
+         * @return the builder instance.
+         * @throws IllegalArgumentException if the sizes are negative, the maximum is zero or below the minimum.
+         * @since 1.0.1
+         */
+        public @NotNull Builder setPoolSize(final int min, final int max) {
+            Preconditions.checkArgument(min >= 0 && max > 0 && min <= max, "invalid pool size");
+            this.minPoolSize = min;
+            this.maxPoolSize = max;
+            return this;
+        }
+
+        /**
+         * Sets how long an operation waits for a pooled socket before failing. Defaults to 10 seconds.
+         *
+         * @param maxWaitTime the maximum wait time.
+         * @return the builder instance.
+         * @since 1.0.1
+         */
+        public @NotNull Builder setMaxWaitTime(final @NotNull Duration maxWaitTime) {
+            Preconditions.checkArgument(!maxWaitTime.isNegative(), "maxWaitTime cannot be negative");
+            this.maxWaitTime = maxWaitTime;
+            return this;
+        }
+
+        /**
+         * Sets how long an operation waits for a reachable server before failing. Defaults to 5 seconds.
+         *
+         * @param timeout the server selection timeout.
+         * @return the builder instance.
+         * @since 1.0.1
+         */
+        public @NotNull Builder setServerSelectionTimeout(final @NotNull Duration timeout) {
+            Preconditions.checkArgument(!timeout.isNegative(), "timeout cannot be negative");
+            this.serverSelectionTimeout = timeout;
+            return this;
+        }
+
+        /**
+         * Sets the amount of worker threads running the operations.
+         * Defaults to {@value AbstractConnection#DEFAULT_THREADS}.
+         *
+         * @param threads the amount of worker threads.
+         * @return the builder instance.
+         * @since 1.0.1
+         */
+        public @NotNull Builder setThreads(final int threads) {
+            Preconditions.checkArgument(threads > 0, "threads must be positive");
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Sets the amount of operations that can wait for a worker thread.
+         * Defaults to {@value AbstractConnection#DEFAULT_QUEUE_CAPACITY}.
+         *
+         * @param queueCapacity the queue capacity.
+         * @return the builder instance.
+         * @since 1.0.1
+         */
+        public @NotNull Builder setQueueCapacity(final int queueCapacity) {
+            Preconditions.checkArgument(queueCapacity > 0, "queueCapacity must be positive");
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Sets the application name reported to the server, shown in its logs and current operations.
+         *
+         * @param applicationName the application name.
+         * @return the builder instance.
+         * @since 1.0.1
+         */
+        public @NotNull Builder setApplicationName(final @Nullable String applicationName) {
+            this.applicationName = applicationName;
+            return this;
+        }
+
+        /**
+         * Builds the connection. The client connects lazily, so this does not block.
+         *
+         * @return the connection.
+         * @since 1.0.1
+         */
+        public @NotNull MongoConnection build() {
+            return new MongoConnection(this);
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package dev.sadghost.espresso.database;
+
+import dev.sadghost.espresso.base.Preconditions;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A connection to a SQL database through JDBC, storing documents as JSON.
+ *
+ * <p>
+ * Every collection is stored in its own table, created on first use, with an {@code id} primary key column and a
+ * {@code data} column holding the document as extended JSON, which keeps the BSON types of its values. The statements
+ * depend on the {@link SqlDialect}, detected from the JDBC URL by default. The JDBC driver of the database must be
+ * on the classpath.
+ * </p>
+ *
+ * <p>
+ * Operations run on the worker pool of {@link AbstractConnection}, one worker per pooled JDBC connection. Every pooled
+ * connection caches its prepared statements, and {@link #saveAll(String, Map)} saves its documents with batched
+ * upserts in a single transaction. SQLite only allows one writer at a time, so it should use a pool size of 1.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is thread-safe.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * SqlConnection connection = SqlConnection.builder("jdbc:h2:./plugins/Espresso/data")
+ *         .setPoolSize(4)
+ *         .build();
+ *
+ * connection.save("players", uuid.toString(), new Document("coins", 100));
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class SqlConnection extends AbstractConnection {
+    /**
+     * The default amount of pooled JDBC connections.
+     *
+     * @since 1.0.1
+     */
+    public static final int DEFAULT_POOL_SIZE = 4;
+
+    /**
+     * The default amount of prepared statements cached per JDBC connection.
+     *
+     * @since 1.0.1
+     */
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+    private static final String ID = "_id";
+    private static final int BATCH_SIZE = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final JsonWriterSettings JSON_SETTINGS = JsonWriterSettings.builder()
+            .outputMode(JsonMode.EXTENDED)
+            .build();
+
+    @NotNull private final SqlDialect dialect;
+    @NotNull private final SqlConnectionPool pool;
+    @NotNull private final Set<String> tables = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a SqlConnection.
+     *
+     * @param builder the builder.
+     */
+    private SqlConnection(final @NotNull Builder builder) {
+        super("Espresso SQL", builder.poolSize, builder.queueCapacity);
+        this.dialect = builder.dialect != null ? builder.dialect : SqlDialect.fromUrl(builder.url);
+        this.pool = new SqlConnectionPool(builder.url, builder.properties, builder.poolSize,
+                builder.statementCacheSize, builder.connectionTimeout.toMillis());
+    }
+
+    /**
+     * Returns a builder of a connection to a database.
+     *
+     * @param url the JDBC URL, such as {@code jdbc:h2:mem:test} or {@code jdbc:mysql://localhost:3306/espresso}.
+     * @return the builder.
+     * @since 1.0.1
+     */
+    @Contract("_ -> new")
+    public static @NotNull Builder builder(final @NotNull String url) {
+        return new Builder(url);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable Document> find(final @NotNull String collection,
+                                                               final @NotNull String id) {
+        checkCollection(collection);
+        return execute(collection, connection -> {
+            final PreparedStatement statement = connection.prepare(dialect.select(collection));
+            statement.setString(1, id);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? Document.parse(result.getString(1)) : null;
+            }
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<Document>> findAll(final @NotNull String collection) {
+        checkCollection(collection);
+        return execute(collection, connection -> {
+            final List<Document> documents = new ArrayList<>();
+            try (ResultSet result = connection.prepare(dialect.selectAll(collection)).executeQuery()) {
+                while (result.next()) documents.add(Document.parse(result.getString(1)));
+            }
+            return documents;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> save(final @NotNull String collection,
+                                                 final @NotNull String id,
+                                                 final @NotNull Document document) {
+        checkCollection(collection);
+        final String json = toJson(id, document);
+        return execute(collection, connection -> {
+            final PreparedStatement statement = connection.prepare(dialect.upsert(collection));
+            statement.setString(1, id);
+            statement.setString(2, json);
+            statement.executeUpdate();
+            return null;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveAll(final @NotNull String collection,
+                                                    final @NotNull Map<String, Document> documents) {
+        checkCollection(collection);
+        if (documents.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        final String[] ids = new String[documents.size()];
+        final String[] jsons = new String[documents.size()];
+        int index = 0;
+        for (final Map.Entry<String, Document> entry : documents.entrySet()) {
+            ids[index] = entry.getKey();
+            jsons[index++] = toJson(entry.getKey(), entry.getValue());
+        }
+
+        return execute(collection, connection -> {
+            final Connection jdbc = connection.getConnection();
+            final PreparedStatement statement = connection.prepare(dialect.upsert(collection));
+            jdbc.setAutoCommit(false);
+            try {
+                for (int i = 0; i < ids.length; i++) {
+                    statement.setString(1, ids[i]);
+                    statement.setString(2, jsons[i]);
+                    statement.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0) statement.executeBatch();
+                }
+                if (ids.length % BATCH_SIZE != 0) statement.executeBatch();
+                jdbc.commit();
+            } catch (final SQLException exception) {
+                statement.clearBatch();
+                jdbc.rollback();
+                throw exception;
+            } finally {
+                jdbc.setAutoCommit(true);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Boolean> delete(final @NotNull String collection,
+                                                               final @NotNull String id) {
+        checkCollection(collection);
+        return execute(collection, connection -> {
+            final PreparedStatement statement = connection.prepare(dialect.delete(collection));
+            statement.setString(1, id);
+            return statement.executeUpdate() > 0;
+        });
+    }
+
+    /**
+     * Returns the dialect of the database.
+     *
+     * @return the dialect.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public @NotNull SqlDialect getDialect() {
+        return dialect;
+    }
+
+    @Override
+    protected boolean checkHealth() throws SQLException {
+        final SqlConnectionPool.PooledConnection connection = pool.acquire();
+        boolean valid = false;
+        try {
+            valid = connection.getConnection().isValid(VALIDATION_TIMEOUT_SECONDS);
+            return valid;
+        } finally {
+            pool.release(connection, !valid);
+        }
+    }
+
+    @Override
+    protected void closeResources() {
+        pool.close();
+    }
+
+    /**
+     * Runs an operation on a worker thread with a pooled connection, creating the collection's table first.
+     *
+     * @param collection the name of the collection.
+     * @param operation  the operation.
+     * @param <T>        the type of the result.
+     * @return a future completing with the result of the operation.
+     */
+    private <T> @NotNull CompletableFuture<T> execute(final @NotNull String collection,
+                                                      final @NotNull SqlOperation<T> operation) {
+        return supplyAsync(() -> {
+            final SqlConnectionPool.PooledConnection connection = pool.acquire();
+            boolean broken = true;
+            try {
+                if (!tables.contains(collection)) {
+                    connection.prepare(dialect.createTable(collection)).executeUpdate();
+                    tables.add(collection);
+                }
+                final T result = operation.execute(connection);
+                broken = false;
+                return result;
+            } finally {
+                pool.release(connection, broken);
+            }
+        });
+    }
+
+    /**
+     * Returns the JSON stored for a document.
+     *
+     * @param id       the id of the document.
+     * @param document the document.
+     * @return the extended JSON of the document, with its {@code _id} set to the id.
+     */
+    private static @NotNull String toJson(final @NotNull String id, final @NotNull Document document) {
+        return new Document(document).append(ID, id).toJson(JSON_SETTINGS);
+    }
+
+    /**
+     * An operation using a pooled connection.
+     *
+     * @param <T> the type of the result.
+     */
+    @FunctionalInterface
+    private interface SqlOperation<T> {
+
+        /**
+         * Executes the operation.
+         *
+         * @param connection the pooled connection.
+         * @return the result.
+         * @throws SQLException if a database access error occurs.
+         */
+        T execute(@NotNull SqlConnectionPool.PooledConnection connection) throws SQLException;
+    }
+
+    /**
+     * A builder class for constructing SqlConnection instances.
+     *
+     * @since 1.0.1
+     */
+    public static final class Builder {
+        @NotNull private final String url;
+        @NotNull private final Properties properties = new Properties();
+        @Nullable private SqlDialect dialect;
+        private int poolSize = DEFAULT_POOL_SIZE;
+        private int statementCacheSize = DEFAULT_STATEMENT_CACHE_SIZE;
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+        @NotNull private Duration connectionTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Constructs a Builder.
+         *
+         * @param url the JDBC URL.
+         */
+        private Builder(final @NotNull String url) {
+            this.url = Preconditions.checkNonNull(url, "url cannot be null");
+        }
+
+        /**
+         * Sets the user and password used to connect.
+         *
+         * @param user     the user.
+         * @param password the password.
+         * @return the builder instance.
+         * @since 1.0.1
+         */
+        public @NotNull Builder setCredentials(final @NotNull String user, final @NotNull String password) {
+            properties.setProperty("user", user);
+            properties.setProperty("password", password);
+            return this;
+        }
+
+        /**
+         * Sets a connection property of the JDBC driver.
+         *
+         * @param key   the key of the property.
+         * @param value the value of the property.
+         * @return the builder instance.
+         * @since 1.0.1
+         */
+        public @NotNull Builder setProperty(final @NotNull String key, final @NotNull String value) {
+            properties.setProperty(key, value);
+            return this;
+        }
+
+        /**
+         * Sets the dialect of the database. Defaults to the dialect detected from the JDBC URL.
+         *
+         * @param dialect the dialect.
+         * @return the builder instance.
+         * @since 1.0.1
+         */
+        public @NotNull Builder setDialect(final @NotNull SqlDialect dialect) {
+            this.dialect = Preconditions.checkNonNull(dialect, "dialect cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of pooled JDBC connections, which is also the amount of worker threads.
+         * Defaults to {@value SqlConnection#DEFAULT_POOL_SIZE}.
+         *
+         * @param poolSize the pool size.
+         * @return the builder instance.
+         * @throws IllegalArgumentException if the pool size is not positive.
+         * @since 1.0.1
+         */
+        public @NotNull Builder setPoolSize(final int poolSize) {
+            Preconditions.checkArgument(poolSize > 0, "poolSize must be positive");
+            this.poolSize = poolSize;
+            return this;
+        }
+
+        /**
+         * Sets the amount of prepared statements cached per JDBC connection.
+         * Defaults to {@value SqlConnection#DEFAULT_STATEMENT_CACHE_SIZE}.
+         *
+         * @param statementCacheSize the statement cache size.
+         * @return the builder instance.
+         * @throws IllegalArgumentException if the cache size is not positive.
+         * @since 1.0.1
+         */
+        public @NotNull Builder setStatementCacheSize(final int statementCacheSize) {
+            Preconditions.checkArgument(statementCacheSize > 0, "statementCacheSize must be positive");
+            this.statementCacheSize = statementCacheSize;
+            return this;
+        }
+
+        /**
+         * Sets the amount of operations that can wait for a worker thread.
+         * Defaults to {@value AbstractConnection#DEFAULT_QUEUE_CAPACITY}.
+         *
+         * @param queueCapacity the queue capacity.
+         * @return the builder instance.
+         * @throws IllegalArgumentException if the queue capacity is not positive.
+         * @since 1.0.1
+         */
+        public @NotNull Builder setQueueCapacity(final int queueCapacity) {
+            Preconditions.checkArgument(queueCapacity > 0, "queueCapacity must be positive");
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Sets how long an operation waits for a pooled connection before failing. Defaults to 10 seconds.
+         *
+         * @param connectionTimeout the connection timeout.
+         * @return the builder instance.
+         * @throws IllegalArgumentException if the timeout is negative.
+         * @since 1.0.1
+         */
+        public @NotNull Builder setConnectionTimeout(final @NotNull Duration connectionTimeout) {
+            Preconditions.checkArgument(!connectionTimeout.isNegative(), "connectionTimeout cannot be negative");
+            this.connectionTimeout = connectionTimeout;
+            return this;
+        }
+
+        /**
+         * Builds the connection. JDBC connections are opened lazily, so this does not block.
+         *
+         * @return the connection.
+         * @throws IllegalArgumentException if no dialect is set and the URL is not of a supported database.
+         * @since 1.0.1
+         */
+        public @NotNull SqlConnection build() {
+            return new SqlConnection(this);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package dev.sadghost.espresso.database;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A small pool of JDBC connections, each caching its prepared statements.
+ *
+ * <p>
+ * Connections are opened lazily, up to the maximum size, and handed out from a queue of idle connections.
+ * A connection idle for longer than the validation interval is validated before it is handed out, and a connection
+ * released after a failure is closed instead of being reused, so broken connections do not linger in the pool.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is thread-safe. A pooled connection and its statements must only be used by the thread
+ * that acquired it, until it is released.
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+final class SqlConnectionPool implements AutoCloseable {
+    private static final long VALIDATION_INTERVAL = TimeUnit.SECONDS.toNanos(30);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    @NotNull private final String url;
+    @NotNull private final Properties properties;
+    private final int maximumSize;
+    private final int statementCacheSize;
+    private final long connectionTimeout;
+    @NotNull private final BlockingQueue<PooledConnection> idle;
+    @NotNull private final AtomicInteger opened = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * Constructs a SqlConnectionPool.
+     *
+     * @param url                the JDBC URL.
+     * @param properties         the connection properties, such as the user and password.
+     * @param maximumSize        the maximum amount of open connections.
+     * @param statementCacheSize the maximum amount of prepared statements cached per connection.
+     * @param connectionTimeout  how long to wait for a connection, in milliseconds.
+     */
+    SqlConnectionPool(final @NotNull String url,
+                      final @NotNull Properties properties,
+                      final int maximumSize,
+                      final int statementCacheSize,
+                      final long connectionTimeout) {
+        this.url = url;
+        this.properties = properties;
+        this.maximumSize = maximumSize;
+        this.statementCacheSize = statementCacheSize;
+        this.connectionTimeout = connectionTimeout;
+        this.idle = new ArrayBlockingQueue<>(maximumSize);
+    }
+
+    /**
+     * Acquires a connection, opening one if none is idle and the pool is not full.
+     *
+     * @return the connection, which must be released.
+     * @throws SQLException if a connection could not be opened, or none became available in time.
+     */
+    @NotNull PooledConnection acquire() throws SQLException {
+        if (closed) throw new SQLException("pool is closed");
+
+        PooledConnection connection = idle.poll();
+        while (connection != null) {
+            if (connection.isUsable()) return connection;
+            discard(connection);
+            connection = idle.poll();
+        }
+
+        if (tryReserve()) {
+            try {
+                return new PooledConnection(DriverManager.getConnection(url, properties));
+            } catch (final SQLException exception) {
+                opened.decrementAndGet();
+                throw exception;
+            }
+        }
+
+        try {
+            connection = idle.poll(connectionTimeout, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("interrupted while waiting for a connection", exception);
+        }
+        if (connection == null) throw new SQLTransientConnectionException("timed out waiting for a connection");
+        if (!connection.isUsable()) {
+            discard(connection);
+            return acquire();
+        }
+        return connection;
+    }
+
+    /**
+     * Releases a connection back to the pool.
+     *
+     * @param connection the connection.
+     * @param broken     whether the connection failed, in which case it is closed instead of being reused.
+     */
+    void release(final @NotNull PooledConnection connection, final boolean broken) {
+        if (broken || closed) {
+            discard(connection);
+            return;
+        }
+        connection.lastUsed = System.nanoTime();
+        idle.offer(connection);
+        // The pool may have been closed meanwhile, after draining the idle connections.
+        if (closed && idle.remove(connection)) discard(connection);
+    }
+
+    /**
+     * Returns the amount of open connections.
+     *
+     * @return the amount of open connections.
+     */
+    int getOpenConnections() {
+        return opened.get();
+    }
+
+    /**
+     * Closes every idle connection. Connections in use are closed once they are released.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        PooledConnection connection;
+        while ((connection = idle.poll()) != null) discard(connection);
+    }
+
+    /**
+     * Reserves a slot for a new connection.
+     *
+     * @return {@code true} if a slot was reserved, {@code false} if the pool is full.
+     */
+    private boolean tryReserve() {
+        int current;
+        do {
+            current = opened.get();
+            if (current >= maximumSize) return false;
+        } while (!opened.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Closes a connection and frees its slot.
+     *
+     * @param connection the connection.
+     */
+    private void discard(final @NotNull PooledConnection connection) {
+        opened.decrementAndGet();
+        connection.closeQuietly();
+    }
+
+    /**
+     * A pooled JDBC connection with its cache of prepared statements.
+     */
+    final class PooledConnection {
+        @NotNull private final Connection connection;
+        @NotNull private final Map<String, PreparedStatement> statements;
+        private long lastUsed = System.nanoTime();
+
+        /**
+         * Constructs a PooledConnection.
+         *
+         * @param connection the JDBC connection.
+         */
+        private PooledConnection(final @NotNull Connection connection) {
+            this.connection = connection;
+            this.statements = new LinkedHashMap<>(16, 0.75F, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() <= statementCacheSize) return false;
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+            };
+        }
+
+        /**
+         * Returns the JDBC connection.
+         *
+         * @return the connection.
+         */
+        @NotNull Connection getConnection() {
+            return connection;
+        }
+
+        /**
+         * Returns the cached prepared statement of a SQL string, preparing it if it is not cached.
+         *
+         * @param sql the SQL string.
+         * @return the prepared statement, which must not be closed.
+         * @throws SQLException if the statement could not be prepared.
+         */
+        @NotNull PreparedStatement prepare(final @NotNull String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null || statement.isClosed()) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            }
+            return statement;
+        }
+
+        /**
+         * Returns whether the connection can be handed out, validating it if it was idle for a while.
+         *
+         * @return {@code true} if the connection is usable.
+         */
+        private boolean isUsable() {
+            try {
+                if (connection.isClosed()) return false;
+                return System.nanoTime() - lastUsed < VALIDATION_INTERVAL
+                        || connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (final SQLException exception) {
+                return false;
+            }
+        }
+
+        /**
+         * Closes the cached statements and the connection, ignoring failures.
+         */
+        private void closeQuietly() {
+            for (final PreparedStatement statement : statements.values()) closeQuietly(statement);
+            statements.clear();
+            try {
+                connection.close();
+            } catch (final SQLException ignored) {
+                // The connection is discarded either way.
+            }
+        }
+
+        /**
+         * Closes a statement, ignoring failures.
+         *
+         * @param statement the statement.
+         */
+        private static void closeQuietly(final @Nullable PreparedStatement statement) {
+            if (statement == null) return;
+            try {
+                statement.close();
+            } catch (final SQLException ignored) {
+                // The statement is discarded either way.
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package dev.sadghost.espresso.database;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+
+/**
+ * Enum representing the SQL databases supported by {@link SqlConnection}, and the statements that differ between them.
+ *
+ * <p>
+ * Every collection is stored in its own table, with an {@code id} primary key column and a {@code data} column holding
+ * the document as JSON. Saving a document is a single upsert statement, whose syntax depends on the database.
+ * Table names are quoted in every statement, so collections may be named after reserved words such as {@code user};
+ * as a consequence, they are case-sensitive.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * SqlDialect dialect = SqlDialect.fromUrl("jdbc:sqlite:plugins/Espresso/data.db"); // SQLITE
+ * String upsert = dialect.upsert("players");
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public enum SqlDialect {
+    H2("h2", '"', "VARCHAR(255)", "CLOB", "?",
+            "MERGE INTO %s (id, data) KEY (id) VALUES (?, %s)"),
+    SQLITE("sqlite", '"', "TEXT", "TEXT", "?",
+            "INSERT INTO %s (id, data) VALUES (?, %s) ON CONFLICT (id) DO UPDATE SET data = excluded.data"),
+    MYSQL("mysql", '`', "VARCHAR(255)", "JSON", "?",
+            "INSERT INTO %s (id, data) VALUES (?, %s) ON DUPLICATE KEY UPDATE data = VALUES(data)"),
+    POSTGRESQL("postgresql", '"', "VARCHAR(255)", "JSONB", "CAST(? AS JSONB)",
+            "INSERT INTO %s (id, data) VALUES (?, %s) ON CONFLICT (id) DO UPDATE SET data = EXCLUDED.data");
+
+    @NotNull private final String subprotocol;
+    private final char identifierQuote;
+    @NotNull private final String idType;
+    @NotNull private final String dataType;
+    @NotNull private final String dataParameter;
+    @NotNull private final String upsertFormat;
+
+    /**
+     * Constructs a SqlDialect enum constant.
+     *
+     * @param subprotocol     the JDBC subprotocol of the database, as in {@code jdbc:<subprotocol>:}.
+     * @param identifierQuote the character quoting identifiers.
+     * @param idType          the type of the id column.
+     * @param dataType        the type of the data column.
+     * @param dataParameter   the placeholder of a data value.
+     * @param upsertFormat    the format of the upsert statement, taking the table and the data placeholder.
+     */
+    @Contract(pure = true)
+    SqlDialect(final @NotNull String subprotocol,
+               final char identifierQuote,
+               final @NotNull String idType,
+               final @NotNull String dataType,
+               final @NotNull String dataParameter,
+               final @NotNull String upsertFormat) {
+        this.subprotocol = subprotocol;
+        this.identifierQuote = identifierQuote;
+        this.idType = idType;
+        this.dataType = dataType;
+        this.dataParameter = dataParameter;
+        this.upsertFormat = upsertFormat;
+    }
+
+    /**
+     * Returns the dialect of a JDBC URL.
+     *
+     * @param url the JDBC URL, such as {@code jdbc:h2:mem:test}.
+     * @return the dialect.
+     * @throws IllegalArgumentException if the URL is not of a supported database.
+     * @since 1.0.1
+     */
+    public static @NotNull SqlDialect fromUrl(final @NotNull String url) {
+        final String lowerCase = url.toLowerCase(Locale.ROOT);
+        for (final SqlDialect dialect : values()) {
+            if (lowerCase.startsWith("jdbc:" + dialect.subprotocol + ":")) return dialect;
+        }
+        // MariaDB speaks the MySQL dialect.
+        if (lowerCase.startsWith("jdbc:mariadb:")) return MYSQL;
+        throw new IllegalArgumentException("unsupported database: " + url);
+    }
+
+    /**
+     * Returns the statement creating the table of a collection, if it does not exist.
+     *
+     * @param table the name of the table.
+     * @return the statement.
+     * @since 1.0.1
+     */
+    public @NotNull String createTable(final @NotNull String table) {
+        return "CREATE TABLE IF NOT EXISTS " + quote(table)
+                + " (id " + idType + " PRIMARY KEY, data " + dataType + " NOT NULL)";
+    }
+
+    /**
+     * Returns the statement inserting a document, or replacing it if its id exists.
+     * The first parameter is the id and the second is the JSON of the document.
+     *
+     * @param table the name of the table.
+     * @return the statement.
+     * @since 1.0.1
+     */
+    public @NotNull String upsert(final @NotNull String table) {
+        return String.format(upsertFormat, quote(table), dataParameter);
+    }
+
+    /**
+     * Returns the statement selecting the JSON of a document by its id.
+     *
+     * @param table the name of the table.
+     * @return the statement.
+     * @since 1.0.1
+     */
+    public @NotNull String select(final @NotNull String table) {
+        return "SELECT data FROM " + quote(table) + " WHERE id = ?";
+    }
+
+    /**
+     * Returns the statement selecting the JSON of every document.
+     *
+     * @param table the name of the table.
+     * @return the statement.
+     * @since 1.0.1
+     */
+    public @NotNull String selectAll(final @NotNull String table) {
+        return "SELECT data FROM " + quote(table);
+    }
+
+    /**
+     * Returns the statement deleting a document by its id.
+     *
+     * @param table the name of the table.
+     * @return the statement.
+     * @since 1.0.1
+     */
+    public @NotNull String delete(final @NotNull String table) {
+        return "DELETE FROM " + quote(table) + " WHERE id = ?";
+    }
+
+    /**
+     * Quotes a table name. The name must not contain the quote character.
+     *
+     * @param table the name of the table.
+     * @return the quoted name.
+     */
+    private @NotNull String quote(final @NotNull String table) {
+        return identifierQuote + table + identifierQuote;
+    }
+}
@@ -0,0 +1,60 @@
+package dev.sadghost.espresso.exceptions;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The {@code TimeParseException} class represents an exception that is thrown to indicate that a duration string,
+ * such as {@code 1h30m}, could not be parsed.
+ * <p>
+ * This class extends the {@link IllegalArgumentException} class, and carries the parsed input and the index at which
+ * parsing failed, so that the error can be pointed out to the user.
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * try {
+ *     long duration = TimeUtils.parseTime(argument);
+ * } catch (TimeParseException exception) {
+ *     sender.sendMessage("Invalid duration at position " + (exception.getErrorIndex() + 1));
+ * }
+ * }
+ * </pre>
+ *
+ * @see IllegalArgumentException
+ * @since 1.0.1
+ */
+public final class TimeParseException extends IllegalArgumentException {
+    @NotNull private final String input;
+    private final int errorIndex;
+
+    /**
+     * Constructs a new {@code TimeParseException} with the specified reason, input and error index.
+     *
+     * @param reason     the reason the input could not be parsed.
+     * @param input      the input that could not be parsed.
+     * @param errorIndex the index at which parsing failed.
+     */
+    public TimeParseException(final @NotNull String reason, final @NotNull String input, final int errorIndex) {
+        super(reason + " at index " + errorIndex + " in '" + input + "'");
+        this.input = input;
+        this.errorIndex = errorIndex;
+    }
+
+    /**
+     * Returns the input that could not be parsed.
+     *
+     * @return the input.
+     */
+    public @NotNull String getInput() {
+        return input;
+    }
+
+    /**
+     * Returns the index at which parsing failed.
+     *
+     * @return the error index.
+     */
+    public int getErrorIndex() {
+        return errorIndex;
+    }
+}
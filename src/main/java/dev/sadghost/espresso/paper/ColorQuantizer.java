@@ -0,0 +1,215 @@
+package dev.sadghost.espresso.paper;
+
+import dev.sadghost.espresso.base.Preconditions;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A nearest-color quantizer mapping RGB colors to the indices of a fixed palette, such as the dye colors of wool
+ * or the colors of a map.
+ *
+ * <p>
+ * The quantizer precomputes a 32x32x32 lookup table over the RGB cube when it is created, keeping the 5 most significant
+ * bits of every channel, so quantizing a color costs a few bit operations and a single array read regardless of the
+ * palette's size. The nearest palette color of every cell is found using a weighted Euclidean distance, which weighs
+ * green the most and blue the least, roughly following the eye's sensitivity.
+ * The alpha channel of the quantized colors is ignored.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is immutable and thread-safe.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * ColorQuantizer quantizer = ColorUtils.getDyeColorQuantizer();
+ * int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+ * byte[] dyes = new byte[pixels.length];
+ * quantizer.quantize(pixels, dyes);
+ * DyeColor color = ColorUtils.translateIntToColor(dyes[0]);
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class ColorQuantizer {
+    /**
+     * The maximum amount of colors in a palette.
+     *
+     * @since 1.0.1
+     */
+    public static final int MAX_PALETTE_SIZE = 256;
+
+    private static final int BITS = 5;
+    private static final int CELLS = 1 << BITS;
+    private static final int SHIFT = 8 - BITS;
+
+    private final int[] palette;
+    private final byte[] table;
+
+    /**
+     * Constructs a ColorQuantizer and computes its lookup table.
+     *
+     * @param palette the RGB values of the palette.
+     */
+    private ColorQuantizer(final int[] palette) {
+        this.palette = palette;
+        this.table = new byte[CELLS * CELLS * CELLS];
+
+        for (int r = 0; r < CELLS; r++) {
+            for (int g = 0; g < CELLS; g++) {
+                for (int b = 0; b < CELLS; b++) {
+                    final int center = (r << SHIFT | 1 << SHIFT - 1) << 16
+                            | (g << SHIFT | 1 << SHIFT - 1) << 8
+                            | (b << SHIFT | 1 << SHIFT - 1);
+                    table[r << 2 * BITS | g << BITS | b] = (byte) findNearest(center);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a quantizer for the specified palette.
+     *
+     * @param palette the RGB values of the palette. Alpha values are ignored.
+     * @return the quantizer.
+     * @throws IllegalArgumentException if the palette is empty or has more than {@value #MAX_PALETTE_SIZE} colors.
+     * @since 1.0.1
+     */
+    @Contract("_ -> new")
+    public static @NotNull ColorQuantizer of(final int @NotNull ... palette) {
+        Preconditions.checkArgument(palette.length > 0, "palette cannot be empty");
+        Preconditions.checkArgument(palette.length <= MAX_PALETTE_SIZE, "palette cannot have more than 256 colors");
+
+        final int[] colors = new int[palette.length];
+        for (int i = 0; i < palette.length; i++) colors[i] = palette[i] & 0xFFFFFF;
+        return new ColorQuantizer(colors);
+    }
+
+    /**
+     * Returns the index of the palette color nearest to the specified color.
+     *
+     * @param rgb the RGB value of the color.
+     * @return the palette index.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public int quantize(final int rgb) {
+        return table[cell(rgb)] & 0xFF;
+    }
+
+    /**
+     * Replaces every color with the index of its nearest palette color.
+     *
+     * @param rgb the RGB values of the colors.
+     * @param out the array receiving the palette indices, read as unsigned bytes.
+     * @throws IndexOutOfBoundsException if the output array is shorter than the input array.
+     * @since 1.0.1
+     */
+    public void quantize(final int @NotNull [] rgb, final byte @NotNull [] out) {
+        quantize(rgb, 0, out, 0, rgb.length);
+    }
+
+    /**
+     * Replaces a range of colors with the indices of their nearest palette colors.
+     *
+     * @param rgb       the RGB values of the colors.
+     * @param offset    the index of the first color.
+     * @param out       the array receiving the palette indices, read as unsigned bytes.
+     * @param outOffset the index receiving the first palette index.
+     * @param length    the amount of colors.
+     * @throws IndexOutOfBoundsException if a range is out of the bounds of its array.
+     * @since 1.0.1
+     */
+    public void quantize(final int @NotNull [] rgb,
+                         final int offset,
+                         final byte @NotNull [] out,
+                         final int outOffset,
+                         final int length) {
+        if (offset < 0 || outOffset < 0 || length < 0 || offset + length > rgb.length || outOffset + length > out.length) {
+            throw new IndexOutOfBoundsException("range out of bounds");
+        }
+
+        final byte[] table = this.table;
+        for (int i = 0; i < length; i++) out[outOffset + i] = table[cell(rgb[offset + i])];
+    }
+
+    /**
+     * Replaces every color with its nearest palette color.
+     *
+     * @param rgb the RGB values of the colors, replaced in place.
+     * @since 1.0.1
+     */
+    public void snap(final int @NotNull [] rgb) {
+        for (int i = 0; i < rgb.length; i++) rgb[i] = palette[table[cell(rgb[i])] & 0xFF];
+    }
+
+    /**
+     * Returns the RGB value of a palette color.
+     *
+     * @param index the palette index.
+     * @return the RGB value.
+     * @throws IndexOutOfBoundsException if the index is out of the palette's bounds.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public int getColor(final int index) {
+        return palette[index];
+    }
+
+    /**
+     * Returns the amount of colors in the palette.
+     *
+     * @return the palette's size.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public int getPaletteSize() {
+        return palette.length;
+    }
+
+    /**
+     * Returns the lookup table cell of a color.
+     *
+     * @param rgb the RGB value of the color.
+     * @return the cell's index.
+     */
+    private static int cell(final int rgb) {
+        return (rgb >> 9 & 0x7C00) | (rgb >> 6 & 0x3E0) | (rgb >> 3 & 0x1F);
+    }
+
+    /**
+     * Finds the palette color nearest to the specified color.
+     *
+     * @param rgb the RGB value of the color.
+     * @return the palette index.
+     */
+    private int findNearest(final int rgb) {
+        int nearest = 0;
+        int nearestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < palette.length; i++) {
+            final int distance = distance(rgb, palette[i]);
+            if (distance < nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Computes the weighted squared distance between two colors.
+     *
+     * @param first  the RGB value of the first color.
+     * @param second the RGB value of the second color.
+     * @return the distance.
+     */
+    private static int distance(final int first, final int second) {
+        final int r = (first >> 16 & 0xFF) - (second >> 16 & 0xFF);
+        final int g = (first >> 8 & 0xFF) - (second >> 8 & 0xFF);
+        final int b = (first & 0xFF) - (second & 0xFF);
+        return 2 * r * r + 4 * g * g + 3 * b * b;
+    }
+}
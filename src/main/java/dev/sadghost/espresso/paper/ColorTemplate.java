@@ -0,0 +1,761 @@
+package dev.sadghost.espresso.paper;
+
+import dev.sadghost.espresso.base.Preconditions;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A colorized text compiled once into a reusable render plan, for texts rendered at a high frequency such as
+ * boss bars, action bars and scoreboards.
+ *
+ * <p>
+ * Templates support legacy codes ({@code &c}, {@code &l}, {@code &r}), hex colors ({@code &#ff8800} and
+ * {@code &x&f&f&8&8&0&0}), MiniMessage-style tags ({@code <red>}, {@code <#ff8800>}, {@code <bold>}, {@code <b>},
+ * {@code <reset>} and their closing tags), gradients ({@code <gradient:#ff0000:gold:#0000ff>...</gradient>})
+ * and placeholders ({@code %name%}). Unknown tags and codes are kept as plain text, and {@code \<}, {@code \&} and
+ * {@code \%} can be used to escape a tag, a code or a placeholder.
+ * </p>
+ *
+ * <p>
+ * Compiling resolves every tag and code into styles, and renders every part of the template that does not depend on
+ * a placeholder up front, including static gradients. A template without placeholders renders to a single cached
+ * component. Gradients containing placeholders are colored when rendered, using the gradient's colors for the
+ * rendered amount of characters, which are computed once per amount and cached.
+ * </p>
+ *
+ * <p>
+ * Placeholder values are inserted as plain text, so they cannot inject colors or tags into the template.
+ * Placeholders without a value are rendered as they were written.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is immutable and thread-safe.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * ColorTemplate template = ColorTemplate.compile("<gradient:#ff5555:#5555ff>%name%</gradient> &7- &e%time%");
+ * Component actionBar = template.render(Map.of("name", player.getName(), "time", "12:30"));
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class ColorTemplate {
+    /**
+     * The largest amount of characters whose gradient colors are cached.
+     * Longer gradients are colored without caching.
+     *
+     * @since 1.0.1
+     */
+    public static final int MAX_CACHED_GRADIENT_LENGTH = 256;
+
+    @NotNull private static final TextColor[] LEGACY_COLORS = {
+            NamedTextColor.BLACK, NamedTextColor.DARK_BLUE, NamedTextColor.DARK_GREEN, NamedTextColor.DARK_AQUA,
+            NamedTextColor.DARK_RED, NamedTextColor.DARK_PURPLE, NamedTextColor.GOLD, NamedTextColor.GRAY,
+            NamedTextColor.DARK_GRAY, NamedTextColor.BLUE, NamedTextColor.GREEN, NamedTextColor.AQUA,
+            NamedTextColor.RED, NamedTextColor.LIGHT_PURPLE, NamedTextColor.YELLOW, NamedTextColor.WHITE
+    };
+
+    @NotNull private static final Map<String, TextDecoration> DECORATION_TAGS = Map.ofEntries(
+            Map.entry("obfuscated", TextDecoration.OBFUSCATED), Map.entry("obf", TextDecoration.OBFUSCATED),
+            Map.entry("bold", TextDecoration.BOLD), Map.entry("b", TextDecoration.BOLD),
+            Map.entry("strikethrough", TextDecoration.STRIKETHROUGH), Map.entry("st", TextDecoration.STRIKETHROUGH),
+            Map.entry("underlined", TextDecoration.UNDERLINED), Map.entry("u", TextDecoration.UNDERLINED),
+            Map.entry("italic", TextDecoration.ITALIC), Map.entry("i", TextDecoration.ITALIC),
+            Map.entry("em", TextDecoration.ITALIC)
+    );
+
+    @NotNull private static final TextDecoration[] DECORATIONS = TextDecoration.values();
+
+    @NotNull private final String source;
+    @NotNull private final Node[] nodes;
+    @Nullable private final Component rendered;
+
+    /**
+     * Constructs a ColorTemplate from its compiled nodes.
+     *
+     * @param source the text the template was compiled from.
+     * @param nodes  the compiled nodes.
+     */
+    private ColorTemplate(final @NotNull String source, final @NotNull Node[] nodes) {
+        this.source = source;
+        this.nodes = nodes;
+        this.rendered = nodes.length == 1 && nodes[0] instanceof StaticNode node ? node.component() : null;
+    }
+
+    /**
+     * Compiles a colorized text into a template, using {@code &} as the legacy color character.
+     *
+     * @param text the colorized text.
+     * @return the compiled template.
+     * @since 1.0.1
+     */
+    @Contract("_ -> new")
+    public static @NotNull ColorTemplate compile(final @NotNull String text) {
+        return compile(ColorUtils.COLOR_CHAR, text);
+    }
+
+    /**
+     * Compiles a colorized text into a template, using the specified legacy color character.
+     *
+     * @param colorChar the legacy color character.
+     * @param text      the colorized text.
+     * @return the compiled template.
+     * @since 1.0.1
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull ColorTemplate compile(final char colorChar, final @NotNull String text) {
+        Preconditions.checkNonNull(text, "text cannot be null");
+        return new ColorTemplate(text, new Parser(colorChar, text).parse());
+    }
+
+    /**
+     * Renders the template without any placeholder values.
+     *
+     * @return the rendered component.
+     * @since 1.0.1
+     */
+    public @NotNull Component render() {
+        return render(Map.of());
+    }
+
+    /**
+     * Renders the template, replacing every placeholder with its value.
+     *
+     * @param placeholders the placeholder values, keyed by the placeholder names without the percent signs.
+     * @return the rendered component.
+     * @since 1.0.1
+     */
+    public @NotNull Component render(final @NotNull Map<String, ?> placeholders) {
+        if (rendered != null) return rendered;
+
+        final TextComponent.Builder builder = Component.text();
+        for (final Node node : nodes) node.render(placeholders, builder);
+        return builder.build();
+    }
+
+    /**
+     * Checks whether the template contains any placeholders.
+     *
+     * @return {@code true} if the template contains placeholders.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public boolean hasPlaceholders() {
+        return rendered == null && nodes.length > 0;
+    }
+
+    /**
+     * Returns the text the template was compiled from.
+     *
+     * @return the source text.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public @NotNull String getSource() {
+        return source;
+    }
+
+    /**
+     * Creates a style with the specified color and decorations.
+     *
+     * @param color       the color, or {@code null} for none.
+     * @param decorations the bit mask of the decorations, indexed by their ordinals.
+     * @return the style.
+     */
+    private static @NotNull Style style(final @Nullable TextColor color, final int decorations) {
+        final TextDecoration[] enabled = new TextDecoration[Integer.bitCount(decorations)];
+        int index = 0;
+        for (final TextDecoration decoration : DECORATIONS) {
+            if ((decorations & (1 << decoration.ordinal())) != 0) enabled[index++] = decoration;
+        }
+        return Style.style(color, enabled);
+    }
+
+    /**
+     * A literal text or a placeholder.
+     *
+     * @param text        the literal text, or the placeholder's name.
+     * @param placeholder whether the part is a placeholder.
+     */
+    private record Part(@NotNull String text, boolean placeholder) {
+
+        /**
+         * Resolves the text of the part.
+         *
+         * @param placeholders the placeholder values.
+         * @return the literal text, or the value of the placeholder.
+         */
+        private @NotNull String resolve(final @NotNull Map<String, ?> placeholders) {
+            if (!placeholder) return text;
+            final Object value = placeholders.get(text);
+            return value == null ? "%" + text + "%" : String.valueOf(value);
+        }
+    }
+
+    /**
+     * A compiled piece of a template.
+     */
+    private sealed interface Node permits StaticNode, StyledNode, GradientNode {
+
+        /**
+         * Renders the node, appending it to the specified builder.
+         *
+         * @param placeholders the placeholder values.
+         * @param builder      the builder to append to.
+         */
+        void render(@NotNull Map<String, ?> placeholders, @NotNull TextComponent.Builder builder);
+
+        /**
+         * Checks whether the node renders the same component regardless of the placeholder values.
+         *
+         * @return {@code true} if the node is static.
+         */
+        boolean isStatic();
+    }
+
+    /**
+     * A node rendered when the template was compiled.
+     *
+     * @param component the rendered component.
+     */
+    private record StaticNode(@NotNull Component component) implements Node {
+
+        @Override
+        public void render(final @NotNull Map<String, ?> placeholders, final @NotNull TextComponent.Builder builder) {
+            builder.append(component);
+        }
+
+        @Override
+        public boolean isStatic() {
+            return true;
+        }
+    }
+
+    /**
+     * A literal text or a placeholder with a single style.
+     *
+     * @param style the style.
+     * @param part  the text.
+     */
+    private record StyledNode(@NotNull Style style, @NotNull Part part) implements Node {
+
+        @Override
+        public void render(final @NotNull Map<String, ?> placeholders, final @NotNull TextComponent.Builder builder) {
+            builder.append(Component.text(part.resolve(placeholders), style));
+        }
+
+        @Override
+        public boolean isStatic() {
+            return !part.placeholder();
+        }
+    }
+
+    /**
+     * Literal texts and placeholders colored by a single gradient, each with its own decorations.
+     *
+     * @param gradient the gradient.
+     * @param styles   the style of every part, without a color.
+     * @param parts    the parts.
+     */
+    private record GradientNode(@NotNull Gradient gradient, @NotNull Style[] styles, @NotNull Part[] parts) implements Node {
+
+        @Override
+        public void render(final @NotNull Map<String, ?> placeholders, final @NotNull TextComponent.Builder builder) {
+            final String[] texts = new String[parts.length];
+            int length = 0;
+            for (int i = 0; i < parts.length; i++) {
+                texts[i] = parts[i].resolve(placeholders);
+                length += texts[i].codePointCount(0, texts[i].length());
+            }
+
+            final TextColor[] colors = gradient.colors(length);
+            int next = 0;
+            for (int i = 0; i < texts.length; i++) {
+                final String text = texts[i];
+                int start = 0;
+                while (start < text.length()) {
+                    // Characters sharing a color are rendered as a single component.
+                    final TextColor color = colors[next++];
+                    int end = text.offsetByCodePoints(start, 1);
+                    while (end < text.length() && colors[next].value() == color.value()) {
+                        end = text.offsetByCodePoints(end, 1);
+                        next++;
+                    }
+                    builder.append(Component.text(text.substring(start, end), styles[i].color(color)));
+                    start = end;
+                }
+            }
+        }
+
+        @Override
+        public boolean isStatic() {
+            for (final Part part : parts) {
+                if (part.placeholder()) return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The colors of a gradient, with the per-character colors cached for every rendered length.
+     */
+    private static final class Gradient {
+        private final int[] stops;
+        @NotNull private final AtomicReferenceArray<TextColor[]> cache;
+
+        /**
+         * Constructs a Gradient between the specified colors.
+         *
+         * @param stops the RGB values of the colors, at least two.
+         */
+        private Gradient(final int[] stops) {
+            this.stops = stops;
+            this.cache = new AtomicReferenceArray<>(MAX_CACHED_GRADIENT_LENGTH + 1);
+        }
+
+        /**
+         * Returns the color of every character of a text with the specified length.
+         *
+         * @param length the amount of characters.
+         * @return the colors, which must not be modified.
+         */
+        private @NotNull TextColor[] colors(final int length) {
+            if (length > MAX_CACHED_GRADIENT_LENGTH) return compute(length);
+
+            TextColor[] colors = cache.get(length);
+            if (colors == null) {
+                colors = compute(length);
+                cache.set(length, colors);
+            }
+            return colors;
+        }
+
+        /**
+         * Computes the color of every character of a text with the specified length,
+         * interpolating linearly between the two nearest stops.
+         *
+         * @param length the amount of characters.
+         * @return the colors.
+         */
+        private @NotNull TextColor[] compute(final int length) {
+            final TextColor[] colors = new TextColor[length];
+            final int segments = stops.length - 1;
+            for (int i = 0; i < length; i++) {
+                final double position = length == 1 ? 0 : (double) i / (length - 1) * segments;
+                final int index = Math.min((int) position, segments - 1);
+                final double fraction = position - index;
+                final int from = stops[index];
+                final int to = stops[index + 1];
+                colors[i] = TextColor.color(
+                        lerp(from >> 16 & 0xFF, to >> 16 & 0xFF, fraction),
+                        lerp(from >> 8 & 0xFF, to >> 8 & 0xFF, fraction),
+                        lerp(from & 0xFF, to & 0xFF, fraction)
+                );
+            }
+            return colors;
+        }
+
+        /**
+         * Interpolates linearly between two color channels.
+         *
+         * @param from     the first channel.
+         * @param to       the second channel.
+         * @param fraction the position between the channels, between {@code 0} and {@code 1}.
+         * @return the interpolated channel.
+         */
+        private static int lerp(final int from, final int to, final double fraction) {
+            return (int) Math.round(from + (to - from) * fraction);
+        }
+    }
+
+    /**
+     * The single-use parser compiling a colorized text into nodes.
+     */
+    private static final class Parser {
+        private final char colorChar;
+        @NotNull private final String text;
+        @NotNull private final StringBuilder literal;
+        @NotNull private final List<Run> runs;
+        @NotNull private final Deque<Frame> frames;
+        @Nullable private TextColor color;
+        private int decorations;
+        @Nullable private Gradient gradient;
+
+        /**
+         * Constructs a Parser for the specified text.
+         *
+         * @param colorChar the legacy color character.
+         * @param text      the colorized text.
+         */
+        private Parser(final char colorChar, final @NotNull String text) {
+            this.colorChar = colorChar;
+            this.text = text;
+            this.literal = new StringBuilder();
+            this.runs = new ArrayList<>();
+            this.frames = new ArrayDeque<>();
+        }
+
+        /**
+         * Parses the text into nodes.
+         *
+         * @return the compiled nodes.
+         */
+        private @NotNull Node[] parse() {
+            int i = 0;
+            while (i < text.length()) {
+                final char c = text.charAt(i);
+                if (c == '\\' && i + 1 < text.length() && isSpecial(text.charAt(i + 1))) {
+                    literal.append(text.charAt(i + 1));
+                    i += 2;
+                } else if (c == '<') {
+                    i = parseTag(i);
+                } else if (c == colorChar) {
+                    i = parseLegacy(i);
+                } else if (c == '%') {
+                    i = parsePlaceholder(i);
+                } else {
+                    literal.append(c);
+                    i++;
+                }
+            }
+            flush();
+            return link();
+        }
+
+        /**
+         * Checks whether a character can be escaped using a backslash.
+         *
+         * @param c the character.
+         * @return {@code true} if the character starts a tag, a code or a placeholder.
+         */
+        private boolean isSpecial(final char c) {
+            return c == '<' || c == '%' || c == colorChar || c == '\\';
+        }
+
+        /**
+         * Parses a tag starting at the specified index, keeping it as plain text if it is not a known tag.
+         *
+         * @param start the index of the opening angle bracket.
+         * @return the index following the tag.
+         */
+        private int parseTag(final int start) {
+            final int end = text.indexOf('>', start + 1);
+            if (end == -1) return literal(start);
+
+            final String tag = text.substring(start + 1, end);
+            if (tag.startsWith("/")) {
+                return closeTag(tag.substring(1).toLowerCase(Locale.ROOT)) ? end + 1 : literal(start);
+            }
+
+            final String[] arguments = tag.split(":");
+            final String name = arguments[0].toLowerCase(Locale.ROOT);
+            final TextDecoration decoration = DECORATION_TAGS.get(name);
+
+            if (name.equals("reset")) {
+                flush();
+                frames.clear();
+                reset();
+            } else if (decoration != null) {
+                open(name);
+                decorations |= 1 << decoration.ordinal();
+            } else if (name.equals("gradient")) {
+                final Gradient parsed = parseGradient(arguments);
+                if (parsed == null) return literal(start);
+                open(name);
+                gradient = parsed;
+            } else if ((name.equals("color") || name.equals("colour") || name.equals("c")) && arguments.length == 2) {
+                final TextColor parsed = parseColor(arguments[1]);
+                if (parsed == null) return literal(start);
+                open(name);
+                setColor(parsed);
+            } else {
+                final TextColor parsed = parseColor(tag);
+                if (parsed == null) return literal(start);
+                open(name);
+                setColor(parsed);
+            }
+            return end + 1;
+        }
+
+        /**
+         * Parses a legacy code starting at the specified index, keeping it as plain text if it is not a known code.
+         *
+         * @param start the index of the color character.
+         * @return the index following the code.
+         */
+        private int parseLegacy(final int start) {
+            if (start + 1 >= text.length()) return literal(start);
+            final char code = Character.toLowerCase(text.charAt(start + 1));
+
+            if (code == '#' && start + 8 <= text.length()) {
+                final TextColor parsed = TextColor.fromHexString(text.substring(start + 1, start + 8));
+                if (parsed == null) return literal(start);
+                applyLegacyColor(parsed);
+                return start + 8;
+            }
+
+            if (code == 'x' && start + 14 <= text.length()) {
+                final StringBuilder hex = new StringBuilder("#");
+                for (int i = start + 2; i < start + 14; i += 2) {
+                    if (text.charAt(i) != colorChar) return literal(start);
+                    hex.append(text.charAt(i + 1));
+                }
+                final TextColor parsed = TextColor.fromHexString(hex.toString());
+                if (parsed == null) return literal(start);
+                applyLegacyColor(parsed);
+                return start + 14;
+            }
+
+            final int digit = Character.digit(code, 16);
+            if (digit != -1) {
+                applyLegacyColor(LEGACY_COLORS[digit]);
+            } else if (code >= 'k' && code <= 'o') {
+                flush();
+                decorations |= 1 << legacyDecoration(code).ordinal();
+            } else if (code == 'r') {
+                flush();
+                reset();
+            } else {
+                return literal(start);
+            }
+            return start + 2;
+        }
+
+        /**
+         * Parses a placeholder starting at the specified index, keeping it as plain text if it is not a valid placeholder.
+         *
+         * @param start the index of the opening percent sign.
+         * @return the index following the placeholder.
+         */
+        private int parsePlaceholder(final int start) {
+            final int end = text.indexOf('%', start + 1);
+            if (end == -1 || end == start + 1) return literal(start);
+
+            for (int i = start + 1; i < end; i++) {
+                final char c = text.charAt(i);
+                if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') return literal(start);
+            }
+
+            flush();
+            runs.add(new Run(color, decorations, gradient, new Part(text.substring(start + 1, end), true)));
+            return end + 1;
+        }
+
+        /**
+         * Appends a single character as plain text.
+         *
+         * @param index the index of the character.
+         * @return the index following the character.
+         */
+        private int literal(final int index) {
+            literal.append(text.charAt(index));
+            return index + 1;
+        }
+
+        /**
+         * Opens a tag, saving the current style so that closing the tag restores it.
+         *
+         * @param name the name of the tag.
+         */
+        private void open(final @NotNull String name) {
+            flush();
+            frames.push(new Frame(name, color, decorations, gradient));
+        }
+
+        /**
+         * Closes the most recently opened tag with the specified name, and any tags opened after it.
+         *
+         * @param name the name of the tag.
+         * @return {@code true} if the tag was open, {@code false} otherwise.
+         */
+        private boolean closeTag(final @NotNull String name) {
+            Frame frame = null;
+            for (final Frame open : frames) {
+                if (open.name().equals(name)) {
+                    frame = open;
+                    break;
+                }
+            }
+            if (frame == null) return false;
+
+            flush();
+            while (frames.pop() != frame) {
+                // Tags opened after the closed one are closed as well.
+            }
+            color = frame.color();
+            decorations = frame.decorations();
+            gradient = frame.gradient();
+            return true;
+        }
+
+        /**
+         * Applies a legacy color code, which resets the decorations and ends any gradient.
+         *
+         * @param parsed the color.
+         */
+        private void applyLegacyColor(final @NotNull TextColor parsed) {
+            flush();
+            color = parsed;
+            decorations = 0;
+            gradient = null;
+        }
+
+        /**
+         * Applies a color tag, which ends any gradient.
+         *
+         * @param parsed the color.
+         */
+        private void setColor(final @NotNull TextColor parsed) {
+            color = parsed;
+            gradient = null;
+        }
+
+        /**
+         * Resets the color, the decorations and the gradient.
+         */
+        private void reset() {
+            color = null;
+            decorations = 0;
+            gradient = null;
+        }
+
+        /**
+         * Records the pending plain text as a run with the current style.
+         */
+        private void flush() {
+            if (literal.isEmpty()) return;
+            runs.add(new Run(color, decorations, gradient, new Part(literal.toString(), false)));
+            literal.setLength(0);
+        }
+
+        /**
+         * Groups the recorded runs into nodes, rendering the static ones up front.
+         *
+         * @return the compiled nodes.
+         */
+        private @NotNull Node[] link() {
+            final List<Node> nodes = new ArrayList<>();
+            for (int i = 0; i < runs.size(); ) {
+                final Run run = runs.get(i);
+                if (run.gradient() == null) {
+                    nodes.add(new StyledNode(style(run.color(), run.decorations()), run.part()));
+                    i++;
+                    continue;
+                }
+
+                int end = i;
+                while (end < runs.size() && runs.get(end).gradient() == run.gradient()) end++;
+
+                final Style[] styles = new Style[end - i];
+                final Part[] parts = new Part[end - i];
+                for (int j = i; j < end; j++) {
+                    styles[j - i] = style(null, runs.get(j).decorations());
+                    parts[j - i] = runs.get(j).part();
+                }
+                nodes.add(new GradientNode(run.gradient(), styles, parts));
+                i = end;
+            }
+
+            // Consecutive static nodes are rendered once and merged.
+            final List<Node> linked = new ArrayList<>();
+            TextComponent.Builder pending = null;
+            for (final Node node : nodes) {
+                if (!node.isStatic()) {
+                    if (pending != null) linked.add(new StaticNode(pending.build()));
+                    pending = null;
+                    linked.add(node);
+                    continue;
+                }
+                if (pending == null) pending = Component.text();
+                node.render(Map.of(), pending);
+            }
+            if (pending != null) linked.add(new StaticNode(pending.build()));
+            if (linked.isEmpty()) linked.add(new StaticNode(Component.empty()));
+            return linked.toArray(new Node[0]);
+        }
+
+        /**
+         * Parses the colors of a gradient tag.
+         *
+         * @param arguments the arguments of the tag, including its name.
+         * @return the gradient, or {@code null} if fewer than two valid colors are specified.
+         */
+        private static @Nullable Gradient parseGradient(final @NotNull String[] arguments) {
+            if (arguments.length < 3) return null;
+
+            final int[] stops = new int[arguments.length - 1];
+            for (int i = 1; i < arguments.length; i++) {
+                final TextColor parsed = parseColor(arguments[i]);
+                if (parsed == null) return null;
+                stops[i - 1] = parsed.value();
+            }
+            return new Gradient(stops);
+        }
+
+        /**
+         * Parses a hex color, such as {@code #ff8800}, or a named color, such as {@code gold}.
+         *
+         * @param value the color.
+         * @return the color, or {@code null} if it is not a valid color.
+         */
+        private static @Nullable TextColor parseColor(final @NotNull String value) {
+            if (value.startsWith("#")) return value.length() == 7 ? TextColor.fromHexString(value) : null;
+            return NamedTextColor.NAMES.value(value.toLowerCase(Locale.ROOT));
+        }
+
+        /**
+         * Returns the decoration of a legacy format code.
+         *
+         * @param code the lowercase code, between {@code k} and {@code o}.
+         * @return the decoration.
+         */
+        private static @NotNull TextDecoration legacyDecoration(final char code) {
+            return switch (code) {
+                case 'k' -> TextDecoration.OBFUSCATED;
+                case 'l' -> TextDecoration.BOLD;
+                case 'm' -> TextDecoration.STRIKETHROUGH;
+                case 'n' -> TextDecoration.UNDERLINED;
+                default -> TextDecoration.ITALIC;
+            };
+        }
+    }
+
+    /**
+     * A literal text or a placeholder with the style it was parsed with.
+     *
+     * @param color       the color, or {@code null} for none.
+     * @param decorations the bit mask of the decorations.
+     * @param gradient    the gradient, or {@code null} for none.
+     * @param part        the text.
+     */
+    private record Run(@Nullable TextColor color, int decorations, @Nullable Gradient gradient, @NotNull Part part) {}
+
+    /**
+     * The style saved when a tag was opened.
+     *
+     * @param name        the name of the tag.
+     * @param color       the color before the tag.
+     * @param decorations the decorations before the tag.
+     * @param gradient    the gradient before the tag.
+     */
+    private record Frame(@NotNull String name, @Nullable TextColor color, int decorations, @Nullable Gradient gradient) {}
+}
@@ -1,16 +1,28 @@
 package dev.sadghost.espresso.paper;
 
+import dev.sadghost.espresso.base.BoundedCache;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
-import net.md_5.bungee.api.ChatColor;
 import org.bukkit.DyeColor;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
 /**
  * A utility class for handling color formatting and translation using the Kyori Adventure library.
  * Supports servers running Paper, Velocity, or any software that supports Kyori Adventure.
+ * <p>
+ * Translations made by {@link #color(char, String)} are memoized, so translating the same text repeatedly,
+ * such as a scoreboard line every tick, costs a hash lookup. Every color character gets its own serializer and
+ * its own bounded cache of up to {@value #CACHE_SIZE} translations, and texts longer than {@value #MAX_CACHED_LENGTH}
+ * characters are translated without being cached. The cache can be inspected using {@link #getCacheStats()}.
+ * <p>
+ * Hex colors, gradients and MiniMessage-style tags are supported by {@link #format(String, Map)}, which compiles
+ * the text into a cached {@link ColorTemplate} once and renders it with the specified placeholder values.
  *
  * @author SadGhost, LielAmar
  * @since 1.0.0
@@ -24,6 +36,30 @@ public final class ColorUtils {
      */
     public static final char COLOR_CHAR = '&';
 
+    /**
+     * The maximum amount of translations cached per color character.
+     *
+     * @since 1.0.1
+     */
+    public static final int CACHE_SIZE = 2048;
+
+    /**
+     * The maximum length of a text whose translation is cached.
+     *
+     * @since 1.0.1
+     */
+    public static final int MAX_CACHED_LENGTH = 256;
+
+    /**
+     * The maximum amount of compiled templates cached by {@link #template(String)}.
+     *
+     * @since 1.0.1
+     */
+    public static final int TEMPLATE_CACHE_SIZE = 512;
+
+    @NotNull private static final Map<Character, Translator> TRANSLATORS = new ConcurrentHashMap<>();
+    @NotNull private static final BoundedCache<String, ColorTemplate> TEMPLATES = new BoundedCache<>(TEMPLATE_CACHE_SIZE);
+
     /**
      * Private constructor to prevent instantiation.
      */
@@ -43,6 +79,8 @@ public final class ColorUtils {
 
     /**
      * Colors a message that uses Bukkit's color format and returns the formatted message deserialized into a {@code Component}.
+     * <p>
+     * The translation is cached, unless the message is longer than {@value #MAX_CACHED_LENGTH} characters.
      *
      * @param colorChar The color character to use in the deserialization
      * @param text      The Bukkit format message
@@ -51,7 +89,73 @@ public final class ColorUtils {
      */
     public static @NotNull Component color(final char colorChar, final @Nullable String text) {
         if (text == null) return Component.empty();
-        return LegacyComponentSerializer.legacy(colorChar).deserialize(text);
+
+        final Translator translator = TRANSLATORS.computeIfAbsent(colorChar, Translator::new);
+        if (text.length() > MAX_CACHED_LENGTH) return translator.apply(text);
+        return translator.cache.get(text, translator);
+    }
+
+    /**
+     * Returns the compiled template of a text supporting legacy codes, hex colors, gradients, MiniMessage-style tags
+     * and placeholders. Templates are cached, so repeated calls with the same text only compile it once.
+     *
+     * @param text the colorized text.
+     * @return the compiled template.
+     * @see ColorTemplate
+     * @since 1.0.1
+     */
+    public static @NotNull ColorTemplate template(final @NotNull String text) {
+        return TEMPLATES.get(text, ColorTemplate::compile);
+    }
+
+    /**
+     * Colors a text supporting legacy codes, hex colors, gradients and MiniMessage-style tags.
+     *
+     * @param text the colorized text.
+     * @return the formatted text as a {@code Component}.
+     * @see #template(String)
+     * @since 1.0.1
+     */
+    public static @NotNull Component format(final @Nullable String text) {
+        if (text == null) return Component.empty();
+        return template(text).render();
+    }
+
+    /**
+     * Colors a text supporting legacy codes, hex colors, gradients and MiniMessage-style tags,
+     * replacing its {@code %name%} placeholders with the specified values.
+     *
+     * @param text         the colorized text.
+     * @param placeholders the placeholder values, keyed by the placeholder names without the percent signs.
+     * @return the formatted text as a {@code Component}.
+     * @see #template(String)
+     * @since 1.0.1
+     */
+    public static @NotNull Component format(final @Nullable String text, final @NotNull Map<String, ?> placeholders) {
+        if (text == null) return Component.empty();
+        return template(text).render(placeholders);
+    }
+
+    /**
+     * Returns the combined statistics of the translation caches of every color character.
+     *
+     * @return the cache statistics.
+     * @since 1.0.1
+     */
+    public static @NotNull BoundedCache.Stats getCacheStats() {
+        BoundedCache.Stats stats = new BoundedCache.Stats(0, 0, 0);
+        for (final Translator translator : TRANSLATORS.values()) stats = stats.plus(translator.cache.stats());
+        return stats;
+    }
+
+    /**
+     * Discards every cached translation and template.
+     *
+     * @since 1.0.1
+     */
+    public static void clearCache() {
+        for (final Translator translator : TRANSLATORS.values()) translator.cache.clear();
+        TEMPLATES.clear();
     }
 
     /**
@@ -79,7 +183,7 @@ public final class ColorUtils {
      */
     @Deprecated(since = "1.0.0")
     public static @NotNull String colorLegacy(final char colorChar, final @Nullable String text) {
-        return text == null ? "" : ChatColor.translateAlternateColorCodes(colorChar, text);
+        return text == null ? "" : LegacyColorCodes.translate(colorChar, LegacyColorCodes.SECTION_CHAR, text);
     }
 
     /**
@@ -102,21 +206,13 @@ public final class ColorUtils {
      * @param colorChar The color code character
      * @param text      Text to replace
      * @return Uncolored message
-     * @deprecated in favor of {@link LegacyComponentSerializer#deserialize(String)}
+     * @deprecated in favor of {@link LegacyComponentSerializer#deserialize(String)}, or
+     * {@link LegacyColorCodes#strip(char, String)} to remove the codes entirely
      * @since 1.0.0
      */
     @Deprecated(since = "1.0.0")
     public static @NotNull String uncolorLegacy(final char colorChar, final @Nullable String text) {
-        if (text == null) return "";
-
-        final char[] array = text.toCharArray();
-        for (int i = 0; i < array.length - 1; i++) {
-            if (array[i] == colorChar && "0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx".indexOf(array[i + 1]) != -1) {
-                array[i] = colorChar;
-                array[i + 1] = Character.toLowerCase(array[i + 1]);
-            }
-        }
-        return new String(array);
+        return text == null ? "" : LegacyColorCodes.translate(LegacyColorCodes.SECTION_CHAR, colorChar, text);
     }
 
     /**
@@ -128,24 +224,7 @@ public final class ColorUtils {
      * @since 1.0.0
      */
     public static int translateColorToInt(final @NotNull DyeColor color) {
-        return switch (color) {
-            case WHITE -> 0;
-            case ORANGE -> 1;
-            case MAGENTA -> 2;
-            case LIGHT_BLUE -> 3;
-            case YELLOW -> 4;
-            case LIME -> 5;
-            case PINK -> 6;
-            case GRAY -> 7;
-            case LIGHT_GRAY -> 8;
-            case CYAN -> 9;
-            case PURPLE -> 10;
-            case BLUE -> 11;
-            case BROWN -> 12;
-            case GREEN -> 13;
-            case RED -> 14;
-            case BLACK -> 15;
-        };
+        return DyeColors.IDS[color.ordinal()];
     }
 
     /**
@@ -156,24 +235,141 @@ public final class ColorUtils {
      * @since 1.0.0
      */
     public static @Nullable DyeColor translateIntToColor(final int color) {
-        return switch (color) {
-            case 0 -> DyeColor.WHITE;
-            case 1 -> DyeColor.ORANGE;
-            case 2 -> DyeColor.MAGENTA;
-            case 3 -> DyeColor.LIGHT_BLUE;
-            case 4 -> DyeColor.YELLOW;
-            case 5 -> DyeColor.LIME;
-            case 6 -> DyeColor.PINK;
-            case 7 -> DyeColor.GRAY;
-            case 8 -> DyeColor.LIGHT_GRAY;
-            case 9 -> DyeColor.CYAN;
-            case 10 -> DyeColor.PURPLE;
-            case 11 -> DyeColor.BLUE;
-            case 12 -> DyeColor.BROWN;
-            case 13 -> DyeColor.GREEN;
-            case 14 -> DyeColor.RED;
-            case 15 -> DyeColor.BLACK;
-            default -> null;
+        return color >= 0 && color < DyeColors.COLORS.length ? DyeColors.COLORS[color] : null;
+    }
+
+    /**
+     * Translates a DyeColor object to its RGB value.
+     *
+     * @param color The {@link DyeColor} object
+     * @return The RGB value of the color
+     * @since 1.0.1
+     */
+    public static int translateColorToRgb(final @NotNull DyeColor color) {
+        return DyeColors.RGB[DyeColors.IDS[color.ordinal()]];
+    }
+
+    /**
+     * Translates a color's id to its RGB value.
+     *
+     * @param color The color's id
+     * @return The RGB value of the color
+     * @throws IndexOutOfBoundsException if the id is not a valid color id
+     * @since 1.0.1
+     */
+    public static int translateIntToRgb(final int color) {
+        return DyeColors.RGB[color];
+    }
+
+    /**
+     * Translates DyeColor objects to integers in bulk.
+     *
+     * @param colors The {@link DyeColor} objects
+     * @param out    The array receiving the integer equivalents, at least as long as {@code colors}
+     * @throws IndexOutOfBoundsException if the output array is too short
+     * @since 1.0.1
+     */
+    public static void translateColorsToInts(final @NotNull DyeColor @NotNull [] colors, final int @NotNull [] out) {
+        if (out.length < colors.length) throw new IndexOutOfBoundsException("out is shorter than colors");
+        final int[] ids = DyeColors.IDS;
+        for (int i = 0; i < colors.length; i++) out[i] = ids[colors[i].ordinal()];
+    }
+
+    /**
+     * Translates color ids, such as the output of a quantizer, to DyeColor objects in bulk.
+     *
+     * @param colors The color ids, read as unsigned bytes
+     * @param out    The array receiving the {@link DyeColor} objects, at least as long as {@code colors}
+     * @throws IndexOutOfBoundsException if the output array is too short or an id is not a valid color id
+     * @since 1.0.1
+     */
+    public static void translateIntsToColors(final byte @NotNull [] colors, final @NotNull DyeColor @NotNull [] out) {
+        if (out.length < colors.length) throw new IndexOutOfBoundsException("out is shorter than colors");
+        final DyeColor[] table = DyeColors.COLORS;
+        for (int i = 0; i < colors.length; i++) out[i] = table[colors[i] & 0xFF];
+    }
+
+    /**
+     * Translates color ids, such as the output of a quantizer, to RGB values in bulk.
+     *
+     * @param colors The color ids, read as unsigned bytes
+     * @param out    The array receiving the RGB values, at least as long as {@code colors}
+     * @throws IndexOutOfBoundsException if the output array is too short or an id is not a valid color id
+     * @since 1.0.1
+     */
+    public static void translateIntsToRgb(final byte @NotNull [] colors, final int @NotNull [] out) {
+        if (out.length < colors.length) throw new IndexOutOfBoundsException("out is shorter than colors");
+        final int[] table = DyeColors.RGB;
+        for (int i = 0; i < colors.length; i++) out[i] = table[colors[i] & 0xFF];
+    }
+
+    /**
+     * Returns a quantizer mapping RGB colors to the ids of their nearest dye colors,
+     * as returned by {@link #translateColorToInt(DyeColor)}.
+     *
+     * @return The dye color quantizer
+     * @see ColorQuantizer
+     * @since 1.0.1
+     */
+    public static @NotNull ColorQuantizer getDyeColorQuantizer() {
+        return DyeColors.QUANTIZER;
+    }
+
+    /**
+     * The serializer and translation cache of a single color character.
+     */
+    private static final class Translator implements Function<String, Component> {
+        @NotNull private final LegacyComponentSerializer serializer;
+        @NotNull private final BoundedCache<String, Component> cache;
+
+        /**
+         * Constructs a Translator for the specified color character.
+         *
+         * @param colorChar the color character.
+         */
+        private Translator(final char colorChar) {
+            this.serializer = LegacyComponentSerializer.legacy(colorChar);
+            this.cache = new BoundedCache<>(CACHE_SIZE);
+        }
+
+        @Override
+        public @NotNull Component apply(final @NotNull String text) {
+            return serializer.deserialize(text);
+        }
+    }
+
+    /**
+     * The lookup tables of the dye colors, initialized on first use.
+     */
+    private static final class DyeColors {
+        /**
+         * The dye colors, indexed by their ids.
+         */
+        private static final DyeColor[] COLORS = {
+                DyeColor.WHITE, DyeColor.ORANGE, DyeColor.MAGENTA, DyeColor.LIGHT_BLUE,
+                DyeColor.YELLOW, DyeColor.LIME, DyeColor.PINK, DyeColor.GRAY,
+                DyeColor.LIGHT_GRAY, DyeColor.CYAN, DyeColor.PURPLE, DyeColor.BLUE,
+                DyeColor.BROWN, DyeColor.GREEN, DyeColor.RED, DyeColor.BLACK
         };
+
+        /**
+         * The ids of the dye colors, indexed by their ordinals.
+         */
+        private static final int[] IDS = new int[DyeColor.values().length];
+
+        /**
+         * The RGB values of the dye colors, indexed by their ids.
+         */
+        private static final int[] RGB = new int[COLORS.length];
+
+        private static final ColorQuantizer QUANTIZER;
+
+        static {
+            for (int id = 0; id < COLORS.length; id++) {
+                IDS[COLORS[id].ordinal()] = id;
+                RGB[id] = COLORS[id].getColor().asRGB();
+            }
+            QUANTIZER = ColorQuantizer.of(RGB);
+        }
     }
 }
@@ -0,0 +1,239 @@
+package dev.sadghost.espresso.paper;
+
+import dev.sadghost.espresso.base.Preconditions;
+import dev.sadghost.espresso.time.DurationUnit;
+import dev.sadghost.espresso.time.TimeFormatter;
+import dev.sadghost.espresso.time.TimeLocales;
+import dev.sadghost.espresso.time.TimeUnitNames;
+import dev.sadghost.espresso.time.UnitTimeFormatter;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code ComponentTimeFormatter} class formats durations directly into styled Adventure {@link Component}s,
+ * such as {@code 1 year, 2 months} with the numbers and the unit names in separate styles.
+ * <p>
+ * Producing components directly avoids formatting a string and then parsing its color codes again. The unit names
+ * of every locale are turned into components once when the formatter is created, so formatting a duration only
+ * creates the components of its numbers.
+ * <p>
+ * The formatter also implements {@link TimeFormatter}, producing the plain text of the default locale.
+ * <p>
+ * Thread Safety: Instances are immutable and can be shared between threads.
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * TimeLocales locales = TimeLocalesLoader.load(config, "time-units", Locale.ENGLISH);
+ * ComponentTimeFormatter formatter = new ComponentTimeFormatter(locales,
+ *         Style.style(NamedTextColor.GOLD), Style.style(NamedTextColor.GRAY));
+ *
+ * Component remaining = formatter.format(endTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS,
+ *         player.locale());
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class ComponentTimeFormatter implements TimeFormatter {
+    private static final DurationUnit[] UNITS = DurationUnit.values();
+
+    @NotNull private final TimeLocales locales;
+    @NotNull private final Style numberStyle;
+    @NotNull private final Map<TimeUnitNames, Table> tables;
+    @NotNull private final Table defaultTable;
+
+    /**
+     * Constructs a ComponentTimeFormatter using the same unit names for every locale.
+     *
+     * @param names       the unit names.
+     * @param numberStyle the style of the numbers.
+     * @param unitStyle   the style of the unit names and separators.
+     * @since 1.0.1
+     */
+    public ComponentTimeFormatter(final @NotNull TimeUnitNames names,
+                                  final @NotNull Style numberStyle,
+                                  final @NotNull Style unitStyle) {
+        this(TimeLocales.of(Map.of(Locale.ROOT, Preconditions.checkNonNull(names, "names cannot be null")),
+                Locale.ROOT), numberStyle, unitStyle);
+    }
+
+    /**
+     * Constructs a ComponentTimeFormatter using the unit names of every locale.
+     *
+     * @param locales     the unit names of every locale.
+     * @param numberStyle the style of the numbers.
+     * @param unitStyle   the style of the unit names and separators.
+     * @since 1.0.1
+     */
+    public ComponentTimeFormatter(final @NotNull TimeLocales locales,
+                                  final @NotNull Style numberStyle,
+                                  final @NotNull Style unitStyle) {
+        this.locales = Preconditions.checkNonNull(locales, "locales cannot be null");
+        this.numberStyle = Preconditions.checkNonNull(numberStyle, "numberStyle cannot be null");
+        Preconditions.checkNonNull(unitStyle, "unitStyle cannot be null");
+
+        final Map<TimeUnitNames, Table> tables = new HashMap<>();
+        for (final TimeUnitNames names : locales.getAllNames().values()) {
+            tables.computeIfAbsent(names, key -> new Table(key, unitStyle));
+        }
+        this.defaultTable = tables.computeIfAbsent(locales.getDefaultNames(), key -> new Table(key, unitStyle));
+        this.tables = Map.copyOf(tables);
+    }
+
+    /**
+     * Formats a duration in the default locale.
+     *
+     * @param duration the duration, or a negative value for forever.
+     * @param timeUnit the unit of the duration.
+     * @return the formatted duration.
+     * @since 1.0.1
+     */
+    public @NotNull Component format(final long duration, final @NotNull TimeUnit timeUnit) {
+        return format(duration, timeUnit, null);
+    }
+
+    /**
+     * Formats a duration in the specified locale.
+     *
+     * @param duration the duration, or a negative value for forever.
+     * @param timeUnit the unit of the duration.
+     * @param locale   the locale, or {@code null} for the default locale.
+     * @return the formatted duration.
+     * @since 1.0.1
+     */
+    public @NotNull Component format(final long duration,
+                                     final @NotNull TimeUnit timeUnit,
+                                     final @Nullable Locale locale) {
+        final Table table = tableOf(locale);
+        if (duration < 0) return table.forever;
+
+        final TextComponent.Builder builder = Component.text();
+        appendTo(builder, table, TimeUnit.MILLISECONDS.convert(duration, timeUnit));
+        return builder.build();
+    }
+
+    /**
+     * Appends a formatted duration to the specified component builder.
+     *
+     * @param builder  the builder to append to.
+     * @param duration the duration, or a negative value for forever.
+     * @param timeUnit the unit of the duration.
+     * @param locale   the locale, or {@code null} for the default locale.
+     * @return the builder.
+     * @since 1.0.1
+     */
+    @Contract("_, _, _, _ -> param1")
+    public @NotNull TextComponent.Builder formatTo(final @NotNull TextComponent.Builder builder,
+                                                   final long duration,
+                                                   final @NotNull TimeUnit timeUnit,
+                                                   final @Nullable Locale locale) {
+        final Table table = tableOf(locale);
+        if (duration < 0) return builder.append(table.forever);
+
+        appendTo(builder, table, TimeUnit.MILLISECONDS.convert(duration, timeUnit));
+        return builder;
+    }
+
+    /**
+     * Returns the unit names of every locale used by the formatter.
+     *
+     * @return the unit names.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public @NotNull TimeLocales getLocales() {
+        return locales;
+    }
+
+    @Override
+    public @NotNull String getFormattedTime(final long years, final long months, final long weeks, final long days,
+                                            final long hours, final long minutes, final long seconds) {
+        return defaultTable.text.getFormattedTime(years, months, weeks, days, hours, minutes, seconds);
+    }
+
+    @Override
+    public @NotNull StringBuilder formatTo(final @NotNull StringBuilder builder,
+                                           final long years, final long months, final long weeks, final long days,
+                                           final long hours, final long minutes, final long seconds) {
+        return defaultTable.text.formatTo(builder, years, months, weeks, days, hours, minutes, seconds);
+    }
+
+    @Override
+    public @NotNull String getForeverString() {
+        return defaultTable.text.getForeverString();
+    }
+
+    /**
+     * Returns the table of a locale.
+     *
+     * @param locale the locale, or {@code null} for the default locale.
+     * @return the table.
+     */
+    private @NotNull Table tableOf(final @Nullable Locale locale) {
+        if (locale == null) return defaultTable;
+        final Table table = tables.get(locales.getNames(locale));
+        return table == null ? defaultTable : table;
+    }
+
+    /**
+     * Appends every non-zero unit of a duration to a builder.
+     *
+     * @param builder the builder to append to.
+     * @param table   the table of the locale.
+     * @param time    the duration in milliseconds.
+     */
+    private void appendTo(final @NotNull TextComponent.Builder builder, final @NotNull Table table, long time) {
+        boolean first = true;
+        for (int i = 0; i < UNITS.length; i++) {
+            final long milliseconds = UNITS[i].getMilliseconds();
+            final long value = time / milliseconds;
+            if (value <= 0) continue;
+            time -= value * milliseconds;
+
+            if (!first) builder.append(table.separator);
+            builder.append(Component.text(value, numberStyle))
+                    .append(value == 1 ? table.singular[i] : table.plural[i]);
+            first = false;
+        }
+    }
+
+    /**
+     * The precomputed components of a locale's unit names.
+     */
+    private static final class Table {
+        @NotNull private final UnitTimeFormatter text;
+        @NotNull private final Component separator;
+        @NotNull private final Component forever;
+        @NotNull private final Component[] singular = new Component[UNITS.length];
+        @NotNull private final Component[] plural = new Component[UNITS.length];
+
+        /**
+         * Constructs a Table.
+         *
+         * @param names the unit names of the locale.
+         * @param style the style of the unit names and separators.
+         */
+        private Table(final @NotNull TimeUnitNames names, final @NotNull Style style) {
+            this.text = new UnitTimeFormatter(names);
+            this.separator = Component.text(names.getSeparator(), style);
+            this.forever = Component.text(names.getForever(), style);
+
+            final String valueSeparator = names.getValueSeparator();
+            for (int i = 0; i < UNITS.length; i++) {
+                singular[i] = Component.text(valueSeparator + names.getName(UNITS[i], 1), style);
+                plural[i] = Component.text(valueSeparator + names.getName(UNITS[i], 2), style);
+            }
+        }
+    }
+}
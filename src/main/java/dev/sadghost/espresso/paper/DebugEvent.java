@@ -0,0 +1,27 @@
+package dev.sadghost.espresso.paper;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An immutable record of a single debug message, as handed to {@link DebugSink}s.
+ *
+ * <p>
+ * The timestamp and the thread are captured when the message is sent, not when it is delivered,
+ * so events produced by asynchronous tasks keep their original ordering information.
+ * </p>
+ *
+ * @param timestamp   the time the message was sent, in milliseconds since the epoch.
+ * @param channel     the identifier of the debug channel.
+ * @param channelName the friendly name of the debug channel.
+ * @param level       the level of the debug message.
+ * @param message     the debug message.
+ * @param thread      the name of the thread that sent the message.
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public record DebugEvent(long timestamp,
+                         @NotNull String channel,
+                         @NotNull String channelName,
+                         @NotNull DebugLevel level,
+                         @NotNull String message,
+                         @NotNull String thread) {}
@@ -0,0 +1,98 @@
+package dev.sadghost.espresso.paper;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+
+/**
+ * Enum representing the line formats debug events can be written in.
+ *
+ * <p>
+ * Every format writes a single event as a single line, terminated by a line feed.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * StringBuilder builder = new StringBuilder();
+ * DebugEventFormat.JSON_LINES.appendTo(builder, event);
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public enum DebugEventFormat {
+    /**
+     * A human-readable format, for example {@code 2024-01-01T12:00:00Z [DEBUG] [database] (Async Thread) message}.
+     */
+    PLAIN {
+        @Override
+        public void appendTo(final @NotNull StringBuilder builder, final @NotNull DebugEvent event) {
+            builder.append(Instant.ofEpochMilli(event.timestamp()))
+                    .append(" [").append(event.level().name()).append("] [")
+                    .append(event.channel()).append("] (")
+                    .append(event.thread()).append(") ");
+
+            // Keep one event per line, even for multi-line messages.
+            final String message = event.message();
+            for (int i = 0; i < message.length(); i++) {
+                final char c = message.charAt(i);
+                builder.append(c == '\n' || c == '\r' ? ' ' : c);
+            }
+            builder.append('\n');
+        }
+    },
+    /**
+     * A structured format writing every event as a JSON object on its own line.
+     */
+    JSON_LINES {
+        @Override
+        public void appendTo(final @NotNull StringBuilder builder, final @NotNull DebugEvent event) {
+            builder.append("{\"timestamp\":").append(event.timestamp())
+                    .append(",\"level\":\"").append(event.level().name()).append('"');
+            appendField(builder, "channel", event.channel());
+            appendField(builder, "channelName", event.channelName());
+            appendField(builder, "thread", event.thread());
+            appendField(builder, "message", event.message());
+            builder.append("}\n");
+        }
+    };
+
+    /**
+     * Appends a debug event to the specified builder, including the trailing line feed.
+     *
+     * @param builder the builder to append to.
+     * @param event   the debug event.
+     * @since 1.0.1
+     */
+    public abstract void appendTo(@NotNull StringBuilder builder, @NotNull DebugEvent event);
+
+    /**
+     * Appends a JSON string field, escaping its value.
+     *
+     * @param builder the builder to append to.
+     * @param name    the name of the field.
+     * @param value   the value of the field.
+     */
+    private static void appendField(final @NotNull StringBuilder builder,
+                                    final @NotNull String name,
+                                    final @NotNull String value) {
+        builder.append(",\"").append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) builder.append(String.format("\\u%04x", (int) c));
+                    else builder.append(c);
+                }
+            }
+        }
+        builder.append('"');
+    }
+}
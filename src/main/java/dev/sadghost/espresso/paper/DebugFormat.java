@@ -0,0 +1,224 @@
+package dev.sadghost.espresso.paper;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A debug message format compiled into a tree of prebuilt components and placeholder slots.
+ *
+ * <p>
+ * The format is walked once when compiled. The {@code %plugin%} placeholder is substituted at that point,
+ * while every {@code %channel%} and {@code %message%} placeholder becomes a slot. Sub-trees that contain no slots are
+ * kept as the same immutable {@link Component} instances, so rendering a debug line only creates components for
+ * the slots and for the parents that contain them, instead of running regex based text replacement over the whole tree.
+ * </p>
+ *
+ * <p>
+ * Placeholders are only recognised inside the content of text components, which matches the way
+ * the debugger used to substitute them.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is immutable and thread-safe.
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+final class DebugFormat {
+    @NotNull private static final String PLUGIN_PLACEHOLDER = "%plugin%";
+    @NotNull private static final String CHANNEL_PLACEHOLDER = "%channel%";
+    @NotNull private static final String MESSAGE_PLACEHOLDER = "%message%";
+
+    @NotNull private final Part root;
+
+    /**
+     * Constructs a DebugFormat with the specified compiled root.
+     *
+     * @param root the compiled root part.
+     */
+    @Contract(pure = true)
+    private DebugFormat(final @NotNull Part root) {
+        this.root = root;
+    }
+
+    /**
+     * Compiles a debug message format.
+     *
+     * @param format     the debug message format.
+     * @param pluginName the name substituted for the {@code %plugin%} placeholder.
+     * @return the compiled format.
+     * @since 1.0.1
+     */
+    @Contract("_, _ -> new")
+    static @NotNull DebugFormat compile(final @NotNull Component format, final @NotNull String pluginName) {
+        return new DebugFormat(compilePart(format, pluginName));
+    }
+
+    /**
+     * Renders a debug line by filling the compiled slots with the channel name and the message.
+     *
+     * @param channel the friendly name of the debug channel.
+     * @param message the debug message.
+     * @return the rendered debug line.
+     * @since 1.0.1
+     */
+    @NotNull Component render(final @NotNull String channel, final @NotNull String message) {
+        return root.render(channel, message);
+    }
+
+    /**
+     * Compiles a single component and its children.
+     *
+     * @param component  the component to compile.
+     * @param pluginName the name substituted for the {@code %plugin%} placeholder.
+     * @return the compiled part.
+     */
+    private static @NotNull Part compilePart(final @NotNull Component component, final @NotNull String pluginName) {
+        final List<Component> sourceChildren = component.children();
+        final Part[] children = new Part[sourceChildren.size()];
+        boolean dynamic = false;
+        for (int i = 0; i < children.length; i++) {
+            children[i] = compilePart(sourceChildren.get(i), pluginName);
+            dynamic |= !(children[i] instanceof StaticPart);
+        }
+
+        if (!(component instanceof TextComponent text) || text.content().indexOf('%') == -1) {
+            if (!dynamic) return new StaticPart(component);
+            return new ContainerPart(component.children(List.of()), children);
+        }
+
+        final List<Part> parts = new ArrayList<>();
+        final boolean slotted = splitContent(text.content(), pluginName, parts);
+        if (!slotted && !dynamic) {
+            // Only %plugin% was substituted, the whole sub-tree stays static.
+            final String content = text.content().replace(PLUGIN_PLACEHOLDER, pluginName);
+            return new StaticPart(Component.text(content, text.style()).children(sourceChildren));
+        }
+
+        parts.addAll(Arrays.asList(children));
+        return new ContainerPart(Component.text("", text.style()), parts.toArray(new Part[0]));
+    }
+
+    /**
+     * Splits the content of a text component into literal parts and slots.
+     *
+     * @param content    the content to split.
+     * @param pluginName the name substituted for the {@code %plugin%} placeholder.
+     * @param parts      the list the parts are added to.
+     * @return {@code true} if the content contained at least one slot.
+     */
+    private static boolean splitContent(final @NotNull String content,
+                                        final @NotNull String pluginName,
+                                        final @NotNull List<Part> parts) {
+        final StringBuilder literal = new StringBuilder();
+        boolean slotted = false;
+        int index = 0;
+        int start;
+
+        while ((start = content.indexOf('%', index)) != -1) {
+            literal.append(content, index, start);
+            if (content.startsWith(PLUGIN_PLACEHOLDER, start)) {
+                literal.append(pluginName);
+                index = start + PLUGIN_PLACEHOLDER.length();
+            } else if (content.startsWith(CHANNEL_PLACEHOLDER, start)) {
+                addLiteral(literal, parts);
+                parts.add(SlotPart.CHANNEL);
+                slotted = true;
+                index = start + CHANNEL_PLACEHOLDER.length();
+            } else if (content.startsWith(MESSAGE_PLACEHOLDER, start)) {
+                addLiteral(literal, parts);
+                parts.add(SlotPart.MESSAGE);
+                slotted = true;
+                index = start + MESSAGE_PLACEHOLDER.length();
+            } else {
+                literal.append('%');
+                index = start + 1;
+            }
+        }
+
+        literal.append(content, index, content.length());
+        addLiteral(literal, parts);
+        return slotted;
+    }
+
+    /**
+     * Adds the pending literal text as a static part, and resets the literal buffer.
+     *
+     * @param literal the literal buffer.
+     * @param parts   the list the part is added to.
+     */
+    private static void addLiteral(final @NotNull StringBuilder literal, final @NotNull List<Part> parts) {
+        if (literal.length() == 0) return;
+        parts.add(new StaticPart(Component.text(literal.toString())));
+        literal.setLength(0);
+    }
+
+    /**
+     * A compiled part of a debug message format.
+     */
+    private sealed interface Part permits StaticPart, SlotPart, ContainerPart {
+
+        /**
+         * Renders the part.
+         *
+         * @param channel the friendly name of the debug channel.
+         * @param message the debug message.
+         * @return the rendered component.
+         */
+        @NotNull Component render(@NotNull String channel, @NotNull String message);
+    }
+
+    /**
+     * A prebuilt component that does not depend on the rendered values.
+     *
+     * @param component the prebuilt component.
+     */
+    private record StaticPart(@NotNull Component component) implements Part {
+
+        @Override
+        public @NotNull Component render(final @NotNull String channel, final @NotNull String message) {
+            return component;
+        }
+    }
+
+    /**
+     * A slot that is replaced by one of the rendered values, inheriting the style of its parent.
+     */
+    private enum SlotPart implements Part {
+        CHANNEL {
+            @Override
+            public @NotNull Component render(final @NotNull String channel, final @NotNull String message) {
+                return Component.text(channel);
+            }
+        },
+        MESSAGE {
+            @Override
+            public @NotNull Component render(final @NotNull String channel, final @NotNull String message) {
+                return Component.text(message);
+            }
+        }
+    }
+
+    /**
+     * A component whose children contain at least one slot.
+     *
+     * @param base     the component without its children.
+     * @param children the compiled children.
+     */
+    private record ContainerPart(@NotNull Component base, @NotNull Part @NotNull [] children) implements Part {
+
+        @Override
+        public @NotNull Component render(final @NotNull String channel, final @NotNull String message) {
+            final List<Component> rendered = new ArrayList<>(children.length);
+            for (final Part child : children) rendered.add(child.render(channel, message));
+            return base.children(rendered);
+        }
+    }
+}
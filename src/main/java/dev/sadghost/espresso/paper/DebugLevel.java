@@ -0,0 +1,26 @@
+package dev.sadghost.espresso.paper;
+
+/**
+ * Enum representing the severity levels of debug messages.
+ *
+ * <p>
+ * Every debug channel has a level, and only messages sent with the same or a higher level are delivered to its listeners.
+ * The levels are ordered from the most verbose to the least verbose.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * debugger.setLevel("pathfinding", DebugLevel.TRACE);
+ * debugger.sendDebug("pathfinding", DebugLevel.TRACE, () -> "Visited node " + node);
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public enum DebugLevel {
+    TRACE,
+    DEBUG,
+    INFO
+}
@@ -0,0 +1,50 @@
+package dev.sadghost.espresso.paper;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The {@code DebugSink} interface represents a destination for debug messages other than the chat of online players.
+ *
+ * <p>
+ * Sinks are added to debug channels using {@link Debugger#addSink(String, DebugSink)}, and receive every message
+ * of the channel that passes the channel's level, regardless of its rate limit or of whether any player is subscribed.
+ * A sink added to the {@code *} channel receives every debug message sent.
+ * </p>
+ *
+ * <p>
+ * Sinks are invoked by the debugger's dispatcher on the main thread, so implementations must return quickly
+ * and hand any blocking work, such as I/O, over to another thread.
+ * </p>
+ *
+ * <h3>Usage Example:</h3>
+ * <pre>{@code
+ * RingBufferSink history = new RingBufferSink(4096);
+ * debugger.addSink("*", history);
+ * debugger.addSink("database", new RollingFileSink(folder, "database", DebugEventFormat.JSON_LINES));
+ * }</pre>
+ *
+ * @see RingBufferSink
+ * @see RollingFileSink
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public interface DebugSink extends AutoCloseable {
+
+    /**
+     * Accepts a debug event.
+     *
+     * @param event the debug event.
+     * @since 1.0.1
+     */
+    void accept(@NotNull DebugEvent event);
+
+    /**
+     * Releases any resources held by the sink.
+     * <p>
+     * Called by {@link Debugger#shutdown()} for every sink added to the debugger.
+     *
+     * @since 1.0.1
+     */
+    @Override
+    default void close() {}
+}
@@ -2,18 +2,35 @@ package dev.sadghost.espresso.paper;
 
 import dev.sadghost.espresso.base.Preconditions;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.JoinConfiguration;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Server;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * A debugger class that facilitates the creation of a consistent plugin debugger instance with channels and message formatting.
@@ -24,13 +41,43 @@ import java.util.Set;
  * </p>
  *
  * <p>
+ * Debug messages are not sent immediately. They are queued per player and flushed once per tick as a single batched message,
+ * and every channel is guarded by a rate limiter so a noisy channel cannot flood the chat or the tick.
+ * Messages discarded by the rate limiter are counted and can be inspected using {@link #getDroppedMessages(String)}.
+ * </p>
+ *
+ * <p>
+ * The debug message format is compiled once when the debugger is created, so rendering a debug line does not
+ * run any text replacement over the format.
+ * </p>
+ *
+ * <p>
+ * Every channel has a {@link DebugLevel}, and messages below it are discarded. Messages can be supplied lazily using
+ * {@link #sendDebug(String, DebugLevel, Supplier)}, in which case the supplier is only invoked when someone is listening,
+ * which makes debug calls on a channel without listeners cost a map lookup and a single volatile read.
+ * </p>
+ *
+ * <p>
+ * Besides online players, debug channels can deliver their messages to {@link DebugSink}s, such as an in-memory
+ * {@link RingBufferSink} for post-mortem inspection or a {@link RollingFileSink}. Sinks are not subject to the
+ * rate limit of the channel, which only protects the chat.
+ * </p>
+ *
+ * <p>
+ * Hot code paths can be profiled using {@link #span(String)}, which records the duration of a section of code into
+ * the channel's {@link TimingHistogram}. Spans are only recorded while someone listens to the channel, and
+ * {@link #sendTimingSummary(String)} delivers the percentiles to the listeners like any other debug message.
+ * </p>
+ *
+ * <p>
  * This class is designed to be used internally within the application and is not intended for direct public use.
  * </p>
  *
  * <p>
- * Thread Safety: This class is not thread-safe as the underlying map of channels is not synchronized.
- * If multiple threads access the same Debugger instance concurrently and modify the channels map,
- * external synchronization must be applied to ensure thread safety.
+ * Thread Safety: This class is thread-safe. Debug messages can be sent from any thread, including asynchronous tasks.
+ * Producers only check the channel and push the message into a lock-free multi-producer queue, which is drained by a
+ * single dispatcher running on the main thread every tick. Channel lookups are lock-free, and the listeners of every
+ * channel are kept in copy-on-write sets, so subscribing and unsubscribing never interferes with a running delivery.
  * </p>
  *
  * <p>
@@ -41,6 +88,12 @@ import java.util.Set;
  * debugger.register("channel1", "Channel 1");
  * debugger.subscribe("channel1", player1);
  * debugger.sendDebug("channel1", "Debug message");
+ * debugger.sendDebug("channel1", DebugLevel.TRACE, () -> "Expensive " + message);
+ * try (DebugSpan span = debugger.span("channel1")) {
+ *     // Code to profile
+ * }
+ * // When the plugin is disabled
+ * debugger.shutdown();
  * }</pre>
  * </p>
  *
@@ -49,13 +102,51 @@ import java.util.Set;
  */
 @ApiStatus.Experimental
 public final class Debugger {
-    @NotNull private final Map<String, DebugChannel> channels;
     /**
      * The default debug message format.
      *
      * @since 1.0.0
      */
-    @NotNull private static Component debugMessage = Component.text("[DEBUG:%plugin%] [%channel%] %message%");
+    @NotNull private static final Component DEFAULT_FORMAT = Component.text("[DEBUG:%plugin%] [%channel%] %message%");
+
+    /**
+     * The default amount of messages a channel is allowed to deliver per second.
+     *
+     * @since 1.0.1
+     */
+    public static final int DEFAULT_RATE_LIMIT = 20;
+
+    /**
+     * The maximum amount of debug lines a single player receives in one tick.
+     *
+     * @since 1.0.1
+     */
+    public static final int MAX_BATCH_SIZE = 32;
+
+    /**
+     * The level new debug channels are registered with.
+     *
+     * @since 1.0.1
+     */
+    @NotNull public static final DebugLevel DEFAULT_LEVEL = DebugLevel.DEBUG;
+
+    /**
+     * The maximum amount of debug messages waiting for the dispatcher.
+     * Messages sent while the queue is full are dropped.
+     *
+     * @since 1.0.1
+     */
+    public static final int MAX_QUEUE_SIZE = 8192;
+
+    @NotNull private final Server server;
+    @NotNull private final Logger logger;
+    @NotNull private final Map<String, DebugChannel> channels;
+    @NotNull private final Queue<PendingMessage> queue;
+    @NotNull private final AtomicInteger queued;
+    @NotNull private final Object lock;
+    @NotNull private final Map<Player, List<Component>> pending;
+    @NotNull private final DebugFormat debugFormat;
+    @NotNull private final BukkitTask flushTask;
 
     /**
      * Constructs a Debugger instance using the specified plugin and the default debug message format.
@@ -63,7 +154,7 @@ public final class Debugger {
      * @param plugin the plugin using the debugger.
      */
     private Debugger(final @NotNull Plugin plugin) {
-        this(plugin, debugMessage);
+        this(plugin, DEFAULT_FORMAT);
     }
 
     /**
@@ -73,8 +164,18 @@ public final class Debugger {
      * @param debugFormat the debug message format.
      */
     private Debugger(final @NotNull Plugin plugin, final @NotNull Component debugFormat) {
-        channels = new HashMap<>();
-        init(plugin, debugFormat);
+        this.server = plugin.getServer();
+        this.logger = plugin.getLogger();
+        this.channels = new ConcurrentHashMap<>();
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.queued = new AtomicInteger();
+        this.lock = new Object();
+        this.pending = new HashMap<>();
+        this.debugFormat = DebugFormat.compile(debugFormat, plugin.getName());
+
+        channels.put("*", new DebugChannel("*", DEFAULT_RATE_LIMIT, DEFAULT_LEVEL));
+        this.flushTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::flush, 1L, 1L);
+        plugin.getLogger().info("Debugger has been initialized for the plugin '" + plugin.getName() + "'.");
     }
 
     /**
@@ -103,7 +204,10 @@ public final class Debugger {
     }
 
     /**
-     * Sends a debug message to all the registered players listening to the specified debugging channel.
+     * Queues a debug message for all the registered players listening to the specified debugging channel.
+     * <p>
+     * The message is delivered on the next tick, batched together with any other debug messages queued for the same player.
+     * This method can be called from any thread.
      *
      * @param key     the identifier of the debug channel.
      * @param message the debug message.
@@ -111,30 +215,321 @@ public final class Debugger {
      * @since 1.0.0
      */
     public boolean sendDebug(final @NotNull String key, final @NotNull String message) {
+        return sendDebug(key, DEFAULT_LEVEL, message);
+    }
+
+    /**
+     * Queues a debug message with the specified level for all the registered players listening to the specified debugging channel.
+     *
+     * @param key     the identifier of the debug channel.
+     * @param level   the level of the debug message.
+     * @param message the debug message.
+     * @return {@code true} if the sending was successful, {@code false} if the channel is not registered.
+     * @since 1.0.1
+     */
+    public boolean sendDebug(final @NotNull String key, final @NotNull DebugLevel level, final @NotNull String message) {
         final DebugChannel channel = getChannel(key);
         if (channel == null) return false;
+        if (!channel.isEnabled(level)) return true;
 
-        final Component debug = debugMessage.replaceText(
-                TextReplacementConfig.builder()
-                        .match("%channel%")
-                        .replacement(channel.getFriendlyName())
-                        .build()
-        ).replaceText(
-                TextReplacementConfig.builder()
-                        .match("%message%")
-                        .replacement(message)
-                        .build()
-        );
+        dispatch(key, channel, level, message);
+        return true;
+    }
 
-        for (final Player player : channel.getListeners()) {
-            if (!player.isOnline()) unsubscribe(key, player);
-            else player.sendMessage(debug);
-        }
+    /**
+     * Queues a lazily built debug message for all the registered players listening to the specified debugging channel.
+     * <p>
+     * The supplier is only invoked if the message would be delivered to at least one listener.
+     *
+     * @param key     the identifier of the debug channel.
+     * @param message the supplier of the debug message.
+     * @return {@code true} if the sending was successful, {@code false} if the channel is not registered.
+     * @since 1.0.1
+     */
+    public boolean sendDebug(final @NotNull String key, final @NotNull Supplier<String> message) {
+        return sendDebug(key, DEFAULT_LEVEL, message);
+    }
 
-        if (!key.equals("*")) sendToAllDebug(message);
+    /**
+     * Queues a lazily built debug message with the specified level for all the registered players listening to the
+     * specified debugging channel.
+     * <p>
+     * The supplier is only invoked if the message would be delivered to at least one listener.
+     *
+     * @param key     the identifier of the debug channel.
+     * @param level   the level of the debug message.
+     * @param message the supplier of the debug message.
+     * @return {@code true} if the sending was successful, {@code false} if the channel is not registered.
+     * @since 1.0.1
+     */
+    public boolean sendDebug(final @NotNull String key,
+                             final @NotNull DebugLevel level,
+                             final @NotNull Supplier<String> message) {
+        final DebugChannel channel = getChannel(key);
+        if (channel == null) return false;
+        if (!channel.isEnabled(level)) return true;
+
+        dispatch(key, channel, level, message.get());
         return true;
     }
 
+    /**
+     * Checks whether a debug message with the specified level sent to the specified channel would be delivered to anyone,
+     * either by the channel itself or by the channel that receives every debug message.
+     * <p>
+     * This check costs a map lookup and a single volatile read, and can be used to guard expensive debugging code.
+     *
+     * @param key   the identifier of the debug channel.
+     * @param level the level of the debug message.
+     * @return {@code true} if the message would be delivered, {@code false} otherwise or if the channel is not registered.
+     * @since 1.0.1
+     */
+    public boolean isEnabled(final @NotNull String key, final @NotNull DebugLevel level) {
+        final DebugChannel channel = getChannel(key);
+        return channel != null && channel.isEnabled(level);
+    }
+
+    /**
+     * Starts a timing span on the specified debug channel, to be used in a try-with-resources statement.
+     * <p>
+     * The span is only recorded into the channel's timing histogram if someone listens to the channel,
+     * or to the channel that receives every debug message. Otherwise, a shared span that records nothing is returned,
+     * making spans on a channel without listeners cost a map lookup and a single volatile read.
+     * This method can be called from any thread.
+     *
+     * @param key the identifier of the debug channel.
+     * @return the started span, which records nothing if the channel is not registered or has no listeners.
+     * @since 1.0.1
+     */
+    public @NotNull DebugSpan span(final @NotNull String key) {
+        final DebugChannel channel = getChannel(key);
+        if (channel == null || !channel.isActive()) return DebugSpan.NOOP;
+        return new DebugSpan(channel.getTimings());
+    }
+
+    /**
+     * Records a duration measured by the caller into the timing histogram of the specified debug channel,
+     * if someone listens to the channel.
+     *
+     * @param key   the identifier of the debug channel.
+     * @param nanos the duration in nanoseconds.
+     * @return {@code true} if the recording was successful, {@code false} if the channel is not registered.
+     * @since 1.0.1
+     */
+    public boolean recordTiming(final @NotNull String key, final long nanos) {
+        final DebugChannel channel = getChannel(key);
+        if (channel == null) return false;
+        if (channel.isActive()) channel.getTimings().record(nanos);
+        return true;
+    }
+
+    /**
+     * Returns the timing histogram of the specified debug channel.
+     *
+     * @param key the identifier of the debug channel.
+     * @return the timing histogram.
+     * @throws NullPointerException if the channel is not registered.
+     * @since 1.0.1
+     */
+    public @NotNull TimingHistogram getTimings(final @NotNull String key) {
+        final DebugChannel channel = Preconditions.checkNonNull(getChannel(key));
+        return channel.getTimings();
+    }
+
+    /**
+     * Returns a summary of the timings recorded by the specified debug channel, suitable for a command's output.
+     *
+     * @param key the identifier of the debug channel.
+     * @return the summary, for example {@code Pathfinding: count 120, p50 1.20ms, p99 3.41ms, max 5.02ms}.
+     * @throws NullPointerException if the channel is not registered.
+     * @since 1.0.1
+     */
+    public @NotNull Component getTimingSummary(final @NotNull String key) {
+        final DebugChannel channel = Preconditions.checkNonNull(getChannel(key));
+        final TimingHistogram timings = channel.getTimings();
+        return Component.text()
+                .append(Component.text(channel.getFriendlyName() + ": ", NamedTextColor.GOLD))
+                .append(Component.text("count ", NamedTextColor.GRAY))
+                .append(Component.text(timings.getCount(), NamedTextColor.WHITE))
+                .append(Component.text(", p50 ", NamedTextColor.GRAY))
+                .append(Component.text(TimingHistogram.formatNanos(timings.getPercentile(50)), NamedTextColor.WHITE))
+                .append(Component.text(", p99 ", NamedTextColor.GRAY))
+                .append(Component.text(TimingHistogram.formatNanos(timings.getPercentile(99)), NamedTextColor.WHITE))
+                .append(Component.text(", max ", NamedTextColor.GRAY))
+                .append(Component.text(TimingHistogram.formatNanos(timings.getMax()), NamedTextColor.WHITE))
+                .build();
+    }
+
+    /**
+     * Queues a summary of the timings recorded by the specified debug channel for all the registered players
+     * listening to the channel, as a debug message with the {@link DebugLevel#INFO} level.
+     *
+     * @param key the identifier of the debug channel.
+     * @return {@code true} if the sending was successful, {@code false} if the channel is not registered.
+     * @since 1.0.1
+     */
+    public boolean sendTimingSummary(final @NotNull String key) {
+        final DebugChannel channel = getChannel(key);
+        if (channel == null) return false;
+        return sendDebug(key, DebugLevel.INFO, () -> channel.getTimings().summary());
+    }
+
+    /**
+     * Discards the timings recorded by the specified debug channel.
+     *
+     * @param key the identifier of the debug channel.
+     * @throws NullPointerException if the channel is not registered.
+     * @since 1.0.1
+     */
+    public void resetTimings(final @NotNull String key) {
+        final DebugChannel channel = Preconditions.checkNonNull(getChannel(key));
+        channel.getTimings().reset();
+    }
+
+    /**
+     * Sets the minimum level of the debug messages delivered by the specified debug channel.
+     *
+     * @param key   the identifier of the debug channel.
+     * @param level the minimum level.
+     * @throws NullPointerException if the channel is not registered.
+     * @since 1.0.1
+     */
+    public void setLevel(final @NotNull String key, final @NotNull DebugLevel level) {
+        final DebugChannel channel = Preconditions.checkNonNull(getChannel(key));
+        synchronized (lock) {
+            channel.setLevel(level);
+            updateThresholds(channel);
+        }
+    }
+
+    /**
+     * Returns the minimum level of the debug messages delivered by the specified debug channel.
+     *
+     * @param key the identifier of the debug channel.
+     * @return the minimum level.
+     * @throws NullPointerException if the channel is not registered.
+     * @since 1.0.1
+     */
+    public @NotNull DebugLevel getLevel(final @NotNull String key) {
+        final DebugChannel channel = Preconditions.checkNonNull(getChannel(key));
+        return channel.getLevel();
+    }
+
+    /**
+     * Delivers all the queued debug messages, sending every player a single message containing its batch.
+     * <p>
+     * This method is called automatically every tick, and only needs to be called manually in order to
+     * deliver the queued messages immediately.
+     * Players that went offline are unsubscribed from every channel.
+     *
+     * @throws IllegalStateException if called outside the main thread.
+     * @since 1.0.1
+     */
+    public void flush() {
+        if (!server.isPrimaryThread()) throw new IllegalStateException("Debug messages can only be flushed on the main thread");
+
+        PendingMessage message;
+        while ((message = queue.poll()) != null) {
+            queued.decrementAndGet();
+            enqueue(message.channel(), message.event());
+            if (!message.event().channel().equals("*")) sendToAllDebug(message.event());
+        }
+
+        if (pending.isEmpty()) return;
+
+        final Iterator<Map.Entry<Player, List<Component>>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Player, List<Component>> entry = iterator.next();
+            final Player player = entry.getKey();
+            final List<Component> batch = entry.getValue();
+
+            // Batches that stayed empty for a whole tick are released, active ones are reused.
+            if (batch.isEmpty()) {
+                iterator.remove();
+                continue;
+            }
+
+            if (!player.isOnline()) {
+                iterator.remove();
+                unsubscribeAll(player);
+                continue;
+            }
+
+            player.sendMessage(batch.size() == 1 ? batch.get(0) : Component.join(JoinConfiguration.newlines(), batch));
+            batch.clear();
+        }
+    }
+
+    /**
+     * Delivers the remaining queued debug messages, stops the debugger from flushing and closes every added sink.
+     * <p>
+     * This method should be called when the plugin using the debugger is disabled.
+     *
+     * @since 1.0.1
+     */
+    public void shutdown() {
+        flushTask.cancel();
+        flush();
+        pending.clear();
+
+        final Set<DebugSink> sinks = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final DebugChannel channel : channels.values()) sinks.addAll(channel.getSinks());
+        for (final DebugSink sink : sinks) sink.close();
+    }
+
+    /**
+     * Adds a sink to the specified debug channel.
+     * <p>
+     * A sink added to the {@code *} channel receives every debug message sent.
+     *
+     * @param key  the identifier of the debug channel.
+     * @param sink the sink to add.
+     * @throws NullPointerException if the channel is not registered.
+     * @since 1.0.1
+     */
+    public void addSink(final @NotNull String key, final @NotNull DebugSink sink) {
+        final DebugChannel channel = Preconditions.checkNonNull(getChannel(key));
+        synchronized (lock) {
+            channel.getSinks().addIfAbsent(sink);
+            updateThresholds(channel);
+        }
+    }
+
+    /**
+     * Removes a sink from the specified debug channel. The sink is not closed.
+     *
+     * @param key  the identifier of the debug channel.
+     * @param sink the sink to remove.
+     * @return {@code true} if the sink was removed, {@code false} if it was not added to the channel.
+     * @throws NullPointerException if the channel is not registered.
+     * @since 1.0.1
+     */
+    public boolean removeSink(final @NotNull String key, final @NotNull DebugSink sink) {
+        final DebugChannel channel = Preconditions.checkNonNull(getChannel(key));
+        synchronized (lock) {
+            final boolean removed = channel.getSinks().remove(sink);
+            updateThresholds(channel);
+            return removed;
+        }
+    }
+
+    /**
+     * Returns the amount of debug messages dropped by the specified debug channel.
+     * <p>
+     * A message is counted as dropped when it exceeds the rate limit of the channel, and once for every
+     * listener whose batch for the current tick is already full. Messages sent while the dispatcher's queue is full
+     * are counted as well.
+     *
+     * @param key the identifier of the debug channel.
+     * @return the amount of dropped messages.
+     * @throws NullPointerException if the channel is not registered.
+     * @since 1.0.1
+     */
+    public long getDroppedMessages(final @NotNull String key) {
+        final DebugChannel channel = Preconditions.checkNonNull(getChannel(key));
+        return channel.getDropped();
+    }
+
     /**
      * Returns the debug channel associated with the specified key.
      *
@@ -156,7 +551,11 @@ public final class Debugger {
      */
     public boolean subscribe(final @NotNull String key, final @NotNull Player player) {
         final DebugChannel channel = Preconditions.checkNonNull(getChannel(key));
-        return channel.addListener(player);
+        synchronized (lock) {
+            final boolean subscribed = channel.addListener(player);
+            updateThresholds(channel);
+            return subscribed;
+        }
     }
 
     /**
@@ -169,74 +568,173 @@ public final class Debugger {
      */
     public boolean unsubscribe(final @NotNull String key, final @NotNull Player player) {
         final DebugChannel channel = Preconditions.checkNonNull(getChannel(key));
-        return channel.removeListener(player);
+        synchronized (lock) {
+            final boolean unsubscribed = channel.removeListener(player);
+            updateThresholds(channel);
+            return unsubscribed;
+        }
     }
 
     /**
-     * Registers a debug channel with the specified identifier and friendly name.
+     * Registers a debug channel with the specified identifier and friendly name, using the default rate limit.
      *
      * @param key          the identifier of the debug channel.
      * @param friendlyName the friendly name of the debug channel.
+     * @see #DEFAULT_RATE_LIMIT
      * @since 1.0.0
      */
     public void register(final @NotNull String key, final @NotNull String friendlyName) {
-        channels.put(key, new DebugChannel(friendlyName));
+        register(key, friendlyName, DEFAULT_RATE_LIMIT);
     }
 
     /**
-     * Sends a debug message to the debug channel that receives every debug message sent.
+     * Registers a debug channel with the specified identifier, friendly name and rate limit.
      *
+     * @param key          the identifier of the debug channel.
+     * @param friendlyName the friendly name of the debug channel.
+     * @param rateLimit    the amount of messages the channel may deliver per second, or {@code 0} for no limit.
+     * @throws IllegalArgumentException if the rate limit is negative.
+     * @since 1.0.1
+     */
+    public void register(final @NotNull String key, final @NotNull String friendlyName, final int rateLimit) {
+        Preconditions.checkArgument(rateLimit >= 0, "rateLimit cannot be negative");
+        final DebugChannel channel = new DebugChannel(friendlyName, rateLimit, DEFAULT_LEVEL);
+        synchronized (lock) {
+            channels.put(key, channel);
+            updateThresholds(channel);
+        }
+    }
+
+    /**
+     * Hands a debug message over to the dispatcher, which delivers it to the specified channel and to the channel
+     * that receives every debug message sent.
+     *
+     * @param key     the identifier of the debug channel.
+     * @param channel the debug channel.
+     * @param level   the level of the debug message.
      * @param message the debug message.
+     * @since 1.0.1
+     */
+    private void dispatch(final @NotNull String key,
+                          final @NotNull DebugChannel channel,
+                          final @NotNull DebugLevel level,
+                          final @NotNull String message) {
+        if (queued.incrementAndGet() > MAX_QUEUE_SIZE) {
+            queued.decrementAndGet();
+            channel.drop();
+            return;
+        }
+
+        final DebugEvent event = new DebugEvent(
+                System.currentTimeMillis(), key, channel.getFriendlyName(), level, message, Thread.currentThread().getName()
+        );
+        queue.offer(new PendingMessage(channel, event));
+    }
+
+    /**
+     * Sends a debug message to the debug channel that receives every debug message sent.
+     *
+     * @param event the debug event.
      * @since 1.0.0
      */
-    private void sendToAllDebug(final @NotNull String message) {
+    private void sendToAllDebug(final @NotNull DebugEvent event) {
         final DebugChannel channel = getChannel("*");
         assert channel != null; // Should never happen, but added for safety.
 
-        final Component debug = debugMessage.replaceText(
-                TextReplacementConfig.builder()
-                        .match("%channel%")
-                        .replacement(channel.getFriendlyName())
-                        .build()
-        ).replaceText(
-                TextReplacementConfig.builder()
-                        .match("%message%")
-                        .replacement(message)
-                        .build()
-        );
+        enqueue(channel, event);
+    }
+
+    /**
+     * Hands a debug message to the sinks of the channel, then formats it and queues it for every listener of the channel,
+     * respecting the channel's level and rate limit.
+     * <p>
+     * This method is only called by the dispatcher on the main thread.
+     *
+     * @param channel the debug channel.
+     * @param event   the debug event.
+     * @since 1.0.1
+     */
+    private void enqueue(final @NotNull DebugChannel channel, final @NotNull DebugEvent event) {
+        if (!channel.isDelivering(event.level())) return;
+
+        for (final DebugSink sink : channel.getSinks()) {
+            try {
+                sink.accept(event);
+            } catch (final RuntimeException exception) {
+                logger.log(Level.WARNING, "A debug sink of the channel '" + event.channel() + "' failed", exception);
+            }
+        }
+
+        if (channel.getListeners().isEmpty()) return;
+        if (!channel.tryAcquire()) {
+            channel.drop();
+            return;
+        }
 
+        final Component debug = format(channel, event.message());
         for (final Player player : channel.getListeners()) {
-            if (!player.isOnline()) unsubscribe("*", player);
-            else player.sendMessage(debug);
+            final List<Component> batch = pending.computeIfAbsent(player, ignored -> new ArrayList<>());
+            if (batch.size() >= MAX_BATCH_SIZE) channel.drop();
+            else batch.add(debug);
         }
     }
 
     /**
-     * Initializes the debugger instance.
+     * Formats a debug message using the debugger's precompiled format.
      *
-     * @param plugin    the plugin using the debugger.
-     * @param component the message format
+     * @param channel the debug channel.
+     * @param message the debug message.
+     * @return the formatted debug message.
+     * @since 1.0.1
+     */
+    private @NotNull Component format(final @NotNull DebugChannel channel, final @NotNull String message) {
+        return debugFormat.render(channel.getFriendlyName(), message);
+    }
 
-    .
-     * @since 1.0.0
+    /**
+     * Unsubscribes a player from every registered debug channel.
+     *
+     * @param player the player to unsubscribe.
+     * @since 1.0.1
      */
-    private void init(final @NotNull Plugin plugin, final @NotNull Component component) {
-        debugMessage = component.replaceText(
-                TextReplacementConfig.builder()
-                        .match("%plugin%")
-                        .replacement(plugin.getName())
-                        .build()
-        );
+    private void unsubscribeAll(final @NotNull Player player) {
+        synchronized (lock) {
+            for (final DebugChannel channel : channels.values()) {
+                if (channel.removeListener(player)) updateThresholds(channel);
+            }
+        }
+    }
 
-        channels.put("*", new DebugChannel("*"));
-        plugin.getLogger().info("Debugger has been initialized for the plugin '" + plugin.getName() + "'.");
+    /**
+     * Recomputes the delivery thresholds after the listeners or the level of a debug channel changed.
+     * <p>
+     * Since every debug message is also delivered to the channel that receives every debug message,
+     * a change to that channel affects the thresholds of all the channels.
+     * Must be called while holding the debugger's lock.
+     *
+     * @param channel the changed debug channel.
+     * @since 1.0.1
+     */
+    private void updateThresholds(final @NotNull DebugChannel channel) {
+        final DebugChannel all = getChannel("*");
+        assert all != null; // Should never happen, but added for safety.
+
+        if (channel != all) {
+            channel.updateThreshold(all);
+            return;
+        }
+
+        for (final DebugChannel other : channels.values()) {
+            other.updateThreshold(all);
+        }
     }
 
     /**
      * An object representing a debug channel.
      *
      * <p>
-     * This class encapsulates a debug channel with a friendly name and a set of listeners.
+     * This class encapsulates a debug channel with a friendly name, a set of listeners, a list of sinks, a level, a rate limiter
+     * and a timing histogram.
      * The debug channel can be used to track and manage debugging information in a specific context.
      * </p>
      *
@@ -245,15 +743,15 @@ public final class Debugger {
      * </p>
      *
      * <p>
-     * Thread Safety: This class is not thread-safe as the underlying set of listeners is not synchronized.
-     * If multiple threads access the same DebugChannel instance concurrently and modify the listeners set,
-     * external synchronization must be applied to ensure thread safety.
+     * Thread Safety: The listeners, the sinks, the level, the thresholds and the drop counter can be safely accessed from any thread,
+     * while changes to the thresholds are serialized by the owning debugger.
+     * The rate limiter is only used by the dispatcher on the main thread and is not thread-safe.
      * </p>
      *
      * <p>
      * Example usage:
      * <pre>{@code
-     * DebugChannel channel = new DebugChannel("channel_name");
+     * DebugChannel channel = new DebugChannel("channel_name", 20, DebugLevel.DEBUG);
      * channel.addListener(player1);
      * channel.addListener(player2);
      * Set<Player> listeners = channel.getListeners();
@@ -264,18 +762,41 @@ public final class Debugger {
      * @since 1.0.0
      */
     private static final class DebugChannel {
+        /**
+         * The threshold of a channel nobody listens to, higher than any level's ordinal.
+         */
+        private static final int DISABLED = Integer.MAX_VALUE;
+
         @NotNull private final String friendlyName;
         @NotNull private final Set<Player> listeners;
+        @NotNull private final CopyOnWriteArrayList<DebugSink> sinks;
+        private final int rateLimit;
+        @NotNull private volatile DebugLevel level;
+        private volatile int ownThreshold;
+        private volatile int threshold;
+        private double tokens;
+        private long lastRefill;
+        @NotNull private final LongAdder dropped;
+        @Nullable private volatile TimingHistogram timings;
 
         /**
-         * Constructs a DebugChannel object with the specified friendly name.
+         * Constructs a DebugChannel object with the specified friendly name and rate limit.
          *
          * @param friendlyName the friendly name of the debug channel.
+         * @param rateLimit    the amount of messages the channel may deliver per second, or {@code 0} for no limit.
+         * @param level        the minimum level of the delivered debug messages.
          */
-        @Contract(pure = true)
-        private DebugChannel(final @NotNull String friendlyName) {
+        private DebugChannel(final @NotNull String friendlyName, final int rateLimit, final @NotNull DebugLevel level) {
             this.friendlyName = friendlyName;
-            this.listeners = new HashSet<>();
+            this.listeners = new CopyOnWriteArraySet<>();
+            this.sinks = new CopyOnWriteArrayList<>();
+            this.rateLimit = rateLimit;
+            this.level = level;
+            this.ownThreshold = DISABLED;
+            this.threshold = DISABLED;
+            this.tokens = rateLimit;
+            this.lastRefill = System.nanoTime();
+            this.dropped = new LongAdder();
         }
 
         /**
@@ -289,6 +810,17 @@ public final class Debugger {
             return listeners;
         }
 
+        /**
+         * Returns the sinks of the debug channel.
+         *
+         * @return the list of sinks.
+         * @since 1.0.1
+         */
+        @Contract(pure = true)
+        public @NotNull CopyOnWriteArrayList<DebugSink> getSinks() {
+            return sinks;
+        }
+
         /**
          * Adds a player as a listener to the debug channel.
          *
@@ -321,5 +853,147 @@ public final class Debugger {
         public @NotNull String getFriendlyName() {
             return friendlyName;
         }
+
+        /**
+         * Returns the minimum level of the debug messages delivered by the channel.
+         *
+         * @return the minimum level.
+         * @since 1.0.1
+         */
+        @Contract(pure = true)
+        public @NotNull DebugLevel getLevel() {
+            return level;
+        }
+
+        /**
+         * Sets the minimum level of the debug messages delivered by the channel.
+         *
+         * @param level the minimum level.
+         * @since 1.0.1
+         */
+        public void setLevel(final @NotNull DebugLevel level) {
+            this.level = level;
+        }
+
+        /**
+         * Checks whether a debug message with the specified level would be delivered by this channel itself.
+         *
+         * @param level the level of the debug message.
+         * @return {@code true} if the message would be delivered to the channel's listeners.
+         * @since 1.0.1
+         */
+        public boolean isDelivering(final @NotNull DebugLevel level) {
+            return level.ordinal() >= ownThreshold;
+        }
+
+        /**
+         * Checks whether a debug message with the specified level sent to this channel would be delivered to anyone,
+         * including the listeners of the channel that receives every debug message.
+         *
+         * @param level the level of the debug message.
+         * @return {@code true} if the message would be delivered.
+         * @since 1.0.1
+         */
+        public boolean isEnabled(final @NotNull DebugLevel level) {
+            return level.ordinal() >= threshold;
+        }
+
+        /**
+         * Checks whether anyone listens to the channel, at any level.
+         *
+         * @return {@code true} if a debug message with the highest level would be delivered.
+         * @since 1.0.1
+         */
+        public boolean isActive() {
+            return threshold != DISABLED;
+        }
+
+        /**
+         * Returns the timing histogram of the channel, creating it on first use.
+         *
+         * @return the timing histogram.
+         * @since 1.0.1
+         */
+        public @NotNull TimingHistogram getTimings() {
+            TimingHistogram timings = this.timings;
+            if (timings != null) return timings;
+
+            synchronized (this) {
+                timings = this.timings;
+                if (timings == null) this.timings = timings = new TimingHistogram();
+                return timings;
+            }
+        }
+
+        /**
+         * Recomputes the thresholds of the channel from its listeners, sinks and level.
+         *
+         * @param all the channel that receives every debug message.
+         * @since 1.0.1
+         */
+        public void updateThreshold(final @NotNull DebugChannel all) {
+            ownThreshold = computeOwnThreshold();
+            if (all != this) all.ownThreshold = all.computeOwnThreshold();
+            threshold = Math.min(ownThreshold, all.ownThreshold);
+        }
+
+        /**
+         * Computes the lowest level ordinal delivered by this channel itself.
+         *
+         * @return the level's ordinal, or {@link #DISABLED} if the channel has neither listeners nor sinks.
+         */
+        private int computeOwnThreshold() {
+            return listeners.isEmpty() && sinks.isEmpty() ? DISABLED : level.ordinal();
+        }
+
+        /**
+         * Attempts to take a permit from the channel's rate limiter.
+         * <p>
+         * The limiter is a token bucket that is refilled continuously at the channel's rate limit,
+         * holding at most one second worth of permits.
+         *
+         * @return {@code true} if a message may be delivered, {@code false} if the rate limit was exceeded.
+         * @since 1.0.1
+         */
+        public boolean tryAcquire() {
+            if (rateLimit == 0) return true;
+
+            final long now = System.nanoTime();
+            tokens = Math.min(rateLimit, tokens + (now - lastRefill) * rateLimit / 1_000_000_000D);
+            lastRefill = now;
+
+            if (tokens < 1) return false;
+            tokens--;
+            return true;
+        }
+
+        /**
+         * Counts a dropped debug message.
+         *
+         * @since 1.0.1
+         */
+        public void drop() {
+            dropped.increment();
+        }
+
+        /**
+         * Returns the amount of debug messages dropped by the debug channel.
+         *
+         * @return the amount of dropped messages.
+         * @since 1.0.1
+         */
+        @Contract(pure = true)
+        public long getDropped() {
+            return dropped.sum();
+        }
     }
+
+    /**
+     * A debug message waiting for the dispatcher.
+     *
+     * @param channel the debug channel.
+     * @param event   the debug event.
+     * @since 1.0.1
+     */
+    private record PendingMessage(@NotNull DebugChannel channel, @NotNull DebugEvent event) {}
 }
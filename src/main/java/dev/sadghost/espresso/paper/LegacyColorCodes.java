@@ -0,0 +1,275 @@
+package dev.sadghost.espresso.paper;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A utility class for stripping, translating and validating legacy color codes, such as {@code &c} or {@code §l},
+ * including hex color sequences in the {@code &x&r&r&g&g&b&b} format.
+ * <p>
+ * Every method makes a single pass over its input and classifies characters using a precomputed lookup table.
+ * The methods returning a {@code String} return the input itself when it contains nothing to strip or translate,
+ * and every method has an overload writing into a caller-supplied {@link StringBuilder}, so callers processing
+ * many strings can reuse a single builder.
+ * <p>
+ * When stripping or translating, a color character followed by anything but a valid code is not a code, and is left
+ * untouched. Validation is stricter: every color character starts a code, so a text such as {@code "Tom & Jerry"} or
+ * one ending with the color character is reported as invalid.
+ *
+ * <h3>Usage Example:</h3>
+ * <pre>{@code
+ * String plain = LegacyColorCodes.strip('&', "&cHello &lworld"); // "Hello world"
+ * String legacy = LegacyColorCodes.translate('&', LegacyColorCodes.SECTION_CHAR, "&cHello"); // "§cHello"
+ * int invalid = LegacyColorCodes.findInvalidCode('&', "&cHello &qworld"); // 8
+ * }</pre>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class LegacyColorCodes {
+    /**
+     * The color character used by Minecraft itself.
+     *
+     * @since 1.0.1
+     */
+    public static final char SECTION_CHAR = '§';
+
+    private static final byte COLOR = 1;
+    private static final byte FORMAT = 2;
+    private static final byte RESET = 4;
+    private static final byte HEX = 8;
+    private static final byte[] CODES = new byte[128];
+
+    /**
+     * The amount of characters in a complete hex color sequence, such as {@code &x&r&r&g&g&b&b}.
+     */
+    private static final int HEX_SEQUENCE_LENGTH = 14;
+
+    static {
+        for (final char c : "0123456789abcdefABCDEF".toCharArray()) CODES[c] = COLOR;
+        for (final char c : "klmnoKLMNO".toCharArray()) CODES[c] = FORMAT;
+        CODES['r'] = CODES['R'] = RESET;
+        CODES['x'] = CODES['X'] = HEX;
+    }
+
+    /**
+     * Seals the class to prevent instantiation.
+     */
+    @Contract(pure = true)
+    private LegacyColorCodes() {}
+
+    /**
+     * Checks whether a character is a valid legacy code, such as the {@code c} of {@code &c}.
+     *
+     * @param c the character.
+     * @return {@code true} if the character is a color, format, reset or hex code.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public static boolean isCode(final char c) {
+        return c < CODES.length && CODES[c] != 0;
+    }
+
+    /**
+     * Removes every legacy code from a text.
+     *
+     * @param colorChar the color character, such as {@code &}.
+     * @param text      the text.
+     * @return the text without codes, or the text itself if it contains none.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public static @NotNull String strip(final char colorChar, final @NotNull String text) {
+        final int first = indexOfCode(colorChar, text, 0);
+        if (first == -1) return text;
+
+        final StringBuilder builder = new StringBuilder(text.length());
+        builder.append(text, 0, first);
+        stripFrom(colorChar, text, first, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Removes every legacy code from a text, appending the result to the specified builder.
+     *
+     * @param colorChar the color character, such as {@code &}.
+     * @param text      the text.
+     * @param builder   the builder to append to.
+     * @return the builder.
+     * @since 1.0.1
+     */
+    @Contract("_, _, _ -> param3")
+    public static @NotNull StringBuilder strip(final char colorChar,
+                                               final @NotNull CharSequence text,
+                                               final @NotNull StringBuilder builder) {
+        stripFrom(colorChar, text, 0, builder);
+        return builder;
+    }
+
+    /**
+     * Replaces the color character of every legacy code in a text with another color character,
+     * lowercasing the code, the same way Bukkit translates alternate color codes.
+     *
+     * @param from the color character to replace, such as {@code &}.
+     * @param to   the replacing color character, such as {@link #SECTION_CHAR}.
+     * @param text the text.
+     * @return the translated text, or the text itself if it contains no codes.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public static @NotNull String translate(final char from, final char to, final @NotNull String text) {
+        final int first = indexOfCode(from, text, 0);
+        if (first == -1) return text;
+
+        final StringBuilder builder = new StringBuilder(text.length());
+        builder.append(text, 0, first);
+        translateFrom(from, to, text, first, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Replaces the color character of every legacy code in a text with another color character,
+     * appending the result to the specified builder.
+     *
+     * @param from    the color character to replace, such as {@code &}.
+     * @param to      the replacing color character, such as {@link #SECTION_CHAR}.
+     * @param text    the text.
+     * @param builder the builder to append to.
+     * @return the builder.
+     * @since 1.0.1
+     */
+    @Contract("_, _, _, _ -> param4")
+    public static @NotNull StringBuilder translate(final char from,
+                                                   final char to,
+                                                   final @NotNull CharSequence text,
+                                                   final @NotNull StringBuilder builder) {
+        translateFrom(from, to, text, 0, builder);
+        return builder;
+    }
+
+    /**
+     * Finds the first invalid legacy code in a text.
+     * <p>
+     * Every occurrence of the color character is treated as the start of a code, whatever follows it. A code is
+     * invalid if the color character is followed by an unknown code, such as a space or another color character, or
+     * by nothing at all, or if a hex code is not followed by six color characters with hex digits, as in
+     * {@code &x&r&r&g&g&b&b}. Texts using the color character literally should not be validated.
+     *
+     * @param colorChar the color character, such as {@code &}.
+     * @param text      the text.
+     * @return the index of the color character starting the first invalid code, or {@code -1} if every code is valid.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public static int findInvalidCode(final char colorChar, final @NotNull CharSequence text) {
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(i) != colorChar) continue;
+            if (i + 1 == length) return i;
+
+            final char code = text.charAt(i + 1);
+            final byte type = code < CODES.length ? CODES[code] : 0;
+            if (type == 0) return i;
+            if (type == HEX) {
+                if (!isHexSequence(colorChar, text, i)) return i;
+                i += HEX_SEQUENCE_LENGTH - 1;
+            } else {
+                i++;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether every legacy code in a text is valid.
+     *
+     * @param colorChar the color character, such as {@code &}.
+     * @param text      the text.
+     * @return {@code true} if every code is valid.
+     * @see #findInvalidCode(char, CharSequence)
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public static boolean isValid(final char colorChar, final @NotNull CharSequence text) {
+        return findInvalidCode(colorChar, text) == -1;
+    }
+
+    /**
+     * Finds the first legacy code in a text, starting at the specified index.
+     *
+     * @param colorChar the color character.
+     * @param text      the text.
+     * @param from      the index to start at.
+     * @return the index of the color character starting the code, or {@code -1} if there is none.
+     */
+    private static int indexOfCode(final char colorChar, final @NotNull String text, final int from) {
+        int i = text.indexOf(colorChar, from);
+        while (i != -1 && i + 1 < text.length()) {
+            if (isCode(text.charAt(i + 1))) return i;
+            i = text.indexOf(colorChar, i + 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Appends a text without its legacy codes to a builder, starting at the specified index.
+     *
+     * @param colorChar the color character.
+     * @param text      the text.
+     * @param from      the index to start at.
+     * @param builder   the builder to append to.
+     */
+    private static void stripFrom(final char colorChar,
+                                  final @NotNull CharSequence text,
+                                  final int from,
+                                  final @NotNull StringBuilder builder) {
+        final int length = text.length();
+        for (int i = from; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c == colorChar && i + 1 < length && isCode(text.charAt(i + 1))) i++;
+            else builder.append(c);
+        }
+    }
+
+    /**
+     * Appends a text with translated legacy codes to a builder, starting at the specified index.
+     *
+     * @param from    the color character to replace.
+     * @param to      the replacing color character.
+     * @param text    the text.
+     * @param start   the index to start at.
+     * @param builder the builder to append to.
+     */
+    private static void translateFrom(final char from,
+                                      final char to,
+                                      final @NotNull CharSequence text,
+                                      final int start,
+                                      final @NotNull StringBuilder builder) {
+        final int length = text.length();
+        for (int i = start; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c == from && i + 1 < length && isCode(text.charAt(i + 1))) {
+                builder.append(to).append(Character.toLowerCase(text.charAt(++i)));
+            } else {
+                builder.append(c);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a complete hex color sequence starts at the specified index.
+     *
+     * @param colorChar the color character.
+     * @param text      the text.
+     * @param start     the index of the color character preceding the hex code.
+     * @return {@code true} if the sequence is complete.
+     */
+    private static boolean isHexSequence(final char colorChar, final @NotNull CharSequence text, final int start) {
+        if (start + HEX_SEQUENCE_LENGTH > text.length()) return false;
+        for (int i = start + 2; i < start + HEX_SEQUENCE_LENGTH; i += 2) {
+            final char digit = text.charAt(i + 1);
+            if (text.charAt(i) != colorChar || digit >= CODES.length || CODES[digit] != COLOR) return false;
+        }
+        return true;
+    }
+}
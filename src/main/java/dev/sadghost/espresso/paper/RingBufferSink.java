@@ -0,0 +1,187 @@
+package dev.sadghost.espresso.paper;
+
+import dev.sadghost.espresso.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A debug sink that keeps the most recent debug events of every channel in memory, for post-mortem inspection.
+ *
+ * <p>
+ * Every channel gets its own fixed-size ring buffer, so a noisy channel cannot push the history of a quiet one out.
+ * Once a ring is full, the oldest event is overwritten. Messages longer than the configured maximum length are truncated,
+ * which bounds the memory used by every ring regardless of what is being logged.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is thread-safe. Events are recorded by the debugger's dispatcher, while snapshots and
+ * dumps can be taken from any thread, such as a command handler or an asynchronous task.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * RingBufferSink history = new RingBufferSink(4096);
+ * debugger.addSink("*", history);
+ * // After an incident
+ * history.dump(plugin.getDataFolder().toPath().resolve("debug-dump.log"), DebugEventFormat.PLAIN);
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class RingBufferSink implements DebugSink {
+    /**
+     * The default maximum length of a recorded message.
+     *
+     * @since 1.0.1
+     */
+    public static final int DEFAULT_MAX_MESSAGE_LENGTH = 1024;
+
+    @NotNull private final Map<String, Ring> rings;
+    private final int capacity;
+    private final int maxMessageLength;
+
+    /**
+     * Constructs a RingBufferSink keeping up to the specified amount of events per channel.
+     *
+     * @param capacity the amount of events kept per channel.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     * @since 1.0.1
+     */
+    public RingBufferSink(final int capacity) {
+        this(capacity, DEFAULT_MAX_MESSAGE_LENGTH);
+    }
+
+    /**
+     * Constructs a RingBufferSink keeping up to the specified amount of events per channel,
+     * truncating messages longer than the specified length.
+     *
+     * @param capacity         the amount of events kept per channel.
+     * @param maxMessageLength the maximum length of a recorded message.
+     * @throws IllegalArgumentException if the capacity or the maximum message length are not positive.
+     * @since 1.0.1
+     */
+    public RingBufferSink(final int capacity, final int maxMessageLength) {
+        Preconditions.checkArgument(capacity > 0, "capacity must be positive");
+        Preconditions.checkArgument(maxMessageLength > 0, "maxMessageLength must be positive");
+        this.rings = new ConcurrentHashMap<>();
+        this.capacity = capacity;
+        this.maxMessageLength = maxMessageLength;
+    }
+
+    @Override
+    public void accept(final @NotNull DebugEvent event) {
+        final DebugEvent recorded = event.message().length() <= maxMessageLength ? event : new DebugEvent(
+                event.timestamp(), event.channel(), event.channelName(), event.level(),
+                event.message().substring(0, maxMessageLength), event.thread()
+        );
+        rings.computeIfAbsent(event.channel(), ignored -> new Ring(capacity)).add(recorded);
+    }
+
+    /**
+     * Returns the recorded events of the specified channel, from the oldest to the newest.
+     *
+     * @param channel the identifier of the debug channel.
+     * @return the recorded events.
+     * @since 1.0.1
+     */
+    public @NotNull @Unmodifiable List<DebugEvent> snapshot(final @NotNull String channel) {
+        final Ring ring = rings.get(channel);
+        return ring == null ? List.of() : ring.snapshot();
+    }
+
+    /**
+     * Returns the recorded events of all the channels, ordered by their timestamps.
+     *
+     * @return the recorded events.
+     * @since 1.0.1
+     */
+    public @NotNull @Unmodifiable List<DebugEvent> snapshot() {
+        final List<DebugEvent> events = new ArrayList<>();
+        for (final Ring ring : rings.values()) events.addAll(ring.snapshot());
+        events.sort(Comparator.comparingLong(DebugEvent::timestamp));
+        return List.copyOf(events);
+    }
+
+    /**
+     * Writes the recorded events of all the channels to the specified file, replacing its contents.
+     *
+     * @param file   the file to write to.
+     * @param format the format of the written lines.
+     * @throws IOException if an I/O error occurs.
+     * @since 1.0.1
+     */
+    public void dump(final @NotNull Path file, final @NotNull DebugEventFormat format) throws IOException {
+        final StringBuilder builder = new StringBuilder();
+        try (final Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (final DebugEvent event : snapshot()) {
+                format.appendTo(builder, event);
+                writer.append(builder);
+                builder.setLength(0);
+            }
+        }
+    }
+
+    /**
+     * Discards the recorded events of all the channels.
+     *
+     * @since 1.0.1
+     */
+    public void clear() {
+        rings.clear();
+    }
+
+    /**
+     * A fixed-size ring of debug events.
+     */
+    private static final class Ring {
+        @NotNull private final DebugEvent[] events;
+        private int next;
+        private int size;
+
+        /**
+         * Constructs a Ring with the specified capacity.
+         *
+         * @param capacity the amount of events kept.
+         */
+        private Ring(final int capacity) {
+            this.events = new DebugEvent[capacity];
+        }
+
+        /**
+         * Records an event, overwriting the oldest one if the ring is full.
+         *
+         * @param event the event to record.
+         */
+        private synchronized void add(final @NotNull DebugEvent event) {
+            events[next] = event;
+            next = (next + 1) % events.length;
+            if (size < events.length) size++;
+        }
+
+        /**
+         * Copies the recorded events, from the oldest to the newest.
+         *
+         * @return the recorded events.
+         */
+        private synchronized @NotNull List<DebugEvent> snapshot() {
+            final List<DebugEvent> snapshot = new ArrayList<>(size);
+            final int start = (next - size + events.length) % events.length;
+            for (int i = 0; i < size; i++) snapshot.add(events[(start + i) % events.length]);
+            return List.copyOf(snapshot);
+        }
+    }
+}
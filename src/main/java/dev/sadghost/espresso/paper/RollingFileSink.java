@@ -0,0 +1,313 @@
+package dev.sadghost.espresso.paper;
+
+import dev.sadghost.espresso.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A debug sink that writes debug events to size-limited, rolling log files from a background thread.
+ *
+ * <p>
+ * Accepting an event only offers it to a bounded queue, so the debugger's dispatcher never waits for the disk.
+ * A dedicated writer thread drains the queue in batches, formats them using the configured {@link DebugEventFormat},
+ * and writes them through a reused direct buffer into a {@link FileChannel}.
+ * Events offered while the queue is full are dropped and counted.
+ * </p>
+ *
+ * <p>
+ * Once the active file {@code <name>.log} grows past the maximum size, it is renamed to {@code <name>.1.log},
+ * older files are shifted up by one, and the oldest file beyond the maximum amount of files is deleted.
+ * </p>
+ *
+ * <p>
+ * A batch that cannot be written is dropped and counted, and the active file is reopened for the next batch.
+ * The failure is rethrown by the next call to {@link #accept(DebugEvent)}, so the {@link Debugger} reports it
+ * through the plugin's logger.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is thread-safe.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * Path folder = plugin.getDataFolder().toPath().resolve("debug");
+ * debugger.addSink("database", new RollingFileSink(folder, "database", DebugEventFormat.JSON_LINES));
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class RollingFileSink implements DebugSink {
+    /**
+     * The default maximum size of a single log file, in bytes.
+     *
+     * @since 1.0.1
+     */
+    public static final long DEFAULT_MAX_FILE_SIZE = 16L * 1024 * 1024;
+
+    /**
+     * The default amount of log files kept, including the active one.
+     *
+     * @since 1.0.1
+     */
+    public static final int DEFAULT_MAX_FILES = 5;
+
+    /**
+     * The default amount of events that can wait for the writer thread.
+     *
+     * @since 1.0.1
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 16384;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int BATCH_SIZE = 1024;
+    private static final long POLL_INTERVAL = 100;
+
+    @NotNull private final Path directory;
+    @NotNull private final String name;
+    @NotNull private final DebugEventFormat format;
+    private final long maxFileSize;
+    private final int maxFiles;
+    @NotNull private final BlockingQueue<DebugEvent> queue;
+    @NotNull private final LongAdder dropped;
+    @NotNull private final AtomicReference<IOException> failure;
+    @NotNull private final Thread writer;
+    private volatile boolean running;
+
+    // Only accessed by the writer thread.
+    @NotNull private final ByteBuffer buffer;
+    @NotNull private final CharsetEncoder encoder;
+    @NotNull private final StringBuilder text;
+    @Nullable private FileChannel channel;
+    private long fileSize;
+
+    /**
+     * Constructs a RollingFileSink using the default file size, file count and queue capacity.
+     *
+     * @param directory the directory the log files are written to.
+     * @param name      the base name of the log files.
+     * @param format    the format of the written lines.
+     * @since 1.0.1
+     */
+    public RollingFileSink(final @NotNull Path directory,
+                           final @NotNull String name,
+                           final @NotNull DebugEventFormat format) {
+        this(directory, name, format, DEFAULT_MAX_FILE_SIZE, DEFAULT_MAX_FILES, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructs a RollingFileSink.
+     *
+     * @param directory     the directory the log files are written to.
+     * @param name          the base name of the log files.
+     * @param format        the format of the written lines.
+     * @param maxFileSize   the size in bytes after which the active file is rolled.
+     * @param maxFiles      the amount of log files kept, including the active one.
+     * @param queueCapacity the amount of events that can wait for the writer thread.
+     * @throws IllegalArgumentException if any of the sizes is not positive.
+     * @since 1.0.1
+     */
+    public RollingFileSink(final @NotNull Path directory,
+                           final @NotNull String name,
+                           final @NotNull DebugEventFormat format,
+                           final long maxFileSize,
+                           final int maxFiles,
+                           final int queueCapacity) {
+        Preconditions.checkArgument(maxFileSize > 0, "maxFileSize must be positive");
+        Preconditions.checkArgument(maxFiles > 0, "maxFiles must be positive");
+        Preconditions.checkArgument(queueCapacity > 0, "queueCapacity must be positive");
+        this.directory = directory;
+        this.name = name;
+        this.format = format;
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.dropped = new LongAdder();
+        this.failure = new AtomicReference<>();
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.text = new StringBuilder();
+        this.running = true;
+
+        this.writer = new Thread(this::run, "Espresso Debug Writer (" + name + ")");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UncheckedIOException if the writer thread failed to write a batch since the last call.
+     */
+    @Override
+    public void accept(final @NotNull DebugEvent event) {
+        if (!running || !queue.offer(event)) dropped.increment();
+
+        if (failure.get() == null) return;
+        final IOException exception = failure.getAndSet(null);
+        if (exception != null) throw new UncheckedIOException("failed to write debug events of " + name, exception);
+    }
+
+    /**
+     * Returns the amount of events dropped because the writer thread could not keep up or failed to write them.
+     *
+     * @return the amount of dropped events.
+     * @since 1.0.1
+     */
+    public long getDroppedEvents() {
+        return dropped.sum();
+    }
+
+    /**
+     * Stops accepting events, writes the remaining queued events and closes the active file.
+     *
+     * @since 1.0.1
+     */
+    @Override
+    public void close() {
+        // The writer is not interrupted, as interrupting a thread blocked in FileChannel#write closes the channel.
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The writer thread's loop, draining the queue in batches until the sink is closed.
+     */
+    private void run() {
+        final List<DebugEvent> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    final DebugEvent first = queue.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                    if (first == null) continue;
+                    batch.add(first);
+                } catch (final InterruptedException ignored) {
+                    running = false;
+                    continue;
+                }
+
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                try {
+                    write(batch);
+                } catch (final IOException exception) {
+                    // The active file is reopened by the next batch.
+                    dropped.add(batch.size());
+                    failure.set(exception);
+                    closeChannel();
+                }
+                batch.clear();
+            }
+        } finally {
+            closeChannel();
+        }
+    }
+
+    /**
+     * Formats and writes a batch of events, rolling the active file beforehand if it is full.
+     *
+     * @param batch the events to write.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void write(final @NotNull List<DebugEvent> batch) throws IOException {
+        if (channel == null || fileSize >= maxFileSize) roll();
+
+        for (final DebugEvent event : batch) format.appendTo(text, event);
+
+        try {
+            final CharBuffer chars = CharBuffer.wrap(text);
+            CoderResult result;
+            do {
+                result = encoder.encode(chars, buffer, true);
+                if (result.isError()) result.throwException();
+                drainBuffer();
+            } while (result.isOverflow());
+            encoder.flush(buffer);
+            drainBuffer();
+        } finally {
+            encoder.reset();
+            buffer.clear();
+            text.setLength(0);
+        }
+    }
+
+    /**
+     * Writes the contents of the direct buffer to the active file.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    private void drainBuffer() throws IOException {
+        assert channel != null; // Opened by write before anything is encoded.
+        buffer.flip();
+        while (buffer.hasRemaining()) fileSize += channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Closes the active file, shifts the older files and opens a new active file.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    private void roll() throws IOException {
+        Files.createDirectories(directory);
+        final Path active = directory.resolve(name + ".log");
+
+        if (channel != null || (Files.exists(active) && Files.size(active) >= maxFileSize)) {
+            closeChannel();
+            Files.deleteIfExists(directory.resolve(name + "." + (maxFiles - 1) + ".log"));
+            for (int i = maxFiles - 2; i >= 1; i--) {
+                final Path file = directory.resolve(name + "." + i + ".log");
+                if (Files.exists(file)) {
+                    Files.move(file, directory.resolve(name + "." + (i + 1) + ".log"), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            if (maxFiles > 1) Files.move(active, directory.resolve(name + ".1.log"), StandardCopyOption.REPLACE_EXISTING);
+            else Files.deleteIfExists(active);
+        }
+
+        channel = FileChannel.open(active, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileSize = channel.size();
+    }
+
+    /**
+     * Closes the active file, if one is open.
+     */
+    private void closeChannel() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (final IOException exception) {
+            failure.compareAndSet(null, exception);
+        }
+        channel = null;
+    }
+}
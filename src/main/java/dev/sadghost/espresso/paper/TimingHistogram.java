@@ -0,0 +1,206 @@
+package dev.sadghost.espresso.paper;
+
+import dev.sadghost.espresso.base.Preconditions;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size, log-linear histogram of nanosecond durations, in the style of HdrHistogram.
+ *
+ * <p>
+ * Every power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, so any recorded value is reported with
+ * a relative error of at most {@code 1/}{@value #SUB_BUCKETS} (about 3%), from a single nanosecond up to hundreds of years.
+ * Recording a value is a couple of bit operations and an atomic increment, and never allocates.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is thread-safe. Values can be recorded concurrently from any thread.
+ * Reading percentiles while values are being recorded returns a close approximation rather than a consistent snapshot.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * TimingHistogram histogram = new TimingHistogram();
+ * long start = System.nanoTime();
+ * // Do some work
+ * histogram.record(System.nanoTime() - start);
+ * String summary = histogram.summary(); // "count=1 p50=1.20ms p99=1.20ms max=1.20ms"
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class TimingHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    @NotNull private final AtomicLongArray counts;
+    @NotNull private final LongAdder count;
+    @NotNull private final LongAdder sum;
+    @NotNull private final AtomicLong max;
+
+    /**
+     * Constructs an empty TimingHistogram.
+     *
+     * @since 1.0.1
+     */
+    public TimingHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds. Negative durations are recorded as zero.
+     * @since 1.0.1
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+
+        counts.incrementAndGet(indexOf(nanos));
+        count.increment();
+        sum.add(nanos);
+
+        long current;
+        while (nanos > (current = max.get())) {
+            if (max.compareAndSet(current, nanos)) break;
+        }
+    }
+
+    /**
+     * Returns the amount of recorded durations.
+     *
+     * @return the amount of recorded durations.
+     * @since 1.0.1
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the longest recorded duration.
+     *
+     * @return the longest duration in nanoseconds, or {@code 0} if nothing was recorded.
+     * @since 1.0.1
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of the recorded durations.
+     *
+     * @return the mean in nanoseconds, or {@code 0} if nothing was recorded.
+     * @since 1.0.1
+     */
+    public double getMean() {
+        final long count = getCount();
+        return count == 0 ? 0 : (double) sum.sum() / count;
+    }
+
+    /**
+     * Returns the duration below or at which the specified percentage of the recorded durations fall.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 100}.
+     * @return the duration in nanoseconds, or {@code 0} if nothing was recorded.
+     * @throws IllegalArgumentException if the percentile is out of range.
+     * @since 1.0.1
+     */
+    public long getPercentile(final double percentile) {
+        Preconditions.checkArgument(percentile >= 0 && percentile <= 100, "percentile must be between 0 and 100");
+
+        final long total = getCount();
+        if (total == 0) return 0;
+
+        final long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) return Math.min(highestValueOf(i), getMax());
+        }
+        return getMax();
+    }
+
+    /**
+     * Discards every recorded duration.
+     *
+     * @since 1.0.1
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) counts.set(i, 0);
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    /**
+     * Returns a short, single-line summary of the histogram, for example {@code count=120 p50=1.20ms p99=3.41ms max=5.02ms}.
+     *
+     * @return the summary.
+     * @since 1.0.1
+     */
+    public @NotNull String summary() {
+        return "count=" + getCount()
+                + " p50=" + formatNanos(getPercentile(50))
+                + " p99=" + formatNanos(getPercentile(99))
+                + " max=" + formatNanos(getMax());
+    }
+
+    /**
+     * Formats a duration in nanoseconds using the most readable unit, for example {@code 850ns}, {@code 12.3µs},
+     * {@code 1.20ms} or {@code 2.50s}.
+     *
+     * @param nanos the duration in nanoseconds.
+     * @return the formatted duration.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public static @NotNull String formatNanos(final long nanos) {
+        if (nanos < 1_000) return nanos + "ns";
+        if (nanos < 1_000_000) return String.format(Locale.ROOT, "%.1fµs", nanos / 1_000D);
+        if (nanos < 1_000_000_000) return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000D);
+        return String.format(Locale.ROOT, "%.2fs", nanos / 1_000_000_000D);
+    }
+
+    /**
+     * Returns the index of the bucket a value falls in.
+     * Values below {@value #SUB_BUCKETS} get a bucket each, larger values are split by their highest bit
+     * and the {@value #SUB_BUCKET_BITS} bits below it.
+     *
+     * @param value the non-negative value.
+     * @return the bucket's index.
+     */
+    private static int indexOf(final long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int shift = exponent - SUB_BUCKET_BITS;
+        final int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the highest value that falls in the specified bucket.
+     *
+     * @param index the bucket's index.
+     * @return the highest value of the bucket.
+     */
+    private static long highestValueOf(final int index) {
+        if (index < SUB_BUCKETS) return index;
+
+        final int shift = index / SUB_BUCKETS - 1;
+        final long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,109 @@
+package dev.sadghost.espresso.spigot.direction;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Branch-free math shared by the single and batch direction computations of {@link DirectionUtils}.
+ *
+ * <p>
+ * Every method is a short straight-line computation without data-dependent branches, so it can be inlined into the
+ * loops of the batch methods, where the JIT keeps the pipeline full and may vectorize the arithmetic.
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+final class DirectionMath {
+    // The slope of the boundary between a cardinal and a diagonal sector.
+    private static final double TAN_22_5 = 0.41421356237309503;
+
+    // Indexed by the result of sector: behind << 3 | left << 2 | outsideForwardCone << 1 | outsideSideCone.
+    private static final Direction[] SECTORS = {
+            Direction.X, Direction.N, Direction.E, Direction.NE,
+            Direction.X, Direction.N, Direction.W, Direction.NW,
+            Direction.X, Direction.S, Direction.E, Direction.SE,
+            Direction.X, Direction.S, Direction.W, Direction.SW
+    };
+
+    // Coefficients of the minimax polynomial approximating atan on [0, 1], accurate to about 1e-4 degrees.
+    private static final double A1 = 0.99997726;
+    private static final double A3 = -0.33262347;
+    private static final double A5 = 0.19354346;
+    private static final double A7 = -0.11643287;
+    private static final double A9 = 0.05265332;
+    private static final double A11 = -0.01172120;
+
+    private static final double HALF_PI = Math.PI / 2;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    @Contract(pure = true)
+    private DirectionMath() {}
+
+    /**
+     * Returns the index into {@link #SECTORS} of an offset on the horizontal plane, relative to a facing.
+     *
+     * @param dx      the X component of the offset.
+     * @param dz      the Z component of the offset.
+     * @param facingX the X component of the facing.
+     * @param facingZ the Z component of the facing.
+     * @return the sector index.
+     */
+    static int sector(final double dx, final double dz, final double facingX, final double facingZ) {
+        // Minecraft's X axis points west of south, so the right-hand side of the facing (x, z) is (-z, x).
+        final double forward = dx * facingX + dz * facingZ;
+        final double right = dz * facingX - dx * facingZ;
+        final double absForward = Math.abs(forward);
+        final double absRight = Math.abs(right);
+
+        return (forward < 0 ? 8 : 0)
+                | (right < 0 ? 4 : 0)
+                | (absRight > TAN_22_5 * absForward ? 2 : 0)
+                | (absForward > TAN_22_5 * absRight ? 1 : 0);
+    }
+
+    /**
+     * Returns the yaw facing along an offset on the horizontal plane, as computed by {@link DirectionUtils#getAngle},
+     * using a polynomial approximation of {@code atan2}.
+     *
+     * @param dx the X component of the offset.
+     * @param dz the Z component of the offset.
+     * @return the yaw in degrees, between {@code 0} and {@code 360}.
+     */
+    static float bearing(final double dx, final double dz) {
+        final float degrees = (float) Math.toDegrees(atan2(dz, dx)) - 90;
+        return degrees < 0 ? degrees + 360.0F : degrees;
+    }
+
+    /**
+     * Approximates {@link Math#atan2(double, double)} by reducing the angle to the first octant
+     * and evaluating a polynomial.
+     *
+     * @param y the ordinate.
+     * @param x the abscissa.
+     * @return the angle in radians, between {@code -pi} and {@code pi}.
+     */
+    static double atan2(final double y, final double x) {
+        final double absX = Math.abs(x);
+        final double absY = Math.abs(y);
+        final double ratio = Math.min(absX, absY) / Math.max(Math.max(absX, absY), Double.MIN_NORMAL);
+        final double square = ratio * ratio;
+
+        double angle = ratio * (A1 + square * (A3 + square * (A5 + square * (A7 + square * (A9 + square * A11)))));
+        angle = absY > absX ? HALF_PI - angle : angle;
+        angle = x < 0 ? Math.PI - angle : angle;
+        return Math.copySign(angle, y);
+    }
+
+    /**
+     * Returns the direction of a sector index.
+     *
+     * @param sector the sector index.
+     * @return the direction.
+     */
+    static @NotNull Direction direction(final int sector) {
+        return SECTORS[sector];
+    }
+}
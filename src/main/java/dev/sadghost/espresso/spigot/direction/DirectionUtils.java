@@ -15,7 +15,29 @@ import org.jetbrains.annotations.NotNull;
  * </p>
  *
  * <p>
- * This class is optimized for performance and efficiency.
+ * Directions are relative to the observer's facing: {@link Direction#N} is straight ahead, {@link Direction#E} to
+ * the right, {@link Direction#S} behind and {@link Direction#W} to the left, on the horizontal plane. They are
+ * classified without inverse trigonometry, by projecting the offset to the target onto the facing and its right-hand
+ * side and comparing the two projections against {@code tan(22.5°)}, the slope of the sector boundaries. The signs
+ * and comparisons then index a lookup table, so the primitive overloads neither branch on the sector nor allocate.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * Location eye = player.getLocation();
+ * Direction direction = DirectionUtils.getDirection(eye.getX(), eye.getZ(), eye.getYaw(), target.getX(), target.getZ());
+ * }</pre>
+ * </p>
+ *
+ * <p>
+ * The batch methods compute the directions or bearings of many targets in a single loop, reading the targets from an
+ * array of packed {@code x, z} coordinate pairs, so per-target call overhead and allocation are avoided entirely:
+ * <pre>{@code
+ * double[] targets = {10, 20, -5, 3}; // (10, 20) and (-5, 3)
+ * Direction[] directions = new Direction[2];
+ * DirectionUtils.getDirections(eye.getX(), eye.getZ(), eye.getYaw(), targets, directions);
+ * }</pre>
  * </p>
  *
  * <p>
@@ -43,9 +65,21 @@ public final class DirectionUtils {
      */
     public static float getAngle(final @NotNull Vector point1,
                                  final @NotNull Vector point2) {
-        final double dx = point2.getX() - point1.getX();
-        final double dz = point2.getZ() - point1.getZ();
-        float angle = (float) Math.toDegrees(Math.atan2(dz, dx)) - 90;
+        return getAngle(point1.getX(), point1.getZ(), point2.getX(), point2.getZ());
+    }
+
+    /**
+     * Calculates the yaw angle between two points on the horizontal plane.
+     *
+     * @param x1 the X coordinate of the first point.
+     * @param z1 the Z coordinate of the first point.
+     * @param x2 the X coordinate of the second point.
+     * @param z2 the Z coordinate of the second point.
+     * @return the yaw angle in degrees, between {@code 0} and {@code 360}.
+     * @since 1.0.1
+     */
+    public static float getAngle(final double x1, final double z1, final double x2, final double z2) {
+        float angle = (float) Math.toDegrees(Math.atan2(z2 - z1, x2 - x1)) - 90;
 
         if (angle < 0) angle += 360.0F;
         return angle;
@@ -56,27 +90,173 @@ public final class DirectionUtils {
      *
      * @param player the player.
      * @param to the destination location.
-     * @return the direction.
+     * @return the direction, or {@link Direction#X} if the location is in another world or at the player's position.
      * @since 1.0.0
      */
     public static @NotNull Direction getDirectionFromLocations(final @NotNull Player player,
                                                                final @NotNull Location to) {
         if (player.getWorld() != to.getWorld()) return Direction.X;
-        final Vector vector = to.toVector().subtract(player.getLocation().toVector());
-        final Vector direction = player.getEyeLocation().getDirection();
-        final double angle = vector.angle(direction);
-        final double deg = angle * 180 / Math.PI;
-
-        if (deg <= 22) return Direction.N;
-        else if (deg <= 67) return Direction.NE;
-        else if (deg <= 112) return Direction.E;
-        else if (deg <= 157) return Direction.SE;
-        else if (deg <= 202) return Direction.S;
-        else if (deg <= 247) return Direction.SW;
-        else if (deg <= 292) return Direction.W;
-        else if (deg <= 337) return Direction.NW;
-        else if (deg <= 360) return Direction.N;
-
-        return Direction.X;
+        return getDirection(player.getLocation(), to);
+    }
+
+    /**
+     * Returns the direction of a location, relative to the position and facing of another location.
+     *
+     * @param from the observer's location.
+     * @param to the destination location.
+     * @return the direction, or {@link Direction#X} if the locations are in different worlds or at the same position.
+     * @since 1.0.1
+     */
+    public static @NotNull Direction getDirection(final @NotNull Location from,
+                                                  final @NotNull Location to) {
+        if (from.getWorld() != to.getWorld()) return Direction.X;
+        return getDirection(from.getX(), from.getZ(), from.getYaw(), to.getX(), to.getZ());
+    }
+
+    /**
+     * Returns the direction of a point, relative to the position and yaw of an observer.
+     *
+     * @param fromX the X coordinate of the observer.
+     * @param fromZ the Z coordinate of the observer.
+     * @param yaw the yaw of the observer in degrees.
+     * @param toX the X coordinate of the point.
+     * @param toZ the Z coordinate of the point.
+     * @return the direction, or {@link Direction#X} if the point is at the observer's position.
+     * @since 1.0.1
+     */
+    public static @NotNull Direction getDirection(final double fromX, final double fromZ, final float yaw,
+                                                  final double toX, final double toZ) {
+        final double radians = Math.toRadians(yaw);
+        return getDirection(toX - fromX, toZ - fromZ, -Math.sin(radians), Math.cos(radians));
+    }
+
+    /**
+     * Returns the direction of an offset on the horizontal plane, relative to a facing.
+     * <p>
+     * Neither vector has to be normalized, and the facing is typically the X and Z components
+     * of {@link Location#getDirection()}.
+     *
+     * @param dx the X component of the offset to the point.
+     * @param dz the Z component of the offset to the point.
+     * @param facingX the X component of the facing.
+     * @param facingZ the Z component of the facing.
+     * @return the direction, or {@link Direction#X} if the offset or the facing is zero.
+     * @since 1.0.1
+     */
+    public static @NotNull Direction getDirection(final double dx, final double dz,
+                                                  final double facingX, final double facingZ) {
+        return DirectionMath.direction(DirectionMath.sector(dx, dz, facingX, facingZ));
+    }
+
+    /**
+     * Computes the directions of many points, relative to the position and yaw of an observer.
+     *
+     * @param fromX the X coordinate of the observer.
+     * @param fromZ the Z coordinate of the observer.
+     * @param yaw the yaw of the observer in degrees.
+     * @param coordinates the packed {@code x, z} coordinate pairs of the points.
+     * @param directions the array receiving the direction of every point.
+     * @throws IndexOutOfBoundsException if the directions array is shorter than the amount of points.
+     * @since 1.0.1
+     */
+    public static void getDirections(final double fromX, final double fromZ, final float yaw,
+                                     final double @NotNull [] coordinates,
+                                     final @NotNull Direction @NotNull [] directions) {
+        final double radians = Math.toRadians(yaw);
+        getDirections(fromX, fromZ, -Math.sin(radians), Math.cos(radians),
+                coordinates, 0, directions, 0, coordinates.length >> 1);
+    }
+
+    /**
+     * Computes the directions of a range of points, relative to the position and facing of an observer.
+     *
+     * @param fromX the X coordinate of the observer.
+     * @param fromZ the Z coordinate of the observer.
+     * @param facingX the X component of the facing.
+     * @param facingZ the Z component of the facing.
+     * @param coordinates the packed {@code x, z} coordinate pairs of the points.
+     * @param offset the index of the first point's X coordinate.
+     * @param directions the array receiving the direction of every point.
+     * @param directionsOffset the index receiving the first direction.
+     * @param count the amount of points.
+     * @throws IndexOutOfBoundsException if a range is out of the bounds of its array.
+     * @since 1.0.1
+     */
+    public static void getDirections(final double fromX, final double fromZ,
+                                     final double facingX, final double facingZ,
+                                     final double @NotNull [] coordinates, final int offset,
+                                     final @NotNull Direction @NotNull [] directions, final int directionsOffset,
+                                     final int count) {
+        checkRanges(coordinates.length, offset, directions.length, directionsOffset, count);
+
+        for (int i = 0; i < count; i++) {
+            final int index = offset + (i << 1);
+            final int sector = DirectionMath.sector(coordinates[index] - fromX, coordinates[index + 1] - fromZ,
+                    facingX, facingZ);
+            directions[directionsOffset + i] = DirectionMath.direction(sector);
+        }
+    }
+
+    /**
+     * Computes the yaw angles from an observer to many points, as computed by {@link #getAngle(double, double,
+     * double, double)} but using an approximation of {@code atan2} accurate to about {@code 1e-4} degrees.
+     *
+     * @param fromX the X coordinate of the observer.
+     * @param fromZ the Z coordinate of the observer.
+     * @param coordinates the packed {@code x, z} coordinate pairs of the points.
+     * @param bearings the array receiving the yaw angle of every point, in degrees between {@code 0} and {@code 360}.
+     * @throws IndexOutOfBoundsException if the bearings array is shorter than the amount of points.
+     * @since 1.0.1
+     */
+    public static void getBearings(final double fromX, final double fromZ,
+                                   final double @NotNull [] coordinates,
+                                   final float @NotNull [] bearings) {
+        getBearings(fromX, fromZ, coordinates, 0, bearings, 0, coordinates.length >> 1);
+    }
+
+    /**
+     * Computes the yaw angles from an observer to a range of points.
+     *
+     * @param fromX the X coordinate of the observer.
+     * @param fromZ the Z coordinate of the observer.
+     * @param coordinates the packed {@code x, z} coordinate pairs of the points.
+     * @param offset the index of the first point's X coordinate.
+     * @param bearings the array receiving the yaw angle of every point, in degrees between {@code 0} and {@code 360}.
+     * @param bearingsOffset the index receiving the first yaw angle.
+     * @param count the amount of points.
+     * @throws IndexOutOfBoundsException if a range is out of the bounds of its array.
+     * @see #getBearings(double, double, double[], float[])
+     * @since 1.0.1
+     */
+    public static void getBearings(final double fromX, final double fromZ,
+                                   final double @NotNull [] coordinates, final int offset,
+                                   final float @NotNull [] bearings, final int bearingsOffset,
+                                   final int count) {
+        checkRanges(coordinates.length, offset, bearings.length, bearingsOffset, count);
+
+        for (int i = 0; i < count; i++) {
+            final int index = offset + (i << 1);
+            bearings[bearingsOffset + i] = DirectionMath.bearing(coordinates[index] - fromX,
+                    coordinates[index + 1] - fromZ);
+        }
+    }
+
+    /**
+     * Checks that a range of packed coordinate pairs and the range of its results are within their arrays.
+     *
+     * @param coordinatesLength the length of the coordinates array.
+     * @param offset the index of the first X coordinate.
+     * @param resultsLength the length of the results array.
+     * @param resultsOffset the index receiving the first result.
+     * @param count the amount of points.
+     * @throws IndexOutOfBoundsException if a range is out of the bounds of its array.
+     */
+    private static void checkRanges(final int coordinatesLength, final int offset,
+                                    final int resultsLength, final int resultsOffset, final int count) {
+        if (offset < 0 || resultsOffset < 0 || count < 0
+                || (long) offset + 2L * count > coordinatesLength
+                || (long) resultsOffset + count > resultsLength) {
+            throw new IndexOutOfBoundsException("range out of bounds");
+        }
     }
 }
@@ -0,0 +1,226 @@
+package dev.sadghost.espresso.spigot.direction;
+
+import dev.sadghost.espresso.base.Preconditions;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Resolves bearings into a configurable amount of equal sectors, such as the 16 or 32 arrows of a HUD compass.
+ *
+ * <p>
+ * Sectors are numbered clockwise from the one centered straight ahead, so with 8 sectors they follow the order of
+ * {@link Direction}. Bearings are converted once into a 32-bit binary angle, where a full turn is {@code 2^32}, and
+ * resolved with a precomputed half-sector offset, a multiplication and a shift. Wrapping around a full turn is free,
+ * since it is the overflow of the binary angle.
+ * </p>
+ *
+ * <p>
+ * The vector overloads measure the bearing with a polynomial approximation of {@code atan2}, so they resolve the sector
+ * of a target without inverse trigonometry and without allocating.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: Instances are immutable and can be shared between threads.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * SectorResolver arrows = SectorResolver.of(16);
+ * int sector = arrows.resolve(eye.getX(), eye.getZ(), eye.getYaw(), target.getX(), target.getZ());
+ * VerticalDirection vertical = arrows.resolveVertical(dx, dy, dz);
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class SectorResolver {
+    /**
+     * A resolver of the 8 sectors of {@link Direction}.
+     *
+     * @since 1.0.1
+     */
+    @NotNull public static final SectorResolver COMPASS = of(8);
+
+    /**
+     * The maximum amount of sectors.
+     *
+     * @since 1.0.1
+     */
+    public static final int MAX_SECTORS = 1 << 16;
+
+    private static final double TURN = 4294967296.0;
+    private static final long ANGLE_MASK = 0xFFFFFFFFL;
+    private static final double BINARY_PER_DEGREE = TURN / 360;
+    private static final double BINARY_PER_RADIAN = TURN / (2 * Math.PI);
+    private static final Direction[] COMPASS_DIRECTIONS = {
+            Direction.N, Direction.NE, Direction.E, Direction.SE, Direction.S, Direction.SW, Direction.W, Direction.NW
+    };
+
+    private final int sectors;
+    private final long halfSector;
+    private final double verticalTanSquared;
+
+    /**
+     * Constructs a SectorResolver.
+     *
+     * @param sectors            the amount of sectors.
+     * @param verticalTanSquared the squared tangent of the vertical threshold.
+     */
+    private SectorResolver(final int sectors, final double verticalTanSquared) {
+        this.sectors = sectors;
+        this.halfSector = (1L << 31) / sectors;
+        this.verticalTanSquared = verticalTanSquared;
+    }
+
+    /**
+     * Creates a SectorResolver classifying vertical offsets with {@link VerticalDirection#DEFAULT_THRESHOLD}.
+     *
+     * @param sectors the amount of sectors, between {@code 1} and {@value #MAX_SECTORS}.
+     * @return the resolver.
+     * @throws IllegalArgumentException if the amount of sectors is out of range.
+     * @since 1.0.1
+     */
+    @Contract("_ -> new")
+    public static @NotNull SectorResolver of(final int sectors) {
+        return of(sectors, VerticalDirection.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates a SectorResolver.
+     *
+     * @param sectors           the amount of sectors, between {@code 1} and {@value #MAX_SECTORS}.
+     * @param verticalThreshold the angle in degrees above which a target is considered above or below.
+     * @return the resolver.
+     * @throws IllegalArgumentException if the amount of sectors or the threshold is out of range.
+     * @since 1.0.1
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull SectorResolver of(final int sectors, final double verticalThreshold) {
+        Preconditions.checkArgument(sectors > 0 && sectors <= MAX_SECTORS,
+                "sectors must be between 1 and " + MAX_SECTORS);
+        Preconditions.checkArgument(verticalThreshold >= 0 && verticalThreshold < 90,
+                "verticalThreshold must be between 0 and 90");
+        return new SectorResolver(sectors, VerticalDirection.tanSquared(verticalThreshold));
+    }
+
+    /**
+     * Resolves the sector of a bearing.
+     *
+     * @param bearing the bearing in degrees, clockwise from straight ahead.
+     * @return the sector.
+     * @since 1.0.1
+     */
+    public int resolve(final double bearing) {
+        return sectorOf((long) (bearing * BINARY_PER_DEGREE));
+    }
+
+    /**
+     * Resolves the sector of an offset on the horizontal plane, relative to a facing.
+     *
+     * @param dx      the X component of the offset to the target.
+     * @param dz      the Z component of the offset to the target.
+     * @param facingX the X component of the facing.
+     * @param facingZ the Z component of the facing.
+     * @return the sector, or {@code -1} if the offset or the facing is zero.
+     * @since 1.0.1
+     */
+    public int resolve(final double dx, final double dz, final double facingX, final double facingZ) {
+        // Minecraft's X axis points west of south, so the right-hand side of the facing (x, z) is (-z, x).
+        final double forward = dx * facingX + dz * facingZ;
+        final double right = dz * facingX - dx * facingZ;
+        if (forward == 0 && right == 0) return -1;
+
+        return sectorOf((long) (DirectionMath.atan2(right, forward) * BINARY_PER_RADIAN));
+    }
+
+    /**
+     * Resolves the sector of a point, relative to the position and yaw of an observer.
+     *
+     * @param fromX the X coordinate of the observer.
+     * @param fromZ the Z coordinate of the observer.
+     * @param yaw   the yaw of the observer in degrees.
+     * @param toX   the X coordinate of the point.
+     * @param toZ   the Z coordinate of the point.
+     * @return the sector, or {@code -1} if the point is at the observer's position.
+     * @since 1.0.1
+     */
+    public int resolve(final double fromX, final double fromZ, final float yaw, final double toX, final double toZ) {
+        if (toX == fromX && toZ == fromZ) return -1;
+        return resolve((double) DirectionMath.bearing(toX - fromX, toZ - fromZ) - yaw);
+    }
+
+    /**
+     * Classifies whether a target is above, level with or below the observer, using the resolver's threshold.
+     *
+     * @param dx the X component of the offset to the target.
+     * @param dy the Y component of the offset to the target.
+     * @param dz the Z component of the offset to the target.
+     * @return the vertical direction.
+     * @since 1.0.1
+     */
+    public @NotNull VerticalDirection resolveVertical(final double dx, final double dy, final double dz) {
+        return VerticalDirection.of(dx, dy, dz, verticalTanSquared);
+    }
+
+    /**
+     * Returns the compass direction containing the center of a sector.
+     *
+     * @param sector the sector, or {@code -1} for no sector.
+     * @return the direction, or {@link Direction#X} for no sector.
+     * @throws IllegalArgumentException if the sector is out of range.
+     * @since 1.0.1
+     */
+    public @NotNull Direction toDirection(final int sector) {
+        if (sector == -1) return Direction.X;
+        checkSector(sector);
+
+        final long center = (long) sector * (1L << 32) / sectors;
+        return COMPASS_DIRECTIONS[(int) (((center + (1L << 28)) & ANGLE_MASK) >>> 29)];
+    }
+
+    /**
+     * Returns the bearing at the center of a sector.
+     *
+     * @param sector the sector.
+     * @return the bearing in degrees, clockwise from straight ahead, between {@code 0} and {@code 360}.
+     * @throws IllegalArgumentException if the sector is out of range.
+     * @since 1.0.1
+     */
+    public double getCenter(final int sector) {
+        checkSector(sector);
+        return 360.0 * sector / sectors;
+    }
+
+    /**
+     * Returns the amount of sectors.
+     *
+     * @return the amount of sectors.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public int getSectors() {
+        return sectors;
+    }
+
+    /**
+     * Resolves the sector of a binary angle.
+     *
+     * @param angle the binary angle, where a full turn is {@code 2^32}; only its lowest 32 bits are used.
+     * @return the sector.
+     */
+    private int sectorOf(final long angle) {
+        return (int) ((((angle + halfSector) & ANGLE_MASK) * sectors) >>> 32);
+    }
+
+    /**
+     * Checks that a sector is within range.
+     *
+     * @param sector the sector.
+     * @throws IllegalArgumentException if the sector is out of range.
+     */
+    private void checkSector(final int sector) {
+        Preconditions.checkArgument(sector >= 0 && sector < sectors, "sector must be between 0 and " + (sectors - 1));
+    }
+}
@@ -0,0 +1,614 @@
+package dev.sadghost.espresso.spigot.direction;
+
+import dev.sadghost.espresso.base.Preconditions;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A uniform grid indexing elements by their position, for radius and nearest-neighbour queries
+ * that only visit the cells around the query point instead of every element.
+ *
+ * <p>
+ * The grid divides the horizontal plane into square columns of a fixed size, each holding the elements whose X and Z
+ * coordinates fall into it, while distances are measured in three dimensions. Inserting, removing and moving an
+ * element costs O(1), and moving an element within its column only updates its coordinates. A cell size close to the
+ * typical query radius works best: radius queries then visit a handful of columns, and nearest-neighbour queries
+ * search outwards ring by ring, stopping as soon as no closer element can exist. Once a ring would have more columns
+ * than the grid has occupied columns, the search scans the occupied columns instead, so sparse grids whose elements
+ * are far apart are not searched one empty column at a time.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is not thread-safe. A grid should be confined to a single thread,
+ * such as the server's main thread.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * SpatialGrid<UUID> players = new SpatialGrid<>(16);
+ * players.insert(player.getUniqueId(), location.getX(), location.getY(), location.getZ());
+ *
+ * SpatialGrid.Entry<UUID> nearest = players.findNearest(x, y, z, 100, uuid -> !uuid.equals(self));
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ * @param <T> the type of the elements.
+ */
+public final class SpatialGrid<T> {
+    private final double cellSize;
+    private final double inverseCellSize;
+    @NotNull private final Map<Long, Cell<T>> cells = new HashMap<>();
+    @NotNull private final Map<T, Entry<T>> entries = new HashMap<>();
+
+    // The bounds of the occupied columns, limiting unbounded nearest-neighbour searches. Dropping a column on the
+    // bounds leaves them too wide, so they are recomputed before the next nearest-neighbour search.
+    private int minCellX = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE;
+    private int minCellZ = Integer.MAX_VALUE;
+    private int maxCellZ = Integer.MIN_VALUE;
+    private boolean boundsStale;
+
+    /**
+     * Constructs an empty SpatialGrid.
+     *
+     * @param cellSize the width of a column, ideally close to the typical query radius.
+     * @throws IllegalArgumentException if the cell size is not positive.
+     * @since 1.0.1
+     */
+    public SpatialGrid(final double cellSize) {
+        Preconditions.checkArgument(cellSize > 0 && Double.isFinite(cellSize), "cellSize must be positive");
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1 / cellSize;
+    }
+
+    /**
+     * Inserts an element at the specified position.
+     *
+     * @param element the element.
+     * @param x       the X coordinate.
+     * @param y       the Y coordinate.
+     * @param z       the Z coordinate.
+     * @return {@code true} if the element was inserted, {@code false} if the grid already contains it.
+     * @since 1.0.1
+     */
+    public boolean insert(final @NotNull T element, final double x, final double y, final double z) {
+        Preconditions.checkNonNull(element, "element cannot be null");
+        if (entries.containsKey(element)) return false;
+
+        final Entry<T> entry = new Entry<>(element);
+        entries.put(element, entry);
+        place(entry, x, y, z);
+        return true;
+    }
+
+    /**
+     * Moves an element to the specified position.
+     *
+     * @param element the element.
+     * @param x       the new X coordinate.
+     * @param y       the new Y coordinate.
+     * @param z       the new Z coordinate.
+     * @return {@code true} if the element was moved, {@code false} if the grid does not contain it.
+     * @since 1.0.1
+     */
+    public boolean move(final @NotNull T element, final double x, final double y, final double z) {
+        final Entry<T> entry = entries.get(element);
+        if (entry == null) return false;
+
+        if (entry.cellKey == key(cell(x), cell(z))) {
+            entry.x = x;
+            entry.y = y;
+            entry.z = z;
+        } else {
+            unlink(entry);
+            place(entry, x, y, z);
+        }
+        return true;
+    }
+
+    /**
+     * Removes an element.
+     *
+     * @param element the element.
+     * @return {@code true} if the element was removed, {@code false} if the grid does not contain it.
+     * @since 1.0.1
+     */
+    public boolean remove(final @NotNull T element) {
+        final Entry<T> entry = entries.remove(element);
+        if (entry == null) return false;
+
+        unlink(entry);
+        return true;
+    }
+
+    /**
+     * Returns the entry of an element, holding its position.
+     *
+     * @param element the element.
+     * @return the entry, or {@code null} if the grid does not contain the element.
+     * @since 1.0.1
+     */
+    public @Nullable Entry<T> getEntry(final @NotNull T element) {
+        return entries.get(element);
+    }
+
+    /**
+     * Returns whether the grid contains an element.
+     *
+     * @param element the element.
+     * @return {@code true} if the grid contains the element.
+     * @since 1.0.1
+     */
+    public boolean contains(final @NotNull T element) {
+        return entries.containsKey(element);
+    }
+
+    /**
+     * Returns the amount of elements in the grid.
+     *
+     * @return the amount of elements.
+     * @since 1.0.1
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes every element.
+     *
+     * @since 1.0.1
+     */
+    public void clear() {
+        cells.clear();
+        entries.clear();
+        resetBounds();
+    }
+
+    /**
+     * Visits every entry within a radius of a point.
+     *
+     * @param x       the X coordinate of the point.
+     * @param y       the Y coordinate of the point.
+     * @param z       the Z coordinate of the point.
+     * @param radius  the radius.
+     * @param visitor the visitor of the entries, which must not modify the grid.
+     * @since 1.0.1
+     */
+    public void forEachWithin(final double x, final double y, final double z, final double radius,
+                              final @NotNull Consumer<? super Entry<T>> visitor) {
+        Preconditions.checkArgument(radius >= 0, "radius cannot be negative");
+        final double radiusSquared = radius * radius;
+        final int fromX = Math.max(cell(x - radius), minCellX);
+        final int toX = Math.min(cell(x + radius), maxCellX);
+        final int fromZ = Math.max(cell(z - radius), minCellZ);
+        final int toZ = Math.min(cell(z + radius), maxCellZ);
+
+        if (fromX > toX || fromZ > toZ) return;
+
+        if ((toX - (long) fromX + 1) * (toZ - (long) fromZ + 1) > cells.size()) {
+            // Fewer columns are occupied than the box has, so scanning them is cheaper.
+            for (final Map.Entry<Long, Cell<T>> cell : cells.entrySet()) {
+                final long key = cell.getKey();
+                final int cellX = (int) (key >> 32);
+                final int cellZ = (int) key;
+                if (cellX >= fromX && cellX <= toX && cellZ >= fromZ && cellZ <= toZ) {
+                    visit(cell.getValue(), x, y, z, radiusSquared, visitor);
+                }
+            }
+            return;
+        }
+
+        for (int cellX = fromX; cellX <= toX; cellX++) {
+            for (int cellZ = fromZ; cellZ <= toZ; cellZ++) {
+                final Cell<T> cell = cells.get(key(cellX, cellZ));
+                if (cell != null) visit(cell, x, y, z, radiusSquared, visitor);
+            }
+        }
+    }
+
+    /**
+     * Returns every element within a radius of a point.
+     *
+     * @param x      the X coordinate of the point.
+     * @param y      the Y coordinate of the point.
+     * @param z      the Z coordinate of the point.
+     * @param radius the radius.
+     * @return the elements, in no particular order.
+     * @since 1.0.1
+     */
+    public @NotNull List<T> getWithin(final double x, final double y, final double z, final double radius) {
+        final List<T> result = new ArrayList<>();
+        forEachWithin(x, y, z, radius, entry -> result.add(entry.element));
+        return result;
+    }
+
+    /**
+     * Returns the entry nearest to a point among the entries accepted by a filter.
+     *
+     * @param x         the X coordinate of the point.
+     * @param y         the Y coordinate of the point.
+     * @param z         the Z coordinate of the point.
+     * @param maxRadius the maximum distance of the entry, or {@link Double#POSITIVE_INFINITY} for no limit.
+     * @param filter    the filter of the elements.
+     * @return the nearest entry, or {@code null} if no accepted entry is within the radius.
+     * @since 1.0.1
+     */
+    public @Nullable Entry<T> findNearest(final double x, final double y, final double z, final double maxRadius,
+                                          final @NotNull Predicate<? super T> filter) {
+        final List<Entry<T>> nearest = findNearest(x, y, z, 1, maxRadius, filter);
+        return nearest.isEmpty() ? null : nearest.get(0);
+    }
+
+    /**
+     * Returns the {@code k} entries nearest to a point among the entries accepted by a filter.
+     *
+     * @param x         the X coordinate of the point.
+     * @param y         the Y coordinate of the point.
+     * @param z         the Z coordinate of the point.
+     * @param k         the maximum amount of entries.
+     * @param maxRadius the maximum distance of the entries, or {@link Double#POSITIVE_INFINITY} for no limit.
+     * @param filter    the filter of the elements.
+     * @return the nearest entries, from the nearest to the furthest.
+     * @throws IllegalArgumentException if {@code k} is not positive or the radius is negative.
+     * @since 1.0.1
+     */
+    public @NotNull List<Entry<T>> findNearest(final double x, final double y, final double z,
+                                               final int k, final double maxRadius,
+                                               final @NotNull Predicate<? super T> filter) {
+        Preconditions.checkArgument(k > 0, "k must be positive");
+        Preconditions.checkArgument(maxRadius >= 0, "maxRadius cannot be negative");
+        Preconditions.checkNonNull(filter, "filter cannot be null");
+        if (entries.isEmpty()) return List.of();
+        if (boundsStale) recomputeBounds();
+
+        final Nearest<T> nearest = new Nearest<>(Math.min(k, entries.size()), maxRadius * maxRadius);
+        final int centerX = cell(x);
+        final int centerZ = cell(z);
+        final long span = Math.max(
+                Math.max(Math.abs((long) centerX - minCellX), Math.abs((long) maxCellX - centerX)),
+                Math.max(Math.abs((long) centerZ - minCellZ), Math.abs((long) maxCellZ - centerZ)));
+        final int lastRing = (int) Math.min(span, Integer.MAX_VALUE - 1);
+
+        for (int ring = 0; ring <= lastRing; ring++) {
+            // Every column of the ring is at least (ring - 1) columns away from the point.
+            final double minDistance = (ring - 1) * cellSize;
+            if (minDistance > 0 && minDistance * minDistance > nearest.bound()) break;
+
+            if (8L * ring > cells.size()) {
+                // Fewer columns are occupied than the ring has, so scanning them is cheaper.
+                for (final Map.Entry<Long, Cell<T>> cell : cells.entrySet()) {
+                    final long key = cell.getKey();
+                    final long distance = Math.max(Math.abs((long) (int) (key >> 32) - centerX),
+                            Math.abs((long) (int) key - centerZ));
+                    if (distance >= ring) visit(cell.getValue(), x, y, z, filter, nearest);
+                }
+                break;
+            }
+            if (ring == 0) {
+                visit(centerX, centerZ, x, y, z, filter, nearest);
+                continue;
+            }
+            for (int offset = -ring; offset <= ring; offset++) {
+                visit(centerX + offset, centerZ - ring, x, y, z, filter, nearest);
+                visit(centerX + offset, centerZ + ring, x, y, z, filter, nearest);
+            }
+            for (int offset = -ring + 1; offset < ring; offset++) {
+                visit(centerX - ring, centerZ + offset, x, y, z, filter, nearest);
+                visit(centerX + ring, centerZ + offset, x, y, z, filter, nearest);
+            }
+        }
+        return nearest.toList();
+    }
+
+    /**
+     * Returns the width of a column.
+     *
+     * @return the cell size.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Visits the entries of a column within a radius of a point.
+     *
+     * @param cell          the column.
+     * @param x             the X coordinate of the point.
+     * @param y             the Y coordinate of the point.
+     * @param z             the Z coordinate of the point.
+     * @param radiusSquared the squared radius.
+     * @param visitor       the visitor of the entries.
+     */
+    private void visit(final @NotNull Cell<T> cell, final double x, final double y, final double z,
+                       final double radiusSquared, final @NotNull Consumer<? super Entry<T>> visitor) {
+        for (int i = 0; i < cell.size; i++) {
+            final Entry<T> entry = cell.entries[i];
+            if (entry.distanceSquared(x, y, z) <= radiusSquared) visitor.accept(entry);
+        }
+    }
+
+    /**
+     * Offers the accepted entries of a column to a nearest-neighbour search.
+     *
+     * @param cellX   the X coordinate of the column.
+     * @param cellZ   the Z coordinate of the column.
+     * @param x       the X coordinate of the point.
+     * @param y       the Y coordinate of the point.
+     * @param z       the Z coordinate of the point.
+     * @param filter  the filter of the elements.
+     * @param nearest the nearest entries found so far.
+     */
+    private void visit(final int cellX, final int cellZ, final double x, final double y, final double z,
+                       final @NotNull Predicate<? super T> filter, final @NotNull Nearest<T> nearest) {
+        final Cell<T> cell = cells.get(key(cellX, cellZ));
+        if (cell != null) visit(cell, x, y, z, filter, nearest);
+    }
+
+    /**
+     * Offers the accepted entries of a column to a nearest-neighbour search.
+     *
+     * @param cell    the column.
+     * @param x       the X coordinate of the point.
+     * @param y       the Y coordinate of the point.
+     * @param z       the Z coordinate of the point.
+     * @param filter  the filter of the elements.
+     * @param nearest the nearest entries found so far.
+     */
+    private void visit(final @NotNull Cell<T> cell, final double x, final double y, final double z,
+                       final @NotNull Predicate<? super T> filter, final @NotNull Nearest<T> nearest) {
+        for (int i = 0; i < cell.size; i++) {
+            final Entry<T> entry = cell.entries[i];
+            final double distance = entry.distanceSquared(x, y, z);
+            if (distance <= nearest.bound() && filter.test(entry.element)) nearest.offer(entry, distance);
+        }
+    }
+
+    /**
+     * Sets the position of an entry and adds it to the column of the position.
+     *
+     * @param entry the entry.
+     * @param x     the X coordinate.
+     * @param y     the Y coordinate.
+     * @param z     the Z coordinate.
+     */
+    private void place(final @NotNull Entry<T> entry, final double x, final double y, final double z) {
+        final int cellX = cell(x);
+        final int cellZ = cell(z);
+        entry.x = x;
+        entry.y = y;
+        entry.z = z;
+        entry.cellKey = key(cellX, cellZ);
+        cells.computeIfAbsent(entry.cellKey, key -> new Cell<>()).add(entry);
+
+        minCellX = Math.min(minCellX, cellX);
+        maxCellX = Math.max(maxCellX, cellX);
+        minCellZ = Math.min(minCellZ, cellZ);
+        maxCellZ = Math.max(maxCellZ, cellZ);
+    }
+
+    /**
+     * Removes an entry from its column, dropping the column once it is empty.
+     *
+     * @param entry the entry.
+     */
+    private void unlink(final @NotNull Entry<T> entry) {
+        final Cell<T> cell = cells.get(entry.cellKey);
+        cell.remove(entry);
+        if (cell.size != 0) return;
+
+        cells.remove(entry.cellKey);
+        if (cells.isEmpty()) {
+            resetBounds();
+            return;
+        }
+        final int cellX = (int) (entry.cellKey >> 32);
+        final int cellZ = (int) entry.cellKey;
+        if (cellX == minCellX || cellX == maxCellX || cellZ == minCellZ || cellZ == maxCellZ) boundsStale = true;
+    }
+
+    /**
+     * Recomputes the bounds of the occupied columns.
+     */
+    private void recomputeBounds() {
+        resetBounds();
+        for (final long key : cells.keySet()) {
+            final int cellX = (int) (key >> 32);
+            final int cellZ = (int) key;
+            minCellX = Math.min(minCellX, cellX);
+            maxCellX = Math.max(maxCellX, cellX);
+            minCellZ = Math.min(minCellZ, cellZ);
+            maxCellZ = Math.max(maxCellZ, cellZ);
+        }
+    }
+
+    /**
+     * Resets the bounds of the occupied columns to those of an empty grid.
+     */
+    private void resetBounds() {
+        minCellX = minCellZ = Integer.MAX_VALUE;
+        maxCellX = maxCellZ = Integer.MIN_VALUE;
+        boundsStale = false;
+    }
+
+    /**
+     * Returns the column coordinate of a block coordinate.
+     *
+     * @param coordinate the block coordinate.
+     * @return the column coordinate.
+     */
+    private int cell(final double coordinate) {
+        final double cell = Math.floor(coordinate * inverseCellSize);
+        return (int) Math.max(Integer.MIN_VALUE + 1, Math.min(Integer.MAX_VALUE - 1, cell));
+    }
+
+    /**
+     * Packs the coordinates of a column into a key.
+     *
+     * @param cellX the X coordinate of the column.
+     * @param cellZ the Z coordinate of the column.
+     * @return the key.
+     */
+    private static long key(final int cellX, final int cellZ) {
+        return (long) cellX << 32 | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * An element of a {@link SpatialGrid} and its position.
+     *
+     * @since 1.0.1
+     * @param <T> the type of the element.
+     */
+    public static final class Entry<T> {
+        @NotNull private final T element;
+        private double x;
+        private double y;
+        private double z;
+        private long cellKey;
+        private int index;
+
+        /**
+         * Constructs an Entry.
+         *
+         * @param element the element.
+         */
+        private Entry(final @NotNull T element) {
+            this.element = element;
+        }
+
+        /**
+         * Returns the element.
+         *
+         * @return the element.
+         * @since 1.0.1
+         */
+        @Contract(pure = true)
+        public @NotNull T getElement() {
+            return element;
+        }
+
+        /**
+         * Returns the X coordinate of the element.
+         *
+         * @return the X coordinate.
+         * @since 1.0.1
+         */
+        public double getX() {
+            return x;
+        }
+
+        /**
+         * Returns the Y coordinate of the element.
+         *
+         * @return the Y coordinate.
+         * @since 1.0.1
+         */
+        public double getY() {
+            return y;
+        }
+
+        /**
+         * Returns the Z coordinate of the element.
+         *
+         * @return the Z coordinate.
+         * @since 1.0.1
+         */
+        public double getZ() {
+            return z;
+        }
+
+        /**
+         * Returns the squared distance between the element and a point.
+         *
+         * @param x the X coordinate of the point.
+         * @param y the Y coordinate of the point.
+         * @param z the Z coordinate of the point.
+         * @return the squared distance.
+         * @since 1.0.1
+         */
+        public double distanceSquared(final double x, final double y, final double z) {
+            final double dx = this.x - x;
+            final double dy = this.y - y;
+            final double dz = this.z - z;
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+
+    /**
+     * The entries of a column, removed by swapping the last entry into the removed entry's index.
+     */
+    private static final class Cell<T> {
+        @SuppressWarnings("unchecked")
+        private Entry<T>[] entries = (Entry<T>[]) new Entry<?>[4];
+        private int size;
+
+        private void add(final @NotNull Entry<T> entry) {
+            if (size == entries.length) entries = Arrays.copyOf(entries, size << 1);
+            entry.index = size;
+            entries[size++] = entry;
+        }
+
+        private void remove(final @NotNull Entry<T> entry) {
+            final Entry<T> last = entries[--size];
+            entries[entry.index] = last;
+            last.index = entry.index;
+            entries[size] = null;
+        }
+    }
+
+    /**
+     * The nearest entries found so far by a search, kept sorted by distance.
+     */
+    private static final class Nearest<T> {
+        @NotNull private final Object[] entries;
+        @NotNull private final double[] distances;
+        private final double maxDistance;
+        private int size;
+
+        private Nearest(final int k, final double maxDistance) {
+            this.entries = new Object[k];
+            this.distances = new double[k];
+            this.maxDistance = maxDistance;
+        }
+
+        /**
+         * Returns the squared distance an entry must not exceed to be among the nearest entries.
+         *
+         * @return the squared distance.
+         */
+        private double bound() {
+            return size == entries.length ? distances[size - 1] : maxDistance;
+        }
+
+        private void offer(final @NotNull Entry<T> entry, final double distance) {
+            int index = size == entries.length ? size - 1 : size++;
+            while (index > 0 && distances[index - 1] > distance) {
+                entries[index] = entries[index - 1];
+                distances[index] = distances[index - 1];
+                index--;
+            }
+            entries[index] = entry;
+            distances[index] = distance;
+        }
+
+        @SuppressWarnings("unchecked")
+        private @NotNull List<Entry<T>> toList() {
+            final List<Entry<T>> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) result.add((Entry<T>) entries[i]);
+            return result;
+        }
+    }
+}
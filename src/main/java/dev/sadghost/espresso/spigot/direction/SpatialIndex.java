@@ -0,0 +1,297 @@
+package dev.sadghost.espresso.spigot.direction;
+
+import dev.sadghost.espresso.base.Preconditions;
+import dev.sadghost.espresso.groups.Pair;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * A spatial index of elements across worlds, answering "which elements are nearest and which way are they"
+ * without scanning every element.
+ *
+ * <p>
+ * Every world has its own {@link SpatialGrid}, created when the first element is inserted into it. Worlds are keyed
+ * by their UUID, so the index does not keep unloaded worlds alive. The nearest-element queries can classify the
+ * direction of every result relative to the observer's location and yaw, as computed by
+ * {@link DirectionUtils#getDirection(double, double, float, double, double)}.
+ * </p>
+ *
+ * <p>
+ * Thread Safety: This class is not thread-safe. An index should be confined to a single thread,
+ * such as the server's main thread.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * SpatialIndex<UUID> enemies = new SpatialIndex<>(32);
+ * enemies.insert(enemy.getUniqueId(), enemy.getLocation());
+ *
+ * Pair<UUID, Direction> nearest = enemies.findNearestWithDirection(player.getLocation(), 200, uuid -> true);
+ * if (nearest != null) player.sendMessage("Nearest enemy: " + nearest.getB().getRawName());
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ * @param <T> the type of the elements.
+ */
+public final class SpatialIndex<T> {
+    private final double cellSize;
+    @NotNull private final Map<UUID, SpatialGrid<T>> grids = new HashMap<>();
+    @NotNull private final Map<T, UUID> worlds = new HashMap<>();
+
+    /**
+     * Constructs an empty SpatialIndex.
+     *
+     * @param cellSize the width of a grid column, ideally close to the typical query radius.
+     * @throws IllegalArgumentException if the cell size is not positive.
+     * @since 1.0.1
+     */
+    public SpatialIndex(final double cellSize) {
+        Preconditions.checkArgument(cellSize > 0 && Double.isFinite(cellSize), "cellSize must be positive");
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Inserts an element at the specified location.
+     *
+     * @param element  the element.
+     * @param location the location, which must have a world.
+     * @return {@code true} if the element was inserted, {@code false} if the index already contains it.
+     * @since 1.0.1
+     */
+    public boolean insert(final @NotNull T element, final @NotNull Location location) {
+        Preconditions.checkNonNull(element, "element cannot be null");
+        if (worlds.containsKey(element)) return false;
+
+        final UUID world = worldOf(location);
+        grids.computeIfAbsent(world, key -> new SpatialGrid<>(cellSize))
+                .insert(element, location.getX(), location.getY(), location.getZ());
+        worlds.put(element, world);
+        return true;
+    }
+
+    /**
+     * Moves an element to the specified location, which may be in another world.
+     *
+     * @param element  the element.
+     * @param location the new location, which must have a world.
+     * @return {@code true} if the element was moved, {@code false} if the index does not contain it.
+     * @since 1.0.1
+     */
+    public boolean move(final @NotNull T element, final @NotNull Location location) {
+        final UUID previous = worlds.get(element);
+        if (previous == null) return false;
+
+        final UUID world = worldOf(location);
+        if (previous.equals(world)) {
+            return grids.get(world).move(element, location.getX(), location.getY(), location.getZ());
+        }
+
+        removeFromGrid(previous, element);
+        grids.computeIfAbsent(world, key -> new SpatialGrid<>(cellSize))
+                .insert(element, location.getX(), location.getY(), location.getZ());
+        worlds.put(element, world);
+        return true;
+    }
+
+    /**
+     * Removes an element.
+     *
+     * @param element the element.
+     * @return {@code true} if the element was removed, {@code false} if the index does not contain it.
+     * @since 1.0.1
+     */
+    public boolean remove(final @NotNull T element) {
+        final UUID world = worlds.remove(element);
+        if (world == null) return false;
+
+        removeFromGrid(world, element);
+        return true;
+    }
+
+    /**
+     * Removes every element of a world, for example when the world is unloaded.
+     *
+     * @param world the world.
+     * @since 1.0.1
+     */
+    public void clearWorld(final @NotNull World world) {
+        final SpatialGrid<T> grid = grids.remove(world.getUID());
+        if (grid == null) return;
+        worlds.values().removeIf(world.getUID()::equals);
+    }
+
+    /**
+     * Removes every element.
+     *
+     * @since 1.0.1
+     */
+    public void clear() {
+        grids.clear();
+        worlds.clear();
+    }
+
+    /**
+     * Returns whether the index contains an element.
+     *
+     * @param element the element.
+     * @return {@code true} if the index contains the element.
+     * @since 1.0.1
+     */
+    public boolean contains(final @NotNull T element) {
+        return worlds.containsKey(element);
+    }
+
+    /**
+     * Returns the amount of elements in the index.
+     *
+     * @return the amount of elements.
+     * @since 1.0.1
+     */
+    public int size() {
+        return worlds.size();
+    }
+
+    /**
+     * Returns the grid of a world.
+     *
+     * @param world the world.
+     * @return the grid, or {@code null} if the index has no elements in the world.
+     * @since 1.0.1
+     */
+    public @Nullable SpatialGrid<T> getGrid(final @NotNull World world) {
+        return grids.get(world.getUID());
+    }
+
+    /**
+     * Returns every element within a radius of a location.
+     *
+     * @param location the location.
+     * @param radius   the radius.
+     * @return the elements, in no particular order.
+     * @since 1.0.1
+     */
+    public @NotNull List<T> getWithin(final @NotNull Location location, final double radius) {
+        final SpatialGrid<T> grid = grids.get(worldOf(location));
+        if (grid == null) return List.of();
+        return grid.getWithin(location.getX(), location.getY(), location.getZ(), radius);
+    }
+
+    /**
+     * Returns the element nearest to a location among the elements accepted by a filter.
+     *
+     * @param location  the location.
+     * @param maxRadius the maximum distance of the element, or {@link Double#POSITIVE_INFINITY} for no limit.
+     * @param filter    the filter of the elements.
+     * @return the nearest element, or {@code null} if no accepted element is within the radius.
+     * @since 1.0.1
+     */
+    public @Nullable T findNearest(final @NotNull Location location, final double maxRadius,
+                                   final @NotNull Predicate<? super T> filter) {
+        final SpatialGrid<T> grid = grids.get(worldOf(location));
+        if (grid == null) return null;
+
+        final SpatialGrid.Entry<T> entry = grid.findNearest(location.getX(), location.getY(), location.getZ(),
+                maxRadius, filter);
+        return entry == null ? null : entry.getElement();
+    }
+
+    /**
+     * Returns the element nearest to an observer among the elements accepted by a filter,
+     * together with its direction relative to the observer's yaw.
+     *
+     * @param observer  the observer's location.
+     * @param maxRadius the maximum distance of the element, or {@link Double#POSITIVE_INFINITY} for no limit.
+     * @param filter    the filter of the elements.
+     * @return the nearest element and its direction, or {@code null} if no accepted element is within the radius.
+     * @since 1.0.1
+     */
+    public @Nullable Pair<T, Direction> findNearestWithDirection(final @NotNull Location observer,
+                                                                 final double maxRadius,
+                                                                 final @NotNull Predicate<? super T> filter) {
+        final List<Pair<T, Direction>> nearest = findNearestWithDirections(observer, 1, maxRadius, filter);
+        return nearest.isEmpty() ? null : nearest.get(0);
+    }
+
+    /**
+     * Returns the {@code k} elements nearest to an observer among the elements accepted by a filter,
+     * together with their directions relative to the observer's yaw.
+     *
+     * @param observer  the observer's location.
+     * @param k         the maximum amount of elements.
+     * @param maxRadius the maximum distance of the elements, or {@link Double#POSITIVE_INFINITY} for no limit.
+     * @param filter    the filter of the elements.
+     * @return the nearest elements and their directions, from the nearest to the furthest.
+     * @since 1.0.1
+     */
+    public @NotNull List<Pair<T, Direction>> findNearestWithDirections(final @NotNull Location observer,
+                                                                       final int k,
+                                                                       final double maxRadius,
+                                                                       final @NotNull Predicate<? super T> filter) {
+        final SpatialGrid<T> grid = grids.get(worldOf(observer));
+        if (grid == null) return List.of();
+
+        final double x = observer.getX();
+        final double z = observer.getZ();
+        final double radians = Math.toRadians(observer.getYaw());
+        final double facingX = -Math.sin(radians);
+        final double facingZ = Math.cos(radians);
+
+        final List<SpatialGrid.Entry<T>> entries = grid.findNearest(x, observer.getY(), z, k, maxRadius, filter);
+        final List<Pair<T, Direction>> result = new ArrayList<>(entries.size());
+        for (final SpatialGrid.Entry<T> entry : entries) {
+            final Direction direction = DirectionUtils.getDirection(entry.getX() - x, entry.getZ() - z,
+                    facingX, facingZ);
+            result.add(new Pair<>(entry.getElement(), direction));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the width of a grid column.
+     *
+     * @return the cell size.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Removes an element from the grid of a world, dropping the grid once it is empty.
+     *
+     * @param world   the UUID of the world.
+     * @param element the element.
+     */
+    private void removeFromGrid(final @NotNull UUID world, final @NotNull T element) {
+        final SpatialGrid<T> grid = grids.get(world);
+        grid.remove(element);
+        if (grid.size() == 0) grids.remove(world);
+    }
+
+    /**
+     * Returns the UUID of a location's world.
+     *
+     * @param location the location.
+     * @return the UUID of the world.
+     * @throws IllegalArgumentException if the location has no world.
+     */
+    private static @NotNull UUID worldOf(final @NotNull Location location) {
+        final World world = location.getWorld();
+        Preconditions.checkArgument(world != null, "location must have a world");
+        return world.getUID();
+    }
+}
@@ -0,0 +1,103 @@
+package dev.sadghost.espresso.spigot.direction;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Enum representing whether a target is above, level with or below an observer.
+ *
+ * <p>
+ * A target is {@link #UP} or {@link #DOWN} when the line to it rises or falls more steeply than a threshold angle
+ * from the horizontal plane, and {@link #LEVEL} otherwise. The classification compares the squared vertical offset
+ * against the squared horizontal distance scaled by {@code tan²} of the threshold, so it needs neither a square root
+ * nor trigonometry.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * VerticalDirection vertical = VerticalDirection.of(dx, dy, dz); // Using a 30 degree threshold
+ * String keyName = vertical.getRawName(); // "up"
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public enum VerticalDirection {
+    UP("up"),
+    LEVEL("level"),
+    DOWN("down");
+
+    /**
+     * The default threshold angle in degrees, above which a target is considered above or below.
+     *
+     * @since 1.0.1
+     */
+    public static final double DEFAULT_THRESHOLD = 30;
+
+    private static final double DEFAULT_TAN_SQUARED = tanSquared(DEFAULT_THRESHOLD);
+
+    @NotNull
+    private final String rawName;
+
+    /**
+     * Constructs a VerticalDirection enum constant with the given raw key name.
+     *
+     * @param rawName the raw key name associated with the direction.
+     */
+    @Contract(pure = true)
+    VerticalDirection(final @NotNull String rawName) {
+        this.rawName = rawName;
+    }
+
+    /**
+     * Retrieves the raw key name associated with the direction.
+     *
+     * @return the raw key name.
+     */
+    public @NotNull String getRawName() {
+        return rawName;
+    }
+
+    /**
+     * Classifies an offset using the {@linkplain #DEFAULT_THRESHOLD default threshold}.
+     *
+     * @param dx the X component of the offset to the target.
+     * @param dy the Y component of the offset to the target.
+     * @param dz the Z component of the offset to the target.
+     * @return the vertical direction.
+     * @since 1.0.1
+     */
+    public static @NotNull VerticalDirection of(final double dx, final double dy, final double dz) {
+        return of(dx, dy, dz, DEFAULT_TAN_SQUARED);
+    }
+
+    /**
+     * Classifies an offset using a precomputed threshold.
+     *
+     * @param dx         the X component of the offset to the target.
+     * @param dy         the Y component of the offset to the target.
+     * @param dz         the Z component of the offset to the target.
+     * @param tanSquared the squared tangent of the threshold angle, as returned by {@link #tanSquared(double)}.
+     * @return the vertical direction.
+     * @since 1.0.1
+     */
+    public static @NotNull VerticalDirection of(final double dx, final double dy, final double dz,
+                                                final double tanSquared) {
+        if (dy * dy <= tanSquared * (dx * dx + dz * dz)) return LEVEL;
+        return dy > 0 ? UP : DOWN;
+    }
+
+    /**
+     * Returns the squared tangent of a threshold angle, for classifying many offsets with the same threshold.
+     *
+     * @param degrees the threshold angle in degrees, between {@code 0} and {@code 90}.
+     * @return the squared tangent.
+     * @since 1.0.1
+     */
+    public static double tanSquared(final double degrees) {
+        final double tan = Math.tan(Math.toRadians(degrees));
+        return tan * tan;
+    }
+}
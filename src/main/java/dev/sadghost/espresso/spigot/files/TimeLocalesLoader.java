@@ -0,0 +1,94 @@
+package dev.sadghost.espresso.spigot.files;
+
+import dev.sadghost.espresso.base.Preconditions;
+import dev.sadghost.espresso.time.DurationUnit;
+import dev.sadghost.espresso.time.TimeLocales;
+import dev.sadghost.espresso.time.TimeUnitNames;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The {@code TimeLocalesLoader} class loads {@link TimeLocales} from a configuration.
+ * <p>
+ * Every locale is a section named after the locale's tag, such as {@code en_us} or {@code de}, containing the singular
+ * and plural names of every {@link DurationUnit} and optionally the separators and the forever string. Missing entries
+ * fall back to the English names.
+ *
+ * <h3>Usage Example:</h3>
+ * <pre>{@code
+ * # config.yml
+ * time-units:
+ *   de:
+ *     year: {singular: Jahr, plural: Jahre}
+ *     month: {singular: Monat, plural: Monate}
+ *     separator: ", "
+ *     forever: "Für immer"
+ *
+ * TimeLocales locales = TimeLocalesLoader.load(config, "time-units", Locale.ENGLISH);
+ * TimeUnitNames names = locales.getNames(Locale.GERMANY); // Falls back to "de"
+ * }</pre>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class TimeLocalesLoader {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    @Contract(pure = true)
+    private TimeLocalesLoader() {}
+
+    /**
+     * Loads the unit names of every locale from a section of a configuration.
+     *
+     * @param config        the configuration.
+     * @param path          the path of the section containing a section per locale.
+     * @param defaultLocale the locale used for unsupported locales.
+     * @return the loaded TimeLocales object.
+     * @throws IllegalArgumentException if the path is not a configuration section.
+     * @since 1.0.1
+     */
+    @Contract("_, _, _ -> new")
+    public static @NotNull TimeLocales load(final @NotNull IConfig config,
+                                            final @NotNull String path,
+                                            final @NotNull Locale defaultLocale) {
+        final ConfigurationSection section = config.getConfigurationSection(path);
+        Preconditions.checkArgument(section != null, "'" + path + "' is not a configuration section");
+
+        final Map<String, TimeUnitNames> names = new HashMap<>();
+        for (final String locale : section.getKeys(false)) {
+            final ConfigurationSection localeSection = section.getConfigurationSection(locale);
+            if (localeSection != null) names.put(locale, load(localeSection));
+        }
+        return TimeLocales.ofTags(names, defaultLocale);
+    }
+
+    /**
+     * Loads the unit names of a single locale, falling back to the English names for missing entries.
+     *
+     * @param section the section of the locale.
+     * @return the unit names.
+     */
+    private static @NotNull TimeUnitNames load(final @NotNull ConfigurationSection section) {
+        final TimeUnitNames english = TimeUnitNames.ENGLISH;
+        final TimeUnitNames.Builder builder = english.toBuilder();
+
+        for (final DurationUnit unit : DurationUnit.values()) {
+            final String key = unit.name().toLowerCase(Locale.ROOT);
+            builder.unit(unit,
+                    section.getString(key + ".singular", english.getName(unit, 1)),
+                    section.getString(key + ".plural", english.getName(unit, 2)));
+        }
+
+        return builder.separator(section.getString("separator", english.getSeparator()))
+                .valueSeparator(section.getString("value-separator", english.getValueSeparator()))
+                .forever(section.getString("forever", english.getForever()))
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package dev.sadghost.espresso.time;
+
+import dev.sadghost.espresso.base.Preconditions;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * The {@code CachedDate} class provides the current date formatted with a fixed pattern, formatting it at most once
+ * per second, for high-rate callers such as log and chat timestamps.
+ * <p>
+ * The formatted date is kept in an immutable snapshot together with the second it was formatted for, so a lookup
+ * within the same second costs a clock read and a comparison. Since the date only changes once per second,
+ * patterns with sub-second fields such as {@code SSS} are not suitable for caching.
+ * <p>
+ * Thread Safety: This class is thread-safe. The snapshot is published through a volatile field, so concurrent
+ * callers at worst format the same second twice.
+ *
+ * <h3>Usage Example:</h3>
+ * <pre>{@code
+ * CachedDate timestamp = new CachedDate("HH:mm:ss");
+ * String prefix = "[" + timestamp.get() + "] ";
+ * }</pre>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class CachedDate {
+    @NotNull private final DateTimeFormatter formatter;
+    @NotNull private final Clock clock;
+    @NotNull private volatile Snapshot snapshot = new Snapshot(Long.MIN_VALUE, "");
+
+    /**
+     * Constructs a CachedDate formatting the current date in the system default time-zone.
+     *
+     * @param pattern the pattern of the date.
+     * @throws IllegalArgumentException if the pattern is invalid.
+     * @since 1.0.1
+     */
+    public CachedDate(final @NotNull String pattern) {
+        this(TimeUtils.getDateFormatter(pattern), Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructs a CachedDate formatting the current date of the specified clock.
+     *
+     * @param formatter the formatter of the date.
+     * @param clock     the clock providing the current date and its time-zone.
+     * @since 1.0.1
+     */
+    public CachedDate(final @NotNull DateTimeFormatter formatter, final @NotNull Clock clock) {
+        this.formatter = Preconditions.checkNonNull(formatter, "formatter cannot be null")
+                .withZone(Preconditions.checkNonNull(clock, "clock cannot be null").getZone());
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the current date, formatted at most once per second.
+     *
+     * @return the formatted date.
+     * @since 1.0.1
+     */
+    public @NotNull String get() {
+        final long second = Math.floorDiv(clock.millis(), TimeUtils.MILLISECONDS_IN_SECOND);
+
+        final Snapshot current = snapshot;
+        if (current.second() == second) return current.text();
+
+        final String text = formatter.format(Instant.ofEpochSecond(second));
+        snapshot = new Snapshot(second, text);
+        return text;
+    }
+
+    /**
+     * Returns the formatter of the date.
+     *
+     * @return the formatter.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public @NotNull DateTimeFormatter getFormatter() {
+        return formatter;
+    }
+
+    /**
+     * A formatted date.
+     *
+     * @param second the epoch second the date was formatted for.
+     * @param text   the formatted date.
+     */
+    private record Snapshot(long second, @NotNull String text) {}
+}
@@ -0,0 +1,123 @@
+package dev.sadghost.espresso.time;
+
+import dev.sadghost.espresso.base.Preconditions;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code CachedTimeFormatter} class memoizes the output of a {@link TimeFormatter} at second granularity,
+ * for durations formatted repeatedly such as the countdowns of a scoreboard.
+ * <p>
+ * Formatted durations are kept in a small direct-mapped cache indexed by the duration's seconds, so a lookup costs
+ * an array read and a comparison. Since countdowns tick through consecutive seconds, they occupy consecutive slots
+ * and do not evict each other, while many players watching the same countdown share every formatted string.
+ * <p>
+ * Thread Safety: This class is thread-safe. Cache slots hold immutable entries, so concurrent callers at worst
+ * format the same duration twice.
+ *
+ * <h3>Usage Example:</h3>
+ * <pre>{@code
+ * CachedTimeFormatter countdown = new CachedTimeFormatter(TimeUtils.DEFAULT_FORMATTED_TIME);
+ * String remaining = countdown.format(endTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+ * }</pre>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class CachedTimeFormatter {
+    /**
+     * The default amount of cached durations.
+     *
+     * @since 1.0.1
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    @NotNull private final TimeFormatter formatter;
+    @NotNull private final Entry[] entries;
+    private final int mask;
+
+    /**
+     * Constructs a CachedTimeFormatter caching up to {@value #DEFAULT_CAPACITY} durations.
+     *
+     * @param formatter the formatter whose output is cached.
+     * @since 1.0.1
+     */
+    public CachedTimeFormatter(final @NotNull TimeFormatter formatter) {
+        this(formatter, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a CachedTimeFormatter.
+     *
+     * @param formatter the formatter whose output is cached.
+     * @param capacity  the amount of cached durations, rounded up to a power of two.
+     * @throws IllegalArgumentException if the capacity is not positive or larger than {@code 2^30}.
+     * @since 1.0.1
+     */
+    public CachedTimeFormatter(final @NotNull TimeFormatter formatter, final int capacity) {
+        Preconditions.checkArgument(capacity > 0 && capacity <= 1 << 30, "capacity must be between 1 and 2^30");
+        this.formatter = Preconditions.checkNonNull(formatter, "formatter cannot be null");
+
+        final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.entries = new Entry[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Formats a duration, truncated to whole seconds.
+     *
+     * @param duration the duration, or a negative value for forever.
+     * @param timeUnit the unit of the duration.
+     * @return the formatted duration.
+     * @since 1.0.1
+     */
+    public @NotNull String format(final long duration, final @NotNull TimeUnit timeUnit) {
+        if (duration < 0) return formatter.getForeverString();
+
+        final long seconds = timeUnit.toSeconds(duration);
+        final int slot = (int) (seconds & mask);
+        final Entry entry = entries[slot];
+        if (entry != null && entry.seconds() == seconds) return entry.text();
+
+        final String text = TimeUtils.formatTime(seconds, TimeUnit.SECONDS, formatter);
+        entries[slot] = new Entry(seconds, text);
+        return text;
+    }
+
+    /**
+     * Appends a formatted duration, truncated to whole seconds, to the specified builder.
+     *
+     * @param builder  the builder to append to.
+     * @param duration the duration, or a negative value for forever.
+     * @param timeUnit the unit of the duration.
+     * @return the builder.
+     * @since 1.0.1
+     */
+    @Contract("_, _, _ -> param1")
+    public @NotNull StringBuilder formatTo(final @NotNull StringBuilder builder,
+                                          final long duration,
+                                          final @NotNull TimeUnit timeUnit) {
+        return builder.append(format(duration, timeUnit));
+    }
+
+    /**
+     * Returns the formatter whose output is cached.
+     *
+     * @return the formatter.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public @NotNull TimeFormatter getFormatter() {
+        return formatter;
+    }
+
+    /**
+     * A formatted duration.
+     *
+     * @param seconds the duration in seconds.
+     * @param text    the formatted duration.
+     */
+    private record Entry(long seconds, @NotNull String text) {}
+}
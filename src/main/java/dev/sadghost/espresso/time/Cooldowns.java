@@ -0,0 +1,473 @@
+package dev.sadghost.espresso.time;
+
+import dev.sadghost.espresso.base.Preconditions;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The {@code Cooldowns} class tracks a cooldown per {@link UUID}, such as the cooldown of an ability per player.
+ * <p>
+ * Cooldowns are kept in an open-addressing table backed by a single {@code long} array, storing the two halves of
+ * every UUID next to its expiry time. Checking and setting a cooldown costs O(1) without boxing or allocating,
+ * and millions of cooldowns fit in a fraction of the memory of a {@code HashMap<UUID, Long>}. Expired cooldowns
+ * are cleaned up lazily, when they are looked up or when the table is full, or explicitly by {@link #cleanup()}.
+ * <p>
+ * When constructed with a {@link TimingWheel}, the registry notifies a listener once a cooldown expires, and expired
+ * cooldowns are removed by the wheel instead of lazily. Cooldowns that are replaced or removed are not cancelled
+ * in the wheel, but ignored when their original expiry is reached.
+ * <p>
+ * Thread Safety: This class is thread-safe. Expiry listeners are run by the thread advancing the wheel.
+ *
+ * <h3>Usage Example:</h3>
+ * <pre>{@code
+ * Cooldowns teleports = new Cooldowns();
+ *
+ * if (!teleports.trySet(player.getUniqueId(), 30, TimeUnit.SECONDS)) {
+ *     player.sendMessage("You can teleport again in " + teleports.formatRemaining(player.getUniqueId()));
+ *     return;
+ * }
+ * }</pre>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class Cooldowns {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 28;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    // Every slot holds the two halves of a UUID followed by its expiry, keeping a lookup within a cache line.
+    private static final int SLOT_SIZE = 3;
+    private static final int EXPIRY = 2;
+
+    @NotNull private final Clock clock;
+    @Nullable private final TimingWheel wheel;
+    @Nullable private final Consumer<UUID> expiryListener;
+
+    private long[] table;
+    private int mask;
+    private int size;
+
+    /**
+     * Constructs a Cooldowns registry measuring time with the system clock.
+     *
+     * @since 1.0.1
+     */
+    public Cooldowns() {
+        this(Clock.systemUTC());
+    }
+
+    /**
+     * Constructs a Cooldowns registry measuring time with the specified clock.
+     *
+     * @param clock the clock.
+     * @since 1.0.1
+     */
+    public Cooldowns(final @NotNull Clock clock) {
+        this(Preconditions.checkNonNull(clock, "clock cannot be null"), null, null);
+    }
+
+    /**
+     * Constructs a Cooldowns registry notifying a listener once a cooldown expires.
+     * <p>
+     * The registry measures time with the wheel's clock, and the listener is run when the wheel is advanced
+     * past the cooldown's expiry, with the precision of the wheel's ticks.
+     *
+     * @param wheel          the wheel scheduling the expiries.
+     * @param expiryListener the listener notified with the UUID of every expired cooldown.
+     * @since 1.0.1
+     */
+    public Cooldowns(final @NotNull TimingWheel wheel, final @NotNull Consumer<UUID> expiryListener) {
+        this(Preconditions.checkNonNull(wheel, "wheel cannot be null").getClock(), wheel,
+                Preconditions.checkNonNull(expiryListener, "expiryListener cannot be null"));
+    }
+
+    /**
+     * Constructs a Cooldowns registry.
+     *
+     * @param clock          the clock.
+     * @param wheel          the wheel scheduling the expiries, or {@code null}.
+     * @param expiryListener the listener notified of expiries, or {@code null}.
+     */
+    private Cooldowns(final @NotNull Clock clock,
+                      final @Nullable TimingWheel wheel,
+                      final @Nullable Consumer<UUID> expiryListener) {
+        this.clock = clock;
+        this.wheel = wheel;
+        this.expiryListener = expiryListener;
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Puts a UUID on cooldown for the specified duration, replacing its current cooldown.
+     *
+     * @param uuid     the UUID.
+     * @param duration the duration of the cooldown.
+     * @param unit     the unit of the duration.
+     * @since 1.0.1
+     */
+    public void set(final @NotNull UUID uuid, final long duration, final @NotNull TimeUnit unit) {
+        Preconditions.checkNonNull(uuid, "uuid cannot be null");
+        final long expiry = expiryOf(duration, unit);
+        synchronized (this) {
+            put(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), expiry);
+        }
+        scheduleExpiry(uuid, expiry);
+    }
+
+    /**
+     * Puts a UUID on cooldown for the specified duration, unless it is already on cooldown.
+     *
+     * @param uuid     the UUID.
+     * @param duration the duration of the cooldown.
+     * @param unit     the unit of the duration.
+     * @return {@code true} if the UUID was put on cooldown, {@code false} if it was already on cooldown.
+     * @since 1.0.1
+     */
+    public boolean trySet(final @NotNull UUID uuid, final long duration, final @NotNull TimeUnit unit) {
+        Preconditions.checkNonNull(uuid, "uuid cannot be null");
+        final long expiry = expiryOf(duration, unit);
+        final long most = uuid.getMostSignificantBits();
+        final long least = uuid.getLeastSignificantBits();
+        synchronized (this) {
+            final int index = indexOf(most, least);
+            if (index != -1 && table[index + EXPIRY] > clock.millis()) return false;
+            put(most, least, expiry);
+        }
+        scheduleExpiry(uuid, expiry);
+        return true;
+    }
+
+    /**
+     * Returns whether a UUID is on cooldown.
+     *
+     * @param uuid the UUID.
+     * @return {@code true} if the UUID is on cooldown.
+     * @since 1.0.1
+     */
+    public boolean isOnCooldown(final @NotNull UUID uuid) {
+        return getExpiry(uuid) != -1;
+    }
+
+    /**
+     * Returns the remaining time of a UUID's cooldown.
+     *
+     * @param uuid the UUID.
+     * @param unit the unit of the remaining time.
+     * @return the remaining time, truncated to the unit, or {@code 0} if the UUID is not on cooldown.
+     * @since 1.0.1
+     */
+    public long getRemaining(final @NotNull UUID uuid, final @NotNull TimeUnit unit) {
+        return unit.convert(getRemainingMillis(uuid), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the time a UUID's cooldown expires at, as measured by the registry's clock.
+     *
+     * @param uuid the UUID.
+     * @return the expiry in milliseconds, or {@code -1} if the UUID is not on cooldown.
+     * @since 1.0.1
+     */
+    public long getExpiry(final @NotNull UUID uuid) {
+        Preconditions.checkNonNull(uuid, "uuid cannot be null");
+        final long now = clock.millis();
+        synchronized (this) {
+            final int index = indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            if (index == -1) return -1;
+
+            final long expiry = table[index + EXPIRY];
+            if (expiry > now) return expiry;
+            if (wheel == null) removeAt(index);
+            return -1;
+        }
+    }
+
+    /**
+     * Formats the remaining time of a UUID's cooldown using the default time formatter.
+     *
+     * @param uuid the UUID.
+     * @return the remaining time, rounded up to whole seconds.
+     * @see #formatRemaining(UUID, TimeFormatter)
+     * @since 1.0.1
+     */
+    public @NotNull String formatRemaining(final @NotNull UUID uuid) {
+        return formatRemaining(uuid, null);
+    }
+
+    /**
+     * Formats the remaining time of a UUID's cooldown, rounded up to whole seconds
+     * so that a cooldown is never displayed as over before it is.
+     *
+     * @param uuid      the UUID.
+     * @param formatter the formatter, or {@code null} for the default formatter.
+     * @return the remaining time.
+     * @since 1.0.1
+     */
+    public @NotNull String formatRemaining(final @NotNull UUID uuid, final @Nullable TimeFormatter formatter) {
+        final long remaining = getRemainingMillis(uuid);
+        final long seconds = (remaining + TimeUtils.MILLISECONDS_IN_SECOND - 1) / TimeUtils.MILLISECONDS_IN_SECOND;
+        return TimeUtils.formatTime(seconds, TimeUnit.SECONDS, formatter);
+    }
+
+    /**
+     * Removes a UUID's cooldown.
+     *
+     * @param uuid the UUID.
+     * @return {@code true} if the UUID was on cooldown.
+     * @since 1.0.1
+     */
+    public boolean remove(final @NotNull UUID uuid) {
+        Preconditions.checkNonNull(uuid, "uuid cannot be null");
+        final long now = clock.millis();
+        synchronized (this) {
+            final int index = indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            if (index == -1) return false;
+
+            final boolean active = table[index + EXPIRY] > now;
+            removeAt(index);
+            return active;
+        }
+    }
+
+    /**
+     * Removes every cooldown.
+     *
+     * @since 1.0.1
+     */
+    public synchronized void clear() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Removes every expired cooldown.
+     * <p>
+     * Registries notifying an expiry listener keep expired cooldowns until the wheel removes them.
+     *
+     * @return the amount of removed cooldowns.
+     * @since 1.0.1
+     */
+    public synchronized int cleanup() {
+        final int previous = size;
+        rehash(mask + 1, cleanupTime());
+        return previous - size;
+    }
+
+    /**
+     * Returns the amount of tracked cooldowns, including expired cooldowns that were not cleaned up yet.
+     *
+     * @return the amount of tracked cooldowns.
+     * @since 1.0.1
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the clock the registry measures time with.
+     *
+     * @return the clock.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public @NotNull Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Returns the remaining time of a UUID's cooldown in milliseconds.
+     *
+     * @param uuid the UUID.
+     * @return the remaining time, or {@code 0} if the UUID is not on cooldown.
+     */
+    private long getRemainingMillis(final @NotNull UUID uuid) {
+        final long expiry = getExpiry(uuid);
+        return expiry == -1 ? 0 : Math.max(0, expiry - clock.millis());
+    }
+
+    /**
+     * Returns the expiry of a cooldown starting now.
+     *
+     * @param duration the duration of the cooldown.
+     * @param unit     the unit of the duration.
+     * @return the expiry in milliseconds.
+     */
+    private long expiryOf(final long duration, final @NotNull TimeUnit unit) {
+        Preconditions.checkNonNull(unit, "unit cannot be null");
+        Preconditions.checkArgument(duration >= 0, "duration cannot be negative");
+
+        final long now = clock.millis();
+        final long millis = unit.toMillis(duration);
+        return millis > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + millis;
+    }
+
+    /**
+     * Schedules the expiry listener of a cooldown, if the registry has one.
+     *
+     * @param uuid   the UUID.
+     * @param expiry the expiry of the cooldown.
+     */
+    private void scheduleExpiry(final @NotNull UUID uuid, final long expiry) {
+        if (wheel == null || expiryListener == null) return;
+        wheel.scheduleAt(expiry, () -> expire(uuid, expiry));
+    }
+
+    /**
+     * Removes a cooldown and notifies the expiry listener, unless the cooldown was replaced or removed since.
+     *
+     * @param uuid   the UUID.
+     * @param expiry the expected expiry of the cooldown.
+     */
+    private void expire(final @NotNull UUID uuid, final long expiry) {
+        synchronized (this) {
+            final int index = indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            if (index == -1 || table[index + EXPIRY] != expiry) return;
+            removeAt(index);
+        }
+        if (expiryListener != null) expiryListener.accept(uuid);
+    }
+
+    /**
+     * Returns the slot of a UUID.
+     *
+     * @param most  the most significant bits of the UUID.
+     * @param least the least significant bits of the UUID.
+     * @return the offset of the slot, or {@code -1} if the UUID is not tracked.
+     */
+    private int indexOf(final long most, final long least) {
+        for (int index = (hash(most, least) & mask) * SLOT_SIZE; ; index = nextSlot(index)) {
+            if (table[index + EXPIRY] == EMPTY) return -1;
+            if (table[index] == most && table[index + 1] == least) return index;
+        }
+    }
+
+    /**
+     * Sets the expiry of a UUID, inserting it if it is not tracked yet.
+     *
+     * @param most   the most significant bits of the UUID.
+     * @param least  the least significant bits of the UUID.
+     * @param expiry the expiry.
+     */
+    private void put(final long most, final long least, final long expiry) {
+        int index = (hash(most, least) & mask) * SLOT_SIZE;
+        while (table[index + EXPIRY] != EMPTY) {
+            if (table[index] == most && table[index + 1] == least) {
+                table[index + EXPIRY] = expiry;
+                return;
+            }
+            index = nextSlot(index);
+        }
+
+        table[index] = most;
+        table[index + 1] = least;
+        table[index + EXPIRY] = expiry;
+
+        // Keep the table at most half full, dropping expired cooldowns before growing it.
+        final int capacity = mask + 1;
+        if (++size > capacity >> 1) {
+            final long now = cleanupTime();
+            int live = 0;
+            for (int i = EXPIRY; i < table.length; i += SLOT_SIZE) {
+                if (table[i] != EMPTY && table[i] > now) live++;
+            }
+            rehash(live > capacity >> 2 && capacity < MAX_CAPACITY ? capacity << 1 : capacity, now);
+        }
+    }
+
+    /**
+     * Returns the time up to which expired cooldowns may be dropped from the table.
+     * Cooldowns awaiting their expiry listener are never dropped.
+     *
+     * @return the time in milliseconds.
+     */
+    private long cleanupTime() {
+        return wheel == null ? clock.millis() : Long.MIN_VALUE;
+    }
+
+    /**
+     * Removes the UUID of a slot, shifting the following UUIDs of its cluster back so that lookups
+     * never stop at a hole.
+     *
+     * @param index the offset of the slot.
+     */
+    private void removeAt(int index) {
+        int next = index;
+        while (true) {
+            next = nextSlot(next);
+            if (table[next + EXPIRY] == EMPTY) break;
+
+            final int home = (hash(table[next], table[next + 1]) & mask) * SLOT_SIZE;
+            final boolean reachable = index <= next ? index < home && home <= next : index < home || home <= next;
+            if (reachable) continue;
+
+            System.arraycopy(table, next, table, index, SLOT_SIZE);
+            index = next;
+        }
+        table[index + EXPIRY] = EMPTY;
+        size--;
+    }
+
+    /**
+     * Returns the offset of the slot following a slot, wrapping around at the end of the table.
+     *
+     * @param index the offset of the slot.
+     * @return the offset of the next slot.
+     */
+    private int nextSlot(final int index) {
+        final int next = index + SLOT_SIZE;
+        return next == table.length ? 0 : next;
+    }
+
+    /**
+     * Moves every cooldown expiring after the specified time to a new table of the specified capacity.
+     *
+     * @param capacity the capacity, a power of two.
+     * @param now      the time up to which expired cooldowns are dropped.
+     */
+    private void rehash(final int capacity, final long now) {
+        final long[] old = table;
+
+        allocate(capacity);
+        for (int i = 0; i < old.length; i += SLOT_SIZE) {
+            final long expiry = old[i + EXPIRY];
+            if (expiry == EMPTY || expiry <= now) continue;
+
+            int index = (hash(old[i], old[i + 1]) & mask) * SLOT_SIZE;
+            while (table[index + EXPIRY] != EMPTY) index = nextSlot(index);
+            System.arraycopy(old, i, table, index, SLOT_SIZE);
+            size++;
+        }
+    }
+
+    /**
+     * Replaces the table with an empty table of the specified capacity.
+     *
+     * @param capacity the capacity, a power of two.
+     */
+    private void allocate(final int capacity) {
+        table = new long[capacity * SLOT_SIZE];
+        for (int i = EXPIRY; i < table.length; i += SLOT_SIZE) table[i] = EMPTY;
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    /**
+     * Hashes a UUID, spreading the bits of both halves over the slot index.
+     *
+     * @param most  the most significant bits of the UUID.
+     * @param least the least significant bits of the UUID.
+     * @return the hash.
+     */
+    private static int hash(final long most, final long least) {
+        long hash = most * 0x9E3779B97F4A7C15L ^ least;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return (int) hash;
+    }
+}
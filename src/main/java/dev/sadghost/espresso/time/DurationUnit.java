@@ -0,0 +1,43 @@
+package dev.sadghost.espresso.time;
+
+import org.jetbrains.annotations.Contract;
+
+/**
+ * Enum representing the units a duration is broken down into when it is formatted, from the largest to the smallest.
+ *
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * long days = duration / DurationUnit.DAY.getMilliseconds();
+ * }</pre>
+ * </p>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public enum DurationUnit {
+    YEAR(TimeUtils.MILLISECONDS_IN_YEAR),
+    MONTH(TimeUtils.MILLISECONDS_IN_MONTH),
+    WEEK(TimeUtils.MILLISECONDS_IN_WEEK),
+    DAY(TimeUtils.MILLISECONDS_IN_DAY),
+    HOUR(TimeUtils.MILLISECONDS_IN_HOUR),
+    MINUTE(TimeUtils.MILLISECONDS_IN_MINUTE),
+    SECOND(TimeUtils.MILLISECONDS_IN_SECOND);
+
+    private final long milliseconds;
+
+    DurationUnit(final long milliseconds) {
+        this.milliseconds = milliseconds;
+    }
+
+    /**
+     * Returns the amount of milliseconds in the unit.
+     *
+     * @return the amount of milliseconds.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public long getMilliseconds() {
+        return milliseconds;
+    }
+}
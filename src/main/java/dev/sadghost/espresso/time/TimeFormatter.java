@@ -1,5 +1,6 @@
 package dev.sadghost.espresso.time;
 
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 public interface TimeFormatter {
@@ -8,4 +9,21 @@ public interface TimeFormatter {
                                                      long hours, long minutes, long seconds);
 
     @NotNull String getForeverString();
+
+    /**
+     * Appends a formatted duration to the specified builder.
+     * <p>
+     * The default implementation appends the result of {@link #getFormattedTime}. Implementations should override
+     * this method to write into the builder directly, so that formatting into a reused builder does not allocate.
+     *
+     * @param builder the builder to append to.
+     * @return the builder.
+     * @since 1.0.1
+     */
+    @Contract("_, _, _, _, _, _, _, _ -> param1")
+    default @NotNull StringBuilder formatTo(final @NotNull StringBuilder builder,
+                                            final long years, final long months, final long weeks, final long days,
+                                            final long hours, final long minutes, final long seconds) {
+        return builder.append(getFormattedTime(years, months, weeks, days, hours, minutes, seconds));
+    }
 }
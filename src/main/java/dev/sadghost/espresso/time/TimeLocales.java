@@ -0,0 +1,156 @@
+package dev.sadghost.espresso.time;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The {@code TimeLocales} class holds the {@link TimeUnitNames} of every supported locale.
+ * <p>
+ * Locales are keyed by their tags, such as {@code en_us} or {@code de}, which are normalized so that {@code en-US},
+ * {@code en_US} and {@code en_us} are equal. Looking up a locale falls back from the full tag to the language,
+ * and then to the default locale. Plugins can load the names from a configuration with
+ * {@code TimeLocalesLoader} of the spigot layer.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ *
+ * <h3>Usage Example:</h3>
+ * <pre>{@code
+ * TimeUnitNames german = TimeUnitNames.ENGLISH.toBuilder()
+ *         .unit(DurationUnit.YEAR, "Jahr", "Jahre")
+ *         .forever("Für immer")
+ *         .build();
+ *
+ * TimeLocales locales = TimeLocales.of(Map.of(Locale.GERMAN, german), Locale.ENGLISH);
+ * TimeUnitNames names = locales.getNames(Locale.GERMANY); // Falls back to "de"
+ * }</pre>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class TimeLocales {
+    @NotNull private final Map<String, TimeUnitNames> names;
+    @NotNull private final String defaultLocale;
+    @NotNull private final TimeUnitNames defaultNames;
+
+    /**
+     * Constructs a TimeLocales object.
+     *
+     * @param names         the unit names, keyed by normalized locale tags.
+     * @param defaultLocale the normalized tag of the default locale.
+     */
+    private TimeLocales(final @NotNull Map<String, TimeUnitNames> names, final @NotNull String defaultLocale) {
+        this.names = Map.copyOf(names);
+        this.defaultLocale = defaultLocale;
+
+        final TimeUnitNames exact = lookup(defaultLocale);
+        this.defaultNames = exact == null ? TimeUnitNames.ENGLISH : exact;
+    }
+
+    /**
+     * Creates a TimeLocales object from unit names keyed by locale.
+     *
+     * @param names         the unit names of every locale.
+     * @param defaultLocale the locale used for unsupported locales.
+     * @return the TimeLocales object.
+     * @since 1.0.1
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull TimeLocales of(final @NotNull Map<Locale, TimeUnitNames> names,
+                                          final @NotNull Locale defaultLocale) {
+        final Map<String, TimeUnitNames> normalized = new HashMap<>();
+        names.forEach((locale, value) -> normalized.put(normalize(locale.toString()), value));
+        return new TimeLocales(normalized, normalize(defaultLocale.toString()));
+    }
+
+    /**
+     * Creates a TimeLocales object from unit names keyed by locale tags, such as {@code en_us} or {@code de}.
+     *
+     * @param names         the unit names of every locale tag.
+     * @param defaultLocale the locale used for unsupported locales.
+     * @return the TimeLocales object.
+     * @since 1.0.1
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull TimeLocales ofTags(final @NotNull Map<String, TimeUnitNames> names,
+                                              final @NotNull Locale defaultLocale) {
+        final Map<String, TimeUnitNames> normalized = new HashMap<>();
+        names.forEach((tag, value) -> normalized.put(normalize(tag), value));
+        return new TimeLocales(normalized, normalize(defaultLocale.toString()));
+    }
+
+    /**
+     * Returns the unit names of a locale, falling back to its language and then to the default locale.
+     *
+     * @param locale the locale.
+     * @return the unit names.
+     * @since 1.0.1
+     */
+    public @NotNull TimeUnitNames getNames(final @Nullable Locale locale) {
+        if (locale == null) return defaultNames;
+        final TimeUnitNames exact = lookup(normalize(locale.toString()));
+        return exact == null ? defaultNames : exact;
+    }
+
+    /**
+     * Returns the unit names of the default locale.
+     *
+     * @return the unit names.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public @NotNull TimeUnitNames getDefaultNames() {
+        return defaultNames;
+    }
+
+    /**
+     * Returns the unit names of every loaded locale, keyed by normalized locale tags such as {@code en_us}.
+     *
+     * @return the unit names.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public @NotNull @Unmodifiable Map<String, TimeUnitNames> getAllNames() {
+        return names;
+    }
+
+    /**
+     * Returns the normalized tag of the default locale.
+     *
+     * @return the default locale's tag.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public @NotNull String getDefaultLocale() {
+        return defaultLocale;
+    }
+
+    /**
+     * Looks up the unit names of a normalized locale tag, falling back to its language.
+     *
+     * @param tag the normalized locale tag.
+     * @return the unit names, or {@code null} if neither the locale nor its language are loaded.
+     */
+    private @Nullable TimeUnitNames lookup(final @NotNull String tag) {
+        final TimeUnitNames exact = names.get(tag);
+        if (exact != null) return exact;
+
+        final int separator = tag.indexOf('_');
+        return separator == -1 ? null : names.get(tag.substring(0, separator));
+    }
+
+    /**
+     * Normalizes a locale tag, so that {@code en-US}, {@code en_US} and {@code en_us} are equal.
+     *
+     * @param tag the locale tag.
+     * @return the normalized tag.
+     */
+    private static @NotNull String normalize(final @NotNull String tag) {
+        return tag.replace('-', '_').toLowerCase(Locale.ROOT);
+    }
+}
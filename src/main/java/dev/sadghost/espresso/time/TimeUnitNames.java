@@ -0,0 +1,232 @@
+package dev.sadghost.espresso.time;
+
+import dev.sadghost.espresso.base.Preconditions;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The {@code TimeUnitNames} class holds the words a {@link UnitTimeFormatter} uses to format a duration,
+ * allowing durations to be formatted in any language.
+ * <p>
+ * Every {@link DurationUnit} has a singular name, used for a value of one, and a plural name, used for any other value.
+ * Units are separated by the unit separator, such as {@code ", "}, and every value is separated from its unit's name by
+ * the value separator, such as {@code " "}. Negative durations are formatted as the forever string.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ *
+ * <h3>Usage Example:</h3>
+ * <pre>{@code
+ * TimeUnitNames german = TimeUnitNames.builder()
+ *         .unit(DurationUnit.YEAR, "Jahr", "Jahre")
+ *         .unit(DurationUnit.MONTH, "Monat", "Monate")
+ *         // ...
+ *         .forever("Für immer")
+ *         .build();
+ * TimeFormatter formatter = new UnitTimeFormatter(german);
+ * }</pre>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class TimeUnitNames {
+    /**
+     * The English unit names, formatting durations such as {@code 1 year, 2 months}.
+     *
+     * @since 1.0.1
+     */
+    @NotNull public static final TimeUnitNames ENGLISH = builder()
+            .unit(DurationUnit.YEAR, "year", "years")
+            .unit(DurationUnit.MONTH, "month", "months")
+            .unit(DurationUnit.WEEK, "week", "weeks")
+            .unit(DurationUnit.DAY, "day", "days")
+            .unit(DurationUnit.HOUR, "hour", "hours")
+            .unit(DurationUnit.MINUTE, "minute", "minutes")
+            .unit(DurationUnit.SECOND, "second", "seconds")
+            .build();
+
+    @NotNull private final String[] singular;
+    @NotNull private final String[] plural;
+    @NotNull private final String separator;
+    @NotNull private final String valueSeparator;
+    @NotNull private final String forever;
+
+    /**
+     * Constructs a TimeUnitNames object from a complete builder.
+     *
+     * @param builder the builder.
+     */
+    private TimeUnitNames(final @NotNull Builder builder) {
+        this.singular = builder.singular.clone();
+        this.plural = builder.plural.clone();
+        this.separator = builder.separator;
+        this.valueSeparator = builder.valueSeparator;
+        this.forever = builder.forever;
+    }
+
+    /**
+     * Creates a new builder, with the default separators and forever string but without any unit names.
+     *
+     * @return the builder.
+     * @since 1.0.1
+     */
+    @Contract("-> new")
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a new builder initialized with these names.
+     *
+     * @return the builder.
+     * @since 1.0.1
+     */
+    @Contract("-> new")
+    public @NotNull Builder toBuilder() {
+        final Builder builder = new Builder();
+        System.arraycopy(singular, 0, builder.singular, 0, singular.length);
+        System.arraycopy(plural, 0, builder.plural, 0, plural.length);
+        return builder.separator(separator).valueSeparator(valueSeparator).forever(forever);
+    }
+
+    /**
+     * Returns the name of a unit for the specified value.
+     *
+     * @param unit  the unit.
+     * @param value the value.
+     * @return the singular name if the value is one, otherwise the plural name.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public @NotNull String getName(final @NotNull DurationUnit unit, final long value) {
+        return value == 1 ? singular[unit.ordinal()] : plural[unit.ordinal()];
+    }
+
+    /**
+     * Returns the separator placed between units.
+     *
+     * @return the unit separator.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public @NotNull String getSeparator() {
+        return separator;
+    }
+
+    /**
+     * Returns the separator placed between a value and its unit's name.
+     *
+     * @return the value separator.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public @NotNull String getValueSeparator() {
+        return valueSeparator;
+    }
+
+    /**
+     * Returns the string negative durations are formatted as.
+     *
+     * @return the forever string.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public @NotNull String getForever() {
+        return forever;
+    }
+
+    /**
+     * A builder of {@link TimeUnitNames}.
+     *
+     * @since 1.0.1
+     */
+    public static final class Builder {
+        @NotNull private final String[] singular;
+        @NotNull private final String[] plural;
+        @NotNull private String separator;
+        @NotNull private String valueSeparator;
+        @NotNull private String forever;
+
+        /**
+         * Constructs a Builder with the default separators and forever string.
+         */
+        private Builder() {
+            this.singular = new String[DurationUnit.values().length];
+            this.plural = new String[DurationUnit.values().length];
+            this.separator = ", ";
+            this.valueSeparator = " ";
+            this.forever = "Forever";
+        }
+
+        /**
+         * Sets the names of a unit.
+         *
+         * @param unit     the unit.
+         * @param singular the name used for a value of one.
+         * @param plural   the name used for any other value.
+         * @return this builder.
+         * @since 1.0.1
+         */
+        @Contract("_, _, _ -> this")
+        public @NotNull Builder unit(final @NotNull DurationUnit unit,
+                                     final @NotNull String singular,
+                                     final @NotNull String plural) {
+            this.singular[unit.ordinal()] = Preconditions.checkNonNull(singular, "singular cannot be null");
+            this.plural[unit.ordinal()] = Preconditions.checkNonNull(plural, "plural cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the separator placed between units.
+         *
+         * @param separator the unit separator.
+         * @return this builder.
+         * @since 1.0.1
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder separator(final @NotNull String separator) {
+            this.separator = Preconditions.checkNonNull(separator, "separator cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the separator placed between a value and its unit's name.
+         *
+         * @param valueSeparator the value separator.
+         * @return this builder.
+         * @since 1.0.1
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder valueSeparator(final @NotNull String valueSeparator) {
+            this.valueSeparator = Preconditions.checkNonNull(valueSeparator, "valueSeparator cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the string negative durations are formatted as.
+         *
+         * @param forever the forever string.
+         * @return this builder.
+         * @since 1.0.1
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder forever(final @NotNull String forever) {
+            this.forever = Preconditions.checkNonNull(forever, "forever cannot be null");
+            return this;
+        }
+
+        /**
+         * Builds the unit names.
+         *
+         * @return the unit names.
+         * @throws IllegalArgumentException if the names of any unit are missing.
+         * @since 1.0.1
+         */
+        @Contract("-> new")
+        public @NotNull TimeUnitNames build() {
+            for (final DurationUnit unit : DurationUnit.values()) {
+                Preconditions.checkArgument(singular[unit.ordinal()] != null, "missing the names of " + unit);
+            }
+            return new TimeUnitNames(this);
+        }
+    }
+}
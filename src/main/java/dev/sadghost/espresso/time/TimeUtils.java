@@ -1,11 +1,14 @@
 package dev.sadghost.espresso.time;
 
+import dev.sadghost.espresso.base.BoundedCache;
 import dev.sadghost.espresso.base.Preconditions;
+import dev.sadghost.espresso.exceptions.TimeParseException;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.concurrent.TimeUnit;
 
@@ -19,7 +22,7 @@ import java.util.concurrent.TimeUnit;
  * <h3>Usage Example:</h3>
  * <pre>{@code
  * String currentDate = TimeUtils.getCurrentDate("yyyy-MM-dd");
- * long timeDuration = TimeUtils.parseTime("1y2m");
+ * long timeDuration = TimeUtils.parseTime("1y 2M 1.5d");
  * String formattedTime = TimeUtils.formatTime(timeDuration, TimeUnit.MILLISECONDS, "%years%-%months%", null);
  * String formattedSeconds = TimeUtils.formatSeconds(300);
  * }</pre>
@@ -39,6 +42,15 @@ public class TimeUtils {
 
     public static final DefaultFormattedTime DEFAULT_FORMATTED_TIME = new DefaultFormattedTime();
 
+    // The scale of the smallest fraction accepted by parseTime, allowing up to 6 fractional digits.
+    private static final long MAX_FRACTION_SCALE = 1_000_000;
+
+    // The amount of compiled date patterns kept by getDateFormatter, and of snapshots kept by getCachedCurrentDate.
+    private static final int DATE_CACHE_SIZE = 64;
+
+    private static final BoundedCache<String, DateTimeFormatter> DATE_FORMATTERS = new BoundedCache<>(DATE_CACHE_SIZE);
+    private static final BoundedCache<String, CachedDate> CACHED_DATES = new BoundedCache<>(DATE_CACHE_SIZE);
+
     /**
      * Private constructor to prevent instantiation of this utility class.
      */
@@ -53,58 +65,218 @@ public class TimeUtils {
      * @since 1.0.0
      */
     public static @NotNull String getCurrentDate(final @NotNull String pattern) {
-        final DateTimeFormatter dtf = DateTimeFormatter.ofPattern(pattern);
-        return dtf.format(LocalDateTime.now());
+        return getCurrentDate(pattern, ZoneId.systemDefault());
+    }
+
+    /**
+     * Returns the current date in the given time-zone, formatted according to the given pattern.
+     *
+     * @param pattern the pattern to use for formatting the date
+     * @param zone the time-zone of the date
+     * @return the current date as a string formatted according to the pattern
+     * @since 1.0.1
+     */
+    public static @NotNull String getCurrentDate(final @NotNull String pattern, final @NotNull ZoneId zone) {
+        return getDate(pattern, Instant.now(), zone);
+    }
+
+    /**
+     * Returns the given instant in the given time-zone, formatted according to the given pattern.
+     *
+     * @param pattern the pattern to use for formatting the date
+     * @param instant the instant to format
+     * @param zone the time-zone of the date
+     * @return the date as a string formatted according to the pattern
+     * @since 1.0.1
+     */
+    public static @NotNull String getDate(final @NotNull String pattern,
+                                          final @NotNull Instant instant,
+                                          final @NotNull ZoneId zone) {
+        Preconditions.checkNonNull(instant, "instant cannot be null");
+        Preconditions.checkNonNull(zone, "zone cannot be null");
+        return getDateFormatter(pattern).format(instant.atZone(zone));
+    }
+
+    /**
+     * Returns the current date in the system default time-zone formatted according to the given pattern,
+     * formatting it at most once per second.
+     * <p>
+     * This method is meant for high-rate callers such as log and chat timestamps, and should not be used with
+     * patterns containing sub-second fields.
+     *
+     * @param pattern the pattern to use for formatting the date
+     * @return the current date as a string formatted according to the pattern
+     * @see CachedDate
+     * @since 1.0.1
+     */
+    public static @NotNull String getCachedCurrentDate(final @NotNull String pattern) {
+        return CACHED_DATES.get(pattern, CachedDate::new).get();
+    }
+
+    /**
+     * Returns the formatter of the given pattern, compiling it only the first time the pattern is used.
+     *
+     * @param pattern the pattern of the formatter
+     * @return the formatter
+     * @throws IllegalArgumentException if the pattern is invalid
+     * @since 1.0.1
+     */
+    public static @NotNull DateTimeFormatter getDateFormatter(final @NotNull String pattern) {
+        Preconditions.checkNonNull(pattern, "pattern cannot be null");
+        return DATE_FORMATTERS.get(pattern, DateTimeFormatter::ofPattern);
     }
 
     /**
      * Parses the given time string and returns the corresponding duration in milliseconds.
+     * <p>
+     * The time string is a sequence of numbers, each followed by a unit: {@code s} for seconds, {@code m} for minutes,
+     * {@code h} for hours, {@code d} for days, {@code w} for weeks, {@code M} for months and {@code y} for years.
+     * Numbers may have up to 6 fractional digits, and whitespace is allowed between and around the parts,
+     * so {@code 1h30m}, {@code 1.5d} and {@code 2d 12h} are all valid.
+     * <p>
+     * The string is parsed in a single forward pass without allocating.
      *
      * @param time the time string to parse
      * @return the parsed time duration in milliseconds
+     * @throws TimeParseException if the time string is empty, malformed or its duration overflows a {@code long}
+     * @since 1.0.1
+     */
+    public static long parseTime(final @NotNull CharSequence time) {
+        final long result = parse(time);
+        if (result >= 0) return result;
+
+        final long error = -(result + 1);
+        throw new TimeParseException(ParseError.values()[(int) (error & 0x7)].message, time.toString(), (int) (error >>> 3));
+    }
+
+    /**
+     * Parses the given time string and returns the corresponding duration in milliseconds.
+     * <p>
+     * Kept for binary compatibility with plugins compiled against earlier versions, and equivalent to
+     * {@link #parseTime(CharSequence)}. Unlike in 1.0.0, an empty or malformed time string, or one whose duration
+     * overflows a {@code long}, is no longer partially parsed, but throws a {@link TimeParseException}.
+     *
+     * @param time the time string to parse
+     * @return the parsed time duration in milliseconds
+     * @throws TimeParseException if the time string is empty, malformed or its duration overflows a {@code long}
      * @since 1.0.0
      */
     public static long parseTime(final @NotNull String time) {
-        long milliseconds = 0;
-        final char[] timeArray = time.toCharArray();
-
-        for (int i = 0; i < timeArray.length; i++) {
-            switch (timeArray[i]) {
-                case 's' -> milliseconds += parseSpecificTime(timeArray, i, MILLISECONDS_IN_SECOND);
-                case 'm' -> milliseconds += parseSpecificTime(timeArray, i, MILLISECONDS_IN_MINUTE);
-                case 'h' -> milliseconds += parseSpecificTime(timeArray, i, MILLISECONDS_IN_HOUR);
-                case 'd' -> milliseconds += parseSpecificTime(timeArray, i, MILLISECONDS_IN_DAY);
-                case 'w' -> milliseconds += parseSpecificTime(timeArray, i, MILLISECONDS_IN_WEEK);
-                case 'M' -> milliseconds += parseSpecificTime(timeArray, i, MILLISECONDS_IN_MONTH);
-                case 'y' -> milliseconds += parseSpecificTime(timeArray, i, MILLISECONDS_IN_YEAR);
+        return parseTime((CharSequence) time);
+    }
+
+    /**
+     * Parses the given time string and returns the corresponding duration in milliseconds,
+     * or {@code -1} if it cannot be parsed.
+     * <p>
+     * This method accepts the same format as {@link #parseTime(CharSequence)}, but never throws,
+     * which makes it suitable for validating user input.
+     *
+     * @param time the time string to parse
+     * @return the parsed time duration in milliseconds, or {@code -1} if the time string is invalid
+     * @since 1.0.1
+     */
+    public static long tryParseTime(final @NotNull CharSequence time) {
+        return Math.max(-1, parse(time));
+    }
+
+    /**
+     * Parses a time string in a single forward pass.
+     *
+     * @param time the time string to parse
+     * @return the parsed duration in milliseconds, or a negative value encoding the error's index and
+     * {@link ParseError} as {@code -(1 + (index << 3 | error))}
+     */
+    private static long parse(final @NotNull CharSequence time) {
+        final int length = time.length();
+        long total = 0;
+        boolean empty = true;
+        int i = skipWhitespace(time, 0);
+
+        while (i < length) {
+            final int start = i;
+            long whole = 0;
+            long fraction = 0;
+            long scale = 1;
+            boolean digits = false;
+
+            for (char c; i < length && (c = time.charAt(i)) >= '0' && c <= '9'; i++) {
+                if (whole > (Long.MAX_VALUE - (c - '0')) / 10) return error(start, ParseError.OVERFLOW);
+                whole = whole * 10 + (c - '0');
+                digits = true;
+            }
+
+            if (!digits && (i == length || time.charAt(i) != '.')) return error(start, ParseError.EXPECTED_NUMBER);
+            if (i < length && time.charAt(i) == '.') {
+                final int point = ++i;
+                for (char c; i < length && (c = time.charAt(i)) >= '0' && c <= '9'; i++) {
+                    if (scale == MAX_FRACTION_SCALE) return error(i, ParseError.FRACTION_TOO_LONG);
+                    fraction = fraction * 10 + (c - '0');
+                    scale *= 10;
+                }
+                if (i == point) return error(i, ParseError.EXPECTED_NUMBER);
             }
+
+            i = skipWhitespace(time, i);
+            if (i == length) return error(i, ParseError.EXPECTED_UNIT);
+
+            final long unit = unitOf(time.charAt(i));
+            if (unit == 0) return error(i, ParseError.UNKNOWN_UNIT);
+
+            // The fraction is below 10^6 and the largest unit below 2^35, so this cannot overflow.
+            final long value = fraction * unit / scale;
+            if (whole > (Long.MAX_VALUE - value) / unit) return error(start, ParseError.OVERFLOW);
+            final long amount = whole * unit + value;
+            if (total > Long.MAX_VALUE - amount) return error(start, ParseError.OVERFLOW);
+            total += amount;
+            empty = false;
+
+            i = skipWhitespace(time, i + 1);
         }
-        return milliseconds;
+
+        return empty ? error(i, ParseError.EMPTY) : total;
     }
 
     /**
-     * Utility function to parse a specific time unit from the time string.
+     * Returns the amount of milliseconds in a time unit.
      *
-     * @param timeArray the array of characters representing the time string
-     * @param index the current index in the array
-     * @param millisecondsModifier the multiplier to convert the result to milliseconds
-     * @return the parsed specific time unit in milliseconds
-     * @since 1.0.0
+     * @param unit the unit's letter
+     * @return the amount of milliseconds, or {@code 0} if the letter is not a unit
      */
-    private static long parseSpecificTime(final char @NotNull[] timeArray,
-                                          final int index,
-                                          final long millisecondsModifier) {
-        long milliseconds = 0;
-        int j = index - 1;
-        int counter = 1;
-
-        while (j >= 0 && Character.isDigit(timeArray[j])) {
-            milliseconds += counter * Integer.parseInt(String.valueOf(timeArray[j])) * millisecondsModifier;
-            counter = counter * 10;
-            j--;
-        }
+    private static long unitOf(final char unit) {
+        return switch (unit) {
+            case 's' -> MILLISECONDS_IN_SECOND;
+            case 'm' -> MILLISECONDS_IN_MINUTE;
+            case 'h' -> MILLISECONDS_IN_HOUR;
+            case 'd' -> MILLISECONDS_IN_DAY;
+            case 'w' -> MILLISECONDS_IN_WEEK;
+            case 'M' -> MILLISECONDS_IN_MONTH;
+            case 'y' -> MILLISECONDS_IN_YEAR;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Returns the index of the first character that is not whitespace, starting at the given index.
+     *
+     * @param time  the time string
+     * @param index the index to start at
+     * @return the index of the first character that is not whitespace, or the string's length
+     */
+    private static int skipWhitespace(final @NotNull CharSequence time, int index) {
+        while (index < time.length() && Character.isWhitespace(time.charAt(index))) index++;
+        return index;
+    }
 
-        return milliseconds;
+    /**
+     * Encodes a parsing error.
+     *
+     * @param index the index at which parsing failed
+     * @param error the error
+     * @return the encoded error
+     */
+    private static long error(final int index, final @NotNull ParseError error) {
+        return -(1 + ((long) index << 3 | error.ordinal()));
     }
 
     /**
@@ -119,11 +291,33 @@ public class TimeUtils {
      */
     public static @NotNull String formatTime(final long duration,
                                              final @NotNull TimeUnit timeUnit,
-                                             @Nullable TimeFormatter timeFormatter) {
+                                             final @Nullable TimeFormatter timeFormatter) {
+        return formatTime(new StringBuilder(), duration, timeUnit, timeFormatter).toString();
+    }
+
+    /**
+     * Formats the given time duration into a human-readable string representation, appending it to the given builder.
+     * <p>
+     * Formatters that write into the builder directly, such as {@link UnitTimeFormatter}, do not allocate,
+     * which makes this method suitable for formatting many durations into a reused builder.
+     *
+     * @param builder the builder to append to
+     * @param duration the time duration
+     * @param timeUnit the time unit to use for formatting (e.g., seconds, minutes, hours)
+     * @param timeFormatter the formatter used for converting time into string. Will use default if null.
+     * @throws NullPointerException if the provided {@code timeUnit} is null
+     * @return the builder
+     * @since 1.0.1
+     */
+    @Contract("_, _, _, _ -> param1")
+    public static @NotNull StringBuilder formatTime(final @NotNull StringBuilder builder,
+                                                    final long duration,
+                                                    final @NotNull TimeUnit timeUnit,
+                                                    @Nullable TimeFormatter timeFormatter) {
         Preconditions.checkNonNull(timeUnit, "timeUnit cannot be null");
 
         if (timeFormatter == null) timeFormatter = DEFAULT_FORMATTED_TIME;
-        if (duration < 0) return timeFormatter.getForeverString();
+        if (duration < 0) return builder.append(timeFormatter.getForeverString());
         long time = TimeUnit.MILLISECONDS.convert(duration, timeUnit);
 
         final long years = time / MILLISECONDS_IN_YEAR;
@@ -140,7 +334,7 @@ public class TimeUtils {
         time -= MILLISECONDS_IN_MINUTE * minutes;
         final long seconds = time / MILLISECONDS_IN_SECOND;
 
-        return timeFormatter.getFormattedTime(years, months, weeks, days, hours, minutes, seconds);
+        return timeFormatter.formatTo(builder, years, months, weeks, days, hours, minutes, seconds);
     }
 
     /**
@@ -178,4 +372,22 @@ public class TimeUtils {
 
         return sMinutes + ":" + sSeconds;
     }
-}
\ No newline at end of file
+
+    /**
+     * The reasons a time string cannot be parsed.
+     */
+    private enum ParseError {
+        EMPTY("Expected a duration"),
+        EXPECTED_NUMBER("Expected a number"),
+        EXPECTED_UNIT("Expected a unit"),
+        UNKNOWN_UNIT("Unknown unit"),
+        FRACTION_TOO_LONG("Too many fractional digits"),
+        OVERFLOW("Duration is too long");
+
+        @NotNull private final String message;
+
+        ParseError(final @NotNull String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package dev.sadghost.espresso.time;
+
+import dev.sadghost.espresso.base.Preconditions;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code TimingWheel} class is a hierarchical timing wheel, running tasks once their deadline has passed.
+ * <p>
+ * Tasks are kept in {@value #LEVELS} wheels of {@value #SLOTS} slots, where every slot of a wheel covers a whole
+ * rotation of the wheel below it. Scheduling and cancelling a task costs O(1) regardless of the amount of pending
+ * tasks, and a task is moved to a finer wheel at most {@value #LEVELS} times before it runs. Deadlines beyond the
+ * range of the wheels are parked in the coarsest wheel and rescheduled whenever it comes around.
+ * <p>
+ * The wheel does not own a thread. It is driven by calling {@link #advance()} periodically, for example from a
+ * repeating server task, and runs the due tasks on the calling thread. Cancelled tasks are not removed eagerly,
+ * but discarded when their slot is reached.
+ * <p>
+ * Thread Safety: This class is thread-safe. Tasks are run outside the wheel's lock, so they may schedule
+ * or cancel other tasks.
+ *
+ * <h3>Usage Example:</h3>
+ * <pre>{@code
+ * TimingWheel wheel = new TimingWheel(50, TimeUnit.MILLISECONDS);
+ * Bukkit.getScheduler().runTaskTimer(plugin, wheel::advance, 1L, 1L);
+ *
+ * TimingWheel.Timeout timeout = wheel.schedule(30, TimeUnit.SECONDS, () -> player.sendMessage("Time's up!"));
+ * timeout.cancel();
+ * }</pre>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public final class TimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    // The furthest deadline, in ticks from the current tick, that fits the wheels.
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    @NotNull private final Clock clock;
+    private final long tickMillis;
+    @NotNull private final Timeout[][] wheels = new Timeout[LEVELS][SLOTS];
+
+    private long currentTick;
+    private int size;
+
+    /**
+     * Constructs a TimingWheel driven by the system clock.
+     *
+     * @param tickDuration the duration of a tick, the resolution of the deadlines.
+     * @param unit         the unit of the tick duration.
+     * @throws IllegalArgumentException if the tick duration is shorter than a millisecond.
+     * @since 1.0.1
+     */
+    public TimingWheel(final long tickDuration, final @NotNull TimeUnit unit) {
+        this(tickDuration, unit, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs a TimingWheel.
+     *
+     * @param tickDuration the duration of a tick, the resolution of the deadlines.
+     * @param unit         the unit of the tick duration.
+     * @param clock        the clock deadlines are measured with.
+     * @throws IllegalArgumentException if the tick duration is shorter than a millisecond.
+     * @since 1.0.1
+     */
+    public TimingWheel(final long tickDuration, final @NotNull TimeUnit unit, final @NotNull Clock clock) {
+        Preconditions.checkNonNull(unit, "unit cannot be null");
+        this.tickMillis = unit.toMillis(tickDuration);
+        Preconditions.checkArgument(tickMillis > 0, "tickDuration must be at least a millisecond");
+        this.clock = Preconditions.checkNonNull(clock, "clock cannot be null");
+        this.currentTick = clock.millis() / tickMillis;
+    }
+
+    /**
+     * Schedules a task to run once the specified delay has passed.
+     *
+     * @param delay the delay.
+     * @param unit  the unit of the delay.
+     * @param task  the task.
+     * @return the handle of the scheduled task.
+     * @since 1.0.1
+     */
+    public @NotNull Timeout schedule(final long delay, final @NotNull TimeUnit unit, final @NotNull Runnable task) {
+        final long now = clock.millis();
+        final long delayMillis = Math.max(0, unit.toMillis(delay));
+        return scheduleAt(delayMillis > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + delayMillis, task);
+    }
+
+    /**
+     * Schedules a task to run once the clock reaches the specified deadline.
+     * <p>
+     * Deadlines are rounded up to the next tick, and deadlines that have already passed run on the next advance.
+     *
+     * @param deadline the deadline in milliseconds, as measured by the wheel's clock.
+     * @param task     the task.
+     * @return the handle of the scheduled task.
+     * @since 1.0.1
+     */
+    public @NotNull Timeout scheduleAt(final long deadline, final @NotNull Runnable task) {
+        Preconditions.checkNonNull(task, "task cannot be null");
+
+        final long deadlineTick = deadline / tickMillis + (deadline % tickMillis == 0 ? 0 : 1);
+        final Timeout timeout = new Timeout(this, deadline, task);
+        synchronized (this) {
+            timeout.deadlineTick = Math.max(deadlineTick, currentTick + 1);
+            insert(timeout);
+            size++;
+        }
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel to the current time of its clock, running every task whose deadline has passed.
+     * <p>
+     * Every due task is run even if some of them throw, after which the first exception is rethrown
+     * with the others suppressed.
+     *
+     * @return the amount of tasks that were run.
+     * @since 1.0.1
+     */
+    public int advance() {
+        final List<Timeout> due = new ArrayList<>();
+        synchronized (this) {
+            final long targetTick = clock.millis() / tickMillis;
+            if (size == 0) {
+                currentTick = Math.max(currentTick, targetTick);
+            } else {
+                while (currentTick < targetTick && size != 0) tick(due);
+                currentTick = Math.max(currentTick, targetTick);
+            }
+        }
+
+        RuntimeException failure = null;
+        for (final Timeout timeout : due) {
+            try {
+                timeout.task.run();
+            } catch (final RuntimeException exception) {
+                if (failure == null) failure = exception;
+                else failure.addSuppressed(exception);
+            }
+        }
+        if (failure != null) throw failure;
+        return due.size();
+    }
+
+    /**
+     * Returns the amount of pending tasks, including cancelled tasks that were not discarded yet.
+     *
+     * @return the amount of pending tasks.
+     * @since 1.0.1
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the clock deadlines are measured with.
+     *
+     * @return the clock.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public @NotNull Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Returns the duration of a tick in milliseconds.
+     *
+     * @return the tick duration.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    /**
+     * Moves the wheel a single tick forward, cascading the coarser wheels whose slot was completed
+     * and collecting the due tasks of the new tick.
+     *
+     * @param due the list collecting the due tasks.
+     */
+    private void tick(final @NotNull List<Timeout> due) {
+        currentTick++;
+
+        for (int level = 1; level < LEVELS; level++) {
+            final int shift = SLOT_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) break;
+            cascade(level, (int) ((currentTick >>> shift) & SLOT_MASK));
+        }
+
+        final Timeout[] wheel = wheels[0];
+        final int slot = (int) (currentTick & SLOT_MASK);
+        Timeout timeout = wheel[slot];
+        wheel[slot] = null;
+
+        while (timeout != null) {
+            final Timeout next = timeout.next;
+            timeout.next = null;
+            if (timeout.cancelled) {
+                size--;
+            } else if (timeout.deadlineTick <= currentTick) {
+                timeout.expired = true;
+                size--;
+                due.add(timeout);
+            } else {
+                insert(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+    /**
+     * Moves every task of a slot to the wheel matching its remaining delay.
+     *
+     * @param level the level of the wheel.
+     * @param slot  the slot.
+     */
+    private void cascade(final int level, final int slot) {
+        Timeout timeout = wheels[level][slot];
+        wheels[level][slot] = null;
+
+        while (timeout != null) {
+            final Timeout next = timeout.next;
+            timeout.next = null;
+            if (timeout.cancelled) size--;
+            else insert(timeout);
+            timeout = next;
+        }
+    }
+
+    /**
+     * Inserts a task into the wheel matching its remaining delay.
+     *
+     * @param timeout the task.
+     */
+    private void insert(final @NotNull Timeout timeout) {
+        final long delta = timeout.deadlineTick - currentTick;
+        final long tick = delta > MAX_DELTA ? currentTick + MAX_DELTA : timeout.deadlineTick;
+
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) level++;
+
+        final int slot = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        timeout.next = wheels[level][slot];
+        wheels[level][slot] = timeout;
+    }
+
+    /**
+     * A task scheduled on a {@link TimingWheel}.
+     *
+     * @since 1.0.1
+     */
+    public static final class Timeout {
+        @NotNull private final TimingWheel wheel;
+        @NotNull private final Runnable task;
+        private final long deadline;
+
+        // Guarded by the wheel.
+        private long deadlineTick;
+        @Nullable private Timeout next;
+        private boolean expired;
+
+        private volatile boolean cancelled;
+
+        /**
+         * Constructs a Timeout.
+         *
+         * @param wheel    the wheel the task is scheduled on.
+         * @param deadline the deadline in milliseconds.
+         * @param task     the task.
+         */
+        private Timeout(final @NotNull TimingWheel wheel, final long deadline, final @NotNull Runnable task) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        /**
+         * Cancels the task, preventing it from running if it has not run yet.
+         *
+         * @return {@code true} if the task was cancelled, {@code false} if it has already run or was cancelled.
+         * @since 1.0.1
+         */
+        public boolean cancel() {
+            synchronized (wheel) {
+                if (expired || cancelled) return false;
+                cancelled = true;
+                return true;
+            }
+        }
+
+        /**
+         * Returns whether the task was cancelled.
+         *
+         * @return {@code true} if the task was cancelled.
+         * @since 1.0.1
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Returns whether the task's deadline has passed and the task was run or is about to run.
+         *
+         * @return {@code true} if the task has expired.
+         * @since 1.0.1
+         */
+        public boolean isExpired() {
+            synchronized (wheel) {
+                return expired;
+            }
+        }
+
+        /**
+         * Returns the deadline of the task in milliseconds, as measured by the wheel's clock.
+         *
+         * @return the deadline.
+         * @since 1.0.1
+         */
+        @Contract(pure = true)
+        public long getDeadline() {
+            return deadline;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package dev.sadghost.espresso.time;
+
+import dev.sadghost.espresso.base.Preconditions;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A time formatter listing every non-zero unit of a duration, such as {@code 1 year, 2 months},
+ * using configurable and localizable {@link TimeUnitNames}.
+ * <p>
+ * The formatter writes directly into the builder passed to {@link #formatTo}, so durations can be formatted
+ * into a reused builder without allocating.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ *
+ * <h3>Usage Example:</h3>
+ * <pre>{@code
+ * TimeFormatter formatter = new UnitTimeFormatter(TimeUnitNames.ENGLISH);
+ * StringBuilder builder = new StringBuilder();
+ * TimeUtils.formatTime(builder, duration, TimeUnit.MILLISECONDS, formatter);
+ * }</pre>
+ *
+ * @author SadGhost
+ * @since 1.0.1
+ */
+public class UnitTimeFormatter implements TimeFormatter {
+    @NotNull private final TimeUnitNames names;
+
+    /**
+     * Constructs a UnitTimeFormatter using the specified unit names.
+     *
+     * @param names the unit names.
+     * @since 1.0.1
+     */
+    public UnitTimeFormatter(final @NotNull TimeUnitNames names) {
+        this.names = Preconditions.checkNonNull(names, "names cannot be null");
+    }
+
+    /**
+     * Returns the unit names used by the formatter.
+     *
+     * @return the unit names.
+     * @since 1.0.1
+     */
+    @Contract(pure = true)
+    public final @NotNull TimeUnitNames getNames() {
+        return names;
+    }
+
+    @Override
+    public @NotNull String getFormattedTime(final long years, final long months, final long weeks, final long days,
+                                            final long hours, final long minutes, final long seconds) {
+        return formatTo(new StringBuilder(), years, months, weeks, days, hours, minutes, seconds).toString();
+    }
+
+    @Override
+    public @NotNull StringBuilder formatTo(final @NotNull StringBuilder builder,
+                                           final long years, final long months, final long weeks, final long days,
+                                           final long hours, final long minutes, final long seconds) {
+        final int start = builder.length();
+        appendUnit(builder, start, years, DurationUnit.YEAR);
+        appendUnit(builder, start, months, DurationUnit.MONTH);
+        appendUnit(builder, start, weeks, DurationUnit.WEEK);
+        appendUnit(builder, start, days, DurationUnit.DAY);
+        appendUnit(builder, start, hours, DurationUnit.HOUR);
+        appendUnit(builder, start, minutes, DurationUnit.MINUTE);
+        appendUnit(builder, start, seconds, DurationUnit.SECOND);
+        return builder;
+    }
+
+    @Override
+    public @NotNull String getForeverString() {
+        return names.getForever();
+    }
+
+    /**
+     * Appends a unit if its value is positive, preceded by the unit separator unless it is the first unit.
+     *
+     * @param builder the builder to append to.
+     * @param start   the length of the builder before the first unit.
+     * @param value   the value of the unit.
+     * @param unit    the unit.
+     */
+    private void appendUnit(final @NotNull StringBuilder builder, final int start, final long value,
+                            final @NotNull DurationUnit unit) {
+        if (value <= 0) return;
+        if (builder.length() != start) builder.append(names.getSeparator());
+        builder.append(value).append(names.getValueSeparator()).append(names.getName(unit, value));
+    }
+}
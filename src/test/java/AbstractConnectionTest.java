@@ -0,0 +1,88 @@
+import dev.sadghost.espresso.database.AbstractConnection;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AbstractConnectionTest {
+
+    @Test
+    void testAbortedCloseFailsQueuedOperations() throws InterruptedException {
+        // Arrange
+        BlockingConnection connection = new BlockingConnection();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> running = connection.run(() -> {
+            started.countDown();
+            release.await();
+        });
+        CompletableFuture<Void> queued = connection.run(() -> {});
+        started.await();
+
+        // Act
+        Thread.currentThread().interrupt();
+        connection.close();
+        boolean interrupted = Thread.interrupted();
+        release.countDown();
+
+        // Assert
+        assertTrue(interrupted);
+        CompletionException exception = assertThrows(CompletionException.class, queued::join);
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+        assertThrows(CompletionException.class, running::join);
+    }
+
+    private static final class BlockingConnection extends AbstractConnection {
+
+        private BlockingConnection() {
+            super("Test", 1, 16);
+        }
+
+        private CompletableFuture<Void> run(Task task) {
+            return supplyAsync(() -> {
+                task.run();
+                return null;
+            });
+        }
+
+        @Override
+        public CompletableFuture<Document> find(String collection, String id) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<List<Document>> findAll(String collection) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        @Override
+        public CompletableFuture<Void> save(String collection, String id, Document document) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> delete(String collection, String id) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        @Override
+        protected boolean checkHealth() {
+            return true;
+        }
+
+        @Override
+        protected void closeResources() {
+        }
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        void run() throws InterruptedException;
+    }
+}
@@ -0,0 +1,95 @@
+import dev.sadghost.espresso.base.BoundedCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedCacheTest {
+
+    @Test
+    void testGetLoadsOnceAndCountsHits() {
+        // Arrange
+        BoundedCache<String, Integer> cache = new BoundedCache<>(16);
+
+        // Act
+        int first = cache.get("key", String::length);
+        int second = cache.get("key", key -> -1);
+
+        // Assert
+        assertEquals(3, first);
+        assertEquals(3, second);
+        assertEquals(new BoundedCache.Stats(1, 1, 0), cache.stats());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        // Arrange
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(2, 1);
+        cache.put(1, 1);
+        cache.put(2, 2);
+
+        // Act
+        cache.get(1);
+        cache.put(3, 3);
+
+        // Assert
+        assertEquals(1, cache.get(1));
+        assertNull(cache.get(2));
+        assertEquals(3, cache.get(3));
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void testSizeNeverExceedsMaximum() {
+        // Arrange
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(100);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) cache.put(i, i);
+
+        // Assert
+        assertTrue(cache.size() <= 100);
+    }
+
+    @Test
+    void testInvalidateAndClear() {
+        // Arrange
+        BoundedCache<String, String> cache = new BoundedCache<>(16);
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        // Act and Assert
+        assertEquals("1", cache.invalidate("a"));
+        assertNull(cache.get("a"));
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testEvictionListenerReceivesEvictedEntries() {
+        // Arrange
+        List<Integer> evicted = new ArrayList<>();
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(2, 1, (key, value) -> evicted.add(value));
+
+        // Act
+        cache.put(1, 10);
+        cache.put(2, 20);
+        cache.get(3, key -> 30);
+        cache.put(4, 40);
+
+        // Assert
+        assertEquals(List.of(10, 20), evicted);
+        assertEquals(2, cache.stats().evictions());
+    }
+
+    @Test
+    void testInvalidMaximumSize() {
+        // Act and Assert
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<>(0));
+    }
+}
@@ -0,0 +1,114 @@
+import dev.sadghost.espresso.database.BsonSerializableCodec;
+import dev.sadghost.espresso.database.BsonSerializableCodecProvider;
+import dev.sadghost.espresso.database.IBsonSerializable;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BsonSerializableCodecTest {
+
+    @Test
+    void testRoundTrip() {
+        // Arrange
+        Codec<Profile> codec = new BsonSerializableCodec<>(Profile.class, Profile::new);
+        Profile profile = new Profile();
+        profile.name = "Notch";
+        profile.coins = 1_000_000_000_000L;
+        profile.scores.addAll(List.of(3, 1, 4, 1, 5));
+        BsonDocument document = new BsonDocument();
+
+        // Act
+        codec.encode(new BsonDocumentWriter(document), profile, EncoderContext.builder().build());
+        Profile decoded = codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+
+        // Assert
+        assertEquals("Notch", decoded.name);
+        assertEquals(1_000_000_000_000L, decoded.coins);
+        assertEquals(List.of(3, 1, 4, 1, 5), decoded.scores);
+    }
+
+    @Test
+    void testUnreadFieldsAreSkipped() {
+        // Arrange
+        Codec<Profile> codec = new BsonSerializableCodec<>(Profile.class, Profile::new);
+        BsonDocument document = new BsonDocument();
+        BsonDocumentWriter writer = new BsonDocumentWriter(document);
+        writer.writeStartDocument();
+        writer.writeString("_id", "a");
+        writer.writeStartArray("unknown");
+        writer.writeInt32(7);
+        writer.writeEndArray();
+        writer.writeInt64("coins", 5);
+        writer.writeEndDocument();
+
+        // Act
+        Profile decoded = codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+
+        // Assert
+        assertNull(decoded.name);
+        assertEquals(5, decoded.coins);
+        assertTrue(decoded.scores.isEmpty());
+    }
+
+    @Test
+    void testProviderOnlyReturnsRegisteredClasses() {
+        // Arrange
+        BsonSerializableCodecProvider provider = new BsonSerializableCodecProvider();
+
+        // Act
+        provider.register(Profile.class, Profile::new);
+
+        // Assert
+        assertSame(Profile.class, provider.getCodec(Profile.class).getEncoderClass());
+        assertNull(provider.get(String.class, null));
+        assertThrows(IllegalArgumentException.class, () -> provider.getCodec(IBsonSerializable.class));
+    }
+
+    private static final class Profile implements IBsonSerializable {
+        private String name;
+        private long coins;
+        private final List<Integer> scores = new ArrayList<>();
+
+        @Override
+        public void writeFields(BsonWriter writer) {
+            writer.writeString("name", name);
+            writer.writeInt64("coins", coins);
+            writer.writeStartArray("scores");
+            for (int score : scores) writer.writeInt32(score);
+            writer.writeEndArray();
+        }
+
+        @Override
+        public boolean readField(String name, BsonReader reader) {
+            switch (name) {
+                case "name" -> this.name = reader.readString();
+                case "coins" -> coins = reader.readInt64();
+                case "scores" -> {
+                    reader.readStartArray();
+                    while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) scores.add(reader.readInt32());
+                    reader.readEndArray();
+                }
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
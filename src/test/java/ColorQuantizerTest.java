@@ -0,0 +1,46 @@
+import dev.sadghost.espresso.paper.ColorQuantizer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColorQuantizerTest {
+
+    @Test
+    void testQuantizeFindsNearestColor() {
+        // Arrange
+        ColorQuantizer quantizer = ColorQuantizer.of(0x000000, 0xFFFFFF, 0xFF0000, 0x00FF00, 0x0000FF);
+
+        // Act and Assert
+        assertEquals(0, quantizer.quantize(0x101010));
+        assertEquals(1, quantizer.quantize(0xF0F0F0));
+        assertEquals(2, quantizer.quantize(0xEE1111));
+        assertEquals(3, quantizer.quantize(0x22DD22));
+        assertEquals(4, quantizer.quantize(0xFF0000FF));
+    }
+
+    @Test
+    void testBulkQuantize() {
+        // Arrange
+        ColorQuantizer quantizer = ColorQuantizer.of(0x000000, 0xFFFFFF);
+        int[] pixels = {0x000000, 0xFFFFFF, 0x202020, 0xE0E0E0};
+        byte[] out = new byte[pixels.length];
+
+        // Act
+        quantizer.quantize(pixels, out);
+        quantizer.snap(pixels);
+
+        // Assert
+        assertArrayEquals(new byte[]{0, 1, 0, 1}, out);
+        assertArrayEquals(new int[]{0x000000, 0xFFFFFF, 0x000000, 0xFFFFFF}, pixels);
+    }
+
+    @Test
+    void testInvalidPalette() {
+        // Act and Assert
+        assertThrows(IllegalArgumentException.class, ColorQuantizer::of);
+        assertThrows(IllegalArgumentException.class, () -> ColorQuantizer.of(new int[257]));
+        assertThrows(IndexOutOfBoundsException.class, () -> ColorQuantizer.of(0).quantize(new int[2], new byte[1]));
+    }
+}
@@ -0,0 +1,122 @@
+import dev.sadghost.espresso.paper.ColorTemplate;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColorTemplateTest {
+
+    @Test
+    void testNestedTagsRestoreTheOuterStyle() {
+        // Act
+        String nested = describe(ColorTemplate.compile("<red>a<bold>b</bold>c</red>d").render());
+        String closedEarly = describe(ColorTemplate.compile("<red><bold>a</red>b").render());
+
+        // Assert
+        assertEquals("[#ff5555]a[#ff5555 bold]b[#ff5555]c[none]d", nested);
+        assertEquals("[#ff5555 bold]a[none]b", closedEarly);
+    }
+
+    @Test
+    void testUnknownAndUnopenedTagsAreLiteral() {
+        // Act
+        String rendered = describe(ColorTemplate.compile("<unknown>a</bold><gradient:red></gradient><red").render());
+
+        // Assert
+        assertEquals("[none]<unknown>a</bold><gradient:red></gradient><red", rendered);
+    }
+
+    @Test
+    void testEscapedTagsCodesAndPlaceholdersAreLiteral() {
+        // Arrange
+        ColorTemplate template = ColorTemplate.compile("\\<red>a \\&c \\%name% \\\\");
+
+        // Act
+        String rendered = describe(template.render(Map.of("name", "Bob")));
+
+        // Assert
+        assertFalse(template.hasPlaceholders());
+        assertEquals("[none]<red>a &c %name% \\", rendered);
+    }
+
+    @Test
+    void testHexAndNamedColors() {
+        // Act
+        String tags = describe(ColorTemplate.compile("<#FF8800>a</#ff8800><color:GOLD>b<c:#00ff00>c").render());
+        String legacy = describe(ColorTemplate.compile("&#123456a&x&a&b&c&d&e&fb&#zzzzzz").render());
+
+        // Assert
+        assertEquals("[#ff8800]a[#ffaa00]b[#00ff00]c", tags);
+        assertEquals("[#123456]a[#abcdef]b&#zzzzzz", legacy);
+    }
+
+    @Test
+    void testLegacyCodesInsideTemplates() {
+        // Act
+        String rendered = describe(ColorTemplate.compile("<bold>&CRed &lbold&rplain &qliteral").render());
+
+        // Assert
+        assertEquals("[#ff5555]Red [#ff5555 bold]bold[none]plain &qliteral", rendered);
+    }
+
+    @Test
+    void testPlaceholdersAndGradients() {
+        // Arrange
+        ColorTemplate template = ColorTemplate.compile("<gold>%name%</gold> <gradient:#000000:#ffffff>ab</gradient>");
+
+        // Act
+        String rendered = describe(template.render(Map.of("name", "&cBob")));
+        String missing = describe(template.render());
+
+        // Assert
+        assertTrue(template.hasPlaceholders());
+        assertEquals("[#ffaa00]&cBob[none] [#000000]a[#ffffff]b", rendered);
+        assertEquals("[#ffaa00]%name%[none] [#000000]a[#ffffff]b", missing);
+    }
+
+    @Test
+    void testTagsIgnoreTheDefaultLocale() {
+        // Arrange
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+
+        try {
+            // Act
+            String rendered = describe(ColorTemplate.compile("<ITALIC>a</ITALIC><WHITE>b</WHITE>").render());
+
+            // Assert
+            assertEquals("[none italic]a[#ffffff]b", rendered);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    private static String describe(Component component) {
+        StringBuilder builder = new StringBuilder();
+        describe(component, builder);
+        return builder.toString();
+    }
+
+    private static void describe(Component component, StringBuilder builder) {
+        String content = ((TextComponent) component).content();
+        if (!content.isEmpty()) {
+            TextColor color = component.style().color();
+            builder.append('[').append(color == null ? "none" : color.asHexString());
+            for (TextDecoration decoration : TextDecoration.values()) {
+                if (component.style().decoration(decoration) == TextDecoration.State.TRUE) {
+                    builder.append(' ').append(decoration.name().toLowerCase(Locale.ROOT));
+                }
+            }
+            builder.append(']').append(content);
+        }
+        for (Component child : component.children()) describe(child, builder);
+    }
+}
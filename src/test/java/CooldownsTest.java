@@ -0,0 +1,127 @@
+import dev.sadghost.espresso.time.Cooldowns;
+import dev.sadghost.espresso.time.TimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CooldownsTest {
+
+    @Test
+    void testCooldownExpires() {
+        // Arrange
+        MutableClock clock = new MutableClock(1_000);
+        Cooldowns cooldowns = new Cooldowns(clock);
+        UUID uuid = UUID.randomUUID();
+
+        // Act
+        cooldowns.set(uuid, 5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(cooldowns.isOnCooldown(uuid));
+        assertEquals(6_000, cooldowns.getExpiry(uuid));
+        clock.advance(4_999);
+        assertEquals(1, cooldowns.getRemaining(uuid, TimeUnit.MILLISECONDS));
+        clock.advance(1);
+        assertFalse(cooldowns.isOnCooldown(uuid));
+        assertEquals(-1, cooldowns.getExpiry(uuid));
+    }
+
+    @Test
+    void testTrySetOnlySucceedsOffCooldown() {
+        // Arrange
+        MutableClock clock = new MutableClock(0);
+        Cooldowns cooldowns = new Cooldowns(clock);
+        UUID uuid = UUID.randomUUID();
+
+        // Act and Assert
+        assertTrue(cooldowns.trySet(uuid, 10, TimeUnit.SECONDS));
+        assertFalse(cooldowns.trySet(uuid, 10, TimeUnit.SECONDS));
+        clock.advance(10_000);
+        assertTrue(cooldowns.trySet(uuid, 10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testRemoveKeepsOtherCooldowns() {
+        // Arrange
+        Cooldowns cooldowns = new Cooldowns(new MutableClock(0));
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            UUID uuid = new UUID(i % 7, i);
+            uuids.add(uuid);
+            cooldowns.set(uuid, i + 1, TimeUnit.SECONDS);
+        }
+
+        // Act
+        for (int i = 0; i < uuids.size(); i += 2) assertTrue(cooldowns.remove(uuids.get(i)));
+
+        // Assert
+        for (int i = 0; i < uuids.size(); i++) {
+            assertEquals(i % 2 == 1, cooldowns.isOnCooldown(uuids.get(i)));
+        }
+        assertEquals(500, cooldowns.size());
+    }
+
+    @Test
+    void testCleanupRemovesExpiredCooldowns() {
+        // Arrange
+        MutableClock clock = new MutableClock(0);
+        Cooldowns cooldowns = new Cooldowns(clock);
+        for (int i = 0; i < 100; i++) cooldowns.set(UUID.randomUUID(), i < 60 ? 1 : 10, TimeUnit.SECONDS);
+
+        // Act
+        clock.advance(5_000);
+        int removed = cooldowns.cleanup();
+
+        // Assert
+        assertEquals(60, removed);
+        assertEquals(40, cooldowns.size());
+    }
+
+    @Test
+    void testFormatRemainingRoundsUp() {
+        // Arrange
+        Cooldowns cooldowns = new Cooldowns(new MutableClock(0));
+        UUID uuid = UUID.randomUUID();
+
+        // Act
+        cooldowns.set(uuid, 90_500, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertEquals("1 minute, 31 seconds", cooldowns.formatRemaining(uuid));
+    }
+
+    @Test
+    void testExpiryListenerIgnoresReplacedAndRemovedCooldowns() {
+        // Arrange
+        MutableClock clock = new MutableClock(0);
+        TimingWheel wheel = new TimingWheel(50, TimeUnit.MILLISECONDS, clock);
+        List<UUID> expired = new ArrayList<>();
+        Cooldowns cooldowns = new Cooldowns(wheel, expired::add);
+        UUID first = new UUID(0, 1);
+        UUID replaced = new UUID(0, 2);
+        UUID removed = new UUID(0, 3);
+
+        // Act
+        cooldowns.set(first, 1, TimeUnit.SECONDS);
+        cooldowns.set(replaced, 1, TimeUnit.SECONDS);
+        cooldowns.set(removed, 1, TimeUnit.SECONDS);
+        cooldowns.set(replaced, 3, TimeUnit.SECONDS);
+        cooldowns.remove(removed);
+        clock.advance(1_000);
+        wheel.advance();
+
+        // Assert
+        assertEquals(List.of(first), expired);
+        clock.advance(2_000);
+        wheel.advance();
+        assertEquals(List.of(first, replaced), expired);
+        assertEquals(0, cooldowns.size());
+    }
+}
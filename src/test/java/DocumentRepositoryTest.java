@@ -0,0 +1,187 @@
+import dev.sadghost.espresso.database.DocumentRepository;
+import dev.sadghost.espresso.database.IConnection;
+import dev.sadghost.espresso.database.IDocumentSerializable;
+import dev.sadghost.espresso.database.InMemoryConnection;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DocumentRepositoryTest {
+
+    @Test
+    void testRepeatedSavesAreCoalesced() {
+        // Arrange
+        CountingConnection connection = new CountingConnection();
+        DocumentRepository<PlayerData> repository = repository(connection, 1000);
+        PlayerData data = new PlayerData("a", 0);
+
+        // Act
+        for (int i = 1; i <= 100; i++) {
+            data.coins = i;
+            repository.save(data);
+        }
+        repository.flush().join();
+
+        // Assert
+        assertEquals(1, connection.batches.get());
+        assertEquals(100, connection.find("players", "a").join().getInteger("coins"));
+        connection.close();
+    }
+
+    @Test
+    void testFullBatchTriggersFlush() {
+        // Arrange
+        CountingConnection connection = new CountingConnection();
+        DocumentRepository<PlayerData> repository = repository(connection, 100);
+
+        // Act
+        for (int i = 0; i < 5_000; i++) repository.save(new PlayerData(String.valueOf(i), i));
+        repository.close();
+
+        // Assert
+        assertEquals(5_000, connection.count("players"));
+        assertEquals(0, repository.getPendingCount());
+        assertTrue(connection.batches.get() >= 2 && connection.batches.get() <= 51);
+        connection.close();
+    }
+
+    @Test
+    void testFindSeesQueuedSavesAndDeletes() {
+        // Arrange
+        CountingConnection connection = new CountingConnection();
+        DocumentRepository<PlayerData> repository = repository(connection, 1000);
+        repository.saveNow(new PlayerData("a", 5)).join();
+
+        // Act
+        repository.save(new PlayerData("a", 7));
+        PlayerData queued = repository.find("a").join();
+        repository.delete("a");
+        PlayerData deleted = repository.find("a").join();
+        repository.flush().join();
+
+        // Assert
+        assertEquals(7, queued.coins);
+        assertNull(deleted);
+        assertNull(repository.find("a").join());
+        assertEquals(0, connection.count("players"));
+        connection.close();
+    }
+
+    @Test
+    void testFailedFlushIsRetried() {
+        // Arrange
+        CountingConnection connection = new CountingConnection();
+        DocumentRepository<PlayerData> repository = repository(connection, 1000);
+        repository.save(new PlayerData("a", 1));
+        repository.save(new PlayerData("b", 2));
+
+        // Act
+        connection.setAvailable(false);
+        CompletableFuture<Void> failed = repository.flush();
+
+        // Assert
+        assertThrows(CompletionException.class, failed::join);
+        assertEquals(2, repository.getPendingCount());
+        assertEquals(1, repository.find("a").join().coins);
+        connection.setAvailable(true);
+        repository.flush().join();
+        assertEquals(0, repository.getPendingCount());
+        assertEquals(2, connection.count("players"));
+        connection.close();
+    }
+
+    private static DocumentRepository<PlayerData> repository(CountingConnection connection, int batchSize) {
+        return DocumentRepository.builder(connection, "players", PlayerData::new, data -> data.id)
+                .setFlushInterval(Duration.ZERO)
+                .setBatchSize(batchSize)
+                .build();
+    }
+
+    private static final class PlayerData implements IDocumentSerializable<Document> {
+        private String id;
+        private int coins;
+
+        PlayerData() {}
+
+        PlayerData(String id, int coins) {
+            this.id = id;
+            this.coins = coins;
+        }
+
+        @Override
+        public void deserialize(Document document) {
+            id = document.getString("_id");
+            coins = document.getInteger("coins");
+        }
+
+        @Override
+        public Document serialize() {
+            return new Document("coins", coins);
+        }
+    }
+
+    private static final class CountingConnection implements IConnection {
+        private final InMemoryConnection delegate = new InMemoryConnection();
+        private final AtomicInteger batches = new AtomicInteger();
+
+        @Override
+        public CompletableFuture<Document> find(String collection, String id) {
+            return delegate.find(collection, id);
+        }
+
+        @Override
+        public CompletableFuture<List<Document>> findAll(String collection) {
+            return delegate.findAll(collection);
+        }
+
+        @Override
+        public CompletableFuture<Void> save(String collection, String id, Document document) {
+            return delegate.save(collection, id, document);
+        }
+
+        @Override
+        public CompletableFuture<Void> saveAll(String collection, Map<String, Document> documents) {
+            batches.incrementAndGet();
+            return delegate.saveAll(collection, documents);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> delete(String collection, String id) {
+            return delegate.delete(collection, id);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> ping() {
+            return delegate.ping();
+        }
+
+        @Override
+        public boolean isHealthy() {
+            return delegate.isHealthy();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+
+        int count(String collection) {
+            return delegate.count(collection);
+        }
+
+        void setAvailable(boolean available) {
+            delegate.setAvailable(available);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+import dev.sadghost.espresso.database.DocumentRepository;
+import dev.sadghost.espresso.database.EntityCache;
+import dev.sadghost.espresso.database.IDocumentSerializable;
+import dev.sadghost.espresso.database.InMemoryConnection;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class EntityCacheTest {
+
+    @Test
+    void testConcurrentGetsShareOneLoad() {
+        // Arrange
+        InMemoryConnection connection = new InMemoryConnection();
+        connection.save("profiles", "a", new Document("level", 3)).join();
+        EntityCache<Profile> cache = EntityCache.builder(repository(connection)).build();
+
+        // Act
+        CompletableFuture<Profile> first = cache.get("a");
+        CompletableFuture<Profile> second = cache.get("a");
+        Profile loaded = first.join();
+
+        // Assert
+        assertSame(loaded, second.join());
+        assertSame(loaded, cache.get("a").join());
+        assertEquals(3, loaded.level);
+        assertEquals(1, cache.stats().loadSuccesses());
+        connection.close();
+    }
+
+    @Test
+    void testEntitiesExpireAfterWrite() {
+        // Arrange
+        MutableClock clock = new MutableClock(0);
+        InMemoryConnection connection = new InMemoryConnection();
+        EntityCache<Profile> cache = EntityCache.builder(repository(connection))
+                .setExpireAfterWrite(Duration.ofSeconds(10))
+                .setClock(clock)
+                .build();
+        List<EntityCache.RemovalCause> causes = new ArrayList<>();
+        cache.onRemoval((id, profile, cause) -> causes.add(cause));
+
+        // Act
+        cache.put(new Profile("a", 1));
+        Profile beforeExpiry = cache.getIfPresent("a");
+        clock.advance(10_000);
+        Profile afterExpiry = cache.getIfPresent("a");
+
+        // Assert
+        assertEquals(1, beforeExpiry.level);
+        assertNull(afterExpiry);
+        assertEquals(List.of(EntityCache.RemovalCause.EXPIRED), causes);
+        assertEquals(1, cache.get("a").join().level);
+        connection.close();
+    }
+
+    @Test
+    void testSizeEvictionNotifiesListeners() {
+        // Arrange
+        InMemoryConnection connection = new InMemoryConnection();
+        EntityCache<Profile> cache = EntityCache.builder(repository(connection)).setMaximumSize(1).build();
+        List<String> evicted = new ArrayList<>();
+        cache.onRemoval((id, profile, cause) -> evicted.add(id + ":" + cause));
+
+        // Act
+        cache.put(new Profile("a", 1));
+        cache.put(new Profile("b", 2));
+        cache.invalidate("b");
+
+        // Assert
+        assertEquals(List.of("a:SIZE", "b:EXPLICIT"), evicted);
+        assertEquals(0, cache.size());
+        connection.close();
+    }
+
+    @Test
+    void testInvalidateAllNotifiesListeners() {
+        // Arrange
+        InMemoryConnection connection = new InMemoryConnection();
+        EntityCache<Profile> cache = EntityCache.builder(repository(connection)).build();
+        List<String> removed = new ArrayList<>();
+        cache.onRemoval((id, profile, cause) -> removed.add(id + ":" + cause));
+        cache.put(new Profile("a", 1));
+        cache.put(new Profile("b", 2));
+
+        // Act
+        cache.invalidateAll();
+
+        // Assert
+        removed.sort(null);
+        assertEquals(List.of("a:EXPLICIT", "b:EXPLICIT"), removed);
+        assertEquals(0, cache.size());
+        connection.close();
+    }
+
+    @Test
+    void testWriteThroughSavesBeforeCompleting() {
+        // Arrange
+        InMemoryConnection connection = new InMemoryConnection();
+        DocumentRepository<Profile> repository = repository(connection);
+        EntityCache<Profile> cache = EntityCache.builder(repository)
+                .setWriteMode(EntityCache.WriteMode.WRITE_THROUGH)
+                .build();
+
+        // Act
+        cache.put(new Profile("a", 4)).join();
+
+        // Assert
+        assertEquals(4, connection.find("profiles", "a").join().getInteger("level"));
+        assertEquals(0, repository.getPendingCount());
+        connection.close();
+    }
+
+    @Test
+    void testStatsCountHitsAndMisses() {
+        // Arrange
+        InMemoryConnection connection = new InMemoryConnection();
+        EntityCache<Profile> cache = EntityCache.builder(repository(connection)).build();
+        cache.put(new Profile("a", 1));
+
+        // Act
+        cache.getIfPresent("a");
+        cache.getIfPresent("a");
+        cache.getIfPresent("b");
+
+        // Assert
+        EntityCache.Stats stats = cache.stats();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(2.0 / 3, stats.hitRate(), 1e-9);
+        connection.close();
+    }
+
+    private static DocumentRepository<Profile> repository(InMemoryConnection connection) {
+        return DocumentRepository.builder(connection, "profiles", Profile::new, profile -> profile.id)
+                .setFlushInterval(Duration.ZERO)
+                .build();
+    }
+
+    private static final class Profile implements IDocumentSerializable<Document> {
+        private String id;
+        private int level;
+
+        Profile() {}
+
+        Profile(String id, int level) {
+            this.id = id;
+            this.level = level;
+        }
+
+        @Override
+        public void deserialize(Document document) {
+            id = document.getString("_id");
+            level = document.getInteger("level");
+        }
+
+        @Override
+        public Document serialize() {
+            return new Document("level", level);
+        }
+    }
+}
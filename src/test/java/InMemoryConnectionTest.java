@@ -0,0 +1,148 @@
+import dev.sadghost.espresso.database.InMemoryConnection;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryConnectionTest {
+
+    @Test
+    void testSaveFindAndDelete() {
+        // Arrange
+        InMemoryConnection connection = new InMemoryConnection();
+
+        // Act
+        connection.save("players", "a", new Document("coins", 100)).join();
+        Document found = connection.find("players", "a").join();
+        boolean deleted = connection.delete("players", "a").join();
+
+        // Assert
+        assertEquals(100, found.getInteger("coins"));
+        assertEquals("a", found.getString("_id"));
+        assertTrue(deleted);
+        assertNull(connection.find("players", "a").join());
+        assertFalse(connection.delete("players", "a").join());
+        connection.close();
+    }
+
+    @Test
+    void testDeleteAllRemovesOnlyGivenIds() {
+        // Arrange
+        InMemoryConnection connection = new InMemoryConnection();
+        connection.save("players", "a", new Document("coins", 1)).join();
+        connection.save("players", "b", new Document("coins", 2)).join();
+        connection.save("players", "c", new Document("coins", 3)).join();
+
+        // Act
+        connection.deleteAll("players", List.of("a", "c", "missing")).join();
+
+        // Assert
+        assertNull(connection.find("players", "a").join());
+        assertNull(connection.find("players", "c").join());
+        assertEquals(2, connection.find("players", "b").join().getInteger("coins"));
+    }
+
+    @Test
+    void testStoredDocumentsAreCopies() {
+        // Arrange
+        InMemoryConnection connection = new InMemoryConnection();
+        Document document = new Document("coins", 100);
+        connection.save("players", "a", document).join();
+
+        // Act
+        document.put("coins", 5);
+        connection.find("players", "a").join().put("coins", 7);
+
+        // Assert
+        assertEquals(100, connection.find("players", "a").join().getInteger("coins"));
+        assertFalse(document.containsKey("_id"));
+        connection.close();
+    }
+
+    @Test
+    void testConcurrentSavesAreAllStored() {
+        // Arrange
+        InMemoryConnection connection = new InMemoryConnection(4, 4096);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 2_000; i++) {
+            futures.add(connection.save("players", String.valueOf(i), new Document("index", i)));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        // Assert
+        assertEquals(2_000, connection.count("players"));
+        assertEquals(2_000, connection.findAll("players").join().size());
+        connection.close();
+    }
+
+    @Test
+    void testHealthCheckFollowsAvailability() {
+        // Arrange
+        InMemoryConnection connection = new InMemoryConnection();
+
+        // Act and Assert
+        assertTrue(connection.ping().join());
+        connection.setAvailable(false);
+        assertFalse(connection.ping().join());
+        assertFalse(connection.isHealthy());
+        assertThrows(CompletionException.class, () -> connection.find("players", "a").join());
+        connection.setAvailable(true);
+        assertTrue(connection.ping().join());
+        connection.close();
+        assertFalse(connection.isHealthy());
+    }
+
+    @Test
+    void testFullQueueRejectsOperations() {
+        // Arrange
+        InMemoryConnection connection = new InMemoryConnection(1, 1);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            futures.add(connection.save("players", String.valueOf(i), new Document("index", i)));
+        }
+
+        // Assert
+        int rejected = 0;
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException exception) {
+                assertTrue(exception.getCause() instanceof RejectedExecutionException);
+                rejected++;
+            }
+        }
+        assertTrue(rejected > 0);
+        assertEquals(10_000 - rejected, connection.count("players"));
+        connection.close();
+    }
+
+    @Test
+    void testClosedConnectionFailsOperations() {
+        // Arrange
+        InMemoryConnection connection = new InMemoryConnection();
+
+        // Act
+        connection.close();
+
+        // Assert
+        assertTrue(connection.isClosed());
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> connection.find("players", "a").join());
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+        assertFalse(connection.ping().join());
+    }
+}
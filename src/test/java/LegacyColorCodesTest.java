@@ -0,0 +1,53 @@
+import dev.sadghost.espresso.paper.LegacyColorCodes;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class LegacyColorCodesTest {
+
+    @Test
+    void testStripRemovesCodes() {
+        // Act and Assert
+        assertEquals("Hello world", LegacyColorCodes.strip('&', "&cHello &L&oworld"));
+        assertEquals("Hex", LegacyColorCodes.strip('&', "&x&f&f&0&0&a&aHex"));
+        assertEquals("Tom & Jerry&", LegacyColorCodes.strip('&', "Tom & Jerry&"));
+    }
+
+    @Test
+    void testStripReturnsSameInstanceWithoutCodes() {
+        // Arrange
+        String text = "Tom & Jerry";
+
+        // Act and Assert
+        assertSame(text, LegacyColorCodes.strip('&', text));
+        assertSame(text, LegacyColorCodes.translate('&', LegacyColorCodes.SECTION_CHAR, text));
+    }
+
+    @Test
+    void testTranslateLowercasesCodes() {
+        // Act and Assert
+        assertEquals("§cRed §lbold & plain", LegacyColorCodes.translate('&', LegacyColorCodes.SECTION_CHAR, "&CRed &lbold & plain"));
+    }
+
+    @Test
+    void testWritesIntoBuilder() {
+        // Arrange
+        StringBuilder builder = new StringBuilder("> ");
+
+        // Act
+        LegacyColorCodes.strip('&', "&aok", builder);
+
+        // Assert
+        assertEquals("> ok", builder.toString());
+    }
+
+    @Test
+    void testFindInvalidCode() {
+        // Act and Assert
+        assertEquals(-1, LegacyColorCodes.findInvalidCode('&', "&cHello &x&1&2&3&4&5&6world"));
+        assertEquals(8, LegacyColorCodes.findInvalidCode('&', "&cHello &qworld"));
+        assertEquals(2, LegacyColorCodes.findInvalidCode('&', "&c&x&1&2&3"));
+        assertEquals(5, LegacyColorCodes.findInvalidCode('&', "Hello&"));
+    }
+}
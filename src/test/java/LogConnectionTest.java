@@ -0,0 +1,190 @@
+import dev.sadghost.espresso.database.LogConnection;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogConnectionTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testDocumentsSurviveReopening() {
+        // Arrange
+        LogConnection connection = build();
+        connection.save("players", "a", new Document("coins", 100)).join();
+        connection.save("players", "a", new Document("coins", 200)).join();
+        connection.save("players", "b", new Document("coins", 300)).join();
+        boolean deleted = connection.delete("players", "b").join();
+        connection.close();
+
+        // Act
+        LogConnection reopened = build();
+        Document found = reopened.find("players", "a").join();
+
+        // Assert
+        assertTrue(deleted);
+        assertEquals(200, found.getInteger("coins"));
+        assertEquals("a", found.getString("_id"));
+        assertNull(reopened.find("players", "b").join());
+        assertFalse(reopened.delete("players", "b").join());
+        reopened.close();
+    }
+
+    @Test
+    void testSaveAllAndFindAll() {
+        // Arrange
+        LogConnection connection = build();
+        Map<String, Document> documents = new HashMap<>();
+        for (int i = 0; i < 500; i++) documents.put("id" + i, new Document("value", i));
+
+        // Act
+        connection.saveAll("players", documents).join();
+        List<Document> found = connection.findAll("players").join();
+
+        // Assert
+        assertEquals(500, found.size());
+        assertEquals(42, connection.find("players", "id42").join().getInteger("value"));
+        connection.close();
+    }
+
+    @Test
+    void testValuesWrittenAfterReadsAndLargeValuesAreReadable() {
+        // Arrange
+        LogConnection connection = build();
+        String large = "x".repeat(200_000);
+        connection.save("players", "a", new Document("coins", 100)).join();
+        connection.find("players", "a").join();
+
+        // Act
+        connection.save("players", "b", new Document("coins", 200)).join();
+        Document late = connection.find("players", "b").join();
+        for (int i = 0; i < 8; i++) connection.save("players", "large" + i, new Document("text", large)).join();
+        Document remapped = connection.find("players", "large7").join();
+        connection.close();
+        LogConnection reopened = build();
+        Document replayed = reopened.find("players", "large3").join();
+
+        // Assert
+        assertEquals(200, late.getInteger("coins"));
+        assertEquals(large, remapped.getString("text"));
+        assertEquals(large, replayed.getString("text"));
+        assertEquals(100, reopened.find("players", "a").join().getInteger("coins"));
+        reopened.close();
+    }
+
+    @Test
+    void testTornWriteIsDiscardedOnRecovery() throws IOException {
+        // Arrange
+        LogConnection connection = build();
+        connection.save("players", "a", new Document("coins", 100)).join();
+        connection.save("players", "b", new Document("coins", 200)).join();
+        connection.close();
+        Path file = logFiles().get(0);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        // Act
+        LogConnection recovered = build();
+        Document first = recovered.find("players", "a").join();
+        Document second = recovered.find("players", "b").join();
+        recovered.save("players", "c", new Document("coins", 300)).join();
+        recovered.close();
+        LogConnection reopened = build();
+
+        // Assert
+        assertEquals(100, first.getInteger("coins"));
+        assertNull(second);
+        assertEquals(300, reopened.find("players", "c").join().getInteger("coins"));
+        assertEquals(2, reopened.findAll("players").join().size());
+        reopened.close();
+    }
+
+    @Test
+    void testCompactionDropsSupersededDocuments() throws IOException {
+        // Arrange
+        LogConnection connection = build();
+        for (int i = 0; i < 100; i++) connection.save("players", "a", new Document("coins", i)).join();
+        connection.save("players", "b", new Document("coins", 5)).join();
+        connection.delete("players", "b").join();
+        long sizeBefore = Files.size(logFiles().get(0));
+
+        // Act
+        connection.compact().join();
+        connection.save("players", "c", new Document("coins", 7)).join();
+
+        // Assert
+        List<Path> files = logFiles();
+        assertEquals(1, files.size());
+        assertTrue(Files.size(files.get(0)) < sizeBefore / 10);
+        assertEquals(99, connection.find("players", "a").join().getInteger("coins"));
+        assertNull(connection.find("players", "b").join());
+        connection.close();
+        LogConnection reopened = build();
+        assertEquals(99, reopened.find("players", "a").join().getInteger("coins"));
+        assertEquals(7, reopened.find("players", "c").join().getInteger("coins"));
+        reopened.close();
+    }
+
+    @Test
+    void testStrayFilesSharingTheNameAreLeftAlone() throws IOException {
+        // Arrange
+        List<Path> strays = List.of(directory.resolve("players.log"), directory.resolve("players.1.log"),
+                directory.resolve("players.notes.dlog"), directory.resolve("players.2.dlog.bak"));
+        for (Path stray : strays) Files.writeString(stray, "not a log");
+        LogConnection connection = build();
+
+        // Act
+        connection.save("players", "a", new Document("coins", 100)).join();
+        connection.close();
+        LogConnection reopened = build();
+        Document found = reopened.find("players", "a").join();
+        reopened.close();
+
+        // Assert
+        assertEquals(100, found.getInteger("coins"));
+        for (Path stray : strays) assertEquals("not a log", Files.readString(stray));
+        assertTrue(Files.exists(directory.resolve("players.0.dlog")));
+    }
+
+    @Test
+    void testInvalidCollectionNamesAreRejected() {
+        // Arrange
+        LogConnection connection = build();
+
+        // Act and Assert
+        assertThrows(IllegalArgumentException.class, () -> connection.find("../players", "a"));
+        assertThrows(IllegalArgumentException.class, () -> connection.save("players.1", "a", new Document()));
+        connection.close();
+    }
+
+    private LogConnection build() {
+        return LogConnection.builder(directory)
+                .setCompactionInterval(Duration.ZERO)
+                .build();
+    }
+
+    private List<Path> logFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".dlog")).toList();
+        }
+    }
+}
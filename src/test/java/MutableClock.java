@@ -0,0 +1,39 @@
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * A clock that only moves when it is told to, for testing time-based classes.
+ */
+class MutableClock extends Clock {
+    private long millis;
+
+    MutableClock(long millis) {
+        this.millis = millis;
+    }
+
+    void advance(long millis) {
+        this.millis += millis;
+    }
+
+    @Override
+    public long millis() {
+        return millis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+}
@@ -0,0 +1,157 @@
+import dev.sadghost.espresso.spigot.direction.SpatialGrid;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpatialGridTest {
+
+    @Test
+    void testInsertMoveAndRemove() {
+        // Arrange
+        SpatialGrid<String> grid = new SpatialGrid<>(16);
+
+        // Act and Assert
+        assertTrue(grid.insert("a", 0, 64, 0));
+        assertFalse(grid.insert("a", 5, 64, 5));
+        assertTrue(grid.move("a", 100, 64, -100));
+        assertEquals(100, grid.getEntry("a").getX());
+        assertEquals(List.of("a"), grid.getWithin(100, 64, -100, 1));
+        assertEquals(List.of(), grid.getWithin(0, 64, 0, 10));
+        assertTrue(grid.remove("a"));
+        assertFalse(grid.move("a", 0, 0, 0));
+        assertEquals(0, grid.size());
+    }
+
+    @Test
+    void testRadiusQueryMatchesBruteForce() {
+        // Arrange
+        Random random = new Random(42);
+        SpatialGrid<Integer> grid = new SpatialGrid<>(8);
+        Map<Integer, double[]> positions = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            double[] position = {random.nextDouble() * 400 - 200, random.nextDouble() * 64, random.nextDouble() * 400 - 200};
+            positions.put(i, position);
+            grid.insert(i, position[0], position[1], position[2]);
+        }
+        for (int i = 0; i < 1_000; i++) {
+            double[] position = {random.nextDouble() * 400 - 200, random.nextDouble() * 64, random.nextDouble() * 400 - 200};
+            positions.put(i, position);
+            grid.move(i, position[0], position[1], position[2]);
+        }
+
+        // Act
+        List<Integer> within = grid.getWithin(10, 32, -20, 50);
+
+        // Assert
+        List<Integer> expected = positions.entrySet().stream()
+                .filter(entry -> distanceSquared(entry.getValue(), 10, 32, -20) <= 50 * 50)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .collect(Collectors.toList());
+        within.sort(Comparator.naturalOrder());
+        assertEquals(expected, within);
+    }
+
+    @Test
+    void testNearestMatchesBruteForce() {
+        // Arrange
+        Random random = new Random(7);
+        SpatialGrid<Integer> grid = new SpatialGrid<>(16);
+        List<double[]> positions = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            double[] position = {random.nextGaussian() * 300, random.nextDouble() * 128, random.nextGaussian() * 300};
+            positions.add(position);
+            grid.insert(i, position[0], position[1], position[2]);
+        }
+
+        for (int query = 0; query < 50; query++) {
+            double x = random.nextGaussian() * 500;
+            double y = random.nextDouble() * 128;
+            double z = random.nextGaussian() * 500;
+
+            // Act
+            List<Integer> nearest = grid.findNearest(x, y, z, 5, Double.POSITIVE_INFINITY, element -> element % 3 != 0)
+                    .stream()
+                    .map(SpatialGrid.Entry::getElement)
+                    .collect(Collectors.toList());
+
+            // Assert
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < positions.size(); i++) if (i % 3 != 0) expected.add(i);
+            expected.sort(Comparator.comparingDouble(i -> distanceSquared(positions.get(i), x, y, z)));
+            assertEquals(expected.subList(0, 5), nearest);
+        }
+    }
+
+    @Test
+    void testNearestRespectsMaximumRadius() {
+        // Arrange
+        SpatialGrid<String> grid = new SpatialGrid<>(4);
+        grid.insert("far", 100, 0, 0);
+
+        // Act and Assert
+        assertNull(grid.findNearest(0, 0, 0, 50, element -> true));
+        assertEquals("far", grid.findNearest(0, 0, 0, 150, element -> true).getElement());
+    }
+
+    @Test
+    void testNearestInSparseFarApartLayout() {
+        // Arrange
+        SpatialGrid<String> grid = new SpatialGrid<>(4);
+        grid.insert("self", 0, 64, 0);
+        grid.insert("gone", 200_000, 64, 0);
+        grid.remove("gone");
+        grid.insert("ally", 1, 64, 1);
+        grid.insert("enemy", -1_000_000, 64, 1_000_000);
+        grid.insert("other", 1_000_000, 64, -1_000_000);
+        grid.remove("other");
+
+        // Act and Assert
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            assertEquals("enemy", grid.findNearest(0, 64, 0, Double.POSITIVE_INFINITY,
+                    element -> element.equals("enemy")).getElement());
+            assertNull(grid.findNearest(0, 64, 0, Double.POSITIVE_INFINITY, element -> element.equals("none")));
+            grid.remove("enemy");
+            grid.remove("ally");
+            assertNull(grid.findNearest(0, 64, 0, Double.POSITIVE_INFINITY, element -> !element.equals("self")));
+        });
+    }
+
+    @Test
+    void testWithinLargeRadiusInSparseLayout() {
+        // Arrange
+        SpatialGrid<String> grid = new SpatialGrid<>(4);
+        grid.insert("self", 0, 64, 0);
+        grid.insert("near", 3, 64, 4);
+        grid.insert("far", -1_000_000, 64, 1_000_000);
+        grid.insert("outside", 2_000_000, 64, 0);
+
+        // Act and Assert
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            List<String> within = grid.getWithin(0, 64, 0, 1_500_000);
+            within.sort(null);
+            assertEquals(List.of("far", "near", "self"), within);
+            assertEquals(List.of("near"), grid.getWithin(3, 64, 4, 1));
+        });
+    }
+
+    private static double distanceSquared(double[] position, double x, double y, double z) {
+        double dx = position[0] - x;
+        double dy = position[1] - y;
+        double dz = position[2] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
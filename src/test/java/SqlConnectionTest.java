@@ -0,0 +1,102 @@
+import dev.sadghost.espresso.database.SqlConnection;
+import dev.sadghost.espresso.database.SqlDialect;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlConnectionTest {
+
+    @Test
+    void testSaveFindAndDelete() {
+        // Arrange
+        SqlConnection connection = SqlConnection.builder("jdbc:h2:mem:save;DB_CLOSE_DELAY=-1").build();
+
+        // Act
+        connection.save("players", "a", new Document("coins", 100)).join();
+        connection.save("players", "a", new Document("coins", 200)).join();
+        Document found = connection.find("players", "a").join();
+        boolean deleted = connection.delete("players", "a").join();
+
+        // Assert
+        assertEquals(200, found.getInteger("coins"));
+        assertEquals("a", found.getString("_id"));
+        assertTrue(deleted);
+        assertNull(connection.find("players", "a").join());
+        assertFalse(connection.delete("players", "a").join());
+        connection.close();
+    }
+
+    @Test
+    void testSaveAllIsBatched() {
+        // Arrange
+        SqlConnection connection = SqlConnection.builder("jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1")
+                .setPoolSize(2)
+                .build();
+        Map<String, Document> documents = new HashMap<>();
+        for (int i = 0; i < 1234; i++) documents.put("id" + i, new Document("value", i));
+
+        // Act
+        connection.saveAll("players", documents).join();
+        List<Document> found = connection.findAll("players").join();
+
+        // Assert
+        assertEquals(1234, found.size());
+        assertEquals(42, connection.find("players", "id42").join().getInteger("value"));
+        connection.close();
+    }
+
+    @Test
+    void testHealthAndDialect() {
+        // Arrange
+        SqlConnection connection = SqlConnection.builder("jdbc:h2:mem:health;DB_CLOSE_DELAY=-1").build();
+
+        // Act
+        boolean healthy = connection.ping().join();
+
+        // Assert
+        assertTrue(healthy);
+        assertTrue(connection.isHealthy());
+        assertSame(SqlDialect.H2, connection.getDialect());
+        assertSame(SqlDialect.MYSQL, SqlDialect.fromUrl("jdbc:mariadb://localhost/espresso"));
+        assertThrows(IllegalArgumentException.class, () -> SqlDialect.fromUrl("jdbc:oracle:thin:@localhost"));
+        connection.close();
+    }
+
+    @Test
+    void testReservedWordsAreValidCollectionNames() {
+        // Arrange
+        SqlConnection connection = SqlConnection.builder("jdbc:h2:mem:reserved;DB_CLOSE_DELAY=-1").build();
+
+        // Act
+        connection.save("user", "a", new Document("coins", 100)).join();
+        connection.save("order", "b", new Document("coins", 200)).join();
+
+        // Assert
+        assertEquals(100, connection.find("user", "a").join().getInteger("coins"));
+        assertEquals(200, connection.find("order", "b").join().getInteger("coins"));
+        assertEquals("SELECT data FROM \"user\"", SqlDialect.H2.selectAll("user"));
+        assertEquals("SELECT data FROM `user`", SqlDialect.MYSQL.selectAll("user"));
+        connection.close();
+    }
+
+    @Test
+    void testInvalidCollectionNamesAreRejected() {
+        // Arrange
+        SqlConnection connection = SqlConnection.builder("jdbc:h2:mem:names;DB_CLOSE_DELAY=-1").build();
+
+        // Act and Assert
+        assertThrows(IllegalArgumentException.class, () -> connection.find("players; DROP TABLE x", "a"));
+        assertThrows(IllegalArgumentException.class, () -> connection.save("1players", "a", new Document()));
+        connection.close();
+    }
+}
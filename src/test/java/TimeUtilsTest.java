@@ -1,10 +1,22 @@
+import dev.sadghost.espresso.exceptions.TimeParseException;
+import dev.sadghost.espresso.time.CachedDate;
+import dev.sadghost.espresso.time.CachedTimeFormatter;
+import dev.sadghost.espresso.time.DurationUnit;
+import dev.sadghost.espresso.time.TimeUnitNames;
 import dev.sadghost.espresso.time.TimeUtils;
+import dev.sadghost.espresso.time.UnitTimeFormatter;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class TimeUtilsTest {
 
@@ -14,6 +26,48 @@ class TimeUtilsTest {
         assertNotNull(currentDate);
     }
 
+    @Test
+    void getDate() {
+        Instant instant = Instant.parse("2023-06-01T12:30:00Z");
+        assertEquals("2023-06-01 12:30", TimeUtils.getDate("yyyy-MM-dd HH:mm", instant, ZoneOffset.UTC));
+        assertEquals("14:30", TimeUtils.getDate("HH:mm", instant, ZoneOffset.ofHours(2)));
+        assertSame(TimeUtils.getDateFormatter("HH:mm"), TimeUtils.getDateFormatter("HH:mm"));
+    }
+
+    @Test
+    void cachedDate() {
+        // Arrange
+        Clock clock = Clock.fixed(Instant.parse("2023-06-01T12:30:00.250Z"), ZoneOffset.UTC);
+        CachedDate date = new CachedDate(TimeUtils.getDateFormatter("HH:mm:ss"), clock);
+
+        // Act and Assert
+        String first = date.get();
+        assertEquals("12:30:00", first);
+        assertSame(first, date.get());
+
+        CachedDate later = new CachedDate(date.getFormatter(), Clock.offset(clock, Duration.ofSeconds(1)));
+        assertEquals("12:30:01", later.get());
+    }
+
+    @Test
+    void parseTime() {
+        assertEquals(TimeUtils.MILLISECONDS_IN_HOUR + 30 * TimeUtils.MILLISECONDS_IN_MINUTE, TimeUtils.parseTime("1h30m"));
+        assertEquals(36 * TimeUtils.MILLISECONDS_IN_HOUR, TimeUtils.parseTime("1.5d"));
+        assertEquals(2 * TimeUtils.MILLISECONDS_IN_MONTH + 10 * TimeUtils.MILLISECONDS_IN_SECOND, TimeUtils.parseTime(" 2M 10 s "));
+    }
+
+    @Test
+    void parseTimeReportsErrorIndex() {
+        TimeParseException exception = assertThrows(TimeParseException.class, () -> TimeUtils.parseTime("1h30x"));
+        assertEquals(4, exception.getErrorIndex());
+
+        assertThrows(TimeParseException.class, () -> TimeUtils.parseTime(""));
+        assertThrows(TimeParseException.class, () -> TimeUtils.parseTime("30"));
+        assertThrows(TimeParseException.class, () -> TimeUtils.parseTime("1.1234567h"));
+        assertThrows(TimeParseException.class, () -> TimeUtils.parseTime("9223372036854775807y"));
+        assertEquals(-1, TimeUtils.tryParseTime("abc"));
+    }
+
     @Test
     void formatTime() {
         long duration = 365 * TimeUtils.MILLISECONDS_IN_DAY + 2 * TimeUtils.MILLISECONDS_IN_MONTH;
@@ -22,6 +76,31 @@ class TimeUtilsTest {
         assertEquals("1 year, 2 months", formattedTime);
     }
 
+    @Test
+    void formatTimeIntoBuilder() {
+        StringBuilder builder = new StringBuilder("Ends in ");
+        TimeUtils.formatTime(builder, 3661, TimeUnit.SECONDS, null);
+        assertEquals("Ends in 1 hour, 1 minute, 1 second", builder.toString());
+    }
+
+    @Test
+    void formatTimeWithCustomNames() {
+        TimeUnitNames names = TimeUnitNames.ENGLISH.toBuilder()
+                .unit(DurationUnit.MINUTE, "min", "mins")
+                .separator(" ")
+                .build();
+        assertEquals("2 hours 1 min", TimeUtils.formatTime(121, TimeUnit.MINUTES, new UnitTimeFormatter(names)));
+    }
+
+    @Test
+    void cachedTimeFormatter() {
+        CachedTimeFormatter formatter = new CachedTimeFormatter(TimeUtils.DEFAULT_FORMATTED_TIME);
+        String first = formatter.format(90_100, TimeUnit.MILLISECONDS);
+        assertEquals("1 minute, 30 seconds", first);
+        assertSame(first, formatter.format(90_900, TimeUnit.MILLISECONDS));
+        assertEquals("Forever", formatter.format(-1, TimeUnit.MILLISECONDS));
+    }
+
     @Test
     void formatSeconds() {
         String formattedSeconds = TimeUtils.formatSeconds(300);
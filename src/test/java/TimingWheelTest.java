@@ -0,0 +1,73 @@
+import dev.sadghost.espresso.time.TimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    @Test
+    void testRunsTaskOnceDeadlinePassed() {
+        // Arrange
+        MutableClock clock = new MutableClock(0);
+        TimingWheel wheel = new TimingWheel(10, TimeUnit.MILLISECONDS, clock);
+        AtomicLong ranAt = new AtomicLong(-1);
+        TimingWheel.Timeout timeout = wheel.schedule(1_000, TimeUnit.MILLISECONDS, () -> ranAt.set(clock.millis()));
+
+        // Act
+        clock.advance(990);
+        int early = wheel.advance();
+        clock.advance(10);
+        int due = wheel.advance();
+
+        // Assert
+        assertEquals(0, early);
+        assertEquals(1, due);
+        assertEquals(1_000, ranAt.get());
+        assertTrue(timeout.isExpired());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testRunsTasksBeyondTheWheelsRange() {
+        // Arrange
+        MutableClock clock = new MutableClock(0);
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, clock);
+        AtomicLong ranAt = new AtomicLong(-1);
+        long delay = TimeUnit.HOURS.toMillis(10);
+        wheel.schedule(delay, TimeUnit.MILLISECONDS, () -> ranAt.set(clock.millis()));
+
+        // Act
+        while (ranAt.get() == -1 && clock.millis() <= delay) {
+            clock.advance(1_000);
+            wheel.advance();
+        }
+
+        // Assert
+        assertEquals(delay, ranAt.get());
+    }
+
+    @Test
+    void testCancelledTaskDoesNotRun() {
+        // Arrange
+        MutableClock clock = new MutableClock(0);
+        TimingWheel wheel = new TimingWheel(50, TimeUnit.MILLISECONDS, clock);
+        AtomicLong runs = new AtomicLong();
+        TimingWheel.Timeout timeout = wheel.schedule(5, TimeUnit.SECONDS, runs::incrementAndGet);
+
+        // Act
+        boolean cancelled = timeout.cancel();
+        clock.advance(10_000);
+        wheel.advance();
+
+        // Assert
+        assertTrue(cancelled);
+        assertFalse(timeout.cancel());
+        assertEquals(0, runs.get());
+        assertEquals(0, wheel.size());
+    }
+}